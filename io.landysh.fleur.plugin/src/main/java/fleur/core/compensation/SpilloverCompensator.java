@@ -135,7 +135,8 @@ public class SpilloverCompensator extends DomainObject {
       if (!dimension.isPresent()) {
         throw new IllegalArgumentException("DataFrame does not contain matching parameters: " + compParameters[i]);
       }
-      x[i] = dimension.get().getData();
+      // Read into a private array, the widened copy of a float stored column is shared.
+      dimension.get().getValues(0, x[i], 0, x[i].length);
     }
     DenseMatrix64F xt = new DenseMatrix64F(x);
     CommonOps.transpose(xt);
@@ -152,7 +153,11 @@ public class SpilloverCompensator extends DomainObject {
     }
     for (int i = 0; i < compParameters.length; i++) {
       Optional<FCSDimension> dimension = FCSUtilities.findCompatibleDimension(newFrame, compParameters[i]);
-      dimension.get().setData(x[i]);
+      if (dimension.get().isFloat()) {
+        dimension.get().setFloatData(toFloats(x[i]));
+      } else {
+        dimension.get().setData(x[i]);
+      }
       dimension.get().setShortName("[" + dimension.get().getShortName() + "]");
     }
     newFrame.setCompRef(this.getID());
@@ -166,6 +171,14 @@ public class SpilloverCompensator extends DomainObject {
     return newFrame;
   }
 
+  private static float[] toFloats(double[] values) {
+    float[] floats = new float[values.length];
+    for (int i = 0; i < values.length; i++) {
+      floats[i] = (float) values[i];
+    }
+    return floats;
+  }
+
   public double[][] getMatrix() {
     return rawMatrix;
   }
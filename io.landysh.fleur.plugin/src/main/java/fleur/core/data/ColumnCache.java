@@ -0,0 +1,176 @@
+package fleur.core.data;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map.Entry;
+
+/**
+ * Tracks lazily decoded FCSDimension columns against a byte budget. When the budget is exceeded
+ * the least recently used columns are released; they will be decoded again from their
+ * ColumnLoader if they are requested later.
+ *
+ * Dimensions are only weakly referenced, so the columns of frames which are no longer used are
+ * collected with them. Recency is approximate: reads stamp the dimension with the cache's clock,
+ * which only advances when a column is registered, so getData() never takes the cache's lock.
+ * Columns with equal stamps are released in the order they were registered.
+ */
+public class ColumnCache {
+
+  // By default lazily decoded columns may use up to a quarter of the maximum heap.
+  private static final ColumnCache DEFAULT_CACHE =
+      new ColumnCache(Runtime.getRuntime().maxMemory() / 4);
+
+  // In registration order, the bytes of each column.
+  private final LinkedHashMap<Key, Long> columns = new LinkedHashMap<>();
+  // Keys whose dimensions have been collected.
+  private final ReferenceQueue<FCSDimension> collected = new ReferenceQueue<>();
+  private volatile long clock = 0;
+  private long budget;
+  private long usedBytes = 0;
+
+  public ColumnCache(long budgetBytes) {
+    this.budget = budgetBytes;
+  }
+
+  public static ColumnCache getDefault() {
+    return DEFAULT_CACHE;
+  }
+
+  /**
+   * Record a newly decoded column and evict older columns until the cache fits its budget again.
+   */
+  public synchronized void register(FCSDimension dimension, double[] data) {
+    purge();
+    long bytes = (long) data.length * Double.BYTES;
+    Key key = new Key(dimension, collected);
+    Long previous = columns.remove(key);
+    if (previous != null) {
+      usedBytes -= previous;
+    }
+    columns.put(key, bytes);
+    usedBytes += bytes;
+    dimension.markUsed(clock++);
+    trim();
+  }
+
+  /**
+   * Marks a registered column as used, so it is released after columns used less recently. Takes
+   * no lock.
+   */
+  public void touch(FCSDimension dimension) {
+    dimension.markUsed(clock);
+  }
+
+  /**
+   * Forget a column without releasing its data, eg. when it has been replaced by setData().
+   */
+  public synchronized void remove(FCSDimension dimension) {
+    Long bytes = columns.remove(new Key(dimension, null));
+    if (bytes != null) {
+      usedBytes -= bytes;
+    }
+  }
+
+  public synchronized void setBudget(long budgetBytes) {
+    this.budget = budgetBytes;
+    trim();
+  }
+
+  public synchronized long getBudget() {
+    return budget;
+  }
+
+  public synchronized long getUsedBytes() {
+    purge();
+    return usedBytes;
+  }
+
+  public synchronized int size() {
+    purge();
+    return columns.size();
+  }
+
+  public synchronized void clear() {
+    for (Key key : columns.keySet()) {
+      FCSDimension dimension = key.get();
+      if (dimension != null) {
+        dimension.release();
+      }
+    }
+    columns.clear();
+    usedBytes = 0;
+  }
+
+  private void purge() {
+    for (Reference<? extends FCSDimension> key; (key = collected.poll()) != null;) {
+      Long bytes = columns.remove(key);
+      if (bytes != null) {
+        usedBytes -= bytes;
+      }
+    }
+  }
+
+  private void trim() {
+    purge();
+    if (usedBytes <= budget) {
+      return;
+    }
+    // Stamps are read once as readers may update them meanwhile. The stable sort keeps
+    // registration order among equal stamps.
+    List<Entry<Key, Long>> entries = new ArrayList<>(columns.entrySet());
+    long[] stamps = new long[entries.size()];
+    Integer[] eldestFirst = new Integer[entries.size()];
+    for (int i = 0; i < stamps.length; i++) {
+      stamps[i] = entries.get(i).getKey().lastUsed();
+      eldestFirst[i] = i;
+    }
+    Arrays.sort(eldestFirst, Comparator.comparingLong(i -> stamps[i]));
+    for (int i = 0; usedBytes > budget && i < eldestFirst.length; i++) {
+      Entry<Key, Long> eldest = entries.get(eldestFirst[i]);
+      FCSDimension dimension = eldest.getKey().get();
+      if (dimension != null) {
+        dimension.release();
+      }
+      usedBytes -= eldest.getValue();
+      columns.remove(eldest.getKey());
+    }
+  }
+
+  private static class Key extends WeakReference<FCSDimension> {
+    final int hash;
+
+    Key(FCSDimension dimension, ReferenceQueue<FCSDimension> queue) {
+      super(dimension, queue);
+      this.hash = System.identityHashCode(dimension);
+    }
+
+    long lastUsed() {
+      FCSDimension dimension = get();
+      return dimension == null ? Long.MIN_VALUE : dimension.getLastUsed();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      // Keys of collected dimensions are only equal to themselves, so purge() finds them.
+      FCSDimension dimension = get();
+      return dimension != null && dimension == ((Key) obj).get();
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+}
@@ -0,0 +1,436 @@
+package fleur.core.data;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.PrimitiveIterator;
+
+import fleur.core.utils.RoaringBitSet;
+
+/**
+ * Compressed encodings for the columns and subset masks of packed frame files, see
+ * FCSFrameFile. Columns are encoded in independent blocks of at most BLOCK_SIZE values, each
+ * preceded by its length in bytes, so they can be decoded while streaming from disk.
+ *
+ * DELTA is used for columns whose values are all integers, or decimals with up to MAX_DECIMALS
+ * places as written by many acquisition programs, once scaled. Each block bit packs either the
+ * zigzagged differences between consecutive values (eg. time) or the offsets from the block's
+ * minimum, whichever is narrower. XOR is used for everything else: each value is XORed with the
+ * previous one and only the bytes between the leading and trailing zero bytes of the result are
+ * kept. Subset masks are run length encoded.
+ */
+final class ColumnCodec {
+
+  static final int RAW = 0;
+  static final int DELTA = 1;
+  static final int XOR = 2;
+
+  static final int BLOCK_SIZE = 1 << 14;
+
+  private static final int MAX_DECIMALS = 4;
+  private static final double[] SCALES = {1, 10, 100, 1000, 10000};
+  private static final double MAX_EXACT_INTEGER = 1L << 53;
+  // Set in a DELTA block's width byte when it holds offsets from the minimum.
+  private static final int FRAME_OF_REFERENCE = 0x80;
+
+  private ColumnCodec() {}
+
+  /**
+   * @return the plan with which the values of the dimension are expected to compress best, pass
+   *         it to encode(). getCodec() tells which codec it uses.
+   */
+  static int choose(FCSDimension dimension) {
+    boolean single = dimension.getElementSize() == Float.BYTES;
+    int decimals = 0;
+    double[] chunk = new double[Math.min(BLOCK_SIZE, Math.max(1, dimension.size()))];
+    // A later value may need more decimals, so a second pass checks the final scale.
+    for (int pass = 0; pass < 2; pass++) {
+      int passDecimals = decimals;
+      for (int start = 0; start < dimension.size(); start += chunk.length) {
+        int count = Math.min(chunk.length, dimension.size() - start);
+        dimension.getValues(start, chunk, 0, count);
+        for (int i = 0; i < count; i++) {
+          while (!isExact(chunk[i], decimals, single)) {
+            if (pass > 0 || ++decimals > MAX_DECIMALS) {
+              return XOR;
+            }
+          }
+        }
+      }
+      if (decimals == passDecimals) {
+        break;
+      }
+    }
+    return DELTA | decimals << 4;
+  }
+
+  static int getCodec(int plan) {
+    return plan & 0xF;
+  }
+
+  private static boolean isExact(double value, int decimals, boolean single) {
+    double scaled = value * SCALES[decimals];
+    if (!(Math.abs(scaled) < MAX_EXACT_INTEGER)) {
+      return false;
+    }
+    // Compares bits so -0.0 is not folded into 0.
+    double restored = Math.round(scaled) / SCALES[decimals];
+    return single ? Float.floatToIntBits((float) restored) == Float.floatToIntBits((float) value)
+        : Double.doubleToLongBits(restored) == Double.doubleToLongBits(value);
+  }
+
+  /**
+   * Encodes every value of the dimension, in single precision if it is stored that way.
+   */
+  static byte[] encode(FCSDimension dimension, int plan) {
+    boolean single = dimension.getElementSize() == Float.BYTES;
+    ByteSink sink = new ByteSink(dimension.size() * (single ? 2 : 4) + 64);
+    long[] integers = new long[Math.min(BLOCK_SIZE, Math.max(1, dimension.size()))];
+    double[] chunk = new double[integers.length];
+    for (int start = 0; start < dimension.size(); start += chunk.length) {
+      int count = Math.min(chunk.length, dimension.size() - start);
+      dimension.getValues(start, chunk, 0, count);
+      int lengthPosition = sink.reserve(Integer.BYTES);
+      if (getCodec(plan) == DELTA) {
+        int decimals = plan >>> 4;
+        for (int i = 0; i < count; i++) {
+          integers[i] = Math.round(chunk[i] * SCALES[decimals]);
+        }
+        encodeDelta(integers, count, decimals, sink);
+      } else if (single) {
+        encodeXorFloat(chunk, count, sink);
+      } else {
+        encodeXorDouble(chunk, count, sink);
+      }
+      sink.putInt(lengthPosition, sink.size() - lengthPosition - Integer.BYTES);
+    }
+    return sink.toByteArray();
+  }
+
+  /**
+   * Decodes count values from the block starting at offset into floats or doubles, whichever is
+   * not null.
+   */
+  static void decodeBlock(byte[] bytes, int offset, int codec, int count, float[] floats,
+      double[] doubles, int destOffset) {
+    if (codec == DELTA) {
+      decodeDelta(bytes, offset, count, floats, doubles, destOffset);
+    } else if (floats != null) {
+      decodeXorFloat(bytes, offset, count, floats, destOffset);
+    } else {
+      decodeXorDouble(bytes, offset, count, doubles, destOffset);
+    }
+  }
+
+  private static void encodeDelta(long[] values, int count, int decimals, ByteSink sink) {
+    long min = values[0];
+    long max = values[0];
+    long deltas = 0;
+    for (int i = 1; i < count; i++) {
+      min = Math.min(min, values[i]);
+      max = Math.max(max, values[i]);
+      deltas |= zigzag(values[i] - values[i - 1]);
+    }
+    int deltaWidth = 64 - Long.numberOfLeadingZeros(deltas);
+    int rangeWidth = 64 - Long.numberOfLeadingZeros(max - min);
+    boolean offsets = rangeWidth < deltaWidth;
+    int width = offsets ? rangeWidth : deltaWidth;
+    sink.put((byte) decimals);
+    sink.put((byte) (offsets ? width | FRAME_OF_REFERENCE : width));
+    sink.putVarLong(zigzag(offsets ? min : values[0]));
+    long buffer = 0;
+    int bufferBits = 0;
+    for (int i = offsets ? 0 : 1; i < count; i++) {
+      buffer |= (offsets ? values[i] - min : zigzag(values[i] - values[i - 1])) << bufferBits;
+      bufferBits += width;
+      while (bufferBits >= Byte.SIZE) {
+        sink.put((byte) buffer);
+        buffer >>>= Byte.SIZE;
+        bufferBits -= Byte.SIZE;
+      }
+    }
+    if (bufferBits > 0) {
+      sink.put((byte) buffer);
+    }
+  }
+
+  private static void decodeDelta(byte[] bytes, int offset, int count, float[] floats,
+      double[] doubles, int destOffset) {
+    double scale = SCALES[bytes[offset]];
+    int header = bytes[offset + 1] & 0xFF;
+    boolean offsets = (header & FRAME_OF_REFERENCE) != 0;
+    int width = header & ~FRAME_OF_REFERENCE;
+    long mask = width == 0 ? 0 : -1L >>> (64 - width);
+    int[] position = {offset + 2};
+    long base = unzigzag(getVarLong(bytes, position));
+    int next = position[0];
+    long current = base;
+    long buffer = 0;
+    int bufferBits = 0;
+    for (int i = 0; i < count; i++) {
+      if (offsets || i > 0) {
+        while (bufferBits < width) {
+          buffer |= (bytes[next++] & 0xFFL) << bufferBits;
+          bufferBits += Byte.SIZE;
+        }
+        current = offsets ? base + (buffer & mask) : current + unzigzag(buffer & mask);
+        buffer >>>= width;
+        bufferBits -= width;
+      }
+      double value = scale == 1 ? current : current / scale;
+      if (floats != null) {
+        floats[destOffset + i] = (float) value;
+      } else {
+        doubles[destOffset + i] = value;
+      }
+    }
+  }
+
+  /*
+   * One control nibble per value holds the number of leading (high two bits) and trailing (low two
+   * bits) zero bytes of the XORed bits, controls for the block come before the kept bytes.
+   */
+  private static void encodeXorFloat(double[] values, int count, ByteSink sink) {
+    int controls = sink.reserve((count + 1) / 2);
+    int previous = 0;
+    for (int i = 0; i < count; i++) {
+      int bits = Float.floatToRawIntBits((float) values[i]);
+      int xor = bits ^ previous;
+      previous = bits;
+      int leading;
+      int trailing;
+      if (xor == 0) {
+        leading = 3;
+        trailing = 1;
+      } else {
+        leading = Integer.numberOfLeadingZeros(xor) / Byte.SIZE;
+        trailing = Integer.numberOfTrailingZeros(xor) / Byte.SIZE;
+        for (int b = Integer.BYTES - 1 - leading; b >= trailing; b--) {
+          sink.put((byte) (xor >>> (b * Byte.SIZE)));
+        }
+      }
+      sink.orNibble(controls, i, leading << 2 | trailing);
+    }
+  }
+
+  private static void decodeXorFloat(byte[] bytes, int offset, int count, float[] floats,
+      int destOffset) {
+    int next = offset + (count + 1) / 2;
+    int previous = 0;
+    for (int i = 0; i < count; i++) {
+      int control = (bytes[offset + i / 2] >>> ((i & 1) * 4)) & 0xF;
+      int trailing = control & 3;
+      int kept = Integer.BYTES - (control >>> 2) - trailing;
+      if (kept > 0) {
+        int xor = 0;
+        for (int b = 0; b < kept; b++) {
+          xor = xor << Byte.SIZE | (bytes[next++] & 0xFF);
+        }
+        previous ^= xor << (trailing * Byte.SIZE);
+      }
+      floats[destOffset + i] = Float.intBitsToFloat(previous);
+    }
+  }
+
+  /*
+   * As for floats but with a control byte per value, three bits each for leading and trailing zero
+   * bytes.
+   */
+  private static void encodeXorDouble(double[] values, int count, ByteSink sink) {
+    int controls = sink.reserve(count);
+    long previous = 0;
+    for (int i = 0; i < count; i++) {
+      long bits = Double.doubleToRawLongBits(values[i]);
+      long xor = bits ^ previous;
+      previous = bits;
+      int leading;
+      int trailing;
+      if (xor == 0) {
+        leading = 7;
+        trailing = 1;
+      } else {
+        leading = Long.numberOfLeadingZeros(xor) / Byte.SIZE;
+        trailing = Long.numberOfTrailingZeros(xor) / Byte.SIZE;
+        for (int b = Long.BYTES - 1 - leading; b >= trailing; b--) {
+          sink.put((byte) (xor >>> (b * Byte.SIZE)));
+        }
+      }
+      sink.set(controls + i, (byte) (leading << 3 | trailing));
+    }
+  }
+
+  private static void decodeXorDouble(byte[] bytes, int offset, int count, double[] doubles,
+      int destOffset) {
+    int next = offset + count;
+    long previous = 0;
+    for (int i = 0; i < count; i++) {
+      int control = bytes[offset + i] & 0x3F;
+      int trailing = control & 7;
+      int kept = Long.BYTES - (control >>> 3) - trailing;
+      if (kept > 0) {
+        long xor = 0;
+        for (int b = 0; b < kept; b++) {
+          xor = xor << Byte.SIZE | (bytes[next++] & 0xFFL);
+        }
+        previous ^= xor << (trailing * Byte.SIZE);
+      }
+      doubles[destOffset + i] = Double.longBitsToDouble(previous);
+    }
+  }
+
+  /**
+   * Encodes a mask as the lengths of its alternating runs of clear and set bits, starting with a
+   * clear run which may be empty.
+   */
+  static byte[] encodeMask(BitSet mask) {
+    ByteSink sink = new ByteSink(64);
+    int position = 0;
+    int set = mask.nextSetBit(0);
+    while (set >= 0) {
+      int clear = mask.nextClearBit(set);
+      sink.putVarLong(set - position);
+      sink.putVarLong(clear - set);
+      position = clear;
+      set = mask.nextSetBit(clear);
+    }
+    return sink.toByteArray();
+  }
+
+  static byte[] encodeMask(RoaringBitSet members) {
+    ByteSink sink = new ByteSink(64);
+    int position = 0;
+    int start = -1;
+    int end = -1;
+    PrimitiveIterator.OfInt values = members.iterator();
+    while (values.hasNext()) {
+      int value = values.nextInt();
+      if (value != end) {
+        if (start >= 0) {
+          sink.putVarLong(start - position);
+          sink.putVarLong(end - start);
+          position = end;
+        }
+        start = value;
+      }
+      end = value + 1;
+    }
+    if (start >= 0) {
+      sink.putVarLong(start - position);
+      sink.putVarLong(end - start);
+    }
+    return sink.toByteArray();
+  }
+
+  static RoaringBitSet decodeMembers(byte[] encoded) {
+    RoaringBitSet.Builder members = new RoaringBitSet.Builder();
+    int[] position = {0};
+    int end = 0;
+    while (position[0] < encoded.length) {
+      int start = end + (int) getVarLong(encoded, position);
+      end = start + (int) getVarLong(encoded, position);
+      members.addRange(start, end);
+    }
+    return members.build();
+  }
+
+  static BitSet decodeMask(byte[] encoded) {
+    BitSet mask = new BitSet();
+    int[] position = {0};
+    int end = 0;
+    while (position[0] < encoded.length) {
+      int start = end + (int) getVarLong(encoded, position);
+      end = start + (int) getVarLong(encoded, position);
+      mask.set(start, end);
+    }
+    return mask;
+  }
+
+  private static long zigzag(long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  private static long unzigzag(long value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  /**
+   * Reads a varint at position[0] and advances it.
+   */
+  private static long getVarLong(byte[] bytes, int[] position) {
+    long value = 0;
+    int shift = 0;
+    byte current;
+    do {
+      current = bytes[position[0]++];
+      value |= (current & 0x7FL) << shift;
+      shift += 7;
+    } while (current < 0);
+    return value;
+  }
+
+  /**
+   * A growable little endian byte array.
+   */
+  private static class ByteSink {
+    private byte[] bytes;
+    private int size = 0;
+
+    ByteSink(int capacity) {
+      bytes = new byte[Math.max(16, capacity)];
+    }
+
+    void put(byte value) {
+      ensure(1);
+      bytes[size++] = value;
+    }
+
+    void set(int index, byte value) {
+      bytes[index] = value;
+    }
+
+    void orNibble(int start, int index, int nibble) {
+      bytes[start + index / 2] |= nibble << ((index & 1) * 4);
+    }
+
+    void putVarLong(long value) {
+      long remaining = value;
+      while ((remaining & ~0x7FL) != 0) {
+        put((byte) (remaining & 0x7F | 0x80));
+        remaining >>>= 7;
+      }
+      put((byte) remaining);
+    }
+
+    void putInt(int index, int value) {
+      ByteBuffer.wrap(bytes, index, Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).putInt(value);
+    }
+
+    /**
+     * Appends count zero bytes to be filled in later.
+     *
+     * @return the index of the first one.
+     */
+    int reserve(int count) {
+      ensure(count);
+      int start = size;
+      Arrays.fill(bytes, start, start + count, (byte) 0);
+      size += count;
+      return start;
+    }
+
+    int size() {
+      return size;
+    }
+
+    byte[] toByteArray() {
+      return Arrays.copyOf(bytes, size);
+    }
+
+    private void ensure(int extra) {
+      if (size + extra > bytes.length) {
+        bytes = Arrays.copyOf(bytes, Math.max(size + extra, bytes.length * 2));
+      }
+    }
+  }
+}
@@ -0,0 +1,14 @@
+package fleur.core.data;
+
+/**
+ * Supplies the values of an FCSDimension on demand. Used by dimensions which are not decoded until
+ * their data is first requested.
+ */
+public interface ColumnLoader {
+
+  /**
+   * @return a newly decoded array holding every value of the column.
+   */
+  public double[] load();
+
+}
@@ -0,0 +1,145 @@
+package fleur.core.data;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.TreeSet;
+
+/**
+ * The columns of an FCSFrame. Counts structural changes, and renames of the dimensions it holds,
+ * so the frame can tell when its column index is out of date. Changes made through
+ * subSet/headSet/tailSet views are not counted.
+ */
+@SuppressWarnings("serial")
+class DimensionSet extends TreeSet<FCSDimension> {
+
+  private int version = 0;
+
+  DimensionSet() {
+    super();
+  }
+
+  DimensionSet(Collection<FCSDimension> dimensions) {
+    super();
+    addAll(dimensions);
+  }
+
+  int getVersion() {
+    return version;
+  }
+
+  /**
+   * Called by a dimension of this set when its short name changes.
+   */
+  void renamed() {
+    version++;
+  }
+
+  @Override
+  public boolean add(FCSDimension dimension) {
+    boolean added = super.add(dimension);
+    if (added) {
+      dimension.addOwner(this);
+      version++;
+    }
+    return added;
+  }
+
+  @Override
+  public boolean addAll(Collection<? extends FCSDimension> dimensions) {
+    // TreeSet may build the tree directly without add(), so owners are registered here.
+    boolean changed = false;
+    for (FCSDimension dimension : dimensions) {
+      changed |= add(dimension);
+    }
+    return changed;
+  }
+
+  @Override
+  public boolean remove(Object dimension) {
+    boolean removed = super.remove(dimension);
+    if (removed) {
+      ((FCSDimension) dimension).removeOwner(this);
+      version++;
+    }
+    return removed;
+  }
+
+  @Override
+  public void clear() {
+    for (FCSDimension dimension : this) {
+      dimension.removeOwner(this);
+    }
+    version++;
+    super.clear();
+  }
+
+  @Override
+  public FCSDimension pollFirst() {
+    return removed(super.pollFirst());
+  }
+
+  @Override
+  public FCSDimension pollLast() {
+    return removed(super.pollLast());
+  }
+
+  @Override
+  public Object clone() {
+    DimensionSet copy = (DimensionSet) super.clone();
+    for (FCSDimension dimension : copy) {
+      dimension.addOwner(copy);
+    }
+    return copy;
+  }
+
+  private FCSDimension removed(FCSDimension dimension) {
+    if (dimension != null) {
+      dimension.removeOwner(this);
+    }
+    version++;
+    return dimension;
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    for (FCSDimension dimension : this) {
+      dimension.addOwner(this);
+    }
+  }
+
+  @Override
+  public Iterator<FCSDimension> iterator() {
+    return track(super.iterator());
+  }
+
+  @Override
+  public Iterator<FCSDimension> descendingIterator() {
+    return track(super.descendingIterator());
+  }
+
+  private Iterator<FCSDimension> track(Iterator<FCSDimension> iterator) {
+    return new Iterator<FCSDimension>() {
+      private FCSDimension last;
+
+      @Override
+      public boolean hasNext() {
+        return iterator.hasNext();
+      }
+
+      @Override
+      public FCSDimension next() {
+        last = iterator.next();
+        return last;
+      }
+
+      @Override
+      public void remove() {
+        iterator.remove();
+        last.removeOwner(DimensionSet.this);
+        version++;
+      }
+    };
+  }
+}
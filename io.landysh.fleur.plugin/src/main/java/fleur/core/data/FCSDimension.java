@@ -1,5 +1,10 @@
 package fleur.core.data;
 
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
 // Default serialization not used. We should measure performance.
 @SuppressWarnings("serial")
 public class FCSDimension extends DomainObject implements Comparable <FCSDimension> {
@@ -19,7 +24,23 @@ public class FCSDimension extends DomainObject implements Comparable <FCSDimensi
   // $PnR Range
   private double range;
 
-  private double[] data;
+  private volatile double[] data;
+  // Set while data is shared with another dimension, see shareValues(). Copied on getData().
+  private transient volatile boolean sharedData;
+  // Backing values of float stored dimensions, data then only holds a widened, cached copy.
+  private float[] floatData;
+  private int size;
+  // Bumped whenever the values are replaced, so TransformedColumnCache never serves stale columns.
+  private transient volatile int version;
+  // The clock of the column cache when the values were last read, see ColumnCache.
+  private transient volatile long lastUsed;
+
+  // Set for dimensions which are decoded on first access, see FCSFileReader.readMapped().
+  private transient ColumnLoader loader;
+  private transient ColumnCache cache;
+  // The column sets of the frames holding this dimension, told when it is renamed. Weakly
+  // referenced so a dimension shared with another frame does not keep the first one alive.
+  private transient List<WeakReference<DimensionSet>> owners;
 
   public FCSDimension(int size, int index, String pnn, String pns, double pneF1, double pneF2,
       double pnr) {
@@ -35,9 +56,34 @@ public class FCSDimension extends DomainObject implements Comparable <FCSDimensi
     ampTypef1 = pneF1;
     ampTypef2 = pneF2;
     range = pnr;
+    this.size = size;
     this.data = new double[size];
   }
 
+  /**
+   * Creates a dimension whose values are only decoded when getData() is first called. Decoded
+   * values are registered with the cache, which may later release them again. With a null loader
+   * the dimension only describes the parameter and holds no values.
+   */
+  public FCSDimension(int size, int index, String pnn, String pns, double pneF1, double pneF2,
+      double pnr, ColumnLoader loader, ColumnCache cache) {
+    this(null, size, index, pnn, pns, pneF1, pneF2, pnr, loader, cache);
+  }
+
+  public FCSDimension(String priorUUID, int size, int index, String pnn, String pns, double pneF1,
+      double pneF2, double pnr, ColumnLoader loader, ColumnCache cache) {
+    super(priorUUID);
+    parameterIndex = index;
+    shortName = pnn;
+    stainName = pns;
+    ampTypef1 = pneF1;
+    ampTypef2 = pneF2;
+    range = pnr;
+    this.size = size;
+    this.loader = loader;
+    this.cache = cache;
+  }
+
   @Override
   public int compareTo(FCSDimension other) {
     int result = 0;
@@ -51,10 +97,179 @@ public class FCSDimension extends DomainObject implements Comparable <FCSDimensi
     return result;
   }
   
+  /**
+   * @return the values of the dimension. For float stored dimensions this is a widened copy which
+   *         the default column cache may release again; it must be treated as read only, writes to
+   *         it are lost. Change values with setData() or setFloatData(), and prefer getValues() or
+   *         getFloatData() to read such dimensions without widening them.
+   */
   public double[] getData() {
+    double[] current = data;
+    if (sharedData) {
+      current = unshare();
+    } else if (current == null && loader != null) {
+      current = materialize();
+    } else if (current != null && cache != null) {
+      cache.touch(this);
+    }
+    return current;
+  }
+
+  private synchronized double[] unshare() {
+    if (sharedData) {
+      data = data.clone();
+      sharedData = false;
+    }
     return data;
   }
 
+  /**
+   * Shares the values of source until either dimension is written, eg. for the copies FrameCache
+   * hands out. Float values are shared as they are never written in place; the double values of
+   * this dimension are copied the first time getData() is called, as callers may write to them.
+   * Reads through getValue(), getValues() and getFloatData() never copy.
+   */
+  synchronized void shareValues(FCSDimension source) {
+    if (source.isFloat()) {
+      setFloatData(source.getFloatData());
+    } else {
+      setData(source.getData());
+      sharedData = true;
+    }
+  }
+
+  private double[] materialize() {
+    double[] loaded;
+    boolean decoded = false;
+    synchronized (this) {
+      loaded = data;
+      if (loaded == null && loader != null) {
+        loaded = loader.load();
+        data = loaded;
+        decoded = true;
+      }
+    }
+    // Register outside of the lock, the cache may release other dimensions.
+    ColumnCache currentCache = cache;
+    if (decoded && currentCache != null) {
+      currentCache.register(this, loaded);
+    }
+    return loaded;
+  }
+
+  /**
+   * Drops the decoded values of a lazily loaded dimension. Has no effect on ordinary dimensions.
+   */
+  void release() {
+    if (loader != null) {
+      data = null;
+    }
+  }
+
+  int getVersion() {
+    return version;
+  }
+
+  void markUsed(long stamp) {
+    // Most reads fall within the same tick, they then leave the field's cache line alone.
+    if (lastUsed != stamp) {
+      lastUsed = stamp;
+    }
+  }
+
+  long getLastUsed() {
+    return lastUsed;
+  }
+
+  public boolean isLoaded() {
+    return data != null;
+  }
+
+  /**
+   * @return false for dimensions which only describe a column, eg. those read by
+   *         FCSFrameFile.readStructure().
+   */
+  public boolean hasValues() {
+    return data != null || floatData != null || loader != null;
+  }
+
+  /**
+   * @return true if the values are stored as 32 bit floats, see setFloatData().
+   */
+  public boolean isFloat() {
+    return floatData != null;
+  }
+
+  /**
+   * @return the float backing array of a float stored dimension, otherwise null. Consumers which
+   *         can work in single precision should prefer this to getData(). The array may be shared
+   *         with other dimensions and must not be modified, use setFloatData() instead.
+   */
+  public float[] getFloatData() {
+    return floatData;
+  }
+
+  /**
+   * Reads a single value without widening the whole column of a float stored dimension.
+   */
+  public double getValue(int index) {
+    float[] values = floatData;
+    if (values != null) {
+      return values[index];
+    }
+    // Single values do not count as a use of the cached column, that would lock per value.
+    double[] current = data;
+    return (current != null ? current : getData())[index];
+  }
+
+  /**
+   * Copies length values starting at from into dest. Unlike getData() this never widens or copies
+   * the whole column, so consumers which work through a column in chunks should prefer it for float
+   * stored dimensions.
+   */
+  public void getValues(int from, double[] dest, int destOffset, int length) {
+    float[] values = floatData;
+    if (values != null) {
+      for (int i = 0; i < length; i++) {
+        dest[destOffset + i] = values[from + i];
+      }
+    } else {
+      // Like getValue() this reads shared values without copying them.
+      double[] current = data;
+      System.arraycopy(current != null ? current : getData(), from, dest, destOffset, length);
+    }
+  }
+
+  /**
+   * Puts count values starting at from into target, in single precision if the dimension is stored
+   * that way, see getElementSize().
+   */
+  void putValues(ByteBuffer target, int from, int count) {
+    float[] floats = floatData;
+    if (floats != null) {
+      target.asFloatBuffer().put(floats, from, count);
+      return;
+    }
+    double[] current = data;
+    target.asDoubleBuffer().put(current != null ? current : getData(), from, count);
+  }
+
+  /**
+   * @return the number of bytes each stored value takes.
+   */
+  int getElementSize() {
+    return floatData != null ? Float.BYTES : Double.BYTES;
+  }
+
+  private double[] widenFloatData() {
+    float[] values = floatData;
+    double[] widened = new double[values.length];
+    for (int i = 0; i < values.length; i++) {
+      widened[i] = values[i];
+    }
+    return widened;
+  }
+
   public String getDisplayName() {
     if (stainName != null && stainName.trim().length() != 0) {
       return stainName + ": "+ shortName;
@@ -84,7 +299,8 @@ public class FCSDimension extends DomainObject implements Comparable <FCSDimensi
   }
 
   public int size() {
-    return this.data.length;
+    double[] current = data;
+    return current != null ? current.length : size;
   }
 
   public String getStainName() {
@@ -95,8 +311,42 @@ public class FCSDimension extends DomainObject implements Comparable <FCSDimensi
     }
   }
 
-  public void setData(double[] newData) {
+  public synchronized void setData(double[] newData) {
+    dropLoader();
+    this.floatData = null;
+    this.sharedData = false;
+    this.size = newData != null ? newData.length : 0;
     this.data = newData;
+    version++;
+  }
+
+  /**
+   * Stores the values in single precision, halving the memory used by the dimension. getData()
+   * still works, it returns a read only widened copy which is tracked by the default column cache
+   * and may be released again when memory is needed.
+   */
+  public synchronized void setFloatData(float[] newData) {
+    dropLoader();
+    this.data = null;
+    this.sharedData = false;
+    this.floatData = newData;
+    this.size = newData != null ? newData.length : 0;
+    version++;
+    if (newData != null) {
+      loader = this::widenFloatData;
+      cache = ColumnCache.getDefault();
+    }
+  }
+
+  private void dropLoader() {
+    if (loader != null) {
+      // Explicitly set values replace the lazy source.
+      if (cache != null) {
+        cache.remove(this);
+      }
+      loader = null;
+      cache = null;
+    }
   }
 
   @Override
@@ -105,6 +355,28 @@ public class FCSDimension extends DomainObject implements Comparable <FCSDimensi
   }
 
   public void setShortName(String newValue) {
-    this.shortName = newValue;    
+    this.shortName = newValue;
+    List<DimensionSet> current = new ArrayList<>();
+    synchronized (this) {
+      if (owners != null) {
+        owners.removeIf(owner -> owner.get() == null);
+        owners.forEach(owner -> current.add(owner.get()));
+      }
+    }
+    current.stream().filter(owner -> owner != null).forEach(DimensionSet::renamed);
+  }
+
+  synchronized void addOwner(DimensionSet owner) {
+    if (owners == null) {
+      owners = new ArrayList<>(1);
+    }
+    owners.removeIf(reference -> reference.get() == null);
+    owners.add(new WeakReference<>(owner));
+  }
+
+  synchronized void removeOwner(DimensionSet owner) {
+    if (owners != null) {
+      owners.removeIf(reference -> reference.get() == null || reference.get() == owner);
+    }
   }
 }
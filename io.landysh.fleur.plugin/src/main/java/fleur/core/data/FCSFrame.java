@@ -24,7 +24,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -33,6 +32,9 @@ import java.util.TreeSet;
 import java.util.logging.Level;
 import java.util.stream.Collectors;
 
+import com.google.common.primitives.Doubles;
+import com.google.common.primitives.Floats;
+import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.util.JsonFormat;
 
@@ -41,6 +43,7 @@ import fleur.core.proto.FCSFrameProto.Message;
 import fleur.core.proto.FCSFrameProto.Message.Dimension;
 import fleur.core.proto.FCSFrameProto.Message.Keyword;
 import fleur.core.utils.FCSUtilities;
+import fleur.core.utils.RoaringBitSet;
 
 // don't use the default serializer, there is a protobuf spec.
 @SuppressWarnings("serial")
@@ -48,7 +51,9 @@ public class FCSFrame extends DomainObject implements Comparable<String> {
 
   private static final String LOAD_FAILURE = "Failed to de-serialize FCS Frame";
 
-  private TreeSet<FCSDimension> columnData;
+  private DimensionSet columnData;
+  // Short name and position lookups over columnData, rebuilt when the columns change.
+  private transient volatile ColumnIndex columnIndex;
   private Map<String, String> keywords;
   private String compReference;
   private Integer rowCount = -1;
@@ -67,7 +72,7 @@ public class FCSFrame extends DomainObject implements Comparable<String> {
   public FCSFrame(String priorUUID, Map<String, String> header, int rows) {
     super(priorUUID);
     keywords = header;
-    columnData = new TreeSet<>();
+    columnData = new DimensionSet();
     rowCount = rows;
   }
 
@@ -85,8 +90,14 @@ public class FCSFrame extends DomainObject implements Comparable<String> {
   }
 
   public static FCSFrame load(byte[] bytes) throws InvalidProtocolBufferException {
-    final Message loadedMessage = Message.parseFrom(bytes);
+    return fromMessage(Message.parseFrom(bytes), true);
+  }
 
+  /**
+   * @param withValues if false the dimensions are only described and hold no values, see
+   *        FCSFrameFile.
+   */
+  static FCSFrame fromMessage(Message loadedMessage, boolean withValues) {
     // Load the keywords
     final HashMap<String, String> keywords = loadKeywords(loadedMessage);
 
@@ -100,9 +111,12 @@ public class FCSFrame extends DomainObject implements Comparable<String> {
       String priorUUID = dim.getId();
       dimen[j] = priorUUID;
       final FCSDimension currentDimension = new FCSDimension(priorUUID, fcsFrame.getRowCount(),
-          dim.getIndex(), dim.getPnn(), dim.getPns(), dim.getPneF1(), dim.getPneF2(), dim.getPnr());
-      for (int i = 0; i < currentDimension.size(); i++) {
-        currentDimension.getData()[i] = dim.getData(i);
+          dim.getIndex(), dim.getPnn(), dim.getPns(), dim.getPneF1(), dim.getPneF2(), dim.getPnr(),
+          null, null);
+      if (withValues && dim.getFloatDataCount() > 0) {
+        currentDimension.setFloatData(Floats.toArray(dim.getFloatDataList()));
+      } else if (withValues) {
+        currentDimension.setData(Doubles.toArray(dim.getDataList()));
       }
       fcsFrame.addDimension(currentDimension);
     }
@@ -131,7 +145,10 @@ public class FCSFrame extends DomainObject implements Comparable<String> {
   }
 
   private static Subset loadSubset(Message.Subset subsetMessage) {
-    BitSet mask = extractMaskFromSubsetMessage(subsetMessage);
+    // Messages written before the members field hold a dense mask.
+    RoaringBitSet members = subsetMessage.hasMembers()
+        ? ColumnCodec.decodeMembers(subsetMessage.getMembers().toByteArray())
+        : RoaringBitSet.valueOf(extractMaskFromSubsetMessage(subsetMessage));
 
     int dimensionCount = subsetMessage.getDimensionsCount();
     String[] dimensions = null;
@@ -149,7 +166,7 @@ public class FCSFrame extends DomainObject implements Comparable<String> {
         descriptors[j] = subsetMessage.getDoubleValue(j);
     }
 
-    return new Subset(subsetMessage.getName(), mask, subsetMessage.getParentID(),
+    return new Subset(subsetMessage.getName(), members, subsetMessage.getParentID(),
         subsetMessage.getId(), subsetMessage.getSubsetType(), dimensions, descriptors);
   }
 
@@ -201,34 +218,57 @@ public class FCSFrame extends DomainObject implements Comparable<String> {
   }
 
   public int getDimensionCount() {
-    return getDimensionNames().size();
+    return columnData.size();
   }
 
   public ArrayList<String> getDimensionNames() {
-    return columnData.stream().map(FCSDimension::getShortName)
-        .collect(Collectors.toCollection(ArrayList::new));
+    FCSDimension[] columns = index().columns;
+    ArrayList<String> names = new ArrayList<>(columns.length);
+    for (FCSDimension dimension : columns) {
+      names.add(dimension.getShortName());
+    }
+    return names;
   }
 
   public double[] getRow(int index) {
-    final double[] row = new double[getDimensionCount()];
-    int i = 0;
-    for (String shortName : getDimensionNames()) {
-      FCSDimension dim = getDimension(shortName);
-      row[i] = dim.getData()[index];
-      i++;
+    return getRow(index, new double[getDimensionCount()]);
+  }
+
+  /**
+   * Copies one event into row, which must hold at least getDimensionCount() values. Values are in
+   * the order of getDimensionNames().
+   */
+  public double[] getRow(int index, double[] row) {
+    FCSDimension[] columns = index().columns;
+    for (int i = 0; i < columns.length; i++) {
+      row[i] = columns[i].getValue(index);
     }
     return row;
   }
 
+  /**
+   * @return the position of the dimension in getDimensionNames() or -1 if there is none.
+   */
+  public int getColumnIndex(String shortName) {
+    Integer position = index().positions.get(shortName);
+    return position == null ? -1 : position;
+  }
+
+  /**
+   * @param column a position in getDimensionNames().
+   */
+  public FCSDimension getDimension(int column) {
+    return index().columns[column];
+  }
+
   public String getDisplayName() {
     return FCSUtilities.chooseDisplayName(this);
   }
 
   public FCSDimension getDimension(String shortName) {
-    Optional<FCSDimension> matchingDimension = columnData.stream()
-        .filter(dimension -> shortName.equals(dimension.getShortName())).findAny();
-    if (matchingDimension.isPresent()) {
-      return matchingDimension.get();
+    int column = getColumnIndex(shortName);
+    if (column >= 0) {
+      return getDimension(column);
     } else {
       throw new RuntimeException("Parameter name: " + shortName + " not found in " + this.getDimensionNames().toString());
     }
@@ -250,11 +290,13 @@ public class FCSFrame extends DomainObject implements Comparable<String> {
     return rowCount;
   }
 
-  public BitSet[] getSubsetMatrix() {
-    List<Subset> subsets = getSubsets(true);
-    BitSet[] subsetMatrix = new BitSet[subsets.size()];
+  /**
+   * @return the members of each subset. The sets are immutable and shared rather than copied.
+   */
+  public RoaringBitSet[] getSubsetMatrix() {
+    RoaringBitSet[] subsetMatrix = new RoaringBitSet[subsets.size()];
     for (int i=0;i<subsets.size();i++){
-      subsetMatrix[i] = subsets.get(i).getMembers();
+      subsetMatrix[i] = subsets.get(i).getMemberSet();
     }
     return subsetMatrix;
   }
@@ -267,13 +309,7 @@ public class FCSFrame extends DomainObject implements Comparable<String> {
   }
 
   public boolean hasDimension(String shortName) {
-    Iterator<FCSDimension> iter = columnData.iterator();
-    while (iter.hasNext()) {
-      if (iter.next().getShortName().equals(shortName)) {
-        return true;
-      }
-    }
-    return false;
+    return getColumnIndex(shortName) >= 0;
   }
 
   public boolean hasSubset(String subsetNameScatter) {
@@ -286,12 +322,12 @@ public class FCSFrame extends DomainObject implements Comparable<String> {
   }
 
   public byte[] saveAsBytes() {
-    final Message buffer = createMessage();
+    final Message buffer = createMessage(true);
     return buffer.toByteArray();
   }
 
   public String saveAsString() {
-    final Message buffer = createMessage();
+    final Message buffer = createMessage(true);
     try {
       return JsonFormat.printer().print(buffer);
     } catch (InvalidProtocolBufferException e) {
@@ -301,7 +337,7 @@ public class FCSFrame extends DomainObject implements Comparable<String> {
     }
   }
 
-  private Message createMessage() {
+  Message createMessage(boolean withValues) {
     // create the builder
     final Message.Builder messageBuilder = Message.newBuilder();
     messageBuilder.setId(this.getID());
@@ -333,10 +369,11 @@ public class FCSFrame extends DomainObject implements Comparable<String> {
       dimBuilder.setPnr(dim.getRange());
       dimBuilder.setId(dim.getID());
 
-      // Add the numeric data
-      final double[] rawArray = dim.getData();
-      for (final double value : rawArray) {
-        dimBuilder.addData(value);
+      // Add the numeric data, float stored dimensions are written without widening.
+      if (withValues && dim.isFloat()) {
+        dimBuilder.addAllFloatData(Floats.asList(dim.getFloatData()));
+      } else if (withValues) {
+        dimBuilder.addAllData(Doubles.asList(dim.getData()));
       }
       final Message.Dimension fcsdim = dimBuilder.build();
       messageBuilder.addDimension(fcsdim);
@@ -368,10 +405,7 @@ public class FCSFrame extends DomainObject implements Comparable<String> {
     if (descriptors != null)
       sBuilder.addAllDoubleValue(Arrays.asList(descriptors));
 
-    long[] longs = currentSubset.getMembers().toLongArray();
-    for (int i = 0; i < longs.length; i++){
-    	sBuilder.addMask(longs[i]);
-    }
+    sBuilder.setMembers(ByteString.copyFrom(ColumnCodec.encodeMask(currentSubset.getMemberSet())));
     Message.Subset subset = sBuilder.build();
     messageBuilder.addSubset(subset);
   }
@@ -388,7 +422,8 @@ public class FCSFrame extends DomainObject implements Comparable<String> {
   }
 
   public void setData(TreeSet<FCSDimension> sortedSet) {
-    columnData = sortedSet;
+    columnData = sortedSet instanceof DimensionSet ? (DimensionSet) sortedSet
+        : new DimensionSet(sortedSet);
   }
 
   public void setDisplayName(String newDisplayName) {
@@ -400,16 +435,26 @@ public class FCSFrame extends DomainObject implements Comparable<String> {
     return getDisplayName();
   }
 
+  /**
+   * @return a new BitSet of the members of the named subset, and of its ancestors if
+   *         includeAnscestry is set, or null if there is no such subset. See getFilteredMembers().
+   */
   public BitSet getFilteredFrame(String referenceSubset, boolean includeAnscestry) {
+    RoaringBitSet members = getFilteredMembers(referenceSubset, includeAnscestry);
+    return members == null ? null : members.toBitSet();
+  }
+
+  /**
+   * Like getFilteredFrame() but returns the compressed, immutable set without a dense copy.
+   */
+  public RoaringBitSet getFilteredMembers(String referenceSubset, boolean includeAnscestry) {
     Optional<Subset> targetSubset =
         subsets.stream().filter(sub -> sub.getLabel().equals(referenceSubset)).findAny();
     if (targetSubset.isPresent() && includeAnscestry) {
       Subset currentSubset = targetSubset.get();
-      List<Subset> ancestors = currentSubset.findAncestors(getSubsets());
-      BitSet mask = currentSubset.evaluate(ancestors);
-      return mask;
-    } else if (targetSubset.isPresent() && !includeAnscestry) {
-      return targetSubset.get().getMembers();
+      return currentSubset.evaluateMembers(currentSubset.findAncestors(subsets));
+    } else if (targetSubset.isPresent()) {
+      return targetSubset.get().getMemberSet();
     } else {
       return null;
     }
@@ -424,11 +469,10 @@ public class FCSFrame extends DomainObject implements Comparable<String> {
   }
 
   public double[][] getMatrix(List<String> dimensionNames) {
-    double[][] mtx = new double[dimensionNames.size()][rowCount];
+    double[][] mtx = new double[dimensionNames.size()][];
     int i = 0;
     for (String name : dimensionNames) {
-      FCSDimension dim = getDimension(name);
-      mtx[i] = dim.getData();
+      mtx[i] = getDimension(name).getData();
       i++;
     }
     return mtx;
@@ -444,4 +488,39 @@ public class FCSFrame extends DomainObject implements Comparable<String> {
   public void setSubsets(ArrayList<Subset> mergedSubsets) {
     this.subsets = mergedSubsets;
   }
+
+  private ColumnIndex index() {
+    ColumnIndex current = columnIndex;
+    DimensionSet columns = columnData;
+    if (current == null || !current.isCurrent(columns)) {
+      current = new ColumnIndex(columns);
+      columnIndex = current;
+    }
+    return current;
+  }
+
+  /**
+   * An immutable snapshot of the columns, replaced whenever the column set changes or one of its
+   * dimensions is renamed.
+   */
+  private static final class ColumnIndex {
+    final DimensionSet set;
+    final int version;
+    final FCSDimension[] columns;
+    final HashMap<String, Integer> positions;
+
+    ColumnIndex(DimensionSet set) {
+      this.set = set;
+      this.version = set.getVersion();
+      this.columns = set.toArray(new FCSDimension[set.size()]);
+      this.positions = new HashMap<>(columns.length * 2);
+      for (int i = 0; i < columns.length; i++) {
+        positions.put(columns[i].getShortName(), i);
+      }
+    }
+
+    boolean isCurrent(DimensionSet current) {
+      return set == current && version == current.getVersion();
+    }
+  }
 }
@@ -0,0 +1,690 @@
+package fleur.core.data;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import com.google.protobuf.ByteString;
+
+import fleur.core.proto.FCSFrameProto.Message;
+import fleur.core.utils.BitSetUtils;
+import fleur.core.utils.RoaringBitSet;
+
+/**
+ * Reads and writes FCSFrames in the packed filestore layout:
+ *
+ * <pre>
+ * magic      8 bytes, "FLRPACK" + format version
+ * header     int length + protobuf Message without any dimension values
+ * columns    int count, then per dimension (in header order): int encoding, long offset
+ * subsets    version 2 and 3: long offset of the subset masks
+ * parent     version 3 only: long offset of the derivation
+ * values     one little endian float or double block per dimension, 8 byte aligned
+ * </pre>
+ *
+ * The low byte of a column's encoding is its element size. Version 2 files may also hold
+ * compressed columns, see ColumnCodec, whose encoding is given by the next byte and which start
+ * with their length in bytes as a long. Their subset masks are run length encoded after the
+ * columns, each preceded by its int length, so rare populations take little space. Version 1
+ * files, which are still read, kept dense masks in the header.
+ *
+ * Version 3 files are derived from a parent filestore, see writeDerived(). Columns whose encoding
+ * is INHERITED have no values of their own, their offset is the index of the parent column they
+ * are read from, and inherited subset masks have a length of -1. The derivation holds the parent's
+ * frame ID as an int length and UTF-8 bytes, then the int length and run length encoded row mask
+ * selecting the parent events, or -1 when every event is kept.
+ *
+ * Uncompressed columns are read through a reused direct buffer with bulk buffer reads, compressed
+ * ones are decoded block by block while streaming. Files may be larger than 2GB. Files
+ * without the magic are read as legacy protobuf filestores.
+ */
+public class FCSFrameFile {
+
+  private static final byte[] MAGIC = {'F', 'L', 'R', 'P', 'A', 'C', 'K', 1};
+  private static final byte MASKS_VERSION = 2;
+  private static final byte DERIVED_VERSION = 3;
+  private static final int INHERITED = 0xFF;
+  private static final int ALIGNMENT = 8;
+  // Buffer used while writing a column.
+  private static final int WRITE_CHUNK_BYTES = 1 << 20;
+  // Columns are read through a buffer of this size, grown for compressed blocks which are larger.
+  private static final int READ_WINDOW_BYTES = 1 << 20;
+  // Columns stay uncompressed, and quick to read, unless encoding saves at least 1 / MIN_SAVING.
+  private static final int MIN_SAVING = 8;
+
+  private static volatile boolean compressByDefault =
+      Boolean.getBoolean("fleur.compressFilestores");
+
+  private FCSFrameFile() {}
+
+  /**
+   * Sets whether write(FCSFrame, File) compresses, eg. for filestores written by nodes. Defaults
+   * to the fleur.compressFilestores system property.
+   */
+  public static void setCompressByDefault(boolean compress) {
+    compressByDefault = compress;
+  }
+
+  public static boolean isCompressByDefault() {
+    return compressByDefault;
+  }
+
+  /**
+   * @return the number of bytes written.
+   */
+  public static long write(FCSFrame frame, File file) throws IOException {
+    return write(frame, file, compressByDefault);
+  }
+
+  /**
+   * @param compress whether to choose a compressed encoding for each column where it is smaller.
+   * @return the number of bytes written.
+   */
+  public static long write(FCSFrame frame, File file, boolean compress) throws IOException {
+    return write(frame, file, compress, null);
+  }
+
+  /**
+   * Writes a frame derived from the frame stored in ancestors.get(0), eg. by adding subsets,
+   * replacing some columns or dropping events, without copying what it shares with its parent.
+   * Columns which are not named in changedDimensions are only referenced if the parent has a column
+   * with the same ID or short name, their values are not compared and need not even be loaded, see
+   * readStructure(). Subsets with the same ID and members as a parent subset are only referenced
+   * as well. Reading the file again needs the same ancestors, see read(File, List, Collection,
+   * Collection).
+   *
+   * @param parentID the frame ID of the parent.
+   * @param rowMask the parent events kept in the derived frame, null if all of them are.
+   * @param changedDimensions short names of the columns whose values differ from the parent's
+   *        column with the same ID or name, eg. compensated ones. They are written with the frame.
+   * @param ancestors the parent's file followed by the parent's own ancestors, if it is derived.
+   * @return the number of bytes written.
+   */
+  public static long writeDerived(FCSFrame frame, File file, String parentID, BitSet rowMask,
+      Collection<String> changedDimensions, List<File> ancestors, boolean compress)
+      throws IOException {
+    if (ancestors.isEmpty()) {
+      throw new IllegalArgumentException("A derived frame needs the file of its parent.");
+    }
+    // Only the parent's column table and subsets are needed, its values are never read here.
+    FCSFrame parent = readStructure(ancestors);
+    int expectedRows = rowMask == null ? parent.getRowCount() : rowMask.cardinality();
+    if (frame.getRowCount() != expectedRows) {
+      throw new IllegalArgumentException("Derived frame has " + frame.getRowCount()
+          + " events, its parent selection " + expectedRows + ".");
+    }
+
+    Map<String, Integer> parentColumns = new HashMap<>();
+    for (int i = 0; i < parent.getDimensionCount(); i++) {
+      parentColumns.put(parent.getDimension(i).getID(), i);
+    }
+    Set<String> changed = new HashSet<>(changedDimensions);
+    List<FCSDimension> dimensions = new ArrayList<>(frame.getData());
+    int[] inherited = new int[dimensions.size()];
+    for (int i = 0; i < dimensions.size(); i++) {
+      FCSDimension dimension = dimensions.get(i);
+      Integer column = parentColumns.get(dimension.getID());
+      if (column == null) {
+        int byName = parent.getColumnIndex(dimension.getShortName());
+        column = byName < 0 ? null : byName;
+      }
+      inherited[i] = column != null && !changed.contains(dimension.getShortName()) ? column : -1;
+      if (inherited[i] < 0 && !dimension.hasValues()) {
+        throw new IllegalArgumentException("Derived frame has no values for the new column "
+            + dimension.getShortName() + ".");
+      }
+    }
+
+    Map<String, Subset> parentSubsets = new HashMap<>();
+    parent.getSubsets(false).forEach(subset -> parentSubsets.put(subset.getID(), subset));
+    Set<String> inheritedSubsets = new HashSet<>();
+    for (Subset subset : frame.getSubsets(false)) {
+      Subset parentSubset = parentSubsets.get(subset.getID());
+      if (parentSubset != null && subset.getMemberSet().equals(rowMask == null
+          ? parentSubset.getMemberSet() : parentSubset.getMemberSet().filter(rowMask))) {
+        inheritedSubsets.add(subset.getID());
+      }
+    }
+    return write(frame, file, compress, new Derivation(parentID, rowMask, inherited,
+        inheritedSubsets));
+  }
+
+  private static long write(FCSFrame frame, File file, boolean compress, Derivation derivation)
+      throws IOException {
+    FrameCache.getDefault().invalidate(file);
+    byte version = derivation != null ? DERIVED_VERSION : MASKS_VERSION;
+    Message message = frame.createMessage(false);
+    List<FCSDimension> dimensions = new ArrayList<>(frame.getData());
+    byte[][] encoded = new byte[dimensions.size()][];
+    int[] encodings = new int[dimensions.size()];
+    List<byte[]> masks = new ArrayList<>();
+    for (int i = 0; i < dimensions.size(); i++) {
+      FCSDimension dimension = dimensions.get(i);
+      if (derivation != null && derivation.parentColumns[i] >= 0) {
+        encodings[i] = INHERITED << Byte.SIZE;
+      } else if (compress) {
+        int plan = ColumnCodec.choose(dimension);
+        byte[] bytes = ColumnCodec.encode(dimension, plan);
+        long rawBytes = (long) dimension.getElementSize() * dimension.size();
+        if (bytes.length + Long.BYTES < rawBytes - rawBytes / MIN_SAVING) {
+          encoded[i] = bytes;
+          encodings[i] = ColumnCodec.getCodec(plan) << Byte.SIZE;
+        }
+      }
+    }
+    // Masks move out of the header, in the same order as its subsets.
+    for (Message.Subset subset : message.getSubsetList()) {
+      boolean inherited = derivation != null && derivation.subsetIDs.contains(subset.getId());
+      masks.add(inherited ? null : subset.getMembers().toByteArray());
+    }
+    Message.Builder builder = message.toBuilder();
+    builder.getSubsetBuilderList().forEach(Message.Subset.Builder::clearMembers);
+    message = builder.build();
+    byte[] header = message.toByteArray();
+    int tableBytes = MAGIC.length + Integer.BYTES * 2 + header.length
+        + dimensions.size() * (Integer.BYTES + Long.BYTES) + Long.BYTES
+        + (derivation != null ? Long.BYTES : 0);
+
+    // Lay out the column table, values start on an aligned offset after it.
+    long position = tableBytes;
+    long[] offsets = new long[dimensions.size()];
+    for (int i = 0; i < dimensions.size(); i++) {
+      encodings[i] |= dimensions.get(i).getElementSize();
+      if (derivation != null && derivation.parentColumns[i] >= 0) {
+        offsets[i] = derivation.parentColumns[i];
+        continue;
+      }
+      position = align(position);
+      offsets[i] = position;
+      position += encoded[i] != null ? Long.BYTES + encoded[i].length
+          : (long) dimensions.get(i).getElementSize() * dimensions.get(i).size();
+    }
+    long subsetOffset = position;
+    for (byte[] mask : masks) {
+      position += Integer.BYTES + (mask == null ? 0 : mask.length);
+    }
+    long derivationOffset = position;
+    byte[] derivationBytes = derivation == null ? null : derivation.toByteArray();
+    if (derivationBytes != null) {
+      position += derivationBytes.length;
+    }
+
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      ByteBuffer table = ByteBuffer.allocate(tableBytes).order(ByteOrder.LITTLE_ENDIAN);
+      table.put(MAGIC, 0, MAGIC.length - 1);
+      table.put(version);
+      table.putInt(header.length);
+      table.put(header);
+      table.putInt(dimensions.size());
+      for (int i = 0; i < dimensions.size(); i++) {
+        table.putInt(encodings[i]);
+        table.putLong(offsets[i]);
+      }
+      table.putLong(subsetOffset);
+      if (derivation != null) {
+        table.putLong(derivationOffset);
+      }
+      table.flip();
+      writeFully(channel, table, 0);
+
+      ByteBuffer chunk = ByteBuffer.allocate(WRITE_CHUNK_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+      for (int i = 0; i < dimensions.size(); i++) {
+        if (encodings[i] >>> Byte.SIZE == INHERITED) {
+          continue;
+        } else if (encoded[i] != null) {
+          writeEncoded(channel, encoded[i], offsets[i]);
+        } else {
+          writeColumn(channel, chunk, dimensions.get(i), offsets[i]);
+        }
+      }
+      long maskPosition = subsetOffset;
+      for (byte[] mask : masks) {
+        ByteBuffer length = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        length.putInt(0, mask == null ? -1 : mask.length);
+        writeFully(channel, length, maskPosition);
+        if (mask != null) {
+          writeFully(channel, ByteBuffer.wrap(mask), maskPosition + Integer.BYTES);
+        }
+        maskPosition += Integer.BYTES + (mask == null ? 0 : mask.length);
+      }
+      if (derivationBytes != null) {
+        writeFully(channel, ByteBuffer.wrap(derivationBytes), derivationOffset);
+      }
+      return position;
+    }
+  }
+
+  private static void writeEncoded(FileChannel channel, byte[] encoded, long offset)
+      throws IOException {
+    ByteBuffer length = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    length.putLong(0, encoded.length);
+    writeFully(channel, length, offset);
+    writeFully(channel, ByteBuffer.wrap(encoded), offset + Long.BYTES);
+  }
+
+  private static void writeColumn(FileChannel channel, ByteBuffer chunk, FCSDimension dimension,
+      long offset) throws IOException {
+    // Float stored dimensions are written without widening them.
+    int length = dimension.size();
+    int elementSize = dimension.getElementSize();
+    int perChunk = chunk.capacity() / elementSize;
+    long position = offset;
+    for (int done = 0; done < length; done += perChunk) {
+      int count = Math.min(perChunk, length - done);
+      chunk.clear();
+      dimension.putValues(chunk, done, count);
+      chunk.limit(count * elementSize);
+      writeFully(channel, chunk, position);
+      position += count * elementSize;
+    }
+  }
+
+  private static void writeFully(FileChannel channel, ByteBuffer buffer, long position)
+      throws IOException {
+    long current = position;
+    while (buffer.hasRemaining()) {
+      current += channel.write(buffer, current);
+    }
+  }
+
+  private static long align(long position) {
+    return (position + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+  }
+
+  public static boolean isPacked(File file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      return readVersion(channel) > 0;
+    }
+  }
+
+  /**
+   * @return the format version or 0 if the file is not packed.
+   */
+  private static int readVersion(FileChannel channel) throws IOException {
+    if (channel.size() < MAGIC.length) {
+      return 0;
+    }
+    ByteBuffer magic = ByteBuffer.allocate(MAGIC.length);
+    readFully(channel, magic, 0);
+    byte version = magic.get(MAGIC.length - 1);
+    magic.put(MAGIC.length - 1, MAGIC[MAGIC.length - 1]);
+    if (!Arrays.equals(MAGIC, magic.array())
+        || version < MAGIC[MAGIC.length - 1] || version > DERIVED_VERSION) {
+      return 0;
+    }
+    return version;
+  }
+
+  /**
+   * Reads a frame from either a packed or a legacy protobuf filestore.
+   */
+  public static FCSFrame read(File file) throws IOException {
+    return read(file, null, null);
+  }
+
+  /**
+   * Reads a projection of a frame. Only the requested columns are read from a packed filestore,
+   * legacy filestores are read completely and then projected.
+   *
+   * @param dimensionNames short names of the dimensions to keep, null keeps every dimension.
+   * @param subsetIDs IDs of the subsets to keep, null keeps every subset. The ancestors of a kept
+   *        subset are always kept so it can still be evaluated.
+   */
+  public static FCSFrame read(File file, Collection<String> dimensionNames,
+      Collection<String> subsetIDs) throws IOException {
+    return read(file, Collections.emptyList(), dimensionNames, subsetIDs);
+  }
+
+  /**
+   * Reads a projection of a frame which may have been derived from another filestore, see
+   * writeDerived(). Inherited columns and subsets are copied from the parent, which is read through
+   * the default FrameCache so a chain of derived filestores shares its decoded ancestors. A
+   * projection reads the parent projected to the inherited columns and subsets it keeps.
+   *
+   * @param ancestors the parent's file followed by its own ancestors, empty if not derived.
+   */
+  public static FCSFrame read(File file, List<File> ancestors, Collection<String> dimensionNames,
+      Collection<String> subsetIDs) throws IOException {
+    return read(file, ancestors, dimensionNames, subsetIDs, true);
+  }
+
+  /**
+   * Reads every dimension of a frame without its values, and its subsets with their members. The
+   * structure of a derived frame only needs the structure of its ancestors, so no column of the
+   * chain is read. Enough to add subsets to the frame and write it with writeDerived().
+   *
+   * @param files the frame's file followed by its ancestors, see read(File, List, Collection,
+   *        Collection).
+   */
+  public static FCSFrame readStructure(List<File> files) throws IOException {
+    return read(files.get(0), files.subList(1, files.size()), null, null, false);
+  }
+
+  private static FCSFrame read(File file, List<File> ancestors, Collection<String> dimensionNames,
+      Collection<String> subsetIDs, boolean withValues) throws IOException {
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      int version = readVersion(channel);
+      if (version == 0) {
+        FCSFrame frame = FCSFrame.load(Files.readAllBytes(file.toPath()));
+        project(frame, dimensionNames, subsetIDs);
+        return frame;
+      }
+      ByteBuffer length = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+      readFully(channel, length, MAGIC.length);
+      int headerLength = length.getInt(0);
+      ByteBuffer header = ByteBuffer.allocate(headerLength + Integer.BYTES);
+      readFully(channel, header, MAGIC.length + Integer.BYTES);
+      Message message = Message.parseFrom(ByteString.copyFrom(header.array(), 0, headerLength));
+      int columnCount = header.order(ByteOrder.LITTLE_ENDIAN).getInt(headerLength);
+      if (columnCount != message.getDimensionCount()) {
+        throw new IOException("Packed frame column table does not match its header.");
+      }
+      boolean maskSection = version >= MASKS_VERSION;
+      boolean derived = version == DERIVED_VERSION;
+      ByteBuffer table = ByteBuffer
+          .allocate(columnCount * (Integer.BYTES + Long.BYTES) + (maskSection ? Long.BYTES : 0)
+              + (derived ? Long.BYTES : 0))
+          .order(ByteOrder.LITTLE_ENDIAN);
+      readFully(channel, table, MAGIC.length + Integer.BYTES * 2L + headerLength);
+      table.flip();
+
+      FCSFrame frame = FCSFrame.fromMessage(message, false);
+      project(frame, dimensionNames, subsetIDs);
+      Map<String, FCSDimension> dimensions = new HashMap<>();
+      frame.getData().forEach(dimension -> dimensions.put(dimension.getID(), dimension));
+      Derivation derivation = null;
+      FCSFrame parent = null;
+      FCSDimension[] parentColumns = null;
+      if (derived) {
+        if (ancestors.isEmpty()) {
+          throw new IOException("Derived frame file read without the file of its parent.");
+        }
+        derivation = Derivation.read(channel, table.getLong(table.limit() - Long.BYTES));
+        Set<String> keptSubsets = new HashSet<>();
+        frame.getSubsets(false).forEach(subset -> keptSubsets.add(subset.getID()));
+        if (withValues && dimensionNames == null && subsetIDs == null) {
+          parent = FrameCache.getDefault().readShared(ancestors, derivation.parentID);
+          parentColumns = new FCSDimension[parent.getDimensionCount()];
+          for (int i = 0; i < parentColumns.length; i++) {
+            parentColumns[i] = parent.getDimension(i);
+          }
+        } else if (withValues) {
+          // Only the parent columns the kept dimensions inherit are read, and only kept subsets.
+          FCSFrame columns = read(ancestors.get(0), ancestors.subList(1, ancestors.size()), null,
+              Collections.emptyList(), false);
+          parentColumns = new FCSDimension[columns.getDimensionCount()];
+          List<String> inherited = new ArrayList<>();
+          for (int i = 0; i < columnCount; i++) {
+            int column = (int) table.getLong(i * (Integer.BYTES + Long.BYTES) + Integer.BYTES);
+            if (table.getInt(i * (Integer.BYTES + Long.BYTES)) >>> Byte.SIZE == INHERITED
+                && dimensions.containsKey(message.getDimension(i).getId())
+                && column < parentColumns.length) {
+              inherited.add(columns.getDimension(column).getShortName());
+            }
+          }
+          if (!inherited.isEmpty() || !keptSubsets.isEmpty()) {
+            parent = FrameCache.getDefault().read(ancestors, derivation.parentID, inherited,
+                keptSubsets);
+            for (int i = 0; i < parentColumns.length; i++) {
+              String name = columns.getDimension(i).getShortName();
+              parentColumns[i] = inherited.contains(name) ? parent.getDimension(name) : null;
+            }
+          }
+        } else if (!keptSubsets.isEmpty()) {
+          parent = read(ancestors.get(0), ancestors.subList(1, ancestors.size()),
+              Collections.emptyList(), keptSubsets, false);
+        }
+      }
+      // Shared by the uncompressed columns, allocated once the first of them is read.
+      ByteBuffer rawBuffer = null;
+      for (int i = 0; i < columnCount; i++) {
+        int encoding = table.getInt();
+        long offset = table.getLong();
+        FCSDimension dimension = dimensions.remove(message.getDimension(i).getId());
+        int elementSize = encoding & 0xFF;
+        int codec = encoding >>> Byte.SIZE;
+        if (dimension == null || !withValues) {
+          continue;
+        } else if (codec == INHERITED) {
+          inheritColumn(dimension, parentColumns, (int) offset, derivation.rowMask);
+        } else if (codec == ColumnCodec.RAW) {
+          if (rawBuffer == null) {
+            rawBuffer = ByteBuffer.allocateDirect(READ_WINDOW_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+          }
+          readColumn(channel, rawBuffer, dimension, elementSize, offset, frame.getRowCount());
+        } else {
+          readEncodedColumn(channel, dimension, codec, elementSize, offset, frame.getRowCount());
+        }
+      }
+      if (!dimensions.isEmpty()) {
+        throw new IOException("Packed frame has no column for " + dimensions.size() + " dimensions.");
+      }
+      if (maskSection) {
+        readMasks(channel, message, frame, table.getLong(), parent,
+            derivation == null ? null : derivation.rowMask);
+      }
+      return frame;
+    }
+  }
+
+  private static void inheritColumn(FCSDimension dimension, FCSDimension[] parentColumns,
+      int column, BitSet rowMask) throws IOException {
+    if (column >= parentColumns.length || parentColumns[column] == null) {
+      throw new IOException("Derived frame refers to a missing parent column.");
+    }
+    // The parent comes from the cache, its values are shared until written or filtered.
+    FCSDimension source = parentColumns[column];
+    if (rowMask == null) {
+      dimension.shareValues(source);
+    } else if (source.isFloat()) {
+      dimension.setFloatData(BitSetUtils.filter(source.getFloatData(), rowMask));
+    } else {
+      dimension.setData(BitSetUtils.filter(source.getData(), rowMask));
+    }
+  }
+
+  static void project(FCSFrame frame, Collection<String> dimensionNames,
+      Collection<String> subsetIDs) {
+    if (dimensionNames != null) {
+      Set<String> names = new HashSet<>(dimensionNames);
+      frame.getData().removeIf(dimension -> !names.contains(dimension.getShortName()));
+    }
+    if (subsetIDs != null) {
+      List<Subset> subsets = frame.getSubsets(false);
+      Set<String> keep = new HashSet<>();
+      subsets
+        .stream()
+        .filter(subset -> subsetIDs.contains(subset.getID()))
+        .forEach(subset -> {
+          keep.add(subset.getID());
+          subset.findAncestors(subsets).forEach(ancestor -> keep.add(ancestor.getID()));
+        });
+      subsets.removeIf(subset -> !keep.contains(subset.getID()));
+    }
+  }
+
+  /**
+   * Reads an uncompressed column through buffer, a direct buffer whose size is a multiple of 8.
+   * Regions are read rather than mapped so the file is not held open by mappings which are only
+   * released when they are garbage collected.
+   */
+  private static void readColumn(FileChannel channel, ByteBuffer buffer, FCSDimension dimension,
+      int elementSize, long offset, int rowCount) throws IOException {
+    if (offset + (long) elementSize * rowCount > channel.size()) {
+      throw new IOException("Column " + dimension.getShortName() + " extends beyond the file.");
+    }
+    float[] floats = elementSize == Float.BYTES ? new float[rowCount] : null;
+    double[] doubles = floats == null ? new double[rowCount] : null;
+    int perChunk = buffer.capacity() / elementSize;
+    for (int done = 0; done < rowCount; done += perChunk) {
+      int count = Math.min(perChunk, rowCount - done);
+      buffer.clear().limit(count * elementSize);
+      readFully(channel, buffer, offset + (long) done * elementSize);
+      buffer.flip();
+      if (floats != null) {
+        buffer.asFloatBuffer().get(floats, done, count);
+      } else {
+        buffer.asDoubleBuffer().get(doubles, done, count);
+      }
+    }
+    if (floats != null) {
+      dimension.setFloatData(floats);
+    } else {
+      dimension.setData(doubles);
+    }
+  }
+
+  private static void readEncodedColumn(FileChannel channel, FCSDimension dimension, int codec,
+      int elementSize, long offset, int rowCount) throws IOException {
+    ByteBuffer length = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    readFully(channel, length, offset);
+    long end = offset + Long.BYTES + length.getLong(0);
+    if (end > channel.size()) {
+      throw new IOException("Column " + dimension.getShortName() + " extends beyond the file.");
+    }
+    float[] floats = elementSize == Float.BYTES ? new float[rowCount] : null;
+    double[] doubles = floats == null ? new double[rowCount] : null;
+
+    // Whole blocks are decoded out of a window which is refilled from the channel as needed.
+    long position = offset + Long.BYTES;
+    int windowBytes = (int) Math.min(READ_WINDOW_BYTES, end - position);
+    ByteBuffer window = ByteBuffer.allocate(windowBytes).order(ByteOrder.LITTLE_ENDIAN);
+    window.limit(0);
+    for (int done = 0; done < rowCount;) {
+      int blockLength = window.remaining() >= Integer.BYTES ? window.getInt(window.position()) : -1;
+      if (blockLength < 0 || window.remaining() < Integer.BYTES + blockLength) {
+        if (blockLength + Integer.BYTES > window.capacity()) {
+          ByteBuffer larger = ByteBuffer.allocate(blockLength + Integer.BYTES)
+              .order(ByteOrder.LITTLE_ENDIAN);
+          larger.put(window);
+          window = larger;
+        } else {
+          window.compact();
+        }
+        int read = (int) Math.min(window.remaining(), end - position);
+        if (read <= 0) {
+          throw new IOException("Column " + dimension.getShortName() + " ends early.");
+        }
+        window.limit(window.position() + read);
+        readFully(channel, window, position);
+        position += read;
+        window.flip();
+        continue;
+      }
+      int count = Math.min(ColumnCodec.BLOCK_SIZE, rowCount - done);
+      int blockStart = window.arrayOffset() + window.position() + Integer.BYTES;
+      ColumnCodec.decodeBlock(window.array(), blockStart, codec, count, floats, doubles, done);
+      window.position(window.position() + Integer.BYTES + blockLength);
+      done += count;
+    }
+    if (floats != null) {
+      dimension.setFloatData(floats);
+    } else {
+      dimension.setData(doubles);
+    }
+  }
+
+  private static void readMasks(FileChannel channel, Message message, FCSFrame frame, long offset,
+      FCSFrame parent, BitSet rowMask) throws IOException {
+    Map<String, Subset> subsets = new HashMap<>();
+    frame.getSubsets(false).forEach(subset -> subsets.put(subset.getID(), subset));
+    ByteBuffer length = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    long position = offset;
+    for (int i = 0; i < message.getSubsetCount() && !subsets.isEmpty(); i++) {
+      length.clear();
+      readFully(channel, length, position);
+      int maskLength = length.getInt(0);
+      Subset subset = subsets.remove(message.getSubset(i).getId());
+      if (subset != null && maskLength < 0) {
+        subset.setMembers(inheritMembers(subset, parent, rowMask));
+      } else if (subset != null) {
+        ByteBuffer mask = ByteBuffer.allocate(maskLength);
+        readFully(channel, mask, position + Integer.BYTES);
+        subset.setMembers(ColumnCodec.decodeMembers(mask.array()));
+      }
+      position += Integer.BYTES + Math.max(0, maskLength);
+    }
+  }
+
+  private static RoaringBitSet inheritMembers(Subset subset, FCSFrame parent, BitSet rowMask)
+      throws IOException {
+    Optional<Subset> source = parent == null ? Optional.empty()
+        : parent.getSubsets(false).stream()
+            .filter(candidate -> candidate.getID().equals(subset.getID())).findFirst();
+    if (!source.isPresent()) {
+      throw new IOException("Derived frame refers to a missing parent subset: " + subset.getID());
+    }
+    return rowMask == null ? source.get().getMemberSet()
+        : source.get().getMemberSet().filter(rowMask);
+  }
+
+  private static void readFully(FileChannel channel, ByteBuffer buffer, long position)
+      throws IOException {
+    long current = position;
+    while (buffer.hasRemaining()) {
+      int read = channel.read(buffer, current);
+      if (read < 0) {
+        throw new IOException("Unexpected end of packed frame file.");
+      }
+      current += read;
+    }
+  }
+
+  private static class Derivation {
+    final String parentID;
+    final BitSet rowMask;
+    final int[] parentColumns;
+    final Set<String> subsetIDs;
+
+    Derivation(String parentID, BitSet rowMask, int[] parentColumns, Set<String> subsetIDs) {
+      this.parentID = parentID;
+      this.rowMask = rowMask;
+      this.parentColumns = parentColumns;
+      this.subsetIDs = subsetIDs;
+    }
+
+    byte[] toByteArray() {
+      byte[] id = parentID.getBytes(StandardCharsets.UTF_8);
+      byte[] mask = rowMask == null ? new byte[0] : ColumnCodec.encodeMask(rowMask);
+      ByteBuffer bytes = ByteBuffer.allocate(Integer.BYTES * 2 + id.length + mask.length)
+          .order(ByteOrder.LITTLE_ENDIAN);
+      bytes.putInt(id.length).put(id);
+      bytes.putInt(rowMask == null ? -1 : mask.length).put(mask);
+      return bytes.array();
+    }
+
+    static Derivation read(FileChannel channel, long offset) throws IOException {
+      ByteBuffer length = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+      readFully(channel, length, offset);
+      ByteBuffer id = ByteBuffer.allocate(length.getInt(0));
+      readFully(channel, id, offset + Integer.BYTES);
+      long position = offset + Integer.BYTES + id.capacity();
+      length.clear();
+      readFully(channel, length, position);
+      BitSet rowMask = null;
+      if (length.getInt(0) >= 0) {
+        ByteBuffer mask = ByteBuffer.allocate(length.getInt(0));
+        readFully(channel, mask, position + Integer.BYTES);
+        rowMask = ColumnCodec.decodeMask(mask.array());
+      }
+      return new Derivation(new String(id.array(), StandardCharsets.UTF_8), rowMask, null, null);
+    }
+  }
+}
@@ -0,0 +1,275 @@
+package fleur.core.data;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Keeps recently read filestore frames in memory so nodes further down a workflow, and the dialogs
+ * and previews of the same node, do not decode the same file again. Frames are keyed by file
+ * identity (path, size and modification time) and frame ID and are evicted least recently used
+ * first once the byte budget is exceeded. Entries are softly referenced, the garbage collector may
+ * drop them before the budget is reached.
+ *
+ * Every read returns a private copy so callers are free to modify the frame. Copies share the
+ * column values of the cached frame until they are written, see FCSDimension.shareValues(). Safe
+ * for concurrent use, files are read outside of the lock.
+ */
+public class FrameCache {
+
+  // By default cached frames may use up to a quarter of the maximum heap.
+  private static final FrameCache DEFAULT_CACHE =
+      new FrameCache(Runtime.getRuntime().maxMemory() / 4);
+
+  private final LinkedHashMap<Key, CachedFrame> frames = new LinkedHashMap<>(16, 0.75f, true);
+  private long budget;
+  private long usedBytes = 0;
+  private long hits = 0;
+  private long misses = 0;
+  private long evictions = 0;
+
+  public FrameCache(long budgetBytes) {
+    this.budget = budgetBytes;
+  }
+
+  public static FrameCache getDefault() {
+    return DEFAULT_CACHE;
+  }
+
+  public FCSFrame read(File file, String frameID) throws IOException {
+    return read(file, frameID, null, null);
+  }
+
+  /**
+   * Returns a copy of the frame stored in the file, see FCSFrameFile.read() for the projection
+   * arguments. Projected reads are served from a cached complete frame when there is one, otherwise
+   * only the projected columns are read and nothing is cached.
+   */
+  public FCSFrame read(File file, String frameID, Collection<String> dimensionNames,
+      Collection<String> subsetIDs) throws IOException {
+    return read(Collections.singletonList(file), frameID, dimensionNames, subsetIDs);
+  }
+
+  /**
+   * Reads a frame which may be derived from other filestores, see FCSFrameFile.writeDerived().
+   *
+   * @param files the frame's own file followed by its ancestors.
+   */
+  public FCSFrame read(List<File> files, String frameID, Collection<String> dimensionNames,
+      Collection<String> subsetIDs) throws IOException {
+    Key key = new Key(files.get(0), frameID);
+    FCSFrame cached = lookup(key);
+    if (cached != null) {
+      return copy(cached, dimensionNames, subsetIDs);
+    }
+    List<File> ancestors = files.subList(1, files.size());
+    if (dimensionNames != null || subsetIDs != null) {
+      return FCSFrameFile.read(files.get(0), ancestors, dimensionNames, subsetIDs);
+    }
+    FCSFrame frame = FCSFrameFile.read(files.get(0), ancestors, null, null);
+    store(key, frame);
+    return copy(frame, null, null);
+  }
+
+  /**
+   * @return the cached instance of the frame, read and cached first on a miss. Callers must not
+   *         modify it.
+   */
+  FCSFrame readShared(List<File> files, String frameID) throws IOException {
+    Key key = new Key(files.get(0), frameID);
+    FCSFrame frame = lookup(key);
+    if (frame == null) {
+      frame = FCSFrameFile.read(files.get(0), files.subList(1, files.size()), null, null);
+      store(key, frame);
+    }
+    return frame;
+  }
+
+  private synchronized FCSFrame lookup(Key key) {
+    CachedFrame entry = frames.get(key);
+    FCSFrame frame = entry == null ? null : entry.frame.get();
+    if (frame != null) {
+      hits++;
+    } else {
+      if (entry != null) {
+        // Cleared by the garbage collector.
+        remove(key);
+      }
+      misses++;
+    }
+    return frame;
+  }
+
+  private synchronized void store(Key key, FCSFrame frame) {
+    long bytes = estimateSize(frame);
+    if (bytes > budget) {
+      return;
+    }
+    if (frames.containsKey(key)) {
+      usedBytes -= frames.get(key).bytes;
+    }
+    frames.put(key, new CachedFrame(frame, bytes));
+    usedBytes += bytes;
+    trim();
+  }
+
+  /**
+   * Drops every cached frame read from the file, eg. after it has been overwritten.
+   */
+  public synchronized void invalidate(File file) {
+    String path = file.getAbsolutePath();
+    frames.keySet().removeIf(key -> {
+      if (key.path.equals(path)) {
+        usedBytes -= frames.get(key).bytes;
+        return true;
+      }
+      return false;
+    });
+  }
+
+  public synchronized void setBudget(long budgetBytes) {
+    this.budget = budgetBytes;
+    trim();
+  }
+
+  public synchronized long getBudget() {
+    return budget;
+  }
+
+  public synchronized long getUsedBytes() {
+    return usedBytes;
+  }
+
+  public synchronized int size() {
+    return frames.size();
+  }
+
+  public synchronized long getHitCount() {
+    return hits;
+  }
+
+  public synchronized long getMissCount() {
+    return misses;
+  }
+
+  /**
+   * @return the number of frames dropped to stay within the budget or cleared by the garbage
+   *         collector.
+   */
+  public synchronized long getEvictionCount() {
+    return evictions;
+  }
+
+  public synchronized void clear() {
+    frames.clear();
+    usedBytes = 0;
+  }
+
+  private void trim() {
+    Iterator<Entry<Key, CachedFrame>> entries = frames.entrySet().iterator();
+    while (entries.hasNext()) {
+      Entry<Key, CachedFrame> eldest = entries.next();
+      if (usedBytes > budget || eldest.getValue().frame.get() == null) {
+        usedBytes -= eldest.getValue().bytes;
+        evictions++;
+        entries.remove();
+      }
+    }
+  }
+
+  private void remove(Key key) {
+    CachedFrame entry = frames.remove(key);
+    if (entry != null) {
+      usedBytes -= entry.bytes;
+      evictions++;
+    }
+  }
+
+  static long estimateSize(FCSFrame frame) {
+    long bytes = 0;
+    for (FCSDimension dimension : frame.getData()) {
+      bytes += (long) dimension.size() * (dimension.isFloat() ? Float.BYTES : Double.BYTES);
+    }
+    for (Subset subset : frame.getSubsets(false)) {
+      bytes += subset.getMemberSet().getSizeInBytes();
+    }
+    return bytes;
+  }
+
+  private static FCSFrame copy(FCSFrame source, Collection<String> dimensionNames,
+      Collection<String> subsetIDs) {
+    FCSFrame copy = new FCSFrame(source.getID(), new HashMap<>(source.getKeywords()),
+        source.getRowCount());
+    Set<String> names = dimensionNames == null ? null : new HashSet<>(dimensionNames);
+    for (FCSDimension dimension : source.getData()) {
+      if (names == null || names.contains(dimension.getShortName())) {
+        FCSDimension copiedDimension = new FCSDimension(dimension.getID(), dimension.size(),
+            dimension.getIndex(), dimension.getShortName(), dimension.getStainName(),
+            dimension.getPNEF1(), dimension.getPNEF2(), dimension.getRange(), null, null);
+        copiedDimension.shareValues(dimension);
+        copy.addDimension(copiedDimension);
+      }
+    }
+    for (Subset subset : source.getSubsets(false)) {
+      // Member sets are immutable and are shared rather than copied.
+      Subset copiedSubset = new Subset(subset.getLabel(), subset.getMemberSet(),
+          subset.getParentID(), subset.getID(), subset.getType(), subset.getDimensions(),
+          subset.getDescriptors());
+      copiedSubset.setOverrideID(subset.getOverrideID());
+      copy.addSubset(copiedSubset);
+    }
+    FCSFrameFile.project(copy, null, subsetIDs);
+    copy.setDisplayName(source.getDisplayName());
+    copy.setCompRef(source.getCompRef());
+    return copy;
+  }
+
+  private static class CachedFrame {
+    final SoftReference<FCSFrame> frame;
+    final long bytes;
+
+    CachedFrame(FCSFrame frame, long bytes) {
+      this.frame = new SoftReference<>(frame);
+      this.bytes = bytes;
+    }
+  }
+
+  private static class Key {
+    final String path;
+    final long length;
+    final long lastModified;
+    final String frameID;
+
+    Key(File file, String frameID) {
+      this.path = file.getAbsolutePath();
+      this.length = file.length();
+      this.lastModified = file.lastModified();
+      this.frameID = frameID;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      return path.equals(other.path) && length == other.length
+          && lastModified == other.lastModified && Objects.equals(frameID, other.frameID);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(path, length, lastModified, frameID);
+    }
+  }
+}
@@ -1,62 +1,186 @@
 package fleur.core.data;
 
 import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
+import fleur.core.transforms.AbstractTransform;
+import fleur.core.utils.ArrayKernels;
 import fleur.core.utils.BitSetUtils;
 
+/**
+ * Counts values in binCount equal bins over [min, max], values outside are counted in the first or
+ * last bin. Histograms are built up with add() from whole columns, subsets or blocks of a column,
+ * and histograms with the same bins can be merged, eg. over the frames of a sample set.
+ */
 public class Histogram1D {
 
-  private double[] x;
-  private double[] y;
+  // Values binned per call of the binning kernel.
+  static final int CHUNK_SIZE = 8192;
+  // Columns shorter than this are counted on the calling thread.
+  static final int PARALLEL_THRESHOLD = 1 << 16;
+
+  private final double min;
+  private final double max;
+  private final double deltaX;
+  private final long[] counts;
   private BitSet mask;
 
+  public Histogram1D(double min, double max, int binCount) {
+    this.min = min;
+    this.max = max;
+    this.deltaX = (max - min) / binCount;
+    this.counts = new long[binCount];
+  }
+
   public Histogram1D(double[] data, double min, double max, int binCount) {
+    this(min, max, binCount);
+    addAll(data, null);
+  }
 
-    double deltaX = (max - min) / binCount;
+  /**
+   * Counts the values, or only those set in subset if it is not null. Large columns are split into
+   * one range per worker thread, each counted into its own partial histogram, and the partial
+   * histograms are merged at the end.
+   */
+  public void addAll(double[] values, BitSet subset) {
+    inParallel(values.length, (partial, from, to) -> partial.add(values, subset, from, to));
+  }
+
+  /**
+   * Counts the transformed values of the dimension a block at a time, the transformed column is
+   * never held in memory as a whole.
+   */
+  public void addAll(FCSDimension dimension, AbstractTransform transform) {
+    inParallel(dimension.size(), (partial, from, to) -> {
+      double[] block = new double[Math.min(CHUNK_SIZE, to - from)];
+      for (int start = from; start < to; start += CHUNK_SIZE) {
+        int length = Math.min(CHUNK_SIZE, to - start);
+        transform.transform(dimension, start, block, 0, length);
+        partial.add(block, 0, length);
+      }
+    });
+  }
 
-    x = new double[binCount];
-    for (int i = 0; i < binCount; i++) {
-      x[i] = i * deltaX;
+  /**
+   * Counts length values starting at from, eg. a block of a streamed column.
+   */
+  public void add(double[] values, int from, int length) {
+    int[] bins = new int[Math.min(CHUNK_SIZE, length)];
+    int lastBin = counts.length - 1;
+    for (int start = 0; start < length; start += CHUNK_SIZE) {
+      int count = Math.min(CHUNK_SIZE, length - start);
+      ArrayKernels.bin(values, from + start, bins, count, min, deltaX);
+      for (int i = 0; i < count; i++) {
+        counts[Math.min(Math.max(bins[i], 0), lastBin)]++;
+      }
     }
-    y = new double[binCount];
-    for (int i = 0; i < binCount; i++) {
-      y[i] = 0;
+    mask = null;
+  }
+
+  private void add(double[] values, BitSet subset, int from, int to) {
+    if (subset == null) {
+      add(values, from, to - from);
+      return;
     }
-    for (int i = 0; i < data.length; i++) {
-      int bin = (int) (data[i] / deltaX);
-      if (bin >= y.length) {
-        bin = binCount - 1;
-      } else if (bin<=0) {
-        bin=0;
+    // Gathers the members of the subset so they are binned a chunk at a time as well.
+    double[] chunk = new double[CHUNK_SIZE];
+    int length = 0;
+    for (int i = subset.nextSetBit(from); i >= 0 && i < to; i = subset.nextSetBit(i + 1)) {
+      chunk[length++] = values[i];
+      if (length == CHUNK_SIZE) {
+        add(chunk, 0, length);
+        length = 0;
       }
-      y[bin]++;
     }
+    add(chunk, 0, length);
+  }
+
+  /**
+   * Adds the counts of a histogram with the same bins.
+   */
+  public void merge(Histogram1D other) {
+    if (other.min != min || other.max != max || other.counts.length != counts.length) {
+      throw new IllegalArgumentException("Histograms with different bins can not be merged.");
+    }
+    for (int i = 0; i < counts.length; i++) {
+      counts[i] += other.counts[i];
+    }
+    mask = null;
+  }
+
+  private void inParallel(int size, RangeCounter counter) {
+    int parts = Math.min(ForkJoinPool.getCommonPoolParallelism(), size / PARALLEL_THRESHOLD);
+    if (parts <= 1) {
+      counter.count(this, 0, size);
+      return;
+    }
+    int step = (size + parts - 1) / parts;
+    IntStream
+      .range(0, parts)
+      .parallel()
+      .mapToObj(part -> {
+        Histogram1D partial = new Histogram1D(min, max, counts.length);
+        counter.count(partial, part * step, Math.min(size, (part + 1) * step));
+        return partial;
+      })
+      .reduce((h1, h2) -> {
+        h1.merge(h2);
+        return h1;
+      })
+      .ifPresent(this::merge);
+  }
+
+  @FunctionalInterface
+  private interface RangeCounter {
+    void count(Histogram1D partial, int from, int to);
   }
 
+  /**
+   * @return the counts per bin, not copied.
+   */
+  public long[] getCounts() {
+    return counts;
+  }
+
+  /**
+   * @return the lower edge of each bin and its count.
+   */
   public double[][] getData() {
+    double[] x = new double[counts.length];
+    double[] y = new double[counts.length];
+    for (int i = 0; i < counts.length; i++) {
+      x[i] = min + i * deltaX;
+      y[i] = counts[i];
+    }
     return new double[][] {x, y};
   }
 
   public double[] getNonZeroX() {
-    if (mask == null) {
-      createMask();
-    }
-    return BitSetUtils.filter(x, mask);
+    return BitSetUtils.filter(getData()[0], getMask());
   }
 
   public double[] getNonZeroY() {
-    if (mask == null) {
-      createMask();
-    }
-    return BitSetUtils.filter(y, mask);
+    return BitSetUtils.filter(getData()[1], getMask());
   }
 
-  private void createMask() {
-    mask = new BitSet(y.length);
-    for (int i = 0; i < y.length; i++) {
-      if (y[i] > Double.MIN_NORMAL || y[i] < -Double.MIN_NORMAL) {
-        mask.set(i);
+  private BitSet getMask() {
+    if (mask == null) {
+      mask = new BitSet(counts.length);
+      for (int i = 0; i < counts.length; i++) {
+        if (counts[i] != 0) {
+          mask.set(i);
+        }
       }
     }
+    return mask;
+  }
+
+  public double getMin() {
+    return min;
+  }
+
+  public double getMax() {
+    return max;
   }
 }
@@ -1,80 +1,183 @@
 package fleur.core.data;
 
+import java.util.Arrays;
 import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 import fleur.core.plots.ChartingDefaults;
+import fleur.core.utils.ArrayKernels;
 
+/**
+ * Counts pairs of values in a grid of equal bins, bin (x, y) at index x * yBinCount + y. Values
+ * outside of the bounds are counted in the edge bins of their axis. Built up with add() like
+ * Histogram1D, histograms with the same bins can be merged.
+ */
 public class Histogram2D {
 
-  double[][] mask;
-  double[][] histogram;
-  private double xBinWidth;
-  private double yBinWidth;
-  private double[] zValues;
-  private double[] yBins;
+  private final double xMin;
+  private final double yMin;
+  private final double xBinWidth;
+  private final double yBinWidth;
+  private final int xBinCount;
+  private final int yBinCount;
+  private final long[] counts;
+  // Bin edges are only created for callers which want every bin, see getNonEmptyData().
   private double[] xBins;
-  private int yBinCount;
-  private int xBinCount;
-  private double xMin;
-  private double yMin;
+  private double[] yBins;
 
-  public Histogram2D(double[] xData, double xMin, double xMax, double[] yData, double yMin,
-      double yMax) {
-    
+  public Histogram2D(double xMin, double xMax, double yMin, double yMax) {
+    this(xMin, xMax, ChartingDefaults.BIN_COUNT, yMin, yMax, ChartingDefaults.BIN_COUNT);
+  }
+
+  public Histogram2D(double xMin, double xMax, int xBinCount, double yMin, double yMax,
+      int yBinCount) {
     this.xMin = xMin;
     this.yMin = yMin;
+    this.xBinCount = xBinCount;
+    this.yBinCount = yBinCount;
+    this.xBinWidth = (xMax - xMin) / xBinCount;
+    this.yBinWidth = (yMax - yMin) / yBinCount;
+    this.counts = new long[xBinCount * yBinCount];
+  }
 
-    this.xBinCount = ChartingDefaults.BIN_COUNT;
-    this.yBinCount = ChartingDefaults.BIN_COUNT;
-    // histogram contains resulting XYZ dataset
-    xBins = new double[xBinCount * yBinCount];
-    yBins = new double[xBinCount * yBinCount];
-    zValues = new double[xBinCount * yBinCount];
+  // An empty histogram with the same bins.
+  private Histogram2D(Histogram2D bins) {
+    this.xMin = bins.xMin;
+    this.yMin = bins.yMin;
+    this.xBinCount = bins.xBinCount;
+    this.yBinCount = bins.yBinCount;
+    this.xBinWidth = bins.xBinWidth;
+    this.yBinWidth = bins.yBinWidth;
+    this.counts = new long[bins.counts.length];
+  }
 
-    // Mask is the masked raw data to be used for gating.
-    mask = new double[2][xData.length];
-    xBinWidth = (xMax - xMin) / xBinCount;
-    yBinWidth = (yMax - yMin) / yBinCount;
+  public Histogram2D(double[] xData, double xMin, double xMax, double[] yData, double yMin,
+      double yMax) {
+    this(xMin, xMax, yMin, yMax);
+    addAll(xData, yData, null);
+  }
 
-    initializeHistogram(xBinCount, xBinWidth, xMin, yBinCount, yBinWidth, yMin);
-    populateHistogram(zValues, xData, yData, xBinWidth, yBinWidth, yBinCount);
+  /**
+   * Counts the pairs of values, or only those set in subset if it is not null. Large columns are
+   * split into one range per worker thread, each counted into its own partial histogram, and the
+   * partial histograms are merged at the end.
+   */
+  public void addAll(double[] xData, double[] yData, BitSet subset) {
+    int size = xData.length;
+    int parts = Math.min(ForkJoinPool.getCommonPoolParallelism(),
+        size / Histogram1D.PARALLEL_THRESHOLD);
+    if (parts <= 1) {
+      add(xData, yData, subset, 0, size);
+      return;
+    }
+    int step = (size + parts - 1) / parts;
+    IntStream
+      .range(0, parts)
+      .parallel()
+      .mapToObj(part -> {
+        Histogram2D partial = new Histogram2D(this);
+        partial.add(xData, yData, subset, part * step, Math.min(size, (part + 1) * step));
+        return partial;
+      })
+      .reduce((h1, h2) -> {
+        h1.merge(h2);
+        return h1;
+      })
+      .ifPresent(this::merge);
+  }
 
+  /**
+   * Counts length pairs starting at from, eg. blocks of two streamed columns.
+   */
+  public void add(double[] xData, double[] yData, int from, int length) {
+    int chunk = Math.min(Histogram1D.CHUNK_SIZE, length);
+    int[] xIndices = new int[chunk];
+    int[] yIndices = new int[chunk];
+    int lastX = xBinCount - 1;
+    int lastY = yBinCount - 1;
+    for (int start = 0; start < length; start += chunk) {
+      int count = Math.min(chunk, length - start);
+      ArrayKernels.bin(xData, from + start, xIndices, count, xMin, xBinWidth);
+      ArrayKernels.bin(yData, from + start, yIndices, count, yMin, yBinWidth);
+      for (int i = 0; i < count; i++) {
+        int xBin = Math.min(Math.max(xIndices[i], 0), lastX);
+        int yBin = Math.min(Math.max(yIndices[i], 0), lastY);
+        counts[xBin * yBinCount + yBin]++;
+      }
+    }
   }
 
-  public double[] populateHistogram(double[] zValues,
-      double[] xData, double[] yData, double xBinWidth, double yBinWidth, int yBinCount) {
-    for (int i = 0; i < xData.length; i++) {
-      double x = xData[i];
-      double y = yData[i];
-      int xBin = (int) ((x-xMin)/ xBinWidth);
-      int yBin = (int) ((y-yMin)/ yBinWidth);
-      int histogramIndex = yBinCount * xBin + yBin;
-      if (histogramIndex < 0) {
-        histogramIndex = 0;
-      } else if (histogramIndex > zValues.length - 1) {
-        histogramIndex = zValues.length - 1;
+  private void add(double[] xData, double[] yData, BitSet subset, int from, int to) {
+    if (subset == null) {
+      add(xData, yData, from, to - from);
+      return;
+    }
+    double[] xChunk = new double[Histogram1D.CHUNK_SIZE];
+    double[] yChunk = new double[Histogram1D.CHUNK_SIZE];
+    int length = 0;
+    for (int i = subset.nextSetBit(from); i >= 0 && i < to; i = subset.nextSetBit(i + 1)) {
+      xChunk[length] = xData[i];
+      yChunk[length++] = yData[i];
+      if (length == Histogram1D.CHUNK_SIZE) {
+        add(xChunk, yChunk, 0, length);
+        length = 0;
       }
-      zValues[histogramIndex]++;
-      mask[0][i] = (double) xBin * xBinWidth;
+    }
+    add(xChunk, yChunk, 0, length);
+  }
 
+  /**
+   * Adds the counts of a histogram with the same bins.
+   */
+  public void merge(Histogram2D other) {
+    if (other.xMin != xMin || other.yMin != yMin || other.xBinWidth != xBinWidth
+        || other.yBinWidth != yBinWidth || other.xBinCount != xBinCount
+        || other.yBinCount != yBinCount) {
+      throw new IllegalArgumentException("Histograms with different bins can not be merged.");
+    }
+    for (int i = 0; i < counts.length; i++) {
+      counts[i] += other.counts[i];
     }
-    return zValues;
   }
 
+  /**
+   * Sets up the bin edges for the supplied bins and clears the counts. Kept for callers of the
+   * earlier API, the constructors set up the bins.
+   */
   public void initializeHistogram(int xBinCount, double xBinWidth, double xMin, int yBinCount,
       double yBinWidth, double yMin) {
+    createBins(xBinCount, xBinWidth, xMin, yBinCount, yBinWidth, yMin);
+    Arrays.fill(counts, 0);
+  }
+
+  private void createBins(int xBinCount, double xBinWidth, double xMin, int yBinCount,
+      double yBinWidth, double yMin) {
+    xBins = new double[xBinCount * yBinCount];
+    yBins = new double[xBinCount * yBinCount];
     for (int i = 0; i < xBinCount; i++) {
-      double xBinLeftEdge = i * xBinWidth + xMin;
       for (int j = 0; j < yBinCount; j++) {
-        double yBinLeftEdge = j * yBinWidth + yMin;
-        int currentRowIndex = i * yBinCount + j;
-        xBins[currentRowIndex] = xBinLeftEdge;
-        yBins[currentRowIndex] = yBinLeftEdge;
-        zValues[currentRowIndex] = 0;
+        xBins[i * yBinCount + j] = i * xBinWidth + xMin;
+        yBins[i * yBinCount + j] = j * yBinWidth + yMin;
       }
     }
   }
 
+  /**
+   * Counts the pairs of values into zValues with the supplied bin widths and this histogram's
+   * minimums. Kept for callers of the earlier API, see add().
+   */
+  public double[] populateHistogram(double[] zValues, double[] xData, double[] yData,
+      double xBinWidth, double yBinWidth, int yBinCount) {
+    for (int i = 0; i < xData.length; i++) {
+      int xBin = (int) ((xData[i] - xMin) / xBinWidth);
+      int yBin = (int) ((yData[i] - yMin) / yBinWidth);
+      int histogramIndex = yBinCount * xBin + yBin;
+      zValues[Math.min(Math.max(histogramIndex, 0), zValues.length - 1)]++;
+    }
+    return zValues;
+  }
+
   public double getYBinWidth() {
     return yBinWidth;
   }
@@ -83,22 +186,65 @@ public class Histogram2D {
     return xBinWidth;
   }
 
+  /**
+   * @return the counts per bin, not copied.
+   */
+  public long[] getCounts() {
+    return counts;
+  }
+
+  /**
+   * @return the lower x edge of every bin.
+   */
   public double[] getXBins() {
+    if (xBins == null) {
+      createBins(xBinCount, xBinWidth, xMin, yBinCount, yBinWidth, yMin);
+    }
     return xBins;
   }
 
+  /**
+   * @return the lower y edge of every bin.
+   */
   public double[] getYBins() {
+    if (yBins == null) {
+      createBins(xBinCount, xBinWidth, xMin, yBinCount, yBinWidth, yMin);
+    }
     return yBins;
   }
 
   public double[] getZValues() {
+    double[] zValues = new double[counts.length];
+    for (int i = 0; i < counts.length; i++) {
+      zValues[i] = counts[i];
+    }
     return zValues;
   }
 
+  /**
+   * @return the lower x and y edges and the counts of the bins which are not empty, without
+   *         creating arrays for every bin.
+   */
+  public double[][] getNonEmptyData() {
+    int size = getNonEmptyBins().cardinality();
+    double[] x = new double[size];
+    double[] y = new double[size];
+    double[] z = new double[size];
+    int n = 0;
+    for (int i = 0; i < counts.length; i++) {
+      if (counts[i] != 0) {
+        x[n] = (i / yBinCount) * xBinWidth + xMin;
+        y[n] = (i % yBinCount) * yBinWidth + yMin;
+        z[n++] = counts[i];
+      }
+    }
+    return new double[][] {x, y, z};
+  }
+
   public BitSet getNonEmptyBins() {
-    BitSet bits = new BitSet(zValues.length);
-    for (int i = 0; i < zValues.length; i++) {
-      if (zValues[i] >= Double.MIN_NORMAL || zValues[i] < -Double.MIN_NORMAL) {
+    BitSet bits = new BitSet(counts.length);
+    for (int i = 0; i < counts.length; i++) {
+      if (counts[i] != 0) {
         bits.set(i);
       }
     }
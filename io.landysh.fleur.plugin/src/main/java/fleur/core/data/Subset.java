@@ -9,11 +9,12 @@ import java.util.stream.Collectors;
 import fleur.core.gates.BitSetAccumulator;
 import fleur.core.gates.BitSetOperator;
 import fleur.core.proto.FCSFrameProto.Message.Subset.Type;
+import fleur.core.utils.RoaringBitSet;
 
 @SuppressWarnings("serial")
 public class Subset extends DomainObject {
 
-  private BitSet members;
+  private RoaringBitSet members;
   private String parentID;
   private String label;
   private Type subsetType;
@@ -23,8 +24,13 @@ public class Subset extends DomainObject {
 
   public Subset(String label, BitSet mask, String parentID, String priorUUID, Type type,
       String[] dimensions, Double[] descriptors) {
+    this(label, RoaringBitSet.valueOf(mask), parentID, priorUUID, type, dimensions, descriptors);
+  }
+
+  public Subset(String label, RoaringBitSet members, String parentID, String priorUUID, Type type,
+      String[] dimensions, Double[] descriptors) {
     super(priorUUID);
-    this.setMembers(mask);
+    this.setMembers(members);
     this.setParentID(parentID);
     this.setLabel(label);
     subsetType = type;
@@ -40,11 +46,27 @@ public class Subset extends DomainObject {
     this.parentID = parentID;
   }
 
+  /**
+   * @return a new BitSet of the members. Prefer getMemberSet() where the compressed set will do, it
+   *         is not copied and stays small for rare populations.
+   */
   public BitSet getMembers() {
+    return members.toBitSet();
+  }
+
+  public RoaringBitSet getMemberSet() {
     return members;
   }
 
+  public int getMemberCount() {
+    return members.cardinality();
+  }
+
   public void setMembers(BitSet members) {
+    this.members = RoaringBitSet.valueOf(members);
+  }
+
+  public void setMembers(RoaringBitSet members) {
     this.members = members;
   }
 
@@ -77,16 +99,20 @@ public class Subset extends DomainObject {
   }
 
   public BitSet evaluate(List<Subset> ancestors) {
+    RoaringBitSet mask = evaluateMembers(ancestors);
+    return mask == null ? null : mask.toBitSet();
+  }
+
+  /**
+   * Like evaluate() but intersects the compressed member sets, which is proportional to the size
+   * of the populations rather than to the number of events.
+   */
+  public RoaringBitSet evaluateMembers(List<Subset> ancestors) {
     ancestors.add(this);
     BitSetAccumulator acc = new BitSetAccumulator(BitSetOperator.AND);
-    Optional<BitSet> mask = ancestors.stream().map(Subset::getMembers)
-        .reduce(acc);
-    if (mask.isPresent()) {
-      
-      return mask.get();
-    } else {
-      return null;
-    }
+    Optional<RoaringBitSet> mask = ancestors.stream().map(Subset::getMemberSet)
+        .reduce(acc::combine);
+    return mask.orElse(null);
   }
 
   @Override
@@ -116,22 +142,16 @@ public class Subset extends DomainObject {
 
   public Subset filter(BitSet mask) {
     /**
-     * returns a new member set of length mask.cardinality containing the subset values 
-     * for each bit set in the input mask.
+     * returns a new subset whose members are renumbered to the positions of the set bits of the
+     * input mask, dropping members where it is clear.
      */
-    BitSet newMembers = new BitSet(mask.cardinality());
-    int j = 0;
-    for (int i = 0; i < mask.size(); i++) {
-      if (mask.get(i)) {
-        boolean newval = members.get(i);
-        newMembers.set(j,newval);
-        j++;
-      }
-    }
-    return new Subset(label, newMembers, parentID, getID(), getType(), dimensions, descriptors);
+    return new Subset(label, members.filter(mask), parentID, getID(), getType(), dimensions,
+        descriptors);
   }
 
   public Subset deepCopy() {
-    return new Subset(this.label, (BitSet) this.members.clone(), this.parentID, this.getID(), this.getType(), this.dimensions.clone(), this.descriptors.clone());
+    return new Subset(this.label, this.members, this.parentID, this.getID(), this.getType(),
+        dimensions == null ? null : dimensions.clone(),
+        descriptors == null ? null : descriptors.clone());
   }
 }
@@ -0,0 +1,181 @@
+package fleur.core.data;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+import java.util.Objects;
+
+import fleur.core.transforms.AbstractTransform;
+
+/**
+ * Keeps transformed copies of FCSDimension columns so that the gates and plots of a gating tree
+ * transform each column once rather than once per gate. Columns are keyed by dimension instance
+ * and by the transform's ID and parameters, so deep copies of a TransformSet share entries and a
+ * transform which is changed in place is never served stale values. Least recently used columns
+ * are dropped once the byte budget is exceeded.
+ *
+ * Dimensions are only weakly referenced, their columns are dropped once they are collected. Keys
+ * also hold the version of the dimension's values, so replacing them only bumps the version and
+ * the stale column is never served again, without the dimension having to find it here.
+ *
+ * The returned arrays are shared between callers and must not be modified. Safe for concurrent
+ * use, columns are transformed outside of the lock.
+ */
+public class TransformedColumnCache {
+
+  // By default transformed columns may use up to an eighth of the maximum heap.
+  private static final TransformedColumnCache DEFAULT_CACHE =
+      new TransformedColumnCache(Runtime.getRuntime().maxMemory() / 8);
+
+  private final LinkedHashMap<Key, double[]> columns = new LinkedHashMap<>(16, 0.75f, true);
+  // Keys whose dimensions have been collected.
+  private final ReferenceQueue<FCSDimension> collected = new ReferenceQueue<>();
+  private long budget;
+  private long usedBytes = 0;
+  private long hits = 0;
+  private long misses = 0;
+
+  public TransformedColumnCache(long budgetBytes) {
+    this.budget = budgetBytes;
+  }
+
+  public static TransformedColumnCache getDefault() {
+    return DEFAULT_CACHE;
+  }
+
+  /**
+   * @return the values of the dimension with the transform applied.
+   */
+  public double[] get(FCSDimension dimension, AbstractTransform transform) {
+    Key key = new Key(dimension, transform, collected);
+    synchronized (this) {
+      purge();
+      double[] cached = columns.get(key);
+      if (cached != null) {
+        hits++;
+        return cached;
+      }
+      misses++;
+    }
+    double[] transformed = transform.transform(dimension);
+    store(key, transformed);
+    return transformed;
+  }
+
+  private void purge() {
+    for (Reference<? extends FCSDimension> key; (key = collected.poll()) != null;) {
+      double[] values = columns.remove(key);
+      if (values != null) {
+        usedBytes -= (long) values.length * Double.BYTES;
+      }
+    }
+  }
+
+  private synchronized void store(Key key, double[] transformed) {
+    long bytes = (long) transformed.length * Double.BYTES;
+    if (bytes > budget) {
+      return;
+    }
+    double[] previous = columns.put(key, transformed);
+    if (previous != null) {
+      usedBytes -= (long) previous.length * Double.BYTES;
+    }
+    usedBytes += bytes;
+    trim();
+  }
+
+  /**
+   * Drops every column transformed with the transform's ID, eg. after it has been replaced in a
+   * TransformSet.
+   */
+  public synchronized void invalidate(AbstractTransform transform) {
+    String transformID = transform.getID();
+    columns.entrySet()
+      .removeIf(entry -> entry.getKey().transformID.equals(transformID) && release(entry));
+  }
+
+  private boolean release(Entry<Key, double[]> entry) {
+    usedBytes -= (long) entry.getValue().length * Double.BYTES;
+    return true;
+  }
+
+  public synchronized void setBudget(long budgetBytes) {
+    this.budget = budgetBytes;
+    trim();
+  }
+
+  public synchronized long getBudget() {
+    return budget;
+  }
+
+  public synchronized long getUsedBytes() {
+    return usedBytes;
+  }
+
+  public synchronized int size() {
+    purge();
+    return columns.size();
+  }
+
+  public synchronized long getHitCount() {
+    return hits;
+  }
+
+  public synchronized long getMissCount() {
+    return misses;
+  }
+
+  public synchronized void clear() {
+    columns.clear();
+    usedBytes = 0;
+  }
+
+  private void trim() {
+    Iterator<Entry<Key, double[]>> entries = columns.entrySet().iterator();
+    while (usedBytes > budget && entries.hasNext()) {
+      Entry<Key, double[]> eldest = entries.next();
+      usedBytes -= (long) eldest.getValue().length * Double.BYTES;
+      entries.remove();
+    }
+  }
+
+  private static class Key extends WeakReference<FCSDimension> {
+    final int version;
+    final String transformID;
+    final String parameters;
+    final int hash;
+
+    Key(FCSDimension dimension, AbstractTransform transform,
+        ReferenceQueue<FCSDimension> queue) {
+      super(dimension, queue);
+      this.version = dimension.getVersion();
+      this.transformID = transform.getID();
+      this.parameters = transform.getType() + ": " + transform.getDetails();
+      this.hash = Objects.hash(System.identityHashCode(dimension), version, transformID,
+          parameters);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      // Keys of collected dimensions are only equal to themselves, so purge() finds them.
+      Key other = (Key) obj;
+      FCSDimension dimension = get();
+      return dimension != null && dimension == other.get() && version == other.version
+          && transformID.equals(other.transformID) && parameters.equals(other.parameters);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+}
@@ -0,0 +1,67 @@
+package fleur.core.fcs;
+
+/**
+ * A contiguous run of events decoded from an FCS file. Columns are parameter major and indexed by
+ * parameter number - 1; parameters which were not requested from the iterator are null. The arrays
+ * are reused for every block of a stream, copy them if they are needed after the next block is
+ * read.
+ */
+public class EventBlock {
+
+  private final String[] names;
+  private final double[][] columns;
+  private long start;
+  private int size;
+
+  EventBlock(String[] names, double[][] columns) {
+    this.names = names;
+    this.columns = columns;
+  }
+
+  void reset(long start, int size) {
+    this.start = start;
+    this.size = size;
+  }
+
+  /**
+   * @return the file index of the first event in this block.
+   */
+  public long getStart() {
+    return start;
+  }
+
+  /**
+   * @return the number of valid events in this block. Only the first size() values of each column
+   *         are meaningful.
+   */
+  public int size() {
+    return size;
+  }
+
+  public int getCapacity() {
+    return columns.length == 0 || columns[0] == null ? size : columns[0].length;
+  }
+
+  public int getParameterCount() {
+    return columns.length;
+  }
+
+  /**
+   * @param parameter the zero based parameter index, ie. n - 1 for $PnN.
+   */
+  public double[] getColumn(int parameter) {
+    return columns[parameter];
+  }
+
+  /**
+   * @return the column for the parameter with the supplied $PnN value or null if it was not read.
+   */
+  public double[] getColumn(String shortName) {
+    for (int i = 0; i < names.length; i++) {
+      if (names[i].equals(shortName)) {
+        return columns[i];
+      }
+    }
+    return null;
+  }
+}
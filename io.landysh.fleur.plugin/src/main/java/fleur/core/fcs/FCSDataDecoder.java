@@ -0,0 +1,263 @@
+package fleur.core.fcs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.Map;
+
+/**
+ * Decodes the list mode DATA segment of an FCS file directly into primitive columns. Byte order,
+ * $DATATYPE and the $PnB widths are resolved once when the decoder is created so the inner loops
+ * do no per event allocation or keyword lookups.
+ */
+public class FCSDataDecoder {
+
+  // Target size of a single read from the DATA segment.
+  public static final int DEFAULT_CHUNK_BYTES = 1 << 22;
+
+  private static final int INT8 = 0;
+  private static final int INT16 = 1;
+  private static final int INT32 = 2;
+  private static final int INT64 = 3;
+  private static final int FLOAT32 = 4;
+  private static final int FLOAT64 = 5;
+
+  private final ByteOrder order;
+  private final boolean mixedOrder;
+  private final int[] kinds;
+  private final int[] offsets;
+  private final int eventWidth;
+
+  public FCSDataDecoder(Map<String, String> keywords) throws IOException {
+    String byteOrder = keywords.get(FCSFileReader.BYTE_ORDER_KEY);
+    if (byteOrder == null) {
+      throw new IOException("Required keyword " + FCSFileReader.BYTE_ORDER_KEY + " not found.");
+    }
+    byteOrder = byteOrder.trim();
+    if (FCSFileReader.BYTE_ORDER_BIG.equals(byteOrder)) {
+      order = ByteOrder.BIG_ENDIAN;
+      mixedOrder = false;
+    } else if (FCSFileReader.BYTE_ORDER_LITTLE.equals(byteOrder)) {
+      order = ByteOrder.LITTLE_ENDIAN;
+      mixedOrder = false;
+    } else if (FCSFileReader.BYTE_ORDER_MIX.equals(byteOrder)) {
+      // Read as little endian and swap the 16 bit halves of each value.
+      order = ByteOrder.LITTLE_ENDIAN;
+      mixedOrder = true;
+    } else {
+      throw new IOException("Unknown endian definition: " + byteOrder);
+    }
+
+    String dataType = keywords.get(FCSFileReader.DATATYPE_KEY);
+    dataType = dataType == null ? null : dataType.trim();
+    int parameterCount = Integer.parseInt(keywords.get("$PAR").trim());
+    kinds = new int[parameterCount];
+    offsets = new int[parameterCount];
+    int width = 0;
+    for (int i = 0; i < parameterCount; i++) {
+      int bits = Integer.parseInt(keywords.get("$P" + (i + 1) + "B").trim());
+      kinds[i] = findKind(dataType, bits);
+      offsets[i] = width;
+      width += bits / 8;
+    }
+    eventWidth = width;
+  }
+
+  private static int findKind(String dataType, int bits) throws IOException {
+    if (FCSFileReader.DATATYPE_FLOAT.equals(dataType) && bits == 32) {
+      return FLOAT32;
+    } else if (FCSFileReader.DATATYPE_DOUBLE.equals(dataType) && bits == 64) {
+      return FLOAT64;
+    } else if (FCSFileReader.DATATYPE_INT.equals(dataType)) {
+      switch (bits) {
+        case 8:
+          return INT8;
+        case 16:
+          return INT16;
+        case 32:
+          return INT32;
+        case 64:
+          return INT64;
+        default:
+          throw new IOException("Integer width of " + bits + " bits not supported.");
+      }
+    } else {
+      throw new IOException("DataType " + dataType + " with width " + bits + " not supported.");
+    }
+  }
+
+  /**
+   * @return the number of bytes used by a single event in the DATA segment.
+   */
+  public int getEventWidth() {
+    return eventWidth;
+  }
+
+  public int getParameterCount() {
+    return kinds.length;
+  }
+
+  public ByteOrder getByteOrder() {
+    return order;
+  }
+
+  /**
+   * @return true if every parameter is a 32 bit float, ie. the values can be stored as float
+   *         without losing precision.
+   */
+  public boolean isSinglePrecision() {
+    for (int kind : kinds) {
+      if (kind != FLOAT32) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private interface ChunkDecoder {
+    void decode(ByteBuffer buffer, int firstEvent, int eventCount);
+  }
+
+  /**
+   * Reads eventCount events from the channel, starting at its current position, and writes each
+   * parameter into the matching column of columns starting at destOffset. A single reusable buffer
+   * is used for the whole segment.
+   */
+  public void read(FileChannel channel, double[][] columns, int destOffset, int eventCount)
+      throws IOException {
+    readChunks(channel, eventCount,
+        (buffer, firstEvent, events) -> decode(buffer, columns, destOffset + firstEvent, events));
+  }
+
+  /**
+   * Single precision version of read(), see isSinglePrecision().
+   */
+  public void read(FileChannel channel, float[][] columns, int destOffset, int eventCount)
+      throws IOException {
+    readChunks(channel, eventCount,
+        (buffer, firstEvent, events) -> decode(buffer, columns, destOffset + firstEvent, events));
+  }
+
+  private void readChunks(FileChannel channel, int eventCount, ChunkDecoder chunkDecoder)
+      throws IOException {
+    int eventsPerChunk = Math.max(1, DEFAULT_CHUNK_BYTES / Math.max(1, eventWidth));
+    eventsPerChunk = Math.min(eventsPerChunk, Math.max(1, eventCount));
+    ByteBuffer buffer = ByteBuffer.allocate(eventsPerChunk * eventWidth);
+    int done = 0;
+    while (done < eventCount) {
+      int events = Math.min(eventsPerChunk, eventCount - done);
+      buffer.clear();
+      buffer.limit(events * eventWidth);
+      fill(channel, buffer);
+      buffer.flip();
+      chunkDecoder.decode(buffer, done, events);
+      done += events;
+    }
+  }
+
+  static void fill(FileChannel channel, ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer) < 0) {
+        throw new IOException("Unexpected end of file in DATA segment.");
+      }
+    }
+  }
+
+  /**
+   * Decodes eventCount whole events from the buffer's current position into columns, starting at
+   * destOffset. The buffer position is advanced past the decoded events.
+   */
+  public void decode(ByteBuffer source, double[][] columns, int destOffset, int eventCount) {
+    ByteBuffer buffer = source.order(order);
+    int base = buffer.position();
+    for (int e = 0; e < eventCount; e++) {
+      int row = destOffset + e;
+      for (int p = 0; p < kinds.length; p++) {
+        double[] column = columns[p];
+        int index = base + offsets[p];
+        if (column != null) {
+          column[row] = readValue(buffer, index, kinds[p]);
+        }
+      }
+      base += eventWidth;
+    }
+    buffer.position(base);
+  }
+
+  /**
+   * As above, but values are narrowed to float.
+   */
+  public void decode(ByteBuffer source, float[][] columns, int destOffset, int eventCount) {
+    ByteBuffer buffer = source.order(order);
+    int base = buffer.position();
+    for (int e = 0; e < eventCount; e++) {
+      int row = destOffset + e;
+      for (int p = 0; p < kinds.length; p++) {
+        float[] column = columns[p];
+        if (column != null) {
+          column[row] = (float) readValue(buffer, base + offsets[p], kinds[p]);
+        }
+      }
+      base += eventWidth;
+    }
+    buffer.position(base);
+  }
+
+  /**
+   * Decodes the event at the buffer's current position into row, one value per parameter.
+   */
+  public void decodeEvent(ByteBuffer source, double[] row) {
+    ByteBuffer buffer = source.order(order);
+    int base = buffer.position();
+    for (int p = 0; p < kinds.length; p++) {
+      row[p] = readValue(buffer, base + offsets[p], kinds[p]);
+    }
+    buffer.position(base + eventWidth);
+  }
+
+  /**
+   * Decodes a single parameter for eventCount events without touching the other parameters. The
+   * buffer is expected to start at the first event of the range; its position is not changed.
+   */
+  public void decodeColumn(ByteBuffer source, int parameter, double[] column, int destOffset,
+      int eventCount) {
+    ByteBuffer buffer = source.order(order);
+    int index = buffer.position() + offsets[parameter];
+    int kind = kinds[parameter];
+    for (int e = 0; e < eventCount; e++) {
+      column[destOffset + e] = readValue(buffer, index, kind);
+      index += eventWidth;
+    }
+  }
+
+  private double readValue(ByteBuffer buffer, int index, int kind) {
+    switch (kind) {
+      case INT8:
+        return buffer.get(index) & 0xFF;
+      case INT16:
+        short s = buffer.getShort(index);
+        return (mixedOrder ? Short.reverseBytes(s) : s) & 0xFFFF;
+      case INT32:
+        int i = buffer.getInt(index);
+        return mixedOrder ? Integer.rotateLeft(i, 16) : i;
+      case INT64:
+        long l = buffer.getLong(index);
+        return mixedOrder ? swapHalves(l) : l;
+      case FLOAT32:
+        if (mixedOrder) {
+          return Float.intBitsToFloat(Integer.rotateLeft(buffer.getInt(index), 16));
+        }
+        return buffer.getFloat(index);
+      default:
+        if (mixedOrder) {
+          return Double.longBitsToDouble(swapHalves(buffer.getLong(index)));
+        }
+        return buffer.getDouble(index);
+    }
+  }
+
+  private static long swapHalves(long value) {
+    return Long.rotateLeft(value, 32);
+  }
+}
@@ -0,0 +1,102 @@
+package fleur.core.fcs;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Streams the DATA segment of an FCS file as fixed size blocks of events. Memory use is bounded by
+ * the block size, not the file size, so very large files can be read without holding every event,
+ * see ReadFCSTableNodeModel. Reads are positional and do not move the file pointer of the underlying file.
+ *
+ * The same EventBlock instance is returned by every call to next(), its contents are only valid
+ * until the following call.
+ */
+public class FCSEventIterator implements Iterator<EventBlock>, Closeable {
+
+  public static final int DEFAULT_BLOCK_SIZE = 1 << 16;
+
+  private final FileChannel channel;
+  private final FCSDataDecoder decoder;
+  private final long beginData;
+  private final long eventCount;
+  private final ByteBuffer buffer;
+  private final EventBlock block;
+  private final double[][] columns;
+  private final int blockSize;
+  private long nextEvent = 0;
+
+  /**
+   * @param columnsToRead one flag per parameter, parameters with a false flag are skipped. Null
+   *        reads every parameter.
+   */
+  FCSEventIterator(FileChannel channel, String[] names,
+      FCSDataDecoder decoder, long beginData, long eventCount, int blockSize,
+      boolean[] columnsToRead) {
+    if (blockSize < 1) {
+      throw new IllegalArgumentException("Block size must be at least 1 event.");
+    }
+    this.channel = channel;
+    this.decoder = decoder;
+    this.beginData = beginData;
+    this.eventCount = eventCount;
+    this.blockSize = (int) Math.min(blockSize, Math.max(1, eventCount));
+    buffer = ByteBuffer.allocate(this.blockSize * decoder.getEventWidth());
+    columns = new double[decoder.getParameterCount()][];
+    for (int i = 0; i < columns.length; i++) {
+      if (columnsToRead == null || columnsToRead[i]) {
+        columns[i] = new double[this.blockSize];
+      }
+    }
+    block = new EventBlock(names, columns);
+  }
+
+  public long getEventCount() {
+    return eventCount;
+  }
+
+  public int getBlockSize() {
+    return blockSize;
+  }
+
+  @Override
+  public boolean hasNext() {
+    return nextEvent < eventCount;
+  }
+
+  @Override
+  public EventBlock next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    int events = (int) Math.min(blockSize, eventCount - nextEvent);
+    buffer.clear();
+    buffer.limit(events * decoder.getEventWidth());
+    long position = beginData + nextEvent * decoder.getEventWidth();
+    try {
+      while (buffer.hasRemaining()) {
+        int read = channel.read(buffer, position);
+        if (read < 0) {
+          throw new IOException("Unexpected end of file in DATA segment.");
+        }
+        position += read;
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    buffer.flip();
+    decoder.decode(buffer, columns, 0, events);
+    block.reset(nextEvent, events);
+    nextEvent += events;
+    return block;
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+}
@@ -21,7 +21,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -34,11 +34,11 @@ import com.google.common.hash.HashCode;
 import com.google.common.hash.HashFunction;
 import com.google.common.hash.Hashing;
 
+import fleur.core.data.ColumnCache;
 import fleur.core.data.FCSDimension;
 import fleur.core.data.FCSFrame;
 import fleur.core.logging.LogFactory;
 import fleur.core.utils.FCSUtilities;
-import fleur.core.utils.MatrixUtilities;
 
 public class FCSFileReader {
 
@@ -76,10 +76,12 @@ public class FCSFileReader {
   public static final String DATATYPE_KEY = "$DATATYPE";
   public static final String DATATYPE_FLOAT = "F";
   public static final String DATATYPE_INT = "I";
+  public static final String DATATYPE_DOUBLE = "D";
 
   // Fleur specific keys
   private static final String DOUBLE_DELIM_TOKEN = "FLEURDELIM";
   public static final String FCS_VERSION_KEY = "FCSVersion";
+  public static final String SHA_256_KEY = "SHA-256";
 
 
   // file properties
@@ -95,7 +97,8 @@ public class FCSFileReader {
   TreeSet<FCSDimension> data;
   String[] compParameterList = null;
 
-  private String endianness = BYTE_ORDER_LITTLE;
+  private FCSDataDecoder decoder;
+  private ByteBuffer rowBuffer;
 
   public FCSFileReader(String filePath, RandomAccessFile raf) throws Exception {
     this(filePath, raf, false, false);
@@ -103,6 +106,14 @@ public class FCSFileReader {
 
   
   public FCSFileReader(String filePath, RandomAccessFile raf, boolean compOnRead, boolean dropUncomped) throws Exception {
+    this(filePath, raf, null);
+  }
+
+  /**
+   * @param parsedHeader keywords previously parsed from this file, eg. by an FCSHeaderIndex. The
+   *        TEXT segment is only parsed again if this is null.
+   */
+  public FCSFileReader(String filePath, RandomAccessFile raf, Map<String, String> parsedHeader) throws Exception {
     // Open the file
     pathToFile = filePath;
     final File f = new File(pathToFile);
@@ -116,12 +127,15 @@ public class FCSFileReader {
     // text specific properties
     beginText = readOffset(BEGIN_BEGIN_TEXT_OFFSET, END_END_TEXT_OFFSET);
     endText = readOffset(FIRST_BYTE_ENDTEXT_OFFSET, LAST_BYTE_ENDTEXT_OFFSET);
-    final HashMap<String, String> header = readHeader();
-    header.put(FCS_VERSION_KEY, readFCSVersion(fcsFile));
-    header.put(FCSUtilities.KEY_FILENAME, f.getName());
-
-    // set endian flag based on required keyword.
-    endianness = header.get(BYTE_ORDER_KEY);
+    final HashMap<String, String> header;
+    if (parsedHeader == null) {
+      header = readHeader();
+      header.put(FCS_VERSION_KEY, readFCSVersion(fcsFile));
+      header.put(FCSUtilities.KEY_FILENAME, f.getName());
+    } else {
+      // Frames modify their keywords, never share the caller's map.
+      header = new HashMap<>(parsedHeader);
+    }
 
     fileDimensionList = FCSUtilities.parseDimensionList(header);
 
@@ -173,34 +187,92 @@ public class FCSFileReader {
     data = new TreeSet<>();
     fcsFile.seek(beginData);
 
-    double[][] rawData = new double[fcsFrame.getRowCount()][fileDimensionList.length];
-    for (int i = 0; i < rawData.length; i++) {
-      double[] row = readRow();
-      rawData[i] = row;
+    // Decode straight into the final columns, no row major copy or transpose.
+    final int rowCount = fcsFrame.getRowCount();
+    if (getDecoder().isSinglePrecision()) {
+      // $DATATYPE F files are kept as float, widening would double the memory for no precision.
+      final float[][] columns = new float[fileDimensionList.length][rowCount];
+      getDecoder().read(fcsFile.getChannel(), columns, 0, rowCount);
+      for (int i = 0; i < fileDimensionList.length; i++) {
+        FCSDimension newDimension = FCSUtilities.buildDimensionDescriptor(i + 1, getHeader());
+        newDimension.setFloatData(columns[i]);
+        data.add(newDimension);
+      }
+    } else {
+      final double[][] columns = new double[fileDimensionList.length][rowCount];
+      getDecoder().read(fcsFile.getChannel(), columns, 0, rowCount);
+      for (int i = 0; i < fileDimensionList.length; i++) {
+        FCSDimension newDimension = FCSUtilities.buildDimensionDescriptor(i + 1, getHeader());
+        newDimension.setData(columns[i]);
+        data.add(newDimension);
+      }
     }
 
-    double[][] transposedRawData = MatrixUtilities.transpose(rawData);
+    fcsFrame.setData(data);
+  }
+
+  FCSDataDecoder getDecoder() throws IOException {
+    if (decoder == null) {
+      decoder = new FCSDataDecoder(getHeader());
+    }
+    return decoder;
+  }
 
+  /**
+   * Creates header only dimensions, no event data is allocated or read.
+   */
+  public void initializeFrame() throws IOException {
+    data = new TreeSet<>();
     for (int i = 0; i < fileDimensionList.length; i++) {
       Integer pIndex = FCSUtilities.findParameterNumnberByName(getHeader(), fileDimensionList[i]);
-      FCSDimension newDimension = FCSUtilities.buildFCSDimension(pIndex, getHeader());
-      newDimension.setData(transposedRawData[i]);
+      FCSDimension newDimension = FCSUtilities.buildDimensionDescriptor(pIndex, getHeader());
       data.add(newDimension);
     }
-
     fcsFrame.setData(data);
   }
 
-  public void initializeFrame() throws IOException {
+  /**
+   * Memory maps the DATA segment and creates dimensions which are only decoded when their data is
+   * first requested. Decoded columns are tracked by the supplied cache.
+   */
+  public void mapData(ColumnCache cache) throws IOException {
+    MappedDataSegment segment = new MappedDataSegment(fcsFile.getChannel(), beginData,
+        fcsFrame.getRowCount(), getDecoder());
     data = new TreeSet<>();
     for (int i = 0; i < fileDimensionList.length; i++) {
       Integer pIndex = FCSUtilities.findParameterNumnberByName(getHeader(), fileDimensionList[i]);
-      FCSDimension newDimension = FCSUtilities.buildFCSDimension(pIndex, getHeader());
+      FCSDimension newDimension = FCSUtilities.buildFCSDimension(pIndex, getHeader(),
+          segment.createLoader(pIndex - 1), cache);
       data.add(newDimension);
     }
     fcsFrame.setData(data);
   }
 
+  /**
+   * Opens a bounded memory stream over the events of this file, see FCSEventIterator. Closing the
+   * iterator closes this reader's file.
+   */
+  public FCSEventIterator openEventIterator(int blockSize) throws IOException {
+    return openEventIterator(blockSize, null);
+  }
+
+  /**
+   * As above, but only the parameters whose $PnN values are listed are decoded. Null reads all
+   * parameters.
+   */
+  public FCSEventIterator openEventIterator(int blockSize, Collection<String> shortNames)
+      throws IOException {
+    boolean[] columnsToRead = null;
+    if (shortNames != null) {
+      columnsToRead = new boolean[fileDimensionList.length];
+      for (int i = 0; i < fileDimensionList.length; i++) {
+        columnsToRead[i] = shortNames.contains(fileDimensionList[i]);
+      }
+    }
+    return new FCSEventIterator(fcsFile.getChannel(), fileDimensionList,
+        getDecoder(), beginData, fcsFrame.getRowCount(), blockSize, columnsToRead);
+  }
+
   public String readFCSVersion(RandomAccessFile raFile) throws IOException {
     fcsFile.seek(0);
     final byte[] bytes = new byte[END_FCS_VERSION_OFFSSET - BEGIN_FCS_VERSION_OFFSET + 1];
@@ -250,7 +322,7 @@ public class FCSFileReader {
 
     HashFunction md = Hashing.sha256();
     HashCode code = md.hashBytes(keywordBytes);
-    header.put("SHA-256", code.toString());
+    header.put(SHA_256_KEY, code.toString());
     return header;
   }
 
@@ -282,57 +354,15 @@ public class FCSFileReader {
     /**
      * Reads the next row of the data.
      */
-    double[] row = new double[fileDimensionList.length];
-    for (int i = 0; i < row.length; i++) {
-      final byte[] bytes = new byte[bitMap[i] / 8];
-      fcsFile.read(bytes);
-      ByteBuffer buffy = ByteBuffer.wrap(bytes);
-      
-      //Swap bytes around based on endian type.
-      if (endianness.equals(BYTE_ORDER_BIG)) {
-        buffy = buffy.order(ByteOrder.BIG_ENDIAN);
-      } else if (endianness.equals(BYTE_ORDER_LITTLE)) {
-        buffy = buffy.order(ByteOrder.LITTLE_ENDIAN);
-      } else if (endianness.contentEquals(BYTE_ORDER_MIX)   ) {
-        //Create new temporary byte arrays.
-        byte[] ba12 = new byte[bitMap[i] / 8/2];
-        byte[] ba34 = new byte[bitMap[i] / 8/2];
-        // Read bytes 3&4
-        for (int byteIndex=0;byteIndex < ba12.length;byteIndex++) {
-          ba34[byteIndex] = bytes[byteIndex];
-        }
-        // Read bytes 1&2
-        for (int byteIndex=0;byteIndex < ba34.length;byteIndex++) {
-          ba12[byteIndex] = bytes[byteIndex + bytes.length/2];
-        }
-        // Create and fill little endian array with byte fragmets 1,2 and 3,4
-        byte[] littleE = new byte[bitMap[i] / 8];
-        for (int byteIndex = 0;byteIndex<littleE.length;byteIndex++) {
-          if (byteIndex < littleE.length/2) {
-            //Add bytes from 1,2 to start.
-            littleE[byteIndex] = ba12[byteIndex];
-          } else {
-            //Add bytes from 3,4 to 2nd half
-            int offset = (littleE.length/2);
-            littleE[byteIndex] = ba34[byteIndex-offset];
-          }
-        }
-        // Byte order should now be 1,2,3,4 (LE)
-        buffy = ByteBuffer.wrap(littleE);
-        buffy.order(ByteOrder.LITTLE_ENDIAN);
-      } else {
-        throw new IOException("Unknown endian definition: " + endianness);
-      }
-      
-      // Read data as specifcied datatype.
-      if (DATATYPE_FLOAT.equals(dataType)) {
-        row[i] = buffy.getFloat();
-      } else if (DATATYPE_INT.equals(dataType)) {
-        row[i] = buffy.getInt();
-      } else {
-        throw new IOException("DataType " + dataType + " not supported." );
-      }
+    FCSDataDecoder rowDecoder = getDecoder();
+    if (rowBuffer == null) {
+      rowBuffer = ByteBuffer.allocate(rowDecoder.getEventWidth());
     }
+    rowBuffer.clear();
+    fcsFile.readFully(rowBuffer.array());
+
+    double[] row = new double[fileDimensionList.length];
+    rowDecoder.decodeEvent(rowBuffer, row);
     return row;
   }
 
@@ -348,6 +378,26 @@ public class FCSFileReader {
     }
   }
 
+  /**
+   * Reads the header and maps the data of an FCS file, see mapData(). Dimensions are decoded
+   * lazily and share the default column cache.
+   */
+  public static FCSFrame readMapped(String filePath) {
+    return readMapped(filePath, ColumnCache.getDefault());
+  }
+
+  public static FCSFrame readMapped(String filePath, ColumnCache cache) {
+    FCSFileReader reader;
+    try (RandomAccessFile raf = new RandomAccessFile(filePath, "r")) {
+      reader = new FCSFileReader(filePath, raf);
+      reader.mapData(cache);
+      return reader.getFCSFrame();
+    } catch (Exception e) {
+      LOGGER.log(Level.FINE, "Unable to read file.", e);
+      return null;
+    }
+  }
+
   public static FCSFrame readNoData(String filePath) {
     FCSFileReader reader;
     try (RandomAccessFile raf = new RandomAccessFile(filePath, "r")) {
@@ -0,0 +1,154 @@
+package fleur.core.fcs;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import fleur.core.data.ColumnCache;
+import fleur.core.data.FCSDimension;
+import fleur.core.data.FCSFrame;
+import fleur.core.utils.FCSUtilities;
+
+/**
+ * Parses the TEXT segment of each FCS file once and keeps the keywords for later use. Entries are
+ * keyed by path and are only reused while the file's modification time and length are unchanged.
+ * The SHA-256 of the TEXT segment is kept with each entry to identify the header contents.
+ *
+ * Intended to be shared by all of the steps of a single execution (validation, column properties
+ * and the full read) so that no file is parsed more than once.
+ */
+public class FCSHeaderIndex {
+
+  private static final Logger LOGGER = Logger.getLogger(FCSHeaderIndex.class.getName());
+
+  private final ConcurrentHashMap<String, IndexEntry> entries = new ConcurrentHashMap<>();
+
+  private static final class IndexEntry {
+    final long lastModified;
+    final long length;
+    final Map<String, String> header;
+
+    IndexEntry(long lastModified, long length, Map<String, String> header) {
+      this.lastModified = lastModified;
+      this.length = length;
+      this.header = header;
+    }
+
+    boolean matches(File file) {
+      return file.lastModified() == lastModified && file.length() == length;
+    }
+  }
+
+  private IndexEntry lookup(String filePath) {
+    File file = new File(filePath);
+    IndexEntry entry = entries.get(filePath);
+    if (entry == null || !entry.matches(file)) {
+      entry = parse(filePath, file);
+      entries.put(filePath, entry);
+    }
+    return entry;
+  }
+
+  private static IndexEntry parse(String filePath, File file) {
+    long lastModified = file.lastModified();
+    long length = file.length();
+    Map<String, String> header;
+    try (RandomAccessFile raf = new RandomAccessFile(filePath, "r")) {
+      FCSFileReader reader = new FCSFileReader(filePath, raf);
+      header = Collections.unmodifiableMap(new HashMap<>(reader.getHeader()));
+    } catch (Exception e) {
+      LOGGER.log(Level.FINE, "Header unreadable.", e);
+      header = Collections.emptyMap();
+    }
+    return new IndexEntry(lastModified, length, header);
+  }
+
+  /**
+   * @return the read only keywords of the file, or an empty map if the header can not be read.
+   */
+  public Map<String, String> getHeader(String filePath) {
+    return lookup(filePath).header;
+  }
+
+  public String getSha256(String filePath) {
+    return getHeader(filePath).get(FCSFileReader.SHA_256_KEY);
+  }
+
+  public boolean isValidFCS(String filePath) {
+    Map<String, String> header = getHeader(filePath);
+    if (header.isEmpty()) {
+      return false;
+    }
+    try {
+      return FCSUtilities.validateHeader(header);
+    } catch (Exception e) {
+      LOGGER.log(Level.FINE, "Invalid File:" + filePath, e);
+      return false;
+    }
+  }
+
+  /**
+   * @return descriptions of the file's dimensions, without any event data. The set is empty if the
+   *         header can not be read.
+   */
+  public TreeSet<FCSDimension> getDimensions(String filePath) {
+    Map<String, String> header = getHeader(filePath);
+    TreeSet<FCSDimension> dimensions = new TreeSet<>();
+    if (!header.isEmpty()) {
+      String[] names = FCSUtilities.parseDimensionList(header);
+      for (String name : names) {
+        Integer pIndex = FCSUtilities.findParameterNumnberByName(header, name);
+        dimensions.add(FCSUtilities.buildDimensionDescriptor(pIndex, header));
+      }
+    }
+    return dimensions;
+  }
+
+  /**
+   * Equivalent to FCSFileReader.read() but reuses the indexed header.
+   */
+  public FCSFrame read(String filePath) {
+    try (RandomAccessFile raf = new RandomAccessFile(filePath, "r")) {
+      FCSFileReader reader = new FCSFileReader(filePath, raf, indexedHeader(filePath));
+      reader.readData();
+      return reader.getFCSFrame();
+    } catch (Exception e) {
+      LOGGER.log(Level.FINE, "Unable to read file.", e);
+      return null;
+    }
+  }
+
+  /**
+   * Equivalent to FCSFileReader.readMapped() but reuses the indexed header.
+   */
+  public FCSFrame readMapped(String filePath) {
+    try (RandomAccessFile raf = new RandomAccessFile(filePath, "r")) {
+      FCSFileReader reader = new FCSFileReader(filePath, raf, indexedHeader(filePath));
+      reader.mapData(ColumnCache.getDefault());
+      return reader.getFCSFrame();
+    } catch (Exception e) {
+      LOGGER.log(Level.FINE, "Unable to read file.", e);
+      return null;
+    }
+  }
+
+  private Map<String, String> indexedHeader(String filePath) {
+    Map<String, String> header = getHeader(filePath);
+    // Let the reader report unreadable headers itself.
+    return header.isEmpty() ? null : header;
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  public void clear() {
+    entries.clear();
+  }
+}
@@ -0,0 +1,67 @@
+package fleur.core.fcs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+import fleur.core.data.ColumnLoader;
+
+/**
+ * A read only memory mapping of the DATA segment of an FCS file. Individual parameters can be
+ * decoded from the mapping without reading the rest of the file. The mapping stays valid after the
+ * channel used to create it is closed.
+ */
+public class MappedDataSegment {
+
+  private final FCSDataDecoder decoder;
+  private final MappedByteBuffer[] regions;
+  private final int eventsPerRegion;
+  private final int eventCount;
+
+  public MappedDataSegment(FileChannel channel, long beginData, int eventCount,
+      FCSDataDecoder decoder) throws IOException {
+    this.decoder = decoder;
+    this.eventCount = eventCount;
+    int eventWidth = Math.max(1, decoder.getEventWidth());
+    // A single mapping is limited to 2GB, split larger segments on event boundaries.
+    eventsPerRegion = Math.max(1, Integer.MAX_VALUE / eventWidth);
+    int regionCount = Math.max(1, (eventCount + eventsPerRegion - 1) / eventsPerRegion);
+    long segmentEnd = beginData + (long) eventCount * eventWidth;
+    if (segmentEnd > channel.size()) {
+      throw new IOException("DATA segment extends beyond the end of the file.");
+    }
+    regions = new MappedByteBuffer[regionCount];
+    for (int i = 0; i < regionCount; i++) {
+      long start = beginData + (long) i * eventsPerRegion * eventWidth;
+      long length = Math.min((long) eventsPerRegion * eventWidth, segmentEnd - start);
+      regions[i] = channel.map(MapMode.READ_ONLY, start, length);
+    }
+  }
+
+  public int getEventCount() {
+    return eventCount;
+  }
+
+  /**
+   * Decodes every event of a single parameter.
+   *
+   * @param parameter the zero based parameter index, ie. n - 1 for $PnN.
+   */
+  public double[] decodeColumn(int parameter) {
+    double[] column = new double[eventCount];
+    for (int i = 0; i < regions.length; i++) {
+      // Duplicates keep concurrent decodes from sharing a buffer position or byte order.
+      ByteBuffer region = regions[i].duplicate();
+      int firstEvent = i * eventsPerRegion;
+      int events = Math.min(eventsPerRegion, eventCount - firstEvent);
+      decoder.decodeColumn(region, parameter, column, firstEvent, events);
+    }
+    return column;
+  }
+
+  public ColumnLoader createLoader(final int parameter) {
+    return () -> decodeColumn(parameter);
+  }
+}
@@ -60,6 +60,17 @@ public abstract class AbstractGate extends DomainObject implements Hierarchical
    */
   public abstract BitSet evaluate(FCSFrame data, TransformSet transforms);
 
+  /**
+   * Evaluates the gate on the events set in parentMask only, eg. the members of its parent gate.
+   * Events outside of the mask are never in the result and parentMask is not modified. Override
+   * to skip the excluded events rather than evaluating the whole frame.
+   */
+  public BitSet evaluate(FCSFrame data, TransformSet transforms, BitSet parentMask) {
+    BitSet mask = evaluate(data, transforms);
+    mask.and(parentMask);
+    return mask;
+  }
+
   public String getInfo(String name) {
     return customInfo.get(name);
   }
@@ -23,6 +23,8 @@ package fleur.core.gates;
 import java.util.BitSet;
 import java.util.function.BinaryOperator;
 
+import fleur.core.utils.RoaringBitSet;
+
 public class BitSetAccumulator implements BinaryOperator<BitSet> {
 
   BitSetOperator operator;
@@ -44,4 +46,17 @@ public class BitSetAccumulator implements BinaryOperator<BitSet> {
     return outBitset;
 
   }
+
+  /**
+   * Applies the operator to compressed member sets, eg. when evaluating a subset's ancestry.
+   */
+  public RoaringBitSet combine(RoaringBitSet t, RoaringBitSet u) {
+    if (operator.equals(BitSetOperator.NOT)) {
+      return t.andNot(u);
+    } else if (operator.equals(BitSetOperator.AND)) {
+      return t.and(u);
+    } else {
+      return t.or(u);
+    }
+  }
 }
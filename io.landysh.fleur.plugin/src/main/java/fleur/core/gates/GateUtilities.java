@@ -24,7 +24,6 @@ import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.function.BinaryOperator;
 import java.util.stream.Collectors;
 
 import fleur.core.data.FCSFrame;
@@ -39,21 +38,17 @@ public class GateUtilities {
   
   private GateUtilities(){}
   
+  /**
+   * @return the events which pass every gate. Each gate is only tested on the events which passed
+   *         the ones before it, so gates should be ordered from the root of the path down.
+   */
   public static BitSet applyGatingPath(FCSFrame dataFrame, List<AbstractGate> gates, TransformSet transforms){
-    BinaryOperator<BitSet> accumulator = new BitSetAccumulator(BitSetOperator.AND);
     BitSet mask = new BitSet(dataFrame.getRowCount());
-    mask.set(0, mask.size()-1);
-    Optional<BitSet> maybeMask = gates
-      .parallelStream()
-      .map(gate -> gate.evaluate(dataFrame, transforms))
-      .reduce(accumulator);
-    if (maybeMask.isPresent()){
-      return maybeMask.get();
-    } else {
-      BitSet allInclusiveSet = new BitSet(dataFrame.getRowCount());
-      allInclusiveSet.set(0, allInclusiveSet.size()-1);
-      return allInclusiveSet;
+    mask.set(0, dataFrame.getRowCount());
+    for (AbstractGate gate : gates) {
+      mask = gate.evaluate(dataFrame, transforms, mask);
     }
+    return mask;
   }
 
   public static AbstractGate[] findAncestors(String terminalID, List<AbstractGate> gates) {
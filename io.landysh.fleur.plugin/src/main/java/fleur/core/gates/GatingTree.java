@@ -0,0 +1,81 @@
+package fleur.core.gates;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import fleur.core.data.FCSFrame;
+import fleur.core.transforms.TransformSet;
+
+/**
+ * Evaluates a hierarchy of gates top down. Each gate is only tested on the members of its parent,
+ * which are computed once and shared between siblings, so deep trees do not repeatedly test
+ * events that were excluded further up.
+ *
+ * Gates without a parent, or whose parent is not part of the tree, are evaluated on all events.
+ * Gates which can not be reached from such a root, ie. which form a cycle, are treated as roots.
+ */
+public class GatingTree {
+
+  private final List<AbstractGate> roots = new ArrayList<>();
+  private final Map<String, List<AbstractGate>> children = new HashMap<>();
+  private final int gateCount;
+
+  public GatingTree(List<AbstractGate> gates) {
+    Map<String, AbstractGate> byID = new HashMap<>();
+    for (AbstractGate gate : gates) {
+      byID.put(gate.getID(), gate);
+    }
+    for (AbstractGate gate : gates) {
+      String parentID = gate.getParentID();
+      if (parentID != null && byID.containsKey(parentID)) {
+        children.computeIfAbsent(parentID, id -> new ArrayList<>()).add(gate);
+      } else {
+        roots.add(gate);
+      }
+    }
+    // Anything not reachable from a root is part of a cycle.
+    Map<String, AbstractGate> unreached = new LinkedHashMap<>();
+    gates.forEach(gate -> unreached.put(gate.getID(), gate));
+    Deque<AbstractGate> queue = new ArrayDeque<>(roots);
+    while (!queue.isEmpty()) {
+      AbstractGate gate = queue.poll();
+      unreached.remove(gate.getID());
+      queue.addAll(children.getOrDefault(gate.getID(), Collections.emptyList()));
+    }
+    for (AbstractGate gate : unreached.values()) {
+      children.get(gate.getParentID()).remove(gate);
+      roots.add(gate);
+    }
+    gateCount = byID.size();
+  }
+
+  /**
+   * @return the members of every gate, with those of all its ancestors applied, keyed by gate ID.
+   *         Parents come before their children.
+   */
+  public Map<String, BitSet> evaluate(FCSFrame frame, TransformSet transforms) {
+    Map<String, BitSet> masks = new LinkedHashMap<>(gateCount * 2);
+    BitSet allEvents = new BitSet(frame.getRowCount());
+    allEvents.set(0, frame.getRowCount());
+    for (AbstractGate root : roots) {
+      evaluate(root, allEvents, frame, transforms, masks);
+    }
+    return masks;
+  }
+
+  private void evaluate(AbstractGate gate, BitSet parentMask, FCSFrame frame,
+      TransformSet transforms, Map<String, BitSet> masks) {
+    BitSet mask = gate.evaluate(frame, transforms, parentMask);
+    masks.put(gate.getID(), mask);
+    for (AbstractGate child : children.getOrDefault(gate.getID(), Collections.emptyList())) {
+      evaluate(child, mask, frame, transforms, masks);
+    }
+  }
+}
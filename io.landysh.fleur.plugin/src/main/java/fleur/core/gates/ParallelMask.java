@@ -0,0 +1,145 @@
+package fleur.core.gates;
+
+import java.util.BitSet;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+import fleur.core.data.FCSDimension;
+import fleur.core.transforms.TransformSet;
+
+/**
+ * Builds gate masks by splitting the events into chunks which are evaluated on the common
+ * ForkJoin pool, or on the pool of the calling task. Chunks are a multiple of 64 events long so
+ * each one writes its own words of the result and no synchronization is needed. The result does
+ * not depend on how the chunks were scheduled.
+ */
+public final class ParallelMask {
+
+  // Events per chunk, small enough to balance well and large enough to amortize scheduling.
+  static final int CHUNK_EVENTS = 1 << 15;
+  // Values transformed at a time by points(), small enough to stay in cache.
+  private static final int POINT_CHUNK = 8192;
+
+  /**
+   * Evaluates the events from (inclusive) to to (exclusive), setting the bits of those that pass
+   * in words. Implementations may keep per chunk scratch buffers as locals.
+   */
+  @FunctionalInterface
+  public interface ChunkEvaluator {
+    void evaluate(int from, int to, long[] words);
+  }
+
+  /**
+   * Tests a pair of transformed values, eg. whether a point lies inside a polygon.
+   */
+  @FunctionalInterface
+  public interface PointTest {
+    boolean test(double x, double y);
+  }
+
+  private ParallelMask() {}
+
+  /**
+   * @return true if the columns of both dimensions are double arrays. Gates then test the
+   *         transformed columns shared through TransformSet.transform(), otherwise they go through
+   *         points() so float stored columns are never widened as a whole.
+   */
+  public static boolean onHeap(FCSDimension x, FCSDimension y) {
+    return !x.isFloat() && !y.isFloat();
+  }
+
+  /**
+   * @return an evaluator which reads and transforms both dimensions a chunk at a time, see
+   *         AbstractTransform.transform(FCSDimension, int, double[], int, int).
+   */
+  public static ChunkEvaluator points(FCSDimension x, FCSDimension y, TransformSet transforms,
+      PointTest test) {
+    return (from, to, words) -> {
+      double[] xChunk = new double[Math.min(to - from, POINT_CHUNK)];
+      double[] yChunk = new double[xChunk.length];
+      for (int start = from; start < to; start += xChunk.length) {
+        int count = Math.min(xChunk.length, to - start);
+        transforms.get(x.getShortName()).transform(x, start, xChunk, 0, count);
+        transforms.get(y.getShortName()).transform(y, start, yChunk, 0, count);
+        for (int i = 0; i < count; i++) {
+          if (test.test(xChunk[i], yChunk[i])) {
+            words[(start + i) >>> 6] |= 1L << (start + i);
+          }
+        }
+      }
+    };
+  }
+
+  public static BitSet evaluate(int size, IntPredicate test) {
+    return evaluate(size, (from, to, words) -> {
+      for (int i = from; i < to; i++) {
+        if (test.test(i)) {
+          words[i >>> 6] |= 1L << i;
+        }
+      }
+    });
+  }
+
+  /**
+   * Like evaluate() but only tests the events set in within, eg. the members of a parent gate.
+   * Events outside of it are never set in the result.
+   */
+  public static BitSet evaluate(int size, BitSet within, IntPredicate test) {
+    long[] withinWords = within.toLongArray();
+    return evaluate(size, (from, to, words) -> {
+      // Chunks start on a word boundary.
+      int lastWord = Math.min(withinWords.length, (int) (((long) to + Long.SIZE - 1) / Long.SIZE));
+      for (int w = from >>> 6; w < lastWord; w++) {
+        long word = withinWords[w];
+        while (word != 0) {
+          int i = (w << 6) + Long.numberOfTrailingZeros(word);
+          if (i >= to) {
+            break;
+          }
+          if (test.test(i)) {
+            words[w] |= 1L << i;
+          }
+          word &= word - 1;
+        }
+      }
+    });
+  }
+
+  /**
+   * Like evaluate() but chunks without any event set in within are skipped, and the result is
+   * restricted to within.
+   */
+  public static BitSet evaluate(int size, BitSet within, ChunkEvaluator evaluator) {
+    long[] withinWords = within.toLongArray();
+    return evaluate(size, (from, to, words) -> {
+      int firstWord = from >>> 6;
+      int lastWord = Math.min(withinWords.length, (int) (((long) to + Long.SIZE - 1) / Long.SIZE));
+      boolean empty = true;
+      for (int w = firstWord; w < lastWord && empty; w++) {
+        empty = withinWords[w] == 0;
+      }
+      if (empty) {
+        return;
+      }
+      evaluator.evaluate(from, to, words);
+      for (int w = firstWord; w < words.length && (long) w * Long.SIZE < to; w++) {
+        words[w] &= w < withinWords.length ? withinWords[w] : 0;
+      }
+    });
+  }
+
+  public static BitSet evaluate(int size, ChunkEvaluator evaluator) {
+    long[] words = new long[(int) (((long) size + Long.SIZE - 1) / Long.SIZE)];
+    int chunks = (int) (((long) size + CHUNK_EVENTS - 1) / CHUNK_EVENTS);
+    if (chunks <= 1) {
+      evaluator.evaluate(0, size, words);
+    } else {
+      IntStream
+        .range(0, chunks)
+        .parallel()
+        .forEach(chunk -> evaluator.evaluate(chunk * CHUNK_EVENTS,
+            (int) Math.min(size, (long) (chunk + 1) * CHUNK_EVENTS), words));
+    }
+    return BitSet.valueOf(words);
+  }
+}
@@ -0,0 +1,162 @@
+package fleur.core.gates;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A polygon compiled for fast point in polygon tests which give exactly the same answers as
+ * Path2D.Double.contains() with the non-zero winding rule. Points outside the bounding box are
+ * rejected straight away. The box is divided into a grid: cells which no edge comes near are
+ * wholly inside or outside and are answered by a lookup, the others count crossings with only the
+ * edges spanning their row of cells.
+ *
+ * Immutable and safe for concurrent use.
+ */
+public final class PolygonEvaluator {
+
+  private static final int GRID_SIZE = 64;
+  private static final byte OUTSIDE = 0;
+  private static final byte INSIDE = 1;
+  private static final byte EDGE = 2;
+  // Cells are widened by this fraction of their size when looking for nearby edges, which covers
+  // points binned into a neighbouring cell by rounding.
+  private static final double CELL_MARGIN = 1e-6;
+
+  private final double minX;
+  private final double maxX;
+  private final double minY;
+  private final double maxY;
+  private final double scaleX;
+  private final double scaleY;
+  private final byte[] cells;
+  // Per grid row, the non horizontal edges overlapping it as x0, y0, x1, y1.
+  private final double[][] rowEdges;
+
+  public PolygonEvaluator(double[] xs, double[] ys) {
+    if (xs.length != ys.length) {
+      throw new IllegalArgumentException("A polygon requires the same number of points in both dimensions.");
+    }
+    List<double[]> edges = new ArrayList<>();
+    List<double[]> outline = new ArrayList<>();
+    double x0 = Double.POSITIVE_INFINITY;
+    double x1 = Double.NEGATIVE_INFINITY;
+    double y0 = Double.POSITIVE_INFINITY;
+    double y1 = Double.NEGATIVE_INFINITY;
+    for (int i = 0; i < xs.length; i++) {
+      int next = (i + 1) % xs.length;
+      double[] edge = {xs[i], ys[i], xs[next], ys[next]};
+      outline.add(edge);
+      if (ys[i] != ys[next]) {
+        // Horizontal edges never cross a horizontal ray.
+        edges.add(edge);
+      }
+      x0 = Math.min(x0, xs[i]);
+      x1 = Math.max(x1, xs[i]);
+      y0 = Math.min(y0, ys[i]);
+      y1 = Math.max(y1, ys[i]);
+    }
+    minX = x0;
+    maxX = x1;
+    minY = y0;
+    maxY = y1;
+    boolean degenerate = xs.length < 2 || !(maxX > minX) || !(maxY > minY);
+    scaleX = degenerate ? 0 : GRID_SIZE / (maxX - minX);
+    scaleY = degenerate ? 0 : GRID_SIZE / (maxY - minY);
+    cells = new byte[degenerate ? 1 : GRID_SIZE * GRID_SIZE];
+    rowEdges = new double[degenerate ? 1 : GRID_SIZE][];
+    if (degenerate) {
+      // Without area no point is inside, but edges still decide exactly.
+      cells[0] = EDGE;
+      rowEdges[0] = flatten(edges);
+      return;
+    }
+
+    double cellWidth = (maxX - minX) / GRID_SIZE;
+    double cellHeight = (maxY - minY) / GRID_SIZE;
+    for (int row = 0; row < GRID_SIZE; row++) {
+      double top = minY + row * cellHeight - cellHeight * CELL_MARGIN;
+      double bottom = minY + (row + 1) * cellHeight + cellHeight * CELL_MARGIN;
+      List<double[]> spanning = new ArrayList<>();
+      for (double[] edge : edges) {
+        if (Math.max(edge[1], edge[3]) >= top && Math.min(edge[1], edge[3]) <= bottom) {
+          spanning.add(edge);
+        }
+      }
+      rowEdges[row] = flatten(spanning);
+      for (int column = 0; column < GRID_SIZE; column++) {
+        double left = minX + column * cellWidth - cellWidth * CELL_MARGIN;
+        double right = minX + (column + 1) * cellWidth + cellWidth * CELL_MARGIN;
+        boolean touched = false;
+        for (double[] edge : outline) {
+          if (Math.max(edge[1], edge[3]) < top || Math.min(edge[1], edge[3]) > bottom) {
+            continue;
+          }
+          if (Math.max(edge[0], edge[2]) >= left && Math.min(edge[0], edge[2]) <= right) {
+            touched = true;
+            break;
+          }
+        }
+        if (touched) {
+          cells[row * GRID_SIZE + column] = EDGE;
+        } else {
+          // No edge is near, the winding number is the same everywhere in the cell.
+          double x = minX + (column + 0.5) * cellWidth;
+          double y = minY + (row + 0.5) * cellHeight;
+          cells[row * GRID_SIZE + column] = crossings(rowEdges[row], x, y) != 0 ? INSIDE : OUTSIDE;
+        }
+      }
+    }
+  }
+
+  private static double[] flatten(List<double[]> edges) {
+    double[] flat = new double[edges.size() * 4];
+    for (int i = 0; i < edges.size(); i++) {
+      System.arraycopy(edges.get(i), 0, flat, i * 4, 4);
+    }
+    return flat;
+  }
+
+  public boolean contains(double x, double y) {
+    // Same rejection of NaN and infinite points as Path2D, at or above the highest vertex no edge
+    // is crossed.
+    if (!(x * 0.0 + y * 0.0 == 0.0) || x < minX || x > maxX || y < minY || y >= maxY) {
+      return false;
+    }
+    if (cells.length == 1) {
+      return crossings(rowEdges[0], x, y) != 0;
+    }
+    int column = Math.min(GRID_SIZE - 1, Math.max(0, (int) ((x - minX) * scaleX)));
+    int row = Math.min(GRID_SIZE - 1, Math.max(0, (int) ((y - minY) * scaleY)));
+    byte cell = cells[row * GRID_SIZE + column];
+    if (cell != EDGE) {
+      return cell == INSIDE;
+    }
+    return crossings(rowEdges[row], x, y) != 0;
+  }
+
+  /**
+   * Counts signed crossings of a ray to the right of the point, with the arithmetic of
+   * sun.awt.geom.Curve.pointCrossingsForLine() so that results on edges match Path2D.
+   */
+  private static int crossings(double[] edges, double px, double py) {
+    int crossings = 0;
+    for (int i = 0; i < edges.length; i += 4) {
+      double x0 = edges[i];
+      double y0 = edges[i + 1];
+      double x1 = edges[i + 2];
+      double y1 = edges[i + 3];
+      if ((py < y0 && py < y1) || (py >= y0 && py >= y1) || (px >= x0 && px >= x1)) {
+        continue;
+      }
+      if (px < x0 && px < x1) {
+        crossings += y0 < y1 ? 1 : -1;
+        continue;
+      }
+      double xintercept = x0 + (py - y0) * (x1 - x0) / (y1 - y0);
+      if (px < xintercept) {
+        crossings += y0 < y1 ? 1 : -1;
+      }
+    }
+    return crossings;
+  }
+}
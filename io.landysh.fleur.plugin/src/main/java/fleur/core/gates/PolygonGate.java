@@ -20,7 +20,6 @@
  */
 package fleur.core.gates;
 
-import java.awt.geom.Path2D;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.Optional;
@@ -46,6 +45,7 @@ public class PolygonGate extends AbstractGate {
   String rangeName;
   ArrayList<Double> domainPoints;
   ArrayList<Double> rangePoints;
+  private transient volatile PolygonEvaluator evaluator;
   
   public PolygonGate(String label, String domainName, double[] domainPoints, String rangeName,
       double[] rangePoints, String priorUUID) {
@@ -72,25 +72,47 @@ public class PolygonGate extends AbstractGate {
   public BitSet evaluate(FCSFrame data, TransformSet transforms) {
     Optional<FCSDimension> d1 = FCSUtilities.findCompatibleDimension(data, domainName);
     Optional<FCSDimension> d2 = FCSUtilities.findCompatibleDimension(data, rangeName);
-    double[] d1Data = transforms.get(d1.get().getShortName()).transform(d1.get().getData());
-    double[] d2Data = transforms.get(d2.get().getShortName()).transform(d2.get().getData());
-    Path2D poly = new Path2D.Double();
-    BitSet mask = new BitSet(data.getRowCount());
-    for (int i = 0; i < domainPoints.size(); i++) {
-      if (i == 0) {
-        poly.moveTo(domainPoints.get(i), rangePoints.get(i));
-      } else {
-        poly.lineTo(domainPoints.get(i), rangePoints.get(i));
-      }
+    PolygonEvaluator polygon = getEvaluator();
+    if (!ParallelMask.onHeap(d1.get(), d2.get())) {
+      return ParallelMask.evaluate(d1.get().size(),
+          ParallelMask.points(d1.get(), d2.get(), transforms, polygon::contains));
+    }
+    double[] d1Data = transforms.transform(d1.get());
+    double[] d2Data = transforms.transform(d2.get());
+    return ParallelMask.evaluate(d1Data.length, i -> polygon.contains(d1Data[i], d2Data[i]));
+  }
+
+  @Override
+  public BitSet evaluate(FCSFrame data, TransformSet transforms, BitSet parentMask) {
+    Optional<FCSDimension> d1 = FCSUtilities.findCompatibleDimension(data, domainName);
+    Optional<FCSDimension> d2 = FCSUtilities.findCompatibleDimension(data, rangeName);
+    PolygonEvaluator polygon = getEvaluator();
+    if (!ParallelMask.onHeap(d1.get(), d2.get())) {
+      return ParallelMask.evaluate(d1.get().size(), parentMask,
+          ParallelMask.points(d1.get(), d2.get(), transforms, polygon::contains));
     }
-    poly.closePath();
+    double[] d1Data = transforms.transform(d1.get());
+    double[] d2Data = transforms.transform(d2.get());
+    return ParallelMask.evaluate(d1Data.length, parentMask,
+        i -> polygon.contains(d1Data[i], d2Data[i]));
+  }
 
-    for (int i = 0; i < d1Data.length; i++) {
-      if (poly.contains(d1Data[i], d2Data[i])) {
-        mask.set(i);
+  /**
+   * @return the vertices compiled for fast containment tests, rebuilt after they change.
+   */
+  public PolygonEvaluator getEvaluator() {
+    PolygonEvaluator current = evaluator;
+    if (current == null) {
+      double[] xs = new double[domainPoints.size()];
+      double[] ys = new double[rangePoints.size()];
+      for (int i = 0; i < xs.length; i++) {
+        xs[i] = domainPoints.get(i);
+        ys[i] = rangePoints.get(i);
       }
+      current = new PolygonEvaluator(xs, ys);
+      evaluator = current;
     }
-    return mask;
+    return current;
   }
 
   public String[] getDimensionNames() {
@@ -107,6 +129,7 @@ public class PolygonGate extends AbstractGate {
   public void updatePoint(int index, double d1New, double d2New) {
     domainPoints.set(index, d1New);
     rangePoints.set(index, d2New);
+    evaluator = null;
   }
 
   @Override
@@ -23,6 +23,8 @@ package fleur.core.gates;
 import java.io.Serializable;
 import java.util.BitSet;
 
+import fleur.core.data.FCSDimension;
+
 @SuppressWarnings("serial")
 public class RangeDimension implements Serializable{
 
@@ -30,6 +32,8 @@ public class RangeDimension implements Serializable{
   public double max = Double.MAX_VALUE;
   private String name;
 
+  private static final int CHUNK_SIZE = 8192;
+
   public RangeDimension(String name, double min, double max) {
     this.name = name;
     this.min = min;
@@ -39,13 +43,37 @@ public class RangeDimension implements Serializable{
 //  public RangeDimension() { }
 
   public BitSet evaluate(double[] data) {
-    BitSet result = new BitSet(data.length);
-    for (int i = 0; i < data.length; i++) {
-      if (min <= data[i] && data[i] < max) {
-        result.set(i);
+    return ParallelMask.evaluate(data.length, i -> min <= data[i] && data[i] < max);
+  }
+
+  /**
+   * Evaluates the dimension in parallel chunks, float stored dimensions are not widened as a whole.
+   */
+  public BitSet evaluate(FCSDimension dimension) {
+    return ParallelMask.evaluate(dimension.size(), chunkTest(dimension));
+  }
+
+  /**
+   * Like evaluate(FCSDimension) but only the events set in within are tested, chunks without any
+   * are not read.
+   */
+  public BitSet evaluate(FCSDimension dimension, BitSet within) {
+    return ParallelMask.evaluate(dimension.size(), within, chunkTest(dimension));
+  }
+
+  private ParallelMask.ChunkEvaluator chunkTest(FCSDimension dimension) {
+    return (from, to, words) -> {
+      double[] chunk = new double[Math.min(to - from, CHUNK_SIZE)];
+      for (int start = from; start < to; start += chunk.length) {
+        int count = Math.min(chunk.length, to - start);
+        dimension.getValues(start, chunk, 0, count);
+        for (int i = 0; i < count; i++) {
+          if (min <= chunk[i] && chunk[i] < max) {
+            words[(start + i) >>> 6] |= 1L << (start + i);
+          }
+        }
       }
-    }
-    return result;
+    };
   }
 
   public String getName() {
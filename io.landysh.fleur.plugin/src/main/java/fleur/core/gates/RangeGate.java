@@ -24,7 +24,7 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.function.IntPredicate;
 import java.util.stream.Collectors;
 
 import org.w3c.dom.Element;
@@ -60,40 +60,62 @@ public class RangeGate extends AbstractGate {
 
   @Override
   public BitSet evaluate(FCSFrame fcsFrame, TransformSet transforms) {
-    // TODO performance optimization?
     if (dimensions.size() == 2) {
-      String xName = dimensions.get(0).getName();
-      double xMin = dimensions.get(0).min;
-      double xMax = dimensions.get(0).max;
-      String yName = dimensions.get(1).getName();
-      double yMin = dimensions.get(1).min;
-      double yMax = dimensions.get(1).max;
-      Optional<FCSDimension> xDimension = FCSUtilities.findCompatibleDimension(fcsFrame, xName);
-      double[] xData = transforms.get(xDimension.get().getShortName()).transform(xDimension.get().getData());
-      Optional<FCSDimension> yDimension = FCSUtilities.findCompatibleDimension(fcsFrame, yName);
-      double[] yData =  transforms.get(yDimension.get().getShortName()).transform(yDimension.get().getData());
-      BitSet bits = new BitSet(fcsFrame.getRowCount());
-      for (int i = 0; i < xData.length; i++) {
-        if (xMin < xData[i] && xData[i] < xMax && yMin < yData[i] && yData[i] < yMax) {
-          bits.set(i);
-        }
-      }
-      return bits;
+      return rectangle(fcsFrame, transforms, null);
     }
 
     int rowCount = fcsFrame.getRowCount();
     final BitSet result = new BitSet(rowCount);
-    result.set(0, result.size() - 1);
+    result.set(0, rowCount);
 
     for (RangeDimension dim : dimensions) {
       String name = dim.getName();
-      double[] data = FCSUtilities.findCompatibleDimension(fcsFrame, name).get().getData();
+      FCSDimension data = FCSUtilities.findCompatibleDimension(fcsFrame, name).get();
       BitSet dimesnionBits = dim.evaluate(data);
       result.and(dimesnionBits);
     }
     return result;
   }
 
+  @Override
+  public BitSet evaluate(FCSFrame fcsFrame, TransformSet transforms, BitSet parentMask) {
+    if (dimensions.size() == 2) {
+      return rectangle(fcsFrame, transforms, parentMask);
+    }
+    // Each dimension only tests the events which passed the ones before it.
+    BitSet result = (BitSet) parentMask.clone();
+    for (RangeDimension dim : dimensions) {
+      String name = dim.getName();
+      FCSDimension data = FCSUtilities.findCompatibleDimension(fcsFrame, name).get();
+      result = dim.evaluate(data, result);
+    }
+    return result;
+  }
+
+  private BitSet rectangle(FCSFrame fcsFrame, TransformSet transforms, BitSet parentMask) {
+    String xName = dimensions.get(0).getName();
+    double xMin = dimensions.get(0).min;
+    double xMax = dimensions.get(0).max;
+    String yName = dimensions.get(1).getName();
+    double yMin = dimensions.get(1).min;
+    double yMax = dimensions.get(1).max;
+    FCSDimension xDimension = FCSUtilities.findCompatibleDimension(fcsFrame, xName).get();
+    FCSDimension yDimension = FCSUtilities.findCompatibleDimension(fcsFrame, yName).get();
+    int rowCount = fcsFrame.getRowCount();
+    if (!ParallelMask.onHeap(xDimension, yDimension)) {
+      ParallelMask.ChunkEvaluator points = ParallelMask.points(xDimension, yDimension, transforms,
+          (x, y) -> xMin < x && x < xMax && yMin < y && y < yMax);
+      return parentMask == null ? ParallelMask.evaluate(rowCount, points)
+          : ParallelMask.evaluate(rowCount, parentMask, points);
+    }
+    double[] xData = transforms.transform(xDimension);
+    double[] yData = transforms.transform(yDimension);
+    IntPredicate test =
+        i -> xMin < xData[i] && xData[i] < xMax && yMin < yData[i] && yData[i] < yMax;
+    return parentMask == null ? ParallelMask.evaluate(rowCount, test)
+        : ParallelMask.evaluate(rowCount, parentMask, test);
+  }
+
   public List<String> getDimensionNames() {
     return dimensions
         .stream()
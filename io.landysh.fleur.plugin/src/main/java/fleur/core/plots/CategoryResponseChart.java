@@ -52,8 +52,9 @@ public class CategoryResponseChart {
     
     for (int i=0;i<cytFrames.size();i++) {
 
-      double[] tData = transform.transform(cytFrames.get(i).getDimension(axisName).getData());
-      Histogram1D hist = new Histogram1D(tData, transform.getMinTranformedValue(), transform.getMaxTransformedValue(), ChartingDefaults.BIN_COUNT);
+      Histogram1D hist = new Histogram1D(transform.getMinTranformedValue(),
+          transform.getMaxTransformedValue(), ChartingDefaults.BIN_COUNT);
+      hist.addAll(cytFrames.get(i).getDimension(axisName), transform);
       
       double[] x = hist.getNonZeroX();
       double[] y = new double[x.length];
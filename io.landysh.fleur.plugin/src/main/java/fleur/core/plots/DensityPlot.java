@@ -20,7 +20,6 @@
  */
 package fleur.core.plots;
 
-import java.util.BitSet;
 import java.util.Optional;
 
 import org.jfree.chart.JFreeChart;
@@ -61,12 +60,12 @@ public class DensityPlot extends AbstractFCChart {
     Optional<FCSDimension> rangeDimension = FCSUtilities.findCompatibleDimension(data, spec.getRangeAxisName());
     if (domainDimension.isPresent()&&rangeDimension.isPresent()){
     	AbstractTransform domainTransform = transforms.get(domainDimension.get().getShortName());
-        double[] domainData = domainTransform.transform(domainDimension.get().getData());
+        double[] domainData = transforms.transform(domainDimension.get());
         double domainMin = domainTransform.getMinTranformedValue();
         double domainMax = domainTransform.getMaxTransformedValue();
 
         AbstractTransform rangeTransform = transforms.get(rangeDimension.get().getShortName());
-        double[] rangeData = rangeTransform.transform(rangeDimension.get().getData());
+        double[] rangeData = transforms.transform(rangeDimension.get());
         double rangeMin = rangeTransform.getMinTranformedValue();
         double rangeMax = rangeTransform.getMaxTransformedValue();
         histogram = new Histogram2D(domainData, domainMin, domainMax, rangeData, rangeMin, rangeMax);
@@ -74,11 +73,7 @@ public class DensityPlot extends AbstractFCChart {
         DefaultXYZDataset plotData = new DefaultXYZDataset();
 
 
-        BitSet nonEmptyMask = histogram.getNonEmptyBins();
-        double[] x = FCSUtilities.filterColumn(nonEmptyMask, histogram.getXBins());
-        double[] y = FCSUtilities.filterColumn(nonEmptyMask, histogram.getYBins());
-        double[] z = FCSUtilities.filterColumn(nonEmptyMask, histogram.getZValues());
-        plotData.addSeries(data.toString(), new double[][] {x, y, z});
+        plotData.addSeries(data.toString(), histogram.getNonEmptyData());
 
         XYBlockRenderer renderer = updateRenderer(histogram);
 
@@ -98,8 +93,7 @@ public class DensityPlot extends AbstractFCChart {
   }
 
   private XYBlockRenderer updateRenderer(Histogram2D histogram) {
-    BitSet nonEmptyMask = histogram.getNonEmptyBins();
-    double[] z = FCSUtilities.filterColumn(nonEmptyMask, histogram.getZValues());
+    double[] z = histogram.getNonEmptyData()[2];
     LookupPaintScale paintScale = PlotUtils.createPaintScale(Doubles.max(z), colorScheme);
     
     
@@ -63,7 +63,7 @@ public class HistogramPlot extends AbstractFCChart {
         FCSUtilities.findCompatibleDimension(dataFrame, spec.getDomainAxisName());
 
     AbstractTransform transform = transforms.get(domainDimension.get().getShortName());
-    double[] transformedData = transform.transform(domainDimension.get().getData());
+    double[] transformedData = transforms.transform(domainDimension.get());
 
     Histogram1D hist = new Histogram1D(transformedData, transform.getMinTranformedValue(),
         transform.getMaxTransformedValue(), ChartingDefaults.BIN_COUNT);
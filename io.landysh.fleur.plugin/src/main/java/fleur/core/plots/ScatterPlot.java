@@ -36,17 +36,13 @@ public class ScatterPlot extends AbstractFCChart {
     if (opDomainDimension.isPresent()&&opRangeDimension.isPresent()){
     	//get the transformed data.
     	AbstractTransform domainTransform = transforms.get(opDomainDimension.get().getShortName());
-        double[] domainData = domainTransform.transform(opDomainDimension.get().getData());
+        double[] domainData = domainTransform.transform(opDomainDimension.get());
         AbstractTransform rangeTransform = transforms.get(opDomainDimension.get().getShortName());
-        double[] rangeData = rangeTransform.transform(opRangeDimension.get().getData());
+        double[] rangeData = rangeTransform.transform(opRangeDimension.get());
         
         //create the data series.
         DefaultXYDataset plotData = new DefaultXYDataset();
-        double[][] seriesArray = new double[2][domainData.length];
-        for (int i=0;i<domainData.length;i++){
-          seriesArray[0][i] = domainData[i];
-          seriesArray[1][i] = rangeData[i];
-        }
+        double[][] seriesArray = new double[][] {domainData, rangeData};
         plotData.addSeries("l1", seriesArray);
         XYPlot plot = new XYPlot();
         // Create the plot
@@ -5,8 +5,14 @@ package fleur.core.proto;
 
 public final class FCSFrameProto {
   private FCSFrameProto() {}
+  public static void registerAllExtensions(
+      com.google.protobuf.ExtensionRegistryLite registry) {
+  }
+
   public static void registerAllExtensions(
       com.google.protobuf.ExtensionRegistry registry) {
+    registerAllExtensions(
+        (com.google.protobuf.ExtensionRegistryLite) registry);
   }
   public interface MessageOrBuilder extends
       // @@protoc_insertion_point(interface_extends:Message)
@@ -38,7 +44,7 @@ public final class FCSFrameProto {
     /**
      * <code>repeated string dimNames = 3;</code>
      */
-    com.google.protobuf.ProtocolStringList
+    java.util.List<java.lang.String>
         getDimNamesList();
     /**
      * <code>repeated string dimNames = 3;</code>
@@ -129,37 +135,33 @@ public final class FCSFrameProto {
   /**
    * Protobuf type {@code Message}
    */
-  public static final class Message extends
-      com.google.protobuf.GeneratedMessage implements
+  public  static final class Message extends
+      com.google.protobuf.GeneratedMessageV3 implements
       // @@protoc_insertion_point(message_implements:Message)
       MessageOrBuilder {
     // Use Message.newBuilder() to construct.
-    private Message(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+    private Message(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
       super(builder);
-      this.unknownFields = builder.getUnknownFields();
-    }
-    private Message(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
-
-    private static final Message defaultInstance;
-    public static Message getDefaultInstance() {
-      return defaultInstance;
     }
-
-    public Message getDefaultInstanceForType() {
-      return defaultInstance;
+    private Message() {
+      id_ = "";
+      eventCount_ = 0;
+      dimNames_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      keyword_ = java.util.Collections.emptyList();
+      dimension_ = java.util.Collections.emptyList();
+      subset_ = java.util.Collections.emptyList();
     }
 
-    private final com.google.protobuf.UnknownFieldSet unknownFields;
     @java.lang.Override
     public final com.google.protobuf.UnknownFieldSet
-        getUnknownFields() {
+    getUnknownFields() {
       return this.unknownFields;
     }
     private Message(
         com.google.protobuf.CodedInputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
-      initFields();
+      this();
       int mutable_bitField0_ = 0;
       com.google.protobuf.UnknownFieldSet.Builder unknownFields =
           com.google.protobuf.UnknownFieldSet.newBuilder();
@@ -203,7 +205,8 @@ public final class FCSFrameProto {
                 keyword_ = new java.util.ArrayList<FCSFrameProto.Message.Keyword>();
                 mutable_bitField0_ |= 0x00000008;
               }
-              keyword_.add(input.readMessage(FCSFrameProto.Message.Keyword.PARSER, extensionRegistry));
+              keyword_.add(
+                  input.readMessage(FCSFrameProto.Message.Keyword.PARSER, extensionRegistry));
               break;
             }
             case 42: {
@@ -211,7 +214,8 @@ public final class FCSFrameProto {
                 dimension_ = new java.util.ArrayList<FCSFrameProto.Message.Dimension>();
                 mutable_bitField0_ |= 0x00000010;
               }
-              dimension_.add(input.readMessage(FCSFrameProto.Message.Dimension.PARSER, extensionRegistry));
+              dimension_.add(
+                  input.readMessage(FCSFrameProto.Message.Dimension.PARSER, extensionRegistry));
               break;
             }
             case 50: {
@@ -219,7 +223,8 @@ public final class FCSFrameProto {
                 subset_ = new java.util.ArrayList<FCSFrameProto.Message.Subset>();
                 mutable_bitField0_ |= 0x00000020;
               }
-              subset_.add(input.readMessage(FCSFrameProto.Message.Subset.PARSER, extensionRegistry));
+              subset_.add(
+                  input.readMessage(FCSFrameProto.Message.Subset.PARSER, extensionRegistry));
               break;
             }
           }
@@ -228,7 +233,7 @@ public final class FCSFrameProto {
         throw e.setUnfinishedMessage(this);
       } catch (java.io.IOException e) {
         throw new com.google.protobuf.InvalidProtocolBufferException(
-            e.getMessage()).setUnfinishedMessage(this);
+            e).setUnfinishedMessage(this);
       } finally {
         if (((mutable_bitField0_ & 0x00000004) == 0x00000004)) {
           dimNames_ = dimNames_.getUnmodifiableView();
@@ -251,28 +256,13 @@ public final class FCSFrameProto {
       return FCSFrameProto.internal_static_Message_descriptor;
     }
 
-    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
         internalGetFieldAccessorTable() {
       return FCSFrameProto.internal_static_Message_fieldAccessorTable
           .ensureFieldAccessorsInitialized(
               FCSFrameProto.Message.class, FCSFrameProto.Message.Builder.class);
     }
 
-    public static com.google.protobuf.Parser<Message> PARSER =
-        new com.google.protobuf.AbstractParser<Message>() {
-      public Message parsePartialFrom(
-          com.google.protobuf.CodedInputStream input,
-          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-          throws com.google.protobuf.InvalidProtocolBufferException {
-        return new Message(input, extensionRegistry);
-      }
-    };
-
-    @java.lang.Override
-    public com.google.protobuf.Parser<Message> getParserForType() {
-      return PARSER;
-    }
-
     public interface KeywordOrBuilder extends
         // @@protoc_insertion_point(interface_extends:Message.Keyword)
         com.google.protobuf.MessageOrBuilder {
@@ -308,37 +298,29 @@ public final class FCSFrameProto {
     /**
      * Protobuf type {@code Message.Keyword}
      */
-    public static final class Keyword extends
-        com.google.protobuf.GeneratedMessage implements
+    public  static final class Keyword extends
+        com.google.protobuf.GeneratedMessageV3 implements
         // @@protoc_insertion_point(message_implements:Message.Keyword)
         KeywordOrBuilder {
       // Use Keyword.newBuilder() to construct.
-      private Keyword(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+      private Keyword(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
         super(builder);
-        this.unknownFields = builder.getUnknownFields();
-      }
-      private Keyword(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
-
-      private static final Keyword defaultInstance;
-      public static Keyword getDefaultInstance() {
-        return defaultInstance;
       }
-
-      public Keyword getDefaultInstanceForType() {
-        return defaultInstance;
+      private Keyword() {
+        key_ = "";
+        value_ = "";
       }
 
-      private final com.google.protobuf.UnknownFieldSet unknownFields;
       @java.lang.Override
       public final com.google.protobuf.UnknownFieldSet
-          getUnknownFields() {
+      getUnknownFields() {
         return this.unknownFields;
       }
       private Keyword(
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws com.google.protobuf.InvalidProtocolBufferException {
-        initFields();
+        this();
         int mutable_bitField0_ = 0;
         com.google.protobuf.UnknownFieldSet.Builder unknownFields =
             com.google.protobuf.UnknownFieldSet.newBuilder();
@@ -375,7 +357,7 @@ public final class FCSFrameProto {
           throw e.setUnfinishedMessage(this);
         } catch (java.io.IOException e) {
           throw new com.google.protobuf.InvalidProtocolBufferException(
-              e.getMessage()).setUnfinishedMessage(this);
+              e).setUnfinishedMessage(this);
         } finally {
           this.unknownFields = unknownFields.build();
           makeExtensionsImmutable();
@@ -386,31 +368,16 @@ public final class FCSFrameProto {
         return FCSFrameProto.internal_static_Message_Keyword_descriptor;
       }
 
-      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
           internalGetFieldAccessorTable() {
         return FCSFrameProto.internal_static_Message_Keyword_fieldAccessorTable
             .ensureFieldAccessorsInitialized(
                 FCSFrameProto.Message.Keyword.class, FCSFrameProto.Message.Keyword.Builder.class);
       }
 
-      public static com.google.protobuf.Parser<Keyword> PARSER =
-          new com.google.protobuf.AbstractParser<Keyword>() {
-        public Keyword parsePartialFrom(
-            com.google.protobuf.CodedInputStream input,
-            com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-            throws com.google.protobuf.InvalidProtocolBufferException {
-          return new Keyword(input, extensionRegistry);
-        }
-      };
-
-      @java.lang.Override
-      public com.google.protobuf.Parser<Keyword> getParserForType() {
-        return PARSER;
-      }
-
       private int bitField0_;
       public static final int KEY_FIELD_NUMBER = 1;
-      private java.lang.Object key_;
+      private volatile java.lang.Object key_;
       /**
        * <code>required string key = 1;</code>
        */
@@ -452,7 +419,7 @@ public final class FCSFrameProto {
       }
 
       public static final int VALUE_FIELD_NUMBER = 2;
-      private java.lang.Object value_;
+      private volatile java.lang.Object value_;
       /**
        * <code>required string value = 2;</code>
        */
@@ -493,10 +460,6 @@ public final class FCSFrameProto {
         }
       }
 
-      private void initFields() {
-        key_ = "";
-        value_ = "";
-      }
       private byte memoizedIsInitialized = -1;
       public final boolean isInitialized() {
         byte isInitialized = memoizedIsInitialized;
@@ -517,40 +480,75 @@ public final class FCSFrameProto {
 
       public void writeTo(com.google.protobuf.CodedOutputStream output)
                           throws java.io.IOException {
-        getSerializedSize();
         if (((bitField0_ & 0x00000001) == 0x00000001)) {
-          output.writeBytes(1, getKeyBytes());
+          com.google.protobuf.GeneratedMessageV3.writeString(output, 1, key_);
         }
         if (((bitField0_ & 0x00000002) == 0x00000002)) {
-          output.writeBytes(2, getValueBytes());
+          com.google.protobuf.GeneratedMessageV3.writeString(output, 2, value_);
         }
-        getUnknownFields().writeTo(output);
+        unknownFields.writeTo(output);
       }
 
-      private int memoizedSerializedSize = -1;
       public int getSerializedSize() {
-        int size = memoizedSerializedSize;
+        int size = memoizedSize;
         if (size != -1) return size;
 
         size = 0;
         if (((bitField0_ & 0x00000001) == 0x00000001)) {
-          size += com.google.protobuf.CodedOutputStream
-            .computeBytesSize(1, getKeyBytes());
+          size += com.google.protobuf.GeneratedMessageV3.computeStringSize(1, key_);
         }
         if (((bitField0_ & 0x00000002) == 0x00000002)) {
-          size += com.google.protobuf.CodedOutputStream
-            .computeBytesSize(2, getValueBytes());
+          size += com.google.protobuf.GeneratedMessageV3.computeStringSize(2, value_);
         }
-        size += getUnknownFields().getSerializedSize();
-        memoizedSerializedSize = size;
+        size += unknownFields.getSerializedSize();
+        memoizedSize = size;
         return size;
       }
 
       private static final long serialVersionUID = 0L;
       @java.lang.Override
-      protected java.lang.Object writeReplace()
-          throws java.io.ObjectStreamException {
-        return super.writeReplace();
+      public boolean equals(final java.lang.Object obj) {
+        if (obj == this) {
+         return true;
+        }
+        if (!(obj instanceof FCSFrameProto.Message.Keyword)) {
+          return super.equals(obj);
+        }
+        FCSFrameProto.Message.Keyword other = (FCSFrameProto.Message.Keyword) obj;
+
+        boolean result = true;
+        result = result && (hasKey() == other.hasKey());
+        if (hasKey()) {
+          result = result && getKey()
+              .equals(other.getKey());
+        }
+        result = result && (hasValue() == other.hasValue());
+        if (hasValue()) {
+          result = result && getValue()
+              .equals(other.getValue());
+        }
+        result = result && unknownFields.equals(other.unknownFields);
+        return result;
+      }
+
+      @java.lang.Override
+      public int hashCode() {
+        if (memoizedHashCode != 0) {
+          return memoizedHashCode;
+        }
+        int hash = 41;
+        hash = (19 * hash) + getDescriptor().hashCode();
+        if (hasKey()) {
+          hash = (37 * hash) + KEY_FIELD_NUMBER;
+          hash = (53 * hash) + getKey().hashCode();
+        }
+        if (hasValue()) {
+          hash = (37 * hash) + VALUE_FIELD_NUMBER;
+          hash = (53 * hash) + getValue().hashCode();
+        }
+        hash = (29 * hash) + unknownFields.hashCode();
+        memoizedHashCode = hash;
+        return hash;
       }
 
       public static FCSFrameProto.Message.Keyword parseFrom(
@@ -576,46 +574,57 @@ public final class FCSFrameProto {
       }
       public static FCSFrameProto.Message.Keyword parseFrom(java.io.InputStream input)
           throws java.io.IOException {
-        return PARSER.parseFrom(input);
+        return com.google.protobuf.GeneratedMessageV3
+            .parseWithIOException(PARSER, input);
       }
       public static FCSFrameProto.Message.Keyword parseFrom(
           java.io.InputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws java.io.IOException {
-        return PARSER.parseFrom(input, extensionRegistry);
+        return com.google.protobuf.GeneratedMessageV3
+            .parseWithIOException(PARSER, input, extensionRegistry);
       }
       public static FCSFrameProto.Message.Keyword parseDelimitedFrom(java.io.InputStream input)
           throws java.io.IOException {
-        return PARSER.parseDelimitedFrom(input);
+        return com.google.protobuf.GeneratedMessageV3
+            .parseDelimitedWithIOException(PARSER, input);
       }
       public static FCSFrameProto.Message.Keyword parseDelimitedFrom(
           java.io.InputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws java.io.IOException {
-        return PARSER.parseDelimitedFrom(input, extensionRegistry);
+        return com.google.protobuf.GeneratedMessageV3
+            .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
       }
       public static FCSFrameProto.Message.Keyword parseFrom(
           com.google.protobuf.CodedInputStream input)
           throws java.io.IOException {
-        return PARSER.parseFrom(input);
+        return com.google.protobuf.GeneratedMessageV3
+            .parseWithIOException(PARSER, input);
       }
       public static FCSFrameProto.Message.Keyword parseFrom(
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws java.io.IOException {
-        return PARSER.parseFrom(input, extensionRegistry);
+        return com.google.protobuf.GeneratedMessageV3
+            .parseWithIOException(PARSER, input, extensionRegistry);
       }
 
-      public static Builder newBuilder() { return Builder.create(); }
       public Builder newBuilderForType() { return newBuilder(); }
+      public static Builder newBuilder() {
+        return DEFAULT_INSTANCE.toBuilder();
+      }
       public static Builder newBuilder(FCSFrameProto.Message.Keyword prototype) {
-        return newBuilder().mergeFrom(prototype);
+        return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+      }
+      public Builder toBuilder() {
+        return this == DEFAULT_INSTANCE
+            ? new Builder() : new Builder().mergeFrom(this);
       }
-      public Builder toBuilder() { return newBuilder(this); }
 
       @java.lang.Override
       protected Builder newBuilderForType(
-          com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
         Builder builder = new Builder(parent);
         return builder;
       }
@@ -623,7 +632,7 @@ public final class FCSFrameProto {
        * Protobuf type {@code Message.Keyword}
        */
       public static final class Builder extends
-          com.google.protobuf.GeneratedMessage.Builder<Builder> implements
+          com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
           // @@protoc_insertion_point(builder_implements:Message.Keyword)
           FCSFrameProto.Message.KeywordOrBuilder {
         public static final com.google.protobuf.Descriptors.Descriptor
@@ -631,7 +640,7 @@ public final class FCSFrameProto {
           return FCSFrameProto.internal_static_Message_Keyword_descriptor;
         }
 
-        protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
             internalGetFieldAccessorTable() {
           return FCSFrameProto.internal_static_Message_Keyword_fieldAccessorTable
               .ensureFieldAccessorsInitialized(
@@ -644,18 +653,15 @@ public final class FCSFrameProto {
         }
 
         private Builder(
-            com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+            com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
           super(parent);
           maybeForceBuilderInitialization();
         }
         private void maybeForceBuilderInitialization() {
-          if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+          if (com.google.protobuf.GeneratedMessageV3
+                  .alwaysUseFieldBuilders) {
           }
         }
-        private static Builder create() {
-          return new Builder();
-        }
-
         public Builder clear() {
           super.clear();
           key_ = "";
@@ -665,10 +671,6 @@ public final class FCSFrameProto {
           return this;
         }
 
-        public Builder clone() {
-          return create().mergeFrom(buildPartial());
-        }
-
         public com.google.protobuf.Descriptors.Descriptor
             getDescriptorForType() {
           return FCSFrameProto.internal_static_Message_Keyword_descriptor;
@@ -703,6 +705,32 @@ public final class FCSFrameProto {
           return result;
         }
 
+        public Builder clone() {
+          return (Builder) super.clone();
+        }
+        public Builder setField(
+            com.google.protobuf.Descriptors.FieldDescriptor field,
+            Object value) {
+          return (Builder) super.setField(field, value);
+        }
+        public Builder clearField(
+            com.google.protobuf.Descriptors.FieldDescriptor field) {
+          return (Builder) super.clearField(field);
+        }
+        public Builder clearOneof(
+            com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+          return (Builder) super.clearOneof(oneof);
+        }
+        public Builder setRepeatedField(
+            com.google.protobuf.Descriptors.FieldDescriptor field,
+            int index, Object value) {
+          return (Builder) super.setRepeatedField(field, index, value);
+        }
+        public Builder addRepeatedField(
+            com.google.protobuf.Descriptors.FieldDescriptor field,
+            Object value) {
+          return (Builder) super.addRepeatedField(field, value);
+        }
         public Builder mergeFrom(com.google.protobuf.Message other) {
           if (other instanceof FCSFrameProto.Message.Keyword) {
             return mergeFrom((FCSFrameProto.Message.Keyword)other);
@@ -724,17 +752,16 @@ public final class FCSFrameProto {
             value_ = other.value_;
             onChanged();
           }
-          this.mergeUnknownFields(other.getUnknownFields());
+          this.mergeUnknownFields(other.unknownFields);
+          onChanged();
           return this;
         }
 
         public final boolean isInitialized() {
           if (!hasKey()) {
-            
             return false;
           }
           if (!hasValue()) {
-            
             return false;
           }
           return true;
@@ -749,7 +776,7 @@ public final class FCSFrameProto {
             parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
           } catch (com.google.protobuf.InvalidProtocolBufferException e) {
             parsedMessage = (FCSFrameProto.Message.Keyword) e.getUnfinishedMessage();
-            throw e;
+            throw e.unwrapIOException();
           } finally {
             if (parsedMessage != null) {
               mergeFrom(parsedMessage);
@@ -910,16 +937,53 @@ public final class FCSFrameProto {
           onChanged();
           return this;
         }
+        public final Builder setUnknownFields(
+            final com.google.protobuf.UnknownFieldSet unknownFields) {
+          return super.setUnknownFields(unknownFields);
+        }
+
+        public final Builder mergeUnknownFields(
+            final com.google.protobuf.UnknownFieldSet unknownFields) {
+          return super.mergeUnknownFields(unknownFields);
+        }
+
 
         // @@protoc_insertion_point(builder_scope:Message.Keyword)
       }
 
+      // @@protoc_insertion_point(class_scope:Message.Keyword)
+      private static final FCSFrameProto.Message.Keyword DEFAULT_INSTANCE;
       static {
-        defaultInstance = new Keyword(true);
-        defaultInstance.initFields();
+        DEFAULT_INSTANCE = new FCSFrameProto.Message.Keyword();
+      }
+
+      public static FCSFrameProto.Message.Keyword getDefaultInstance() {
+        return DEFAULT_INSTANCE;
+      }
+
+      @java.lang.Deprecated public static final com.google.protobuf.Parser<Keyword>
+          PARSER = new com.google.protobuf.AbstractParser<Keyword>() {
+        public Keyword parsePartialFrom(
+            com.google.protobuf.CodedInputStream input,
+            com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+            throws com.google.protobuf.InvalidProtocolBufferException {
+            return new Keyword(input, extensionRegistry);
+        }
+      };
+
+      public static com.google.protobuf.Parser<Keyword> parser() {
+        return PARSER;
+      }
+
+      @java.lang.Override
+      public com.google.protobuf.Parser<Keyword> getParserForType() {
+        return PARSER;
+      }
+
+      public FCSFrameProto.Message.Keyword getDefaultInstanceForType() {
+        return DEFAULT_INSTANCE;
       }
 
-      // @@protoc_insertion_point(class_scope:Message.Keyword)
     }
 
     public interface DimensionOrBuilder extends
@@ -1044,41 +1108,55 @@ public final class FCSFrameProto {
        */
       com.google.protobuf.ByteString
           getPreferredTransformIDBytes();
+
+      /**
+       * <code>repeated float floatData = 11 [packed = true];</code>
+       */
+      java.util.List<java.lang.Float> getFloatDataList();
+      /**
+       * <code>repeated float floatData = 11 [packed = true];</code>
+       */
+      int getFloatDataCount();
+      /**
+       * <code>repeated float floatData = 11 [packed = true];</code>
+       */
+      float getFloatData(int index);
     }
     /**
      * Protobuf type {@code Message.Dimension}
      */
-    public static final class Dimension extends
-        com.google.protobuf.GeneratedMessage implements
+    public  static final class Dimension extends
+        com.google.protobuf.GeneratedMessageV3 implements
         // @@protoc_insertion_point(message_implements:Message.Dimension)
         DimensionOrBuilder {
       // Use Dimension.newBuilder() to construct.
-      private Dimension(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+      private Dimension(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
         super(builder);
-        this.unknownFields = builder.getUnknownFields();
-      }
-      private Dimension(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
-
-      private static final Dimension defaultInstance;
-      public static Dimension getDefaultInstance() {
-        return defaultInstance;
       }
-
-      public Dimension getDefaultInstanceForType() {
-        return defaultInstance;
+      private Dimension() {
+        id_ = "";
+        index_ = 0;
+        pnn_ = "";
+        pns_ = "";
+        pneF1_ = 0D;
+        pneF2_ = 0D;
+        pnr_ = 0D;
+        compRef_ = "";
+        data_ = java.util.Collections.emptyList();
+        preferredTransformID_ = "";
+        floatData_ = java.util.Collections.emptyList();
       }
 
-      private final com.google.protobuf.UnknownFieldSet unknownFields;
       @java.lang.Override
       public final com.google.protobuf.UnknownFieldSet
-          getUnknownFields() {
+      getUnknownFields() {
         return this.unknownFields;
       }
       private Dimension(
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws com.google.protobuf.InvalidProtocolBufferException {
-        initFields();
+        this();
         int mutable_bitField0_ = 0;
         com.google.protobuf.UnknownFieldSet.Builder unknownFields =
             com.google.protobuf.UnknownFieldSet.newBuilder();
@@ -1168,17 +1246,41 @@ public final class FCSFrameProto {
                 preferredTransformID_ = bs;
                 break;
               }
+              case 93: {
+                if (!((mutable_bitField0_ & 0x00000400) == 0x00000400)) {
+                  floatData_ = new java.util.ArrayList<java.lang.Float>();
+                  mutable_bitField0_ |= 0x00000400;
+                }
+                floatData_.add(input.readFloat());
+                break;
+              }
+              case 90: {
+                int length = input.readRawVarint32();
+                int limit = input.pushLimit(length);
+                if (!((mutable_bitField0_ & 0x00000400) == 0x00000400) && input.getBytesUntilLimit() > 0) {
+                  floatData_ = new java.util.ArrayList<java.lang.Float>();
+                  mutable_bitField0_ |= 0x00000400;
+                }
+                while (input.getBytesUntilLimit() > 0) {
+                  floatData_.add(input.readFloat());
+                }
+                input.popLimit(limit);
+                break;
+              }
             }
           }
         } catch (com.google.protobuf.InvalidProtocolBufferException e) {
           throw e.setUnfinishedMessage(this);
         } catch (java.io.IOException e) {
           throw new com.google.protobuf.InvalidProtocolBufferException(
-              e.getMessage()).setUnfinishedMessage(this);
+              e).setUnfinishedMessage(this);
         } finally {
           if (((mutable_bitField0_ & 0x00000100) == 0x00000100)) {
             data_ = java.util.Collections.unmodifiableList(data_);
           }
+          if (((mutable_bitField0_ & 0x00000400) == 0x00000400)) {
+            floatData_ = java.util.Collections.unmodifiableList(floatData_);
+          }
           this.unknownFields = unknownFields.build();
           makeExtensionsImmutable();
         }
@@ -1188,31 +1290,16 @@ public final class FCSFrameProto {
         return FCSFrameProto.internal_static_Message_Dimension_descriptor;
       }
 
-      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
           internalGetFieldAccessorTable() {
         return FCSFrameProto.internal_static_Message_Dimension_fieldAccessorTable
             .ensureFieldAccessorsInitialized(
                 FCSFrameProto.Message.Dimension.class, FCSFrameProto.Message.Dimension.Builder.class);
       }
 
-      public static com.google.protobuf.Parser<Dimension> PARSER =
-          new com.google.protobuf.AbstractParser<Dimension>() {
-        public Dimension parsePartialFrom(
-            com.google.protobuf.CodedInputStream input,
-            com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-            throws com.google.protobuf.InvalidProtocolBufferException {
-          return new Dimension(input, extensionRegistry);
-        }
-      };
-
-      @java.lang.Override
-      public com.google.protobuf.Parser<Dimension> getParserForType() {
-        return PARSER;
-      }
-
       private int bitField0_;
       public static final int ID_FIELD_NUMBER = 1;
-      private java.lang.Object id_;
+      private volatile java.lang.Object id_;
       /**
        * <code>required string id = 1;</code>
        */
@@ -1269,7 +1356,7 @@ public final class FCSFrameProto {
       }
 
       public static final int PNN_FIELD_NUMBER = 3;
-      private java.lang.Object pnn_;
+      private volatile java.lang.Object pnn_;
       /**
        * <code>required string pnn = 3;</code>
        */
@@ -1311,7 +1398,7 @@ public final class FCSFrameProto {
       }
 
       public static final int PNS_FIELD_NUMBER = 4;
-      private java.lang.Object pns_;
+      private volatile java.lang.Object pns_;
       /**
        * <code>optional string pns = 4;</code>
        */
@@ -1398,7 +1485,7 @@ public final class FCSFrameProto {
       }
 
       public static final int COMPREF_FIELD_NUMBER = 8;
-      private java.lang.Object compRef_;
+      private volatile java.lang.Object compRef_;
       /**
        * <code>optional string compRef = 8;</code>
        */
@@ -1462,7 +1549,7 @@ public final class FCSFrameProto {
       }
 
       public static final int PREFERREDTRANSFORMID_FIELD_NUMBER = 10;
-      private java.lang.Object preferredTransformID_;
+      private volatile java.lang.Object preferredTransformID_;
       /**
        * <code>optional string preferredTransformID = 10;</code>
        */
@@ -1503,18 +1590,29 @@ public final class FCSFrameProto {
         }
       }
 
-      private void initFields() {
-        id_ = "";
-        index_ = 0;
-        pnn_ = "";
-        pns_ = "";
-        pneF1_ = 0D;
-        pneF2_ = 0D;
-        pnr_ = 0D;
-        compRef_ = "";
-        data_ = java.util.Collections.emptyList();
-        preferredTransformID_ = "";
+      public static final int FLOATDATA_FIELD_NUMBER = 11;
+      private java.util.List<java.lang.Float> floatData_;
+      /**
+       * <code>repeated float floatData = 11 [packed = true];</code>
+       */
+      public java.util.List<java.lang.Float>
+          getFloatDataList() {
+        return floatData_;
       }
+      /**
+       * <code>repeated float floatData = 11 [packed = true];</code>
+       */
+      public int getFloatDataCount() {
+        return floatData_.size();
+      }
+      /**
+       * <code>repeated float floatData = 11 [packed = true];</code>
+       */
+      public float getFloatData(int index) {
+        return floatData_.get(index);
+      }
+      private int floatDataMemoizedSerializedSize = -1;
+
       private byte memoizedIsInitialized = -1;
       public final boolean isInitialized() {
         byte isInitialized = memoizedIsInitialized;
@@ -1553,16 +1651,16 @@ public final class FCSFrameProto {
                           throws java.io.IOException {
         getSerializedSize();
         if (((bitField0_ & 0x00000001) == 0x00000001)) {
-          output.writeBytes(1, getIdBytes());
+          com.google.protobuf.GeneratedMessageV3.writeString(output, 1, id_);
         }
         if (((bitField0_ & 0x00000002) == 0x00000002)) {
           output.writeInt32(2, index_);
         }
         if (((bitField0_ & 0x00000004) == 0x00000004)) {
-          output.writeBytes(3, getPnnBytes());
+          com.google.protobuf.GeneratedMessageV3.writeString(output, 3, pnn_);
         }
         if (((bitField0_ & 0x00000008) == 0x00000008)) {
-          output.writeBytes(4, getPnsBytes());
+          com.google.protobuf.GeneratedMessageV3.writeString(output, 4, pns_);
         }
         if (((bitField0_ & 0x00000010) == 0x00000010)) {
           output.writeDouble(5, pneF1_);
@@ -1574,38 +1672,41 @@ public final class FCSFrameProto {
           output.writeDouble(7, pnr_);
         }
         if (((bitField0_ & 0x00000080) == 0x00000080)) {
-          output.writeBytes(8, getCompRefBytes());
+          com.google.protobuf.GeneratedMessageV3.writeString(output, 8, compRef_);
         }
         for (int i = 0; i < data_.size(); i++) {
           output.writeDouble(9, data_.get(i));
         }
         if (((bitField0_ & 0x00000100) == 0x00000100)) {
-          output.writeBytes(10, getPreferredTransformIDBytes());
+          com.google.protobuf.GeneratedMessageV3.writeString(output, 10, preferredTransformID_);
+        }
+        if (getFloatDataList().size() > 0) {
+          output.writeUInt32NoTag(90);
+          output.writeUInt32NoTag(floatDataMemoizedSerializedSize);
         }
-        getUnknownFields().writeTo(output);
+        for (int i = 0; i < floatData_.size(); i++) {
+          output.writeFloatNoTag(floatData_.get(i));
+        }
+        unknownFields.writeTo(output);
       }
 
-      private int memoizedSerializedSize = -1;
       public int getSerializedSize() {
-        int size = memoizedSerializedSize;
+        int size = memoizedSize;
         if (size != -1) return size;
 
         size = 0;
         if (((bitField0_ & 0x00000001) == 0x00000001)) {
-          size += com.google.protobuf.CodedOutputStream
-            .computeBytesSize(1, getIdBytes());
+          size += com.google.protobuf.GeneratedMessageV3.computeStringSize(1, id_);
         }
         if (((bitField0_ & 0x00000002) == 0x00000002)) {
           size += com.google.protobuf.CodedOutputStream
             .computeInt32Size(2, index_);
         }
         if (((bitField0_ & 0x00000004) == 0x00000004)) {
-          size += com.google.protobuf.CodedOutputStream
-            .computeBytesSize(3, getPnnBytes());
+          size += com.google.protobuf.GeneratedMessageV3.computeStringSize(3, pnn_);
         }
         if (((bitField0_ & 0x00000008) == 0x00000008)) {
-          size += com.google.protobuf.CodedOutputStream
-            .computeBytesSize(4, getPnsBytes());
+          size += com.google.protobuf.GeneratedMessageV3.computeStringSize(4, pns_);
         }
         if (((bitField0_ & 0x00000010) == 0x00000010)) {
           size += com.google.protobuf.CodedOutputStream
@@ -1620,8 +1721,7 @@ public final class FCSFrameProto {
             .computeDoubleSize(7, pnr_);
         }
         if (((bitField0_ & 0x00000080) == 0x00000080)) {
-          size += com.google.protobuf.CodedOutputStream
-            .computeBytesSize(8, getCompRefBytes());
+          size += com.google.protobuf.GeneratedMessageV3.computeStringSize(8, compRef_);
         }
         {
           int dataSize = 0;
@@ -1630,19 +1730,152 @@ public final class FCSFrameProto {
           size += 1 * getDataList().size();
         }
         if (((bitField0_ & 0x00000100) == 0x00000100)) {
-          size += com.google.protobuf.CodedOutputStream
-            .computeBytesSize(10, getPreferredTransformIDBytes());
+          size += com.google.protobuf.GeneratedMessageV3.computeStringSize(10, preferredTransformID_);
         }
-        size += getUnknownFields().getSerializedSize();
-        memoizedSerializedSize = size;
+        {
+          int dataSize = 0;
+          dataSize = 4 * getFloatDataList().size();
+          size += dataSize;
+          if (!getFloatDataList().isEmpty()) {
+            size += 1;
+            size += com.google.protobuf.CodedOutputStream
+                .computeInt32SizeNoTag(dataSize);
+          }
+          floatDataMemoizedSerializedSize = dataSize;
+        }
+        size += unknownFields.getSerializedSize();
+        memoizedSize = size;
         return size;
       }
 
       private static final long serialVersionUID = 0L;
       @java.lang.Override
-      protected java.lang.Object writeReplace()
-          throws java.io.ObjectStreamException {
-        return super.writeReplace();
+      public boolean equals(final java.lang.Object obj) {
+        if (obj == this) {
+         return true;
+        }
+        if (!(obj instanceof FCSFrameProto.Message.Dimension)) {
+          return super.equals(obj);
+        }
+        FCSFrameProto.Message.Dimension other = (FCSFrameProto.Message.Dimension) obj;
+
+        boolean result = true;
+        result = result && (hasId() == other.hasId());
+        if (hasId()) {
+          result = result && getId()
+              .equals(other.getId());
+        }
+        result = result && (hasIndex() == other.hasIndex());
+        if (hasIndex()) {
+          result = result && (getIndex()
+              == other.getIndex());
+        }
+        result = result && (hasPnn() == other.hasPnn());
+        if (hasPnn()) {
+          result = result && getPnn()
+              .equals(other.getPnn());
+        }
+        result = result && (hasPns() == other.hasPns());
+        if (hasPns()) {
+          result = result && getPns()
+              .equals(other.getPns());
+        }
+        result = result && (hasPneF1() == other.hasPneF1());
+        if (hasPneF1()) {
+          result = result && (
+              java.lang.Double.doubleToLongBits(getPneF1())
+              == java.lang.Double.doubleToLongBits(
+                  other.getPneF1()));
+        }
+        result = result && (hasPneF2() == other.hasPneF2());
+        if (hasPneF2()) {
+          result = result && (
+              java.lang.Double.doubleToLongBits(getPneF2())
+              == java.lang.Double.doubleToLongBits(
+                  other.getPneF2()));
+        }
+        result = result && (hasPnr() == other.hasPnr());
+        if (hasPnr()) {
+          result = result && (
+              java.lang.Double.doubleToLongBits(getPnr())
+              == java.lang.Double.doubleToLongBits(
+                  other.getPnr()));
+        }
+        result = result && (hasCompRef() == other.hasCompRef());
+        if (hasCompRef()) {
+          result = result && getCompRef()
+              .equals(other.getCompRef());
+        }
+        result = result && getDataList()
+            .equals(other.getDataList());
+        result = result && (hasPreferredTransformID() == other.hasPreferredTransformID());
+        if (hasPreferredTransformID()) {
+          result = result && getPreferredTransformID()
+              .equals(other.getPreferredTransformID());
+        }
+        result = result && getFloatDataList()
+            .equals(other.getFloatDataList());
+        result = result && unknownFields.equals(other.unknownFields);
+        return result;
+      }
+
+      @java.lang.Override
+      public int hashCode() {
+        if (memoizedHashCode != 0) {
+          return memoizedHashCode;
+        }
+        int hash = 41;
+        hash = (19 * hash) + getDescriptor().hashCode();
+        if (hasId()) {
+          hash = (37 * hash) + ID_FIELD_NUMBER;
+          hash = (53 * hash) + getId().hashCode();
+        }
+        if (hasIndex()) {
+          hash = (37 * hash) + INDEX_FIELD_NUMBER;
+          hash = (53 * hash) + getIndex();
+        }
+        if (hasPnn()) {
+          hash = (37 * hash) + PNN_FIELD_NUMBER;
+          hash = (53 * hash) + getPnn().hashCode();
+        }
+        if (hasPns()) {
+          hash = (37 * hash) + PNS_FIELD_NUMBER;
+          hash = (53 * hash) + getPns().hashCode();
+        }
+        if (hasPneF1()) {
+          hash = (37 * hash) + PNEF1_FIELD_NUMBER;
+          hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+              java.lang.Double.doubleToLongBits(getPneF1()));
+        }
+        if (hasPneF2()) {
+          hash = (37 * hash) + PNEF2_FIELD_NUMBER;
+          hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+              java.lang.Double.doubleToLongBits(getPneF2()));
+        }
+        if (hasPnr()) {
+          hash = (37 * hash) + PNR_FIELD_NUMBER;
+          hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+              java.lang.Double.doubleToLongBits(getPnr()));
+        }
+        if (hasCompRef()) {
+          hash = (37 * hash) + COMPREF_FIELD_NUMBER;
+          hash = (53 * hash) + getCompRef().hashCode();
+        }
+        if (getDataCount() > 0) {
+          hash = (37 * hash) + DATA_FIELD_NUMBER;
+          hash = (53 * hash) + getDataList().hashCode();
+        }
+        if (hasPreferredTransformID()) {
+          hash = (37 * hash) + PREFERREDTRANSFORMID_FIELD_NUMBER;
+          hash = (53 * hash) + getPreferredTransformID().hashCode();
+        }
+        if (getFloatDataCount() > 0) {
+          hash = (37 * hash) + FLOATDATA_FIELD_NUMBER;
+          hash = (53 * hash) + getFloatDataList().hashCode();
+        }
+        hash = (29 * hash) + unknownFields.hashCode();
+        memoizedHashCode = hash;
+        return hash;
       }
 
       public static FCSFrameProto.Message.Dimension parseFrom(
@@ -1668,46 +1901,57 @@ public final class FCSFrameProto {
       }
       public static FCSFrameProto.Message.Dimension parseFrom(java.io.InputStream input)
           throws java.io.IOException {
-        return PARSER.parseFrom(input);
+        return com.google.protobuf.GeneratedMessageV3
+            .parseWithIOException(PARSER, input);
       }
       public static FCSFrameProto.Message.Dimension parseFrom(
           java.io.InputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws java.io.IOException {
-        return PARSER.parseFrom(input, extensionRegistry);
+        return com.google.protobuf.GeneratedMessageV3
+            .parseWithIOException(PARSER, input, extensionRegistry);
       }
       public static FCSFrameProto.Message.Dimension parseDelimitedFrom(java.io.InputStream input)
           throws java.io.IOException {
-        return PARSER.parseDelimitedFrom(input);
+        return com.google.protobuf.GeneratedMessageV3
+            .parseDelimitedWithIOException(PARSER, input);
       }
       public static FCSFrameProto.Message.Dimension parseDelimitedFrom(
           java.io.InputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws java.io.IOException {
-        return PARSER.parseDelimitedFrom(input, extensionRegistry);
+        return com.google.protobuf.GeneratedMessageV3
+            .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
       }
       public static FCSFrameProto.Message.Dimension parseFrom(
           com.google.protobuf.CodedInputStream input)
           throws java.io.IOException {
-        return PARSER.parseFrom(input);
+        return com.google.protobuf.GeneratedMessageV3
+            .parseWithIOException(PARSER, input);
       }
       public static FCSFrameProto.Message.Dimension parseFrom(
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws java.io.IOException {
-        return PARSER.parseFrom(input, extensionRegistry);
+        return com.google.protobuf.GeneratedMessageV3
+            .parseWithIOException(PARSER, input, extensionRegistry);
       }
 
-      public static Builder newBuilder() { return Builder.create(); }
       public Builder newBuilderForType() { return newBuilder(); }
+      public static Builder newBuilder() {
+        return DEFAULT_INSTANCE.toBuilder();
+      }
       public static Builder newBuilder(FCSFrameProto.Message.Dimension prototype) {
-        return newBuilder().mergeFrom(prototype);
+        return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+      }
+      public Builder toBuilder() {
+        return this == DEFAULT_INSTANCE
+            ? new Builder() : new Builder().mergeFrom(this);
       }
-      public Builder toBuilder() { return newBuilder(this); }
 
       @java.lang.Override
       protected Builder newBuilderForType(
-          com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
         Builder builder = new Builder(parent);
         return builder;
       }
@@ -1715,7 +1959,7 @@ public final class FCSFrameProto {
        * Protobuf type {@code Message.Dimension}
        */
       public static final class Builder extends
-          com.google.protobuf.GeneratedMessage.Builder<Builder> implements
+          com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
           // @@protoc_insertion_point(builder_implements:Message.Dimension)
           FCSFrameProto.Message.DimensionOrBuilder {
         public static final com.google.protobuf.Descriptors.Descriptor
@@ -1723,7 +1967,7 @@ public final class FCSFrameProto {
           return FCSFrameProto.internal_static_Message_Dimension_descriptor;
         }
 
-        protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
             internalGetFieldAccessorTable() {
           return FCSFrameProto.internal_static_Message_Dimension_fieldAccessorTable
               .ensureFieldAccessorsInitialized(
@@ -1736,18 +1980,15 @@ public final class FCSFrameProto {
         }
 
         private Builder(
-            com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+            com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
           super(parent);
           maybeForceBuilderInitialization();
         }
         private void maybeForceBuilderInitialization() {
-          if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+          if (com.google.protobuf.GeneratedMessageV3
+                  .alwaysUseFieldBuilders) {
           }
         }
-        private static Builder create() {
-          return new Builder();
-        }
-
         public Builder clear() {
           super.clear();
           id_ = "";
@@ -1770,13 +2011,11 @@ public final class FCSFrameProto {
           bitField0_ = (bitField0_ & ~0x00000100);
           preferredTransformID_ = "";
           bitField0_ = (bitField0_ & ~0x00000200);
+          floatData_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000400);
           return this;
         }
 
-        public Builder clone() {
-          return create().mergeFrom(buildPartial());
-        }
-
         public com.google.protobuf.Descriptors.Descriptor
             getDescriptorForType() {
           return FCSFrameProto.internal_static_Message_Dimension_descriptor;
@@ -1839,11 +2078,42 @@ public final class FCSFrameProto {
             to_bitField0_ |= 0x00000100;
           }
           result.preferredTransformID_ = preferredTransformID_;
+          if (((bitField0_ & 0x00000400) == 0x00000400)) {
+            floatData_ = java.util.Collections.unmodifiableList(floatData_);
+            bitField0_ = (bitField0_ & ~0x00000400);
+          }
+          result.floatData_ = floatData_;
           result.bitField0_ = to_bitField0_;
           onBuilt();
           return result;
         }
 
+        public Builder clone() {
+          return (Builder) super.clone();
+        }
+        public Builder setField(
+            com.google.protobuf.Descriptors.FieldDescriptor field,
+            Object value) {
+          return (Builder) super.setField(field, value);
+        }
+        public Builder clearField(
+            com.google.protobuf.Descriptors.FieldDescriptor field) {
+          return (Builder) super.clearField(field);
+        }
+        public Builder clearOneof(
+            com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+          return (Builder) super.clearOneof(oneof);
+        }
+        public Builder setRepeatedField(
+            com.google.protobuf.Descriptors.FieldDescriptor field,
+            int index, Object value) {
+          return (Builder) super.setRepeatedField(field, index, value);
+        }
+        public Builder addRepeatedField(
+            com.google.protobuf.Descriptors.FieldDescriptor field,
+            Object value) {
+          return (Builder) super.addRepeatedField(field, value);
+        }
         public Builder mergeFrom(com.google.protobuf.Message other) {
           if (other instanceof FCSFrameProto.Message.Dimension) {
             return mergeFrom((FCSFrameProto.Message.Dimension)other);
@@ -1902,33 +2172,38 @@ public final class FCSFrameProto {
             preferredTransformID_ = other.preferredTransformID_;
             onChanged();
           }
-          this.mergeUnknownFields(other.getUnknownFields());
+          if (!other.floatData_.isEmpty()) {
+            if (floatData_.isEmpty()) {
+              floatData_ = other.floatData_;
+              bitField0_ = (bitField0_ & ~0x00000400);
+            } else {
+              ensureFloatDataIsMutable();
+              floatData_.addAll(other.floatData_);
+            }
+            onChanged();
+          }
+          this.mergeUnknownFields(other.unknownFields);
+          onChanged();
           return this;
         }
 
         public final boolean isInitialized() {
           if (!hasId()) {
-            
             return false;
           }
           if (!hasIndex()) {
-            
             return false;
           }
           if (!hasPnn()) {
-            
             return false;
           }
           if (!hasPneF1()) {
-            
             return false;
           }
           if (!hasPneF2()) {
-            
             return false;
           }
           if (!hasPnr()) {
-            
             return false;
           }
           return true;
@@ -1943,7 +2218,7 @@ public final class FCSFrameProto {
             parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
           } catch (com.google.protobuf.InvalidProtocolBufferException e) {
             parsedMessage = (FCSFrameProto.Message.Dimension) e.getUnfinishedMessage();
-            throw e;
+            throw e.unwrapIOException();
           } finally {
             if (parsedMessage != null) {
               mergeFrom(parsedMessage);
@@ -2527,15 +2802,118 @@ public final class FCSFrameProto {
           return this;
         }
 
+        private java.util.List<java.lang.Float> floatData_ = java.util.Collections.emptyList();
+        private void ensureFloatDataIsMutable() {
+          if (!((bitField0_ & 0x00000400) == 0x00000400)) {
+            floatData_ = new java.util.ArrayList<java.lang.Float>(floatData_);
+            bitField0_ |= 0x00000400;
+           }
+        }
+        /**
+         * <code>repeated float floatData = 11 [packed = true];</code>
+         */
+        public java.util.List<java.lang.Float>
+            getFloatDataList() {
+          return java.util.Collections.unmodifiableList(floatData_);
+        }
+        /**
+         * <code>repeated float floatData = 11 [packed = true];</code>
+         */
+        public int getFloatDataCount() {
+          return floatData_.size();
+        }
+        /**
+         * <code>repeated float floatData = 11 [packed = true];</code>
+         */
+        public float getFloatData(int index) {
+          return floatData_.get(index);
+        }
+        /**
+         * <code>repeated float floatData = 11 [packed = true];</code>
+         */
+        public Builder setFloatData(
+            int index, float value) {
+          ensureFloatDataIsMutable();
+          floatData_.set(index, value);
+          onChanged();
+          return this;
+        }
+        /**
+         * <code>repeated float floatData = 11 [packed = true];</code>
+         */
+        public Builder addFloatData(float value) {
+          ensureFloatDataIsMutable();
+          floatData_.add(value);
+          onChanged();
+          return this;
+        }
+        /**
+         * <code>repeated float floatData = 11 [packed = true];</code>
+         */
+        public Builder addAllFloatData(
+            java.lang.Iterable<? extends java.lang.Float> values) {
+          ensureFloatDataIsMutable();
+          com.google.protobuf.AbstractMessageLite.Builder.addAll(
+              values, floatData_);
+          onChanged();
+          return this;
+        }
+        /**
+         * <code>repeated float floatData = 11 [packed = true];</code>
+         */
+        public Builder clearFloatData() {
+          floatData_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000400);
+          onChanged();
+          return this;
+        }
+        public final Builder setUnknownFields(
+            final com.google.protobuf.UnknownFieldSet unknownFields) {
+          return super.setUnknownFields(unknownFields);
+        }
+
+        public final Builder mergeUnknownFields(
+            final com.google.protobuf.UnknownFieldSet unknownFields) {
+          return super.mergeUnknownFields(unknownFields);
+        }
+
+
         // @@protoc_insertion_point(builder_scope:Message.Dimension)
       }
 
+      // @@protoc_insertion_point(class_scope:Message.Dimension)
+      private static final FCSFrameProto.Message.Dimension DEFAULT_INSTANCE;
       static {
-        defaultInstance = new Dimension(true);
-        defaultInstance.initFields();
+        DEFAULT_INSTANCE = new FCSFrameProto.Message.Dimension();
+      }
+
+      public static FCSFrameProto.Message.Dimension getDefaultInstance() {
+        return DEFAULT_INSTANCE;
+      }
+
+      @java.lang.Deprecated public static final com.google.protobuf.Parser<Dimension>
+          PARSER = new com.google.protobuf.AbstractParser<Dimension>() {
+        public Dimension parsePartialFrom(
+            com.google.protobuf.CodedInputStream input,
+            com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+            throws com.google.protobuf.InvalidProtocolBufferException {
+            return new Dimension(input, extensionRegistry);
+        }
+      };
+
+      public static com.google.protobuf.Parser<Dimension> parser() {
+        return PARSER;
+      }
+
+      @java.lang.Override
+      public com.google.protobuf.Parser<Dimension> getParserForType() {
+        return PARSER;
+      }
+
+      public FCSFrameProto.Message.Dimension getDefaultInstanceForType() {
+        return DEFAULT_INSTANCE;
       }
 
-      // @@protoc_insertion_point(class_scope:Message.Dimension)
     }
 
     public interface SubsetOrBuilder extends
@@ -2623,7 +3001,7 @@ public final class FCSFrameProto {
       /**
        * <code>repeated string dimensions = 7;</code>
        */
-      com.google.protobuf.ProtocolStringList
+      java.util.List<java.lang.String>
           getDimensionsList();
       /**
        * <code>repeated string dimensions = 7;</code>
@@ -2651,41 +3029,57 @@ public final class FCSFrameProto {
        * <code>repeated double doubleValue = 8;</code>
        */
       double getDoubleValue(int index);
+
+      /**
+       * <pre>
+       * Run length encoded members, see ColumnCodec. Replaces the dense mask, which is still read.
+       * </pre>
+       *
+       * <code>optional bytes members = 9;</code>
+       */
+      boolean hasMembers();
+      /**
+       * <pre>
+       * Run length encoded members, see ColumnCodec. Replaces the dense mask, which is still read.
+       * </pre>
+       *
+       * <code>optional bytes members = 9;</code>
+       */
+      com.google.protobuf.ByteString getMembers();
     }
     /**
      * Protobuf type {@code Message.Subset}
      */
-    public static final class Subset extends
-        com.google.protobuf.GeneratedMessage implements
+    public  static final class Subset extends
+        com.google.protobuf.GeneratedMessageV3 implements
         // @@protoc_insertion_point(message_implements:Message.Subset)
         SubsetOrBuilder {
       // Use Subset.newBuilder() to construct.
-      private Subset(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+      private Subset(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
         super(builder);
-        this.unknownFields = builder.getUnknownFields();
       }
-      private Subset(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
-
-      private static final Subset defaultInstance;
-      public static Subset getDefaultInstance() {
-        return defaultInstance;
-      }
-
-      public Subset getDefaultInstanceForType() {
-        return defaultInstance;
+      private Subset() {
+        id_ = "";
+        overrideID_ = "";
+        parentID_ = "";
+        name_ = "";
+        mask_ = java.util.Collections.emptyList();
+        subsetType_ = 0;
+        dimensions_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        doubleValue_ = java.util.Collections.emptyList();
+        members_ = com.google.protobuf.ByteString.EMPTY;
       }
 
-      private final com.google.protobuf.UnknownFieldSet unknownFields;
       @java.lang.Override
       public final com.google.protobuf.UnknownFieldSet
-          getUnknownFields() {
+      getUnknownFields() {
         return this.unknownFields;
       }
       private Subset(
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws com.google.protobuf.InvalidProtocolBufferException {
-        initFields();
+        this();
         int mutable_bitField0_ = 0;
         com.google.protobuf.UnknownFieldSet.Builder unknownFields =
             com.google.protobuf.UnknownFieldSet.newBuilder();
@@ -2756,7 +3150,7 @@ public final class FCSFrameProto {
                   unknownFields.mergeVarintField(6, rawValue);
                 } else {
                   bitField0_ |= 0x00000010;
-                  subsetType_ = value;
+                  subsetType_ = rawValue;
                 }
                 break;
               }
@@ -2790,13 +3184,18 @@ public final class FCSFrameProto {
                 input.popLimit(limit);
                 break;
               }
+              case 74: {
+                bitField0_ |= 0x00000020;
+                members_ = input.readBytes();
+                break;
+              }
             }
           }
         } catch (com.google.protobuf.InvalidProtocolBufferException e) {
           throw e.setUnfinishedMessage(this);
         } catch (java.io.IOException e) {
           throw new com.google.protobuf.InvalidProtocolBufferException(
-              e.getMessage()).setUnfinishedMessage(this);
+              e).setUnfinishedMessage(this);
         } finally {
           if (((mutable_bitField0_ & 0x00000010) == 0x00000010)) {
             mask_ = java.util.Collections.unmodifiableList(mask_);
@@ -2816,28 +3215,13 @@ public final class FCSFrameProto {
         return FCSFrameProto.internal_static_Message_Subset_descriptor;
       }
 
-      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
           internalGetFieldAccessorTable() {
         return FCSFrameProto.internal_static_Message_Subset_fieldAccessorTable
             .ensureFieldAccessorsInitialized(
                 FCSFrameProto.Message.Subset.class, FCSFrameProto.Message.Subset.Builder.class);
       }
 
-      public static com.google.protobuf.Parser<Subset> PARSER =
-          new com.google.protobuf.AbstractParser<Subset>() {
-        public Subset parsePartialFrom(
-            com.google.protobuf.CodedInputStream input,
-            com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-            throws com.google.protobuf.InvalidProtocolBufferException {
-          return new Subset(input, extensionRegistry);
-        }
-      };
-
-      @java.lang.Override
-      public com.google.protobuf.Parser<Subset> getParserForType() {
-        return PARSER;
-      }
-
       /**
        * Protobuf enum {@code Message.Subset.Type}
        */
@@ -2846,15 +3230,15 @@ public final class FCSFrameProto {
         /**
          * <code>POLYGON = 0;</code>
          */
-        POLYGON(0, 0),
+        POLYGON(0),
         /**
          * <code>RANGE = 1;</code>
          */
-        RANGE(1, 1),
+        RANGE(1),
         /**
          * <code>BOOLEAN = 2;</code>
          */
-        BOOLEAN(2, 2),
+        BOOLEAN(2),
         ;
 
         /**
@@ -2871,9 +3255,19 @@ public final class FCSFrameProto {
         public static final int BOOLEAN_VALUE = 2;
 
 
-        public final int getNumber() { return value; }
+        public final int getNumber() {
+          return value;
+        }
 
+        /**
+         * @deprecated Use {@link #forNumber(int)} instead.
+         */
+        @java.lang.Deprecated
         public static Type valueOf(int value) {
+          return forNumber(value);
+        }
+
+        public static Type forNumber(int value) {
           switch (value) {
             case 0: return POLYGON;
             case 1: return RANGE;
@@ -2886,17 +3280,17 @@ public final class FCSFrameProto {
             internalGetValueMap() {
           return internalValueMap;
         }
-        private static com.google.protobuf.Internal.EnumLiteMap<Type>
-            internalValueMap =
+        private static final com.google.protobuf.Internal.EnumLiteMap<
+            Type> internalValueMap =
               new com.google.protobuf.Internal.EnumLiteMap<Type>() {
                 public Type findValueByNumber(int number) {
-                  return Type.valueOf(number);
+                  return Type.forNumber(number);
                 }
               };
 
         public final com.google.protobuf.Descriptors.EnumValueDescriptor
             getValueDescriptor() {
-          return getDescriptor().getValues().get(index);
+          return getDescriptor().getValues().get(ordinal());
         }
         public final com.google.protobuf.Descriptors.EnumDescriptor
             getDescriptorForType() {
@@ -2918,11 +3312,9 @@ public final class FCSFrameProto {
           return VALUES[desc.getIndex()];
         }
 
-        private final int index;
         private final int value;
 
-        private Type(int index, int value) {
-          this.index = index;
+        private Type(int value) {
           this.value = value;
         }
 
@@ -2931,7 +3323,7 @@ public final class FCSFrameProto {
 
       private int bitField0_;
       public static final int ID_FIELD_NUMBER = 1;
-      private java.lang.Object id_;
+      private volatile java.lang.Object id_;
       /**
        * <code>required string id = 1;</code>
        */
@@ -2973,7 +3365,7 @@ public final class FCSFrameProto {
       }
 
       public static final int OVERRIDEID_FIELD_NUMBER = 2;
-      private java.lang.Object overrideID_;
+      private volatile java.lang.Object overrideID_;
       /**
        * <code>optional string overrideID = 2;</code>
        */
@@ -3015,7 +3407,7 @@ public final class FCSFrameProto {
       }
 
       public static final int PARENTID_FIELD_NUMBER = 3;
-      private java.lang.Object parentID_;
+      private volatile java.lang.Object parentID_;
       /**
        * <code>optional string parentID = 3;</code>
        */
@@ -3057,7 +3449,7 @@ public final class FCSFrameProto {
       }
 
       public static final int NAME_FIELD_NUMBER = 4;
-      private java.lang.Object name_;
+      private volatile java.lang.Object name_;
       /**
        * <code>required string name = 4;</code>
        */
@@ -3121,7 +3513,7 @@ public final class FCSFrameProto {
       }
 
       public static final int SUBSETTYPE_FIELD_NUMBER = 6;
-      private FCSFrameProto.Message.Subset.Type subsetType_;
+      private int subsetType_;
       /**
        * <code>required .Message.Subset.Type subsetType = 6;</code>
        */
@@ -3132,7 +3524,8 @@ public final class FCSFrameProto {
        * <code>required .Message.Subset.Type subsetType = 6;</code>
        */
       public FCSFrameProto.Message.Subset.Type getSubsetType() {
-        return subsetType_;
+        FCSFrameProto.Message.Subset.Type result = FCSFrameProto.Message.Subset.Type.valueOf(subsetType_);
+        return result == null ? FCSFrameProto.Message.Subset.Type.POLYGON : result;
       }
 
       public static final int DIMENSIONS_FIELD_NUMBER = 7;
@@ -3186,16 +3579,29 @@ public final class FCSFrameProto {
         return doubleValue_.get(index);
       }
 
-      private void initFields() {
-        id_ = "";
-        overrideID_ = "";
-        parentID_ = "";
-        name_ = "";
-        mask_ = java.util.Collections.emptyList();
-        subsetType_ = FCSFrameProto.Message.Subset.Type.POLYGON;
-        dimensions_ = com.google.protobuf.LazyStringArrayList.EMPTY;
-        doubleValue_ = java.util.Collections.emptyList();
+      public static final int MEMBERS_FIELD_NUMBER = 9;
+      private com.google.protobuf.ByteString members_;
+      /**
+       * <pre>
+       * Run length encoded members, see ColumnCodec. Replaces the dense mask, which is still read.
+       * </pre>
+       *
+       * <code>optional bytes members = 9;</code>
+       */
+      public boolean hasMembers() {
+        return ((bitField0_ & 0x00000020) == 0x00000020);
+      }
+      /**
+       * <pre>
+       * Run length encoded members, see ColumnCodec. Replaces the dense mask, which is still read.
+       * </pre>
+       *
+       * <code>optional bytes members = 9;</code>
+       */
+      public com.google.protobuf.ByteString getMembers() {
+        return members_;
       }
+
       private byte memoizedIsInitialized = -1;
       public final boolean isInitialized() {
         byte isInitialized = memoizedIsInitialized;
@@ -3220,55 +3626,52 @@ public final class FCSFrameProto {
 
       public void writeTo(com.google.protobuf.CodedOutputStream output)
                           throws java.io.IOException {
-        getSerializedSize();
         if (((bitField0_ & 0x00000001) == 0x00000001)) {
-          output.writeBytes(1, getIdBytes());
+          com.google.protobuf.GeneratedMessageV3.writeString(output, 1, id_);
         }
         if (((bitField0_ & 0x00000002) == 0x00000002)) {
-          output.writeBytes(2, getOverrideIDBytes());
+          com.google.protobuf.GeneratedMessageV3.writeString(output, 2, overrideID_);
         }
         if (((bitField0_ & 0x00000004) == 0x00000004)) {
-          output.writeBytes(3, getParentIDBytes());
+          com.google.protobuf.GeneratedMessageV3.writeString(output, 3, parentID_);
         }
         if (((bitField0_ & 0x00000008) == 0x00000008)) {
-          output.writeBytes(4, getNameBytes());
+          com.google.protobuf.GeneratedMessageV3.writeString(output, 4, name_);
         }
         for (int i = 0; i < mask_.size(); i++) {
           output.writeInt64(5, mask_.get(i));
         }
         if (((bitField0_ & 0x00000010) == 0x00000010)) {
-          output.writeEnum(6, subsetType_.getNumber());
+          output.writeEnum(6, subsetType_);
         }
         for (int i = 0; i < dimensions_.size(); i++) {
-          output.writeBytes(7, dimensions_.getByteString(i));
+          com.google.protobuf.GeneratedMessageV3.writeString(output, 7, dimensions_.getRaw(i));
         }
         for (int i = 0; i < doubleValue_.size(); i++) {
           output.writeDouble(8, doubleValue_.get(i));
         }
-        getUnknownFields().writeTo(output);
+        if (((bitField0_ & 0x00000020) == 0x00000020)) {
+          output.writeBytes(9, members_);
+        }
+        unknownFields.writeTo(output);
       }
 
-      private int memoizedSerializedSize = -1;
       public int getSerializedSize() {
-        int size = memoizedSerializedSize;
+        int size = memoizedSize;
         if (size != -1) return size;
 
         size = 0;
         if (((bitField0_ & 0x00000001) == 0x00000001)) {
-          size += com.google.protobuf.CodedOutputStream
-            .computeBytesSize(1, getIdBytes());
+          size += com.google.protobuf.GeneratedMessageV3.computeStringSize(1, id_);
         }
         if (((bitField0_ & 0x00000002) == 0x00000002)) {
-          size += com.google.protobuf.CodedOutputStream
-            .computeBytesSize(2, getOverrideIDBytes());
+          size += com.google.protobuf.GeneratedMessageV3.computeStringSize(2, overrideID_);
         }
         if (((bitField0_ & 0x00000004) == 0x00000004)) {
-          size += com.google.protobuf.CodedOutputStream
-            .computeBytesSize(3, getParentIDBytes());
+          size += com.google.protobuf.GeneratedMessageV3.computeStringSize(3, parentID_);
         }
         if (((bitField0_ & 0x00000008) == 0x00000008)) {
-          size += com.google.protobuf.CodedOutputStream
-            .computeBytesSize(4, getNameBytes());
+          size += com.google.protobuf.GeneratedMessageV3.computeStringSize(4, name_);
         }
         {
           int dataSize = 0;
@@ -3281,13 +3684,12 @@ public final class FCSFrameProto {
         }
         if (((bitField0_ & 0x00000010) == 0x00000010)) {
           size += com.google.protobuf.CodedOutputStream
-            .computeEnumSize(6, subsetType_.getNumber());
+            .computeEnumSize(6, subsetType_);
         }
         {
           int dataSize = 0;
           for (int i = 0; i < dimensions_.size(); i++) {
-            dataSize += com.google.protobuf.CodedOutputStream
-              .computeBytesSizeNoTag(dimensions_.getByteString(i));
+            dataSize += computeStringSizeNoTag(dimensions_.getRaw(i));
           }
           size += dataSize;
           size += 1 * getDimensionsList().size();
@@ -3298,16 +3700,112 @@ public final class FCSFrameProto {
           size += dataSize;
           size += 1 * getDoubleValueList().size();
         }
-        size += getUnknownFields().getSerializedSize();
-        memoizedSerializedSize = size;
+        if (((bitField0_ & 0x00000020) == 0x00000020)) {
+          size += com.google.protobuf.CodedOutputStream
+            .computeBytesSize(9, members_);
+        }
+        size += unknownFields.getSerializedSize();
+        memoizedSize = size;
         return size;
       }
 
       private static final long serialVersionUID = 0L;
       @java.lang.Override
-      protected java.lang.Object writeReplace()
-          throws java.io.ObjectStreamException {
-        return super.writeReplace();
+      public boolean equals(final java.lang.Object obj) {
+        if (obj == this) {
+         return true;
+        }
+        if (!(obj instanceof FCSFrameProto.Message.Subset)) {
+          return super.equals(obj);
+        }
+        FCSFrameProto.Message.Subset other = (FCSFrameProto.Message.Subset) obj;
+
+        boolean result = true;
+        result = result && (hasId() == other.hasId());
+        if (hasId()) {
+          result = result && getId()
+              .equals(other.getId());
+        }
+        result = result && (hasOverrideID() == other.hasOverrideID());
+        if (hasOverrideID()) {
+          result = result && getOverrideID()
+              .equals(other.getOverrideID());
+        }
+        result = result && (hasParentID() == other.hasParentID());
+        if (hasParentID()) {
+          result = result && getParentID()
+              .equals(other.getParentID());
+        }
+        result = result && (hasName() == other.hasName());
+        if (hasName()) {
+          result = result && getName()
+              .equals(other.getName());
+        }
+        result = result && getMaskList()
+            .equals(other.getMaskList());
+        result = result && (hasSubsetType() == other.hasSubsetType());
+        if (hasSubsetType()) {
+          result = result && subsetType_ == other.subsetType_;
+        }
+        result = result && getDimensionsList()
+            .equals(other.getDimensionsList());
+        result = result && getDoubleValueList()
+            .equals(other.getDoubleValueList());
+        result = result && (hasMembers() == other.hasMembers());
+        if (hasMembers()) {
+          result = result && getMembers()
+              .equals(other.getMembers());
+        }
+        result = result && unknownFields.equals(other.unknownFields);
+        return result;
+      }
+
+      @java.lang.Override
+      public int hashCode() {
+        if (memoizedHashCode != 0) {
+          return memoizedHashCode;
+        }
+        int hash = 41;
+        hash = (19 * hash) + getDescriptor().hashCode();
+        if (hasId()) {
+          hash = (37 * hash) + ID_FIELD_NUMBER;
+          hash = (53 * hash) + getId().hashCode();
+        }
+        if (hasOverrideID()) {
+          hash = (37 * hash) + OVERRIDEID_FIELD_NUMBER;
+          hash = (53 * hash) + getOverrideID().hashCode();
+        }
+        if (hasParentID()) {
+          hash = (37 * hash) + PARENTID_FIELD_NUMBER;
+          hash = (53 * hash) + getParentID().hashCode();
+        }
+        if (hasName()) {
+          hash = (37 * hash) + NAME_FIELD_NUMBER;
+          hash = (53 * hash) + getName().hashCode();
+        }
+        if (getMaskCount() > 0) {
+          hash = (37 * hash) + MASK_FIELD_NUMBER;
+          hash = (53 * hash) + getMaskList().hashCode();
+        }
+        if (hasSubsetType()) {
+          hash = (37 * hash) + SUBSETTYPE_FIELD_NUMBER;
+          hash = (53 * hash) + subsetType_;
+        }
+        if (getDimensionsCount() > 0) {
+          hash = (37 * hash) + DIMENSIONS_FIELD_NUMBER;
+          hash = (53 * hash) + getDimensionsList().hashCode();
+        }
+        if (getDoubleValueCount() > 0) {
+          hash = (37 * hash) + DOUBLEVALUE_FIELD_NUMBER;
+          hash = (53 * hash) + getDoubleValueList().hashCode();
+        }
+        if (hasMembers()) {
+          hash = (37 * hash) + MEMBERS_FIELD_NUMBER;
+          hash = (53 * hash) + getMembers().hashCode();
+        }
+        hash = (29 * hash) + unknownFields.hashCode();
+        memoizedHashCode = hash;
+        return hash;
       }
 
       public static FCSFrameProto.Message.Subset parseFrom(
@@ -3333,46 +3831,57 @@ public final class FCSFrameProto {
       }
       public static FCSFrameProto.Message.Subset parseFrom(java.io.InputStream input)
           throws java.io.IOException {
-        return PARSER.parseFrom(input);
+        return com.google.protobuf.GeneratedMessageV3
+            .parseWithIOException(PARSER, input);
       }
       public static FCSFrameProto.Message.Subset parseFrom(
           java.io.InputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws java.io.IOException {
-        return PARSER.parseFrom(input, extensionRegistry);
+        return com.google.protobuf.GeneratedMessageV3
+            .parseWithIOException(PARSER, input, extensionRegistry);
       }
       public static FCSFrameProto.Message.Subset parseDelimitedFrom(java.io.InputStream input)
           throws java.io.IOException {
-        return PARSER.parseDelimitedFrom(input);
+        return com.google.protobuf.GeneratedMessageV3
+            .parseDelimitedWithIOException(PARSER, input);
       }
       public static FCSFrameProto.Message.Subset parseDelimitedFrom(
           java.io.InputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws java.io.IOException {
-        return PARSER.parseDelimitedFrom(input, extensionRegistry);
+        return com.google.protobuf.GeneratedMessageV3
+            .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
       }
       public static FCSFrameProto.Message.Subset parseFrom(
           com.google.protobuf.CodedInputStream input)
           throws java.io.IOException {
-        return PARSER.parseFrom(input);
+        return com.google.protobuf.GeneratedMessageV3
+            .parseWithIOException(PARSER, input);
       }
       public static FCSFrameProto.Message.Subset parseFrom(
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws java.io.IOException {
-        return PARSER.parseFrom(input, extensionRegistry);
+        return com.google.protobuf.GeneratedMessageV3
+            .parseWithIOException(PARSER, input, extensionRegistry);
       }
 
-      public static Builder newBuilder() { return Builder.create(); }
       public Builder newBuilderForType() { return newBuilder(); }
+      public static Builder newBuilder() {
+        return DEFAULT_INSTANCE.toBuilder();
+      }
       public static Builder newBuilder(FCSFrameProto.Message.Subset prototype) {
-        return newBuilder().mergeFrom(prototype);
+        return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+      }
+      public Builder toBuilder() {
+        return this == DEFAULT_INSTANCE
+            ? new Builder() : new Builder().mergeFrom(this);
       }
-      public Builder toBuilder() { return newBuilder(this); }
 
       @java.lang.Override
       protected Builder newBuilderForType(
-          com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
         Builder builder = new Builder(parent);
         return builder;
       }
@@ -3380,7 +3889,7 @@ public final class FCSFrameProto {
        * Protobuf type {@code Message.Subset}
        */
       public static final class Builder extends
-          com.google.protobuf.GeneratedMessage.Builder<Builder> implements
+          com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
           // @@protoc_insertion_point(builder_implements:Message.Subset)
           FCSFrameProto.Message.SubsetOrBuilder {
         public static final com.google.protobuf.Descriptors.Descriptor
@@ -3388,7 +3897,7 @@ public final class FCSFrameProto {
           return FCSFrameProto.internal_static_Message_Subset_descriptor;
         }
 
-        protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
             internalGetFieldAccessorTable() {
           return FCSFrameProto.internal_static_Message_Subset_fieldAccessorTable
               .ensureFieldAccessorsInitialized(
@@ -3401,18 +3910,15 @@ public final class FCSFrameProto {
         }
 
         private Builder(
-            com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+            com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
           super(parent);
           maybeForceBuilderInitialization();
         }
         private void maybeForceBuilderInitialization() {
-          if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+          if (com.google.protobuf.GeneratedMessageV3
+                  .alwaysUseFieldBuilders) {
           }
         }
-        private static Builder create() {
-          return new Builder();
-        }
-
         public Builder clear() {
           super.clear();
           id_ = "";
@@ -3425,19 +3931,17 @@ public final class FCSFrameProto {
           bitField0_ = (bitField0_ & ~0x00000008);
           mask_ = java.util.Collections.emptyList();
           bitField0_ = (bitField0_ & ~0x00000010);
-          subsetType_ = FCSFrameProto.Message.Subset.Type.POLYGON;
+          subsetType_ = 0;
           bitField0_ = (bitField0_ & ~0x00000020);
           dimensions_ = com.google.protobuf.LazyStringArrayList.EMPTY;
           bitField0_ = (bitField0_ & ~0x00000040);
           doubleValue_ = java.util.Collections.emptyList();
           bitField0_ = (bitField0_ & ~0x00000080);
+          members_ = com.google.protobuf.ByteString.EMPTY;
+          bitField0_ = (bitField0_ & ~0x00000100);
           return this;
         }
 
-        public Builder clone() {
-          return create().mergeFrom(buildPartial());
-        }
-
         public com.google.protobuf.Descriptors.Descriptor
             getDescriptorForType() {
           return FCSFrameProto.internal_static_Message_Subset_descriptor;
@@ -3494,11 +3998,41 @@ public final class FCSFrameProto {
             bitField0_ = (bitField0_ & ~0x00000080);
           }
           result.doubleValue_ = doubleValue_;
+          if (((from_bitField0_ & 0x00000100) == 0x00000100)) {
+            to_bitField0_ |= 0x00000020;
+          }
+          result.members_ = members_;
           result.bitField0_ = to_bitField0_;
           onBuilt();
           return result;
         }
 
+        public Builder clone() {
+          return (Builder) super.clone();
+        }
+        public Builder setField(
+            com.google.protobuf.Descriptors.FieldDescriptor field,
+            Object value) {
+          return (Builder) super.setField(field, value);
+        }
+        public Builder clearField(
+            com.google.protobuf.Descriptors.FieldDescriptor field) {
+          return (Builder) super.clearField(field);
+        }
+        public Builder clearOneof(
+            com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+          return (Builder) super.clearOneof(oneof);
+        }
+        public Builder setRepeatedField(
+            com.google.protobuf.Descriptors.FieldDescriptor field,
+            int index, Object value) {
+          return (Builder) super.setRepeatedField(field, index, value);
+        }
+        public Builder addRepeatedField(
+            com.google.protobuf.Descriptors.FieldDescriptor field,
+            Object value) {
+          return (Builder) super.addRepeatedField(field, value);
+        }
         public Builder mergeFrom(com.google.protobuf.Message other) {
           if (other instanceof FCSFrameProto.Message.Subset) {
             return mergeFrom((FCSFrameProto.Message.Subset)other);
@@ -3563,21 +4097,22 @@ public final class FCSFrameProto {
             }
             onChanged();
           }
-          this.mergeUnknownFields(other.getUnknownFields());
+          if (other.hasMembers()) {
+            setMembers(other.getMembers());
+          }
+          this.mergeUnknownFields(other.unknownFields);
+          onChanged();
           return this;
         }
 
         public final boolean isInitialized() {
           if (!hasId()) {
-            
             return false;
           }
           if (!hasName()) {
-            
             return false;
           }
           if (!hasSubsetType()) {
-            
             return false;
           }
           return true;
@@ -3592,7 +4127,7 @@ public final class FCSFrameProto {
             parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
           } catch (com.google.protobuf.InvalidProtocolBufferException e) {
             parsedMessage = (FCSFrameProto.Message.Subset) e.getUnfinishedMessage();
-            throw e;
+            throw e.unwrapIOException();
           } finally {
             if (parsedMessage != null) {
               mergeFrom(parsedMessage);
@@ -3972,7 +4507,7 @@ public final class FCSFrameProto {
           return this;
         }
 
-        private FCSFrameProto.Message.Subset.Type subsetType_ = FCSFrameProto.Message.Subset.Type.POLYGON;
+        private int subsetType_ = 0;
         /**
          * <code>required .Message.Subset.Type subsetType = 6;</code>
          */
@@ -3983,7 +4518,8 @@ public final class FCSFrameProto {
          * <code>required .Message.Subset.Type subsetType = 6;</code>
          */
         public FCSFrameProto.Message.Subset.Type getSubsetType() {
-          return subsetType_;
+          FCSFrameProto.Message.Subset.Type result = FCSFrameProto.Message.Subset.Type.valueOf(subsetType_);
+          return result == null ? FCSFrameProto.Message.Subset.Type.POLYGON : result;
         }
         /**
          * <code>required .Message.Subset.Type subsetType = 6;</code>
@@ -3993,7 +4529,7 @@ public final class FCSFrameProto {
             throw new NullPointerException();
           }
           bitField0_ |= 0x00000020;
-          subsetType_ = value;
+          subsetType_ = value.getNumber();
           onChanged();
           return this;
         }
@@ -4002,7 +4538,7 @@ public final class FCSFrameProto {
          */
         public Builder clearSubsetType() {
           bitField0_ = (bitField0_ & ~0x00000020);
-          subsetType_ = FCSFrameProto.Message.Subset.Type.POLYGON;
+          subsetType_ = 0;
           onChanged();
           return this;
         }
@@ -4166,20 +4702,108 @@ public final class FCSFrameProto {
           return this;
         }
 
+        private com.google.protobuf.ByteString members_ = com.google.protobuf.ByteString.EMPTY;
+        /**
+         * <pre>
+         * Run length encoded members, see ColumnCodec. Replaces the dense mask, which is still read.
+         * </pre>
+         *
+         * <code>optional bytes members = 9;</code>
+         */
+        public boolean hasMembers() {
+          return ((bitField0_ & 0x00000100) == 0x00000100);
+        }
+        /**
+         * <pre>
+         * Run length encoded members, see ColumnCodec. Replaces the dense mask, which is still read.
+         * </pre>
+         *
+         * <code>optional bytes members = 9;</code>
+         */
+        public com.google.protobuf.ByteString getMembers() {
+          return members_;
+        }
+        /**
+         * <pre>
+         * Run length encoded members, see ColumnCodec. Replaces the dense mask, which is still read.
+         * </pre>
+         *
+         * <code>optional bytes members = 9;</code>
+         */
+        public Builder setMembers(com.google.protobuf.ByteString value) {
+          if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000100;
+          members_ = value;
+          onChanged();
+          return this;
+        }
+        /**
+         * <pre>
+         * Run length encoded members, see ColumnCodec. Replaces the dense mask, which is still read.
+         * </pre>
+         *
+         * <code>optional bytes members = 9;</code>
+         */
+        public Builder clearMembers() {
+          bitField0_ = (bitField0_ & ~0x00000100);
+          members_ = getDefaultInstance().getMembers();
+          onChanged();
+          return this;
+        }
+        public final Builder setUnknownFields(
+            final com.google.protobuf.UnknownFieldSet unknownFields) {
+          return super.setUnknownFields(unknownFields);
+        }
+
+        public final Builder mergeUnknownFields(
+            final com.google.protobuf.UnknownFieldSet unknownFields) {
+          return super.mergeUnknownFields(unknownFields);
+        }
+
+
         // @@protoc_insertion_point(builder_scope:Message.Subset)
       }
 
+      // @@protoc_insertion_point(class_scope:Message.Subset)
+      private static final FCSFrameProto.Message.Subset DEFAULT_INSTANCE;
       static {
-        defaultInstance = new Subset(true);
-        defaultInstance.initFields();
+        DEFAULT_INSTANCE = new FCSFrameProto.Message.Subset();
+      }
+
+      public static FCSFrameProto.Message.Subset getDefaultInstance() {
+        return DEFAULT_INSTANCE;
+      }
+
+      @java.lang.Deprecated public static final com.google.protobuf.Parser<Subset>
+          PARSER = new com.google.protobuf.AbstractParser<Subset>() {
+        public Subset parsePartialFrom(
+            com.google.protobuf.CodedInputStream input,
+            com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+            throws com.google.protobuf.InvalidProtocolBufferException {
+            return new Subset(input, extensionRegistry);
+        }
+      };
+
+      public static com.google.protobuf.Parser<Subset> parser() {
+        return PARSER;
+      }
+
+      @java.lang.Override
+      public com.google.protobuf.Parser<Subset> getParserForType() {
+        return PARSER;
+      }
+
+      public FCSFrameProto.Message.Subset getDefaultInstanceForType() {
+        return DEFAULT_INSTANCE;
       }
 
-      // @@protoc_insertion_point(class_scope:Message.Subset)
     }
 
     private int bitField0_;
     public static final int ID_FIELD_NUMBER = 1;
-    private java.lang.Object id_;
+    private volatile java.lang.Object id_;
     /**
      * <code>required string id = 1;</code>
      */
@@ -4369,14 +4993,6 @@ public final class FCSFrameProto {
       return subset_.get(index);
     }
 
-    private void initFields() {
-      id_ = "";
-      eventCount_ = 0;
-      dimNames_ = com.google.protobuf.LazyStringArrayList.EMPTY;
-      keyword_ = java.util.Collections.emptyList();
-      dimension_ = java.util.Collections.emptyList();
-      subset_ = java.util.Collections.emptyList();
-    }
     private byte memoizedIsInitialized = -1;
     public final boolean isInitialized() {
       byte isInitialized = memoizedIsInitialized;
@@ -4415,15 +5031,14 @@ public final class FCSFrameProto {
 
     public void writeTo(com.google.protobuf.CodedOutputStream output)
                         throws java.io.IOException {
-      getSerializedSize();
       if (((bitField0_ & 0x00000001) == 0x00000001)) {
-        output.writeBytes(1, getIdBytes());
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 1, id_);
       }
       if (((bitField0_ & 0x00000002) == 0x00000002)) {
         output.writeInt32(2, eventCount_);
       }
       for (int i = 0; i < dimNames_.size(); i++) {
-        output.writeBytes(3, dimNames_.getByteString(i));
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 3, dimNames_.getRaw(i));
       }
       for (int i = 0; i < keyword_.size(); i++) {
         output.writeMessage(4, keyword_.get(i));
@@ -4434,18 +5049,16 @@ public final class FCSFrameProto {
       for (int i = 0; i < subset_.size(); i++) {
         output.writeMessage(6, subset_.get(i));
       }
-      getUnknownFields().writeTo(output);
+      unknownFields.writeTo(output);
     }
 
-    private int memoizedSerializedSize = -1;
     public int getSerializedSize() {
-      int size = memoizedSerializedSize;
+      int size = memoizedSize;
       if (size != -1) return size;
 
       size = 0;
       if (((bitField0_ & 0x00000001) == 0x00000001)) {
-        size += com.google.protobuf.CodedOutputStream
-          .computeBytesSize(1, getIdBytes());
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(1, id_);
       }
       if (((bitField0_ & 0x00000002) == 0x00000002)) {
         size += com.google.protobuf.CodedOutputStream
@@ -4454,8 +5067,7 @@ public final class FCSFrameProto {
       {
         int dataSize = 0;
         for (int i = 0; i < dimNames_.size(); i++) {
-          dataSize += com.google.protobuf.CodedOutputStream
-            .computeBytesSizeNoTag(dimNames_.getByteString(i));
+          dataSize += computeStringSizeNoTag(dimNames_.getRaw(i));
         }
         size += dataSize;
         size += 1 * getDimNamesList().size();
@@ -4472,16 +5084,79 @@ public final class FCSFrameProto {
         size += com.google.protobuf.CodedOutputStream
           .computeMessageSize(6, subset_.get(i));
       }
-      size += getUnknownFields().getSerializedSize();
-      memoizedSerializedSize = size;
+      size += unknownFields.getSerializedSize();
+      memoizedSize = size;
       return size;
     }
 
     private static final long serialVersionUID = 0L;
     @java.lang.Override
-    protected java.lang.Object writeReplace()
-        throws java.io.ObjectStreamException {
-      return super.writeReplace();
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof FCSFrameProto.Message)) {
+        return super.equals(obj);
+      }
+      FCSFrameProto.Message other = (FCSFrameProto.Message) obj;
+
+      boolean result = true;
+      result = result && (hasId() == other.hasId());
+      if (hasId()) {
+        result = result && getId()
+            .equals(other.getId());
+      }
+      result = result && (hasEventCount() == other.hasEventCount());
+      if (hasEventCount()) {
+        result = result && (getEventCount()
+            == other.getEventCount());
+      }
+      result = result && getDimNamesList()
+          .equals(other.getDimNamesList());
+      result = result && getKeywordList()
+          .equals(other.getKeywordList());
+      result = result && getDimensionList()
+          .equals(other.getDimensionList());
+      result = result && getSubsetList()
+          .equals(other.getSubsetList());
+      result = result && unknownFields.equals(other.unknownFields);
+      return result;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptor().hashCode();
+      if (hasId()) {
+        hash = (37 * hash) + ID_FIELD_NUMBER;
+        hash = (53 * hash) + getId().hashCode();
+      }
+      if (hasEventCount()) {
+        hash = (37 * hash) + EVENTCOUNT_FIELD_NUMBER;
+        hash = (53 * hash) + getEventCount();
+      }
+      if (getDimNamesCount() > 0) {
+        hash = (37 * hash) + DIMNAMES_FIELD_NUMBER;
+        hash = (53 * hash) + getDimNamesList().hashCode();
+      }
+      if (getKeywordCount() > 0) {
+        hash = (37 * hash) + KEYWORD_FIELD_NUMBER;
+        hash = (53 * hash) + getKeywordList().hashCode();
+      }
+      if (getDimensionCount() > 0) {
+        hash = (37 * hash) + DIMENSION_FIELD_NUMBER;
+        hash = (53 * hash) + getDimensionList().hashCode();
+      }
+      if (getSubsetCount() > 0) {
+        hash = (37 * hash) + SUBSET_FIELD_NUMBER;
+        hash = (53 * hash) + getSubsetList().hashCode();
+      }
+      hash = (29 * hash) + unknownFields.hashCode();
+      memoizedHashCode = hash;
+      return hash;
     }
 
     public static FCSFrameProto.Message parseFrom(
@@ -4507,46 +5182,57 @@ public final class FCSFrameProto {
     }
     public static FCSFrameProto.Message parseFrom(java.io.InputStream input)
         throws java.io.IOException {
-      return PARSER.parseFrom(input);
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
     }
     public static FCSFrameProto.Message parseFrom(
         java.io.InputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
-      return PARSER.parseFrom(input, extensionRegistry);
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
     }
     public static FCSFrameProto.Message parseDelimitedFrom(java.io.InputStream input)
         throws java.io.IOException {
-      return PARSER.parseDelimitedFrom(input);
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
     }
     public static FCSFrameProto.Message parseDelimitedFrom(
         java.io.InputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
-      return PARSER.parseDelimitedFrom(input, extensionRegistry);
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
     }
     public static FCSFrameProto.Message parseFrom(
         com.google.protobuf.CodedInputStream input)
         throws java.io.IOException {
-      return PARSER.parseFrom(input);
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
     }
     public static FCSFrameProto.Message parseFrom(
         com.google.protobuf.CodedInputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
-      return PARSER.parseFrom(input, extensionRegistry);
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
     }
 
-    public static Builder newBuilder() { return Builder.create(); }
     public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
     public static Builder newBuilder(FCSFrameProto.Message prototype) {
-      return newBuilder().mergeFrom(prototype);
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
     }
-    public Builder toBuilder() { return newBuilder(this); }
 
     @java.lang.Override
     protected Builder newBuilderForType(
-        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
       Builder builder = new Builder(parent);
       return builder;
     }
@@ -4554,7 +5240,7 @@ public final class FCSFrameProto {
      * Protobuf type {@code Message}
      */
     public static final class Builder extends
-        com.google.protobuf.GeneratedMessage.Builder<Builder> implements
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
         // @@protoc_insertion_point(builder_implements:Message)
         FCSFrameProto.MessageOrBuilder {
       public static final com.google.protobuf.Descriptors.Descriptor
@@ -4562,7 +5248,7 @@ public final class FCSFrameProto {
         return FCSFrameProto.internal_static_Message_descriptor;
       }
 
-      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
           internalGetFieldAccessorTable() {
         return FCSFrameProto.internal_static_Message_fieldAccessorTable
             .ensureFieldAccessorsInitialized(
@@ -4575,21 +5261,18 @@ public final class FCSFrameProto {
       }
 
       private Builder(
-          com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
         super(parent);
         maybeForceBuilderInitialization();
       }
       private void maybeForceBuilderInitialization() {
-        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+        if (com.google.protobuf.GeneratedMessageV3
+                .alwaysUseFieldBuilders) {
           getKeywordFieldBuilder();
           getDimensionFieldBuilder();
           getSubsetFieldBuilder();
         }
       }
-      private static Builder create() {
-        return new Builder();
-      }
-
       public Builder clear() {
         super.clear();
         id_ = "";
@@ -4619,10 +5302,6 @@ public final class FCSFrameProto {
         return this;
       }
 
-      public Builder clone() {
-        return create().mergeFrom(buildPartial());
-      }
-
       public com.google.protobuf.Descriptors.Descriptor
           getDescriptorForType() {
         return FCSFrameProto.internal_static_Message_descriptor;
@@ -4689,6 +5368,32 @@ public final class FCSFrameProto {
         return result;
       }
 
+      public Builder clone() {
+        return (Builder) super.clone();
+      }
+      public Builder setField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          Object value) {
+        return (Builder) super.setField(field, value);
+      }
+      public Builder clearField(
+          com.google.protobuf.Descriptors.FieldDescriptor field) {
+        return (Builder) super.clearField(field);
+      }
+      public Builder clearOneof(
+          com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+        return (Builder) super.clearOneof(oneof);
+      }
+      public Builder setRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          int index, Object value) {
+        return (Builder) super.setRepeatedField(field, index, value);
+      }
+      public Builder addRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          Object value) {
+        return (Builder) super.addRepeatedField(field, value);
+      }
       public Builder mergeFrom(com.google.protobuf.Message other) {
         if (other instanceof FCSFrameProto.Message) {
           return mergeFrom((FCSFrameProto.Message)other);
@@ -4737,7 +5442,7 @@ public final class FCSFrameProto {
               keyword_ = other.keyword_;
               bitField0_ = (bitField0_ & ~0x00000008);
               keywordBuilder_ = 
-                com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders ?
+                com.google.protobuf.GeneratedMessageV3.alwaysUseFieldBuilders ?
                    getKeywordFieldBuilder() : null;
             } else {
               keywordBuilder_.addAllMessages(other.keyword_);
@@ -4763,7 +5468,7 @@ public final class FCSFrameProto {
               dimension_ = other.dimension_;
               bitField0_ = (bitField0_ & ~0x00000010);
               dimensionBuilder_ = 
-                com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders ?
+                com.google.protobuf.GeneratedMessageV3.alwaysUseFieldBuilders ?
                    getDimensionFieldBuilder() : null;
             } else {
               dimensionBuilder_.addAllMessages(other.dimension_);
@@ -4789,41 +5494,37 @@ public final class FCSFrameProto {
               subset_ = other.subset_;
               bitField0_ = (bitField0_ & ~0x00000020);
               subsetBuilder_ = 
-                com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders ?
+                com.google.protobuf.GeneratedMessageV3.alwaysUseFieldBuilders ?
                    getSubsetFieldBuilder() : null;
             } else {
               subsetBuilder_.addAllMessages(other.subset_);
             }
           }
         }
-        this.mergeUnknownFields(other.getUnknownFields());
+        this.mergeUnknownFields(other.unknownFields);
+        onChanged();
         return this;
       }
 
       public final boolean isInitialized() {
         if (!hasId()) {
-          
           return false;
         }
         if (!hasEventCount()) {
-          
           return false;
         }
         for (int i = 0; i < getKeywordCount(); i++) {
           if (!getKeyword(i).isInitialized()) {
-            
             return false;
           }
         }
         for (int i = 0; i < getDimensionCount(); i++) {
           if (!getDimension(i).isInitialized()) {
-            
             return false;
           }
         }
         for (int i = 0; i < getSubsetCount(); i++) {
           if (!getSubset(i).isInitialized()) {
-            
             return false;
           }
         }
@@ -4839,7 +5540,7 @@ public final class FCSFrameProto {
           parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
         } catch (com.google.protobuf.InvalidProtocolBufferException e) {
           parsedMessage = (FCSFrameProto.Message) e.getUnfinishedMessage();
-          throw e;
+          throw e.unwrapIOException();
         } finally {
           if (parsedMessage != null) {
             mergeFrom(parsedMessage);
@@ -5059,7 +5760,7 @@ public final class FCSFrameProto {
          }
       }
 
-      private com.google.protobuf.RepeatedFieldBuilder<
+      private com.google.protobuf.RepeatedFieldBuilderV3<
           FCSFrameProto.Message.Keyword, FCSFrameProto.Message.Keyword.Builder, FCSFrameProto.Message.KeywordOrBuilder> keywordBuilder_;
 
       /**
@@ -5275,11 +5976,11 @@ public final class FCSFrameProto {
            getKeywordBuilderList() {
         return getKeywordFieldBuilder().getBuilderList();
       }
-      private com.google.protobuf.RepeatedFieldBuilder<
+      private com.google.protobuf.RepeatedFieldBuilderV3<
           FCSFrameProto.Message.Keyword, FCSFrameProto.Message.Keyword.Builder, FCSFrameProto.Message.KeywordOrBuilder> 
           getKeywordFieldBuilder() {
         if (keywordBuilder_ == null) {
-          keywordBuilder_ = new com.google.protobuf.RepeatedFieldBuilder<
+          keywordBuilder_ = new com.google.protobuf.RepeatedFieldBuilderV3<
               FCSFrameProto.Message.Keyword, FCSFrameProto.Message.Keyword.Builder, FCSFrameProto.Message.KeywordOrBuilder>(
                   keyword_,
                   ((bitField0_ & 0x00000008) == 0x00000008),
@@ -5299,7 +6000,7 @@ public final class FCSFrameProto {
          }
       }
 
-      private com.google.protobuf.RepeatedFieldBuilder<
+      private com.google.protobuf.RepeatedFieldBuilderV3<
           FCSFrameProto.Message.Dimension, FCSFrameProto.Message.Dimension.Builder, FCSFrameProto.Message.DimensionOrBuilder> dimensionBuilder_;
 
       /**
@@ -5515,11 +6216,11 @@ public final class FCSFrameProto {
            getDimensionBuilderList() {
         return getDimensionFieldBuilder().getBuilderList();
       }
-      private com.google.protobuf.RepeatedFieldBuilder<
+      private com.google.protobuf.RepeatedFieldBuilderV3<
           FCSFrameProto.Message.Dimension, FCSFrameProto.Message.Dimension.Builder, FCSFrameProto.Message.DimensionOrBuilder> 
           getDimensionFieldBuilder() {
         if (dimensionBuilder_ == null) {
-          dimensionBuilder_ = new com.google.protobuf.RepeatedFieldBuilder<
+          dimensionBuilder_ = new com.google.protobuf.RepeatedFieldBuilderV3<
               FCSFrameProto.Message.Dimension, FCSFrameProto.Message.Dimension.Builder, FCSFrameProto.Message.DimensionOrBuilder>(
                   dimension_,
                   ((bitField0_ & 0x00000010) == 0x00000010),
@@ -5539,7 +6240,7 @@ public final class FCSFrameProto {
          }
       }
 
-      private com.google.protobuf.RepeatedFieldBuilder<
+      private com.google.protobuf.RepeatedFieldBuilderV3<
           FCSFrameProto.Message.Subset, FCSFrameProto.Message.Subset.Builder, FCSFrameProto.Message.SubsetOrBuilder> subsetBuilder_;
 
       /**
@@ -5755,11 +6456,11 @@ public final class FCSFrameProto {
            getSubsetBuilderList() {
         return getSubsetFieldBuilder().getBuilderList();
       }
-      private com.google.protobuf.RepeatedFieldBuilder<
+      private com.google.protobuf.RepeatedFieldBuilderV3<
           FCSFrameProto.Message.Subset, FCSFrameProto.Message.Subset.Builder, FCSFrameProto.Message.SubsetOrBuilder> 
           getSubsetFieldBuilder() {
         if (subsetBuilder_ == null) {
-          subsetBuilder_ = new com.google.protobuf.RepeatedFieldBuilder<
+          subsetBuilder_ = new com.google.protobuf.RepeatedFieldBuilderV3<
               FCSFrameProto.Message.Subset, FCSFrameProto.Message.Subset.Builder, FCSFrameProto.Message.SubsetOrBuilder>(
                   subset_,
                   ((bitField0_ & 0x00000020) == 0x00000020),
@@ -5769,62 +6470,100 @@ public final class FCSFrameProto {
         }
         return subsetBuilder_;
       }
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.setUnknownFields(unknownFields);
+      }
+
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
 
       // @@protoc_insertion_point(builder_scope:Message)
     }
 
+    // @@protoc_insertion_point(class_scope:Message)
+    private static final FCSFrameProto.Message DEFAULT_INSTANCE;
     static {
-      defaultInstance = new Message(true);
-      defaultInstance.initFields();
+      DEFAULT_INSTANCE = new FCSFrameProto.Message();
+    }
+
+    public static FCSFrameProto.Message getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    @java.lang.Deprecated public static final com.google.protobuf.Parser<Message>
+        PARSER = new com.google.protobuf.AbstractParser<Message>() {
+      public Message parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+          return new Message(input, extensionRegistry);
+      }
+    };
+
+    public static com.google.protobuf.Parser<Message> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<Message> getParserForType() {
+      return PARSER;
+    }
+
+    public FCSFrameProto.Message getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
     }
 
-    // @@protoc_insertion_point(class_scope:Message)
   }
 
   private static final com.google.protobuf.Descriptors.Descriptor
     internal_static_Message_descriptor;
-  private static
-    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
       internal_static_Message_fieldAccessorTable;
   private static final com.google.protobuf.Descriptors.Descriptor
     internal_static_Message_Keyword_descriptor;
-  private static
-    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
       internal_static_Message_Keyword_fieldAccessorTable;
   private static final com.google.protobuf.Descriptors.Descriptor
     internal_static_Message_Dimension_descriptor;
-  private static
-    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
       internal_static_Message_Dimension_fieldAccessorTable;
   private static final com.google.protobuf.Descriptors.Descriptor
     internal_static_Message_Subset_descriptor;
-  private static
-    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
       internal_static_Message_Subset_fieldAccessorTable;
 
   public static com.google.protobuf.Descriptors.FileDescriptor
       getDescriptor() {
     return descriptor;
   }
-  private static com.google.protobuf.Descriptors.FileDescriptor
+  private static  com.google.protobuf.Descriptors.FileDescriptor
       descriptor;
   static {
     java.lang.String[] descriptorData = {
-      "\n\024FCSFrameBuffer.proto\"\321\004\n\007Message\022\n\n\002id" +
+      "\n\024FCSFrameBuffer.proto\"\371\004\n\007Message\022\n\n\002id" +
       "\030\001 \002(\t\022\022\n\neventCount\030\002 \002(\005\022\020\n\010dimNames\030\003" +
       " \003(\t\022!\n\007keyword\030\004 \003(\0132\020.Message.Keyword\022" +
       "%\n\tdimension\030\005 \003(\0132\022.Message.Dimension\022\037" +
       "\n\006subset\030\006 \003(\0132\017.Message.Subset\032%\n\007Keywo" +
-      "rd\022\013\n\003key\030\001 \002(\t\022\r\n\005value\030\002 \002(\t\032\250\001\n\tDimen" +
+      "rd\022\013\n\003key\030\001 \002(\t\022\r\n\005value\030\002 \002(\t\032\277\001\n\tDimen" +
       "sion\022\n\n\002id\030\001 \002(\t\022\r\n\005index\030\002 \002(\005\022\013\n\003pnn\030\003" +
       " \002(\t\022\013\n\003pns\030\004 \001(\t\022\r\n\005pneF1\030\005 \002(\001\022\r\n\005pneF" +
       "2\030\006 \002(\001\022\013\n\003pnr\030\007 \002(\001\022\017\n\007compRef\030\010 \001(\t\022\014\n" +
       "\004data\030\t \003(\001\022\034\n\024preferredTransformID\030\n \001(",
-      "\t\032\326\001\n\006Subset\022\n\n\002id\030\001 \002(\t\022\022\n\noverrideID\030\002" +
-      " \001(\t\022\020\n\010parentID\030\003 \001(\t\022\014\n\004name\030\004 \002(\t\022\014\n\004" +
-      "mask\030\005 \003(\003\022(\n\nsubsetType\030\006 \002(\0162\024.Message" +
-      ".Subset.Type\022\022\n\ndimensions\030\007 \003(\t\022\023\n\013doub" +
-      "leValue\030\010 \003(\001\"+\n\004Type\022\013\n\007POLYGON\020\000\022\t\n\005RA" +
+      "\t\022\025\n\tfloatData\030\013 \003(\002B\002\020\001\032\347\001\n\006Subset\022\n\n\002i" +
+      "d\030\001 \002(\t\022\022\n\noverrideID\030\002 \001(\t\022\020\n\010parentID\030" +
+      "\003 \001(\t\022\014\n\004name\030\004 \002(\t\022\014\n\004mask\030\005 \003(\003\022(\n\nsub" +
+      "setType\030\006 \002(\0162\024.Message.Subset.Type\022\022\n\nd" +
+      "imensions\030\007 \003(\t\022\023\n\013doubleValue\030\010 \003(\001\022\017\n\007" +
+      "members\030\t \001(\014\"+\n\004Type\022\013\n\007POLYGON\020\000\022\t\n\005RA" +
       "NGE\020\001\022\013\n\007BOOLEAN\020\002B\017B\rFCSFrameProto"
     };
     com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
@@ -5842,27 +6581,27 @@ public final class FCSFrameProto {
     internal_static_Message_descriptor =
       getDescriptor().getMessageTypes().get(0);
     internal_static_Message_fieldAccessorTable = new
-      com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_Message_descriptor,
         new java.lang.String[] { "Id", "EventCount", "DimNames", "Keyword", "Dimension", "Subset", });
     internal_static_Message_Keyword_descriptor =
       internal_static_Message_descriptor.getNestedTypes().get(0);
     internal_static_Message_Keyword_fieldAccessorTable = new
-      com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_Message_Keyword_descriptor,
         new java.lang.String[] { "Key", "Value", });
     internal_static_Message_Dimension_descriptor =
       internal_static_Message_descriptor.getNestedTypes().get(1);
     internal_static_Message_Dimension_fieldAccessorTable = new
-      com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_Message_Dimension_descriptor,
-        new java.lang.String[] { "Id", "Index", "Pnn", "Pns", "PneF1", "PneF2", "Pnr", "CompRef", "Data", "PreferredTransformID", });
+        new java.lang.String[] { "Id", "Index", "Pnn", "Pns", "PneF1", "PneF2", "Pnr", "CompRef", "Data", "PreferredTransformID", "FloatData", });
     internal_static_Message_Subset_descriptor =
       internal_static_Message_descriptor.getNestedTypes().get(2);
     internal_static_Message_Subset_fieldAccessorTable = new
-      com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_Message_Subset_descriptor,
-        new java.lang.String[] { "Id", "OverrideID", "ParentID", "Name", "Mask", "SubsetType", "Dimensions", "DoubleValue", });
+        new java.lang.String[] { "Id", "OverrideID", "ParentID", "Name", "Mask", "SubsetType", "Dimensions", "DoubleValue", "Members", });
   }
 
   // @@protoc_insertion_point(outer_class_scope)
@@ -24,9 +24,7 @@ public class DownSample {
     //Calculate median minimum distance.
     BitSet shuffleMask = BitSetUtils.getShuffledMask(inFrame.getRowCount(), targetSize);
     FCSFrame dsFrame = FCSUtilities.filterFrame(shuffleMask, inFrame);
-    double[][] mtx = dsFrame.getMatrix(dimensionNames);
-    FCSUtilities.transformMatrix(dimensionNames, transforms, mtx);
-    mtx = MatrixUtilities.transpose(mtx);
+    double[][] mtx = FCSUtilities.getRowMatrix(dsFrame, dimensionNames, transforms);
     double minimumMedianDistance = calculateMinMedDistance(mtx);
     //Calculate the number of local neighbors for each cell.
     double[] localDensity = calculateLocalDensity(inFrame, mtx, minimumMedianDistance, dimensionNames, transforms);
@@ -54,8 +52,11 @@ public class DownSample {
     //Calculate the number of local neighbors for each cell.
     double dThreshs = minimumMedianDistance; //alpha
     double[] localDensity = new double[inFrame.getRowCount()];
-    double[][] allData = inFrame.getMatrix(dimensionNames);
-    FCSUtilities.transformMatrix(dimensionNames, transforms, allData);
+    // The full frame's columns are shared with the gates and plots, the sample's are not.
+    double[][] allData = new double[dimensionNames.size()][];
+    for (int i = 0; i < allData.length; i++) {
+      allData[i] = transforms.transform(inFrame.getDimension(dimensionNames.get(i)));
+    }
     allData = MatrixUtilities.transpose(allData);
     for (int k=0;k<localDensity.length;k++){
       for (int l=0;l<mtx.length;l++){
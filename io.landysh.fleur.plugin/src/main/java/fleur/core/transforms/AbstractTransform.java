@@ -20,10 +20,15 @@ package fleur.core.transforms;
 import java.io.Serializable;
 
 import fleur.core.data.DomainObject;
+import fleur.core.data.FCSDimension;
+import fleur.core.utils.QuantileSketch;
 
 @SuppressWarnings("serial")
 public abstract class AbstractTransform extends DomainObject implements Serializable, Cloneable {
 
+  // Values per chunk when transforming dimensions, small enough to stay in cache.
+  private static final int CHUNK_SIZE = 8192;
+
   public AbstractTransform(String priorUUID) {
     super(priorUUID);
   }
@@ -33,7 +38,65 @@ public abstract class AbstractTransform extends DomainObject implements Serializ
     return this.copy();
   }
 
-  public abstract double[] transform(double[] rawData);
+  /**
+   * Optimizes from a sketch of the data, which can be built from a dimension without copying it,
+   * see QuantileSketch.of().
+   */
+  public AbstractTransform getOptimizedTransform(QuantileSketch sketch) {
+    this.optimize(sketch);
+    return this.copy();
+  }
+
+  public double[] transform(double[] rawData) {
+    double[] transformed = new double[rawData.length];
+    transform(rawData, 0, transformed, 0, rawData.length);
+    return transformed;
+  }
+
+  /**
+   * Transforms length values starting at from into dest starting at destOffset. Source and
+   * destination may be the same array when from equals destOffset. Subclasses override this to
+   * speed up bulk transforms, all other bulk methods go through it.
+   */
+  public void transform(double[] rawData, int from, double[] dest, int destOffset, int length) {
+    for (int i = 0; i < length; i++) {
+      dest[destOffset + i] = transform(rawData[from + i]);
+    }
+  }
+
+  /**
+   * Transforms rawData into dest, which must be at least as long. dest may be rawData.
+   */
+  public void transform(double[] rawData, double[] dest) {
+    transform(rawData, 0, dest, 0, rawData.length);
+  }
+
+  public void transformInPlace(double[] data) {
+    transform(data, 0, data, 0, data.length);
+  }
+
+  /**
+   * Transforms length values of the dimension starting at from into dest, without copying the
+   * rest of the column, see FCSDimension.getValues().
+   */
+  public void transform(FCSDimension dimension, int from, double[] dest, int destOffset,
+      int length) {
+    dimension.getValues(from, dest, destOffset, length);
+    transform(dest, destOffset, dest, destOffset, length);
+  }
+
+  /**
+   * @return the transformed values of the dimension, read in chunks so float stored dimensions are
+   *         not widened into an intermediate column first.
+   */
+  public double[] transform(FCSDimension dimension) {
+    int size = dimension.size();
+    double[] transformed = new double[size];
+    for (int start = 0; start < size; start += CHUNK_SIZE) {
+      transform(dimension, start, transformed, start, Math.min(CHUNK_SIZE, size - start));
+    }
+    return transformed;
+  }
 
   public abstract double transform(double value);
 
@@ -52,6 +115,11 @@ public abstract class AbstractTransform extends DomainObject implements Serializ
   public abstract String getDetails();
   
   public abstract void optimize(double[] rawData);
+
+  /**
+   * Optimizes as optimize(double[]) does, with percentiles estimated by the sketch.
+   */
+  public abstract void optimize(QuantileSketch sketch);
   
   protected abstract AbstractTransform merge(AbstractTransform t1);
   
@@ -19,6 +19,8 @@ package fleur.core.transforms;
 
 import org.apache.commons.math3.stat.descriptive.rank.Percentile;
 
+import fleur.core.utils.QuantileSketch;
+
 public class BoundDisplayTransform extends AbstractTransform {
 
   private static final long serialVersionUID = 1L;
@@ -45,15 +47,6 @@ public class BoundDisplayTransform extends AbstractTransform {
     this(min, max, null);
   }
 
-  @Override
-  public double[] transform(double[] rawData) {
-    double[] transformedData = new double[rawData.length];
-    for (int i = 0; i < rawData.length; i++) {
-      transformedData[i] = transform(rawData[i]);
-    }
-    return transformedData;
-  }
-
   @Override
   public double getMinTranformedValue() {
     return boundaryMin;
@@ -106,6 +99,12 @@ public class BoundDisplayTransform extends AbstractTransform {
     this.boundaryMax = new Percentile().evaluate(data, UPPER_BOUND_PERCENT);
   }
 
+  @Override
+  public void optimize(QuantileSketch sketch) {
+    this.boundaryMin = sketch.percentile(LOWER_BOUND_PERCENT);
+    this.boundaryMax = sketch.percentile(UPPER_BOUND_PERCENT);
+  }
+
   @Override
   public TransformType getType() {
     return TransformType.BOUNDARY;
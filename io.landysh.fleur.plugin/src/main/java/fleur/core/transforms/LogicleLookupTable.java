@@ -0,0 +1,189 @@
+package fleur.core.transforms;
+
+import edu.stanford.facs.logicle.Logicle;
+
+/**
+ * Evaluates a Logicle scale and its inverse from precomputed tables of exact values with linear
+ * interpolation. FastLogicle binary searches its table for every value, here the interval is
+ * found directly.
+ *
+ * Forward, values within the linear region around zero use a uniform table. Beyond it each octave
+ * of raw values is split into equal intervals, found from the exponent and leading mantissa bits,
+ * so the table is dense where the scale is logarithmic. Raw values are clamped to the scale's range
+ * as in LogicleTransform. The inverse uses a uniform table over the scale, values below 0 are
+ * inverted exactly.
+ *
+ * The error of each table is measured against the exact Logicle at the midpoint of every interval,
+ * where linear interpolation of a smooth function errs the most, see getMaxError(). Immutable and
+ * safe for concurrent use.
+ */
+public final class LogicleLookupTable {
+
+  // Intervals per octave of raw values as a power of two.
+  private static final int OCTAVE_BITS = 8;
+  private static final int OCTAVE_INTERVALS = 1 << OCTAVE_BITS;
+  private static final int LINEAR_INTERVALS = 4096;
+  private static final int INVERSE_INTERVALS = 1 << 14;
+
+  private final Logicle exact;
+  private final double minRaw;
+  private final double maxRaw;
+  // Half width of the linear region, a power of two.
+  private final double linear;
+  private final int linearExponent;
+  private final double linearScale;
+  private final double[] linearY;
+  private final double[] positiveX;
+  private final double[] positiveY;
+  private final double[] positiveSlope;
+  private final double[] negativeX;
+  private final double[] negativeY;
+  private final double[] negativeSlope;
+  private final double[] inverseX;
+  private double maxError = 0;
+  private double maxInverseError = 0;
+
+  public LogicleLookupTable(double t, double w, double m, double a) {
+    exact = new Logicle(t, w, m, a);
+    minRaw = exact.inverse(0);
+    maxRaw = t;
+    double zero = exact.scale(0);
+    double linearWidth =
+        Math.max(Math.abs(exact.inverse(Math.min(1, zero + exact.w))), Double.MIN_NORMAL);
+    linear = Math.scalb(1.0, Math.getExponent(linearWidth) + 1);
+    linearExponent = Math.getExponent(linear);
+
+    linearScale = LINEAR_INTERVALS / (2 * linear);
+    linearY = new double[LINEAR_INTERVALS + 1];
+    for (int i = 0; i <= LINEAR_INTERVALS; i++) {
+      linearY[i] = exact.scale(-linear + i / linearScale);
+    }
+    for (int i = 0; i < LINEAR_INTERVALS; i++) {
+      double x = -linear + (i + 0.5) / linearScale;
+      measure(exact.scale(x), (linearY[i] + linearY[i + 1]) / 2);
+    }
+
+    positiveX = octaveNodes(maxRaw);
+    positiveY = new double[positiveX.length];
+    positiveSlope = new double[positiveX.length];
+    fillOctaves(positiveX, positiveY, positiveSlope, 1);
+    negativeX = octaveNodes(-minRaw);
+    negativeY = new double[negativeX.length];
+    negativeSlope = new double[negativeX.length];
+    fillOctaves(negativeX, negativeY, negativeSlope, -1);
+
+    inverseX = new double[INVERSE_INTERVALS + 1];
+    for (int i = 0; i <= INVERSE_INTERVALS; i++) {
+      inverseX[i] = exact.inverse((double) i / INVERSE_INTERVALS);
+    }
+    for (int i = 0; i < INVERSE_INTERVALS; i++) {
+      double expected = exact.inverse((i + 0.5) / INVERSE_INTERVALS);
+      double interpolated = (inverseX[i] + inverseX[i + 1]) / 2;
+      double error = Math.abs(interpolated - expected) / Math.max(1, Math.abs(expected));
+      maxInverseError = Math.max(maxInverseError, error);
+    }
+  }
+
+  /**
+   * @return the nodes from linear up to the octave containing maxAbs, empty if maxAbs is within the
+   *         linear region.
+   */
+  private double[] octaveNodes(double maxAbs) {
+    if (!(maxAbs >= linear)) {
+      return new double[0];
+    }
+    int octaves = Math.getExponent(maxAbs) - linearExponent + 1;
+    double[] nodes = new double[octaves * OCTAVE_INTERVALS + 1];
+    for (int i = 0; i < nodes.length; i++) {
+      int octave = i >> OCTAVE_BITS;
+      int interval = i & (OCTAVE_INTERVALS - 1);
+      nodes[i] = Math.scalb(1.0 + (double) interval / OCTAVE_INTERVALS, linearExponent + octave);
+    }
+    return nodes;
+  }
+
+  private void fillOctaves(double[] xs, double[] ys, double[] slopes, int sign) {
+    for (int i = 0; i < xs.length; i++) {
+      ys[i] = exact.scale(sign * xs[i]);
+    }
+    for (int i = 0; i + 1 < xs.length; i++) {
+      slopes[i] = (ys[i + 1] - ys[i]) / (xs[i + 1] - xs[i]);
+      double middle = (xs[i] + xs[i + 1]) / 2;
+      measure(exact.scale(sign * middle), ys[i] + (middle - xs[i]) * slopes[i]);
+    }
+  }
+
+  private void measure(double expected, double interpolated) {
+    maxError = Math.max(maxError, Math.abs(expected - interpolated));
+  }
+
+  /**
+   * @return the scale value of the raw value clamped to [inverse(0), T].
+   */
+  public double scale(double value) {
+    if (value <= minRaw) {
+      return 0;
+    } else if (value >= maxRaw) {
+      return 1;
+    } else if (value != value) {
+      return Double.NaN;
+    }
+    double abs = Math.abs(value);
+    if (abs < linear) {
+      double position = (value + linear) * linearScale;
+      int i = Math.min((int) position, LINEAR_INTERVALS - 1);
+      return linearY[i] + (position - i) * (linearY[i + 1] - linearY[i]);
+    }
+    int i = ((Math.getExponent(abs) - linearExponent) << OCTAVE_BITS)
+        | (int) (Double.doubleToRawLongBits(abs) >>> (52 - OCTAVE_BITS)) & (OCTAVE_INTERVALS - 1);
+    if (value > 0) {
+      return positiveY[i] + (abs - positiveX[i]) * positiveSlope[i];
+    } else {
+      return negativeY[i] + (abs - negativeX[i]) * negativeSlope[i];
+    }
+  }
+
+  /**
+   * @return the raw value of a scale value, T at or above 1.
+   */
+  public double inverse(double scale) {
+    if (scale >= 1) {
+      return maxRaw;
+    } else if (!(scale >= 0)) {
+      return exact.inverse(scale);
+    }
+    double position = scale * INVERSE_INTERVALS;
+    int i = (int) position;
+    return inverseX[i] + (position - i) * (inverseX[i + 1] - inverseX[i]);
+  }
+
+  /**
+   * Scales length values starting at from into dest starting at destOffset, values may be dest.
+   */
+  public void scale(double[] values, int from, double[] dest, int destOffset, int length) {
+    for (int i = 0; i < length; i++) {
+      dest[destOffset + i] = scale(values[from + i]);
+    }
+  }
+
+  public void inverse(double[] scales, int from, double[] dest, int destOffset, int length) {
+    for (int i = 0; i < length; i++) {
+      dest[destOffset + i] = inverse(scales[from + i]);
+    }
+  }
+
+  /**
+   * @return the largest absolute error of scale() measured against the exact Logicle.
+   */
+  public double getMaxError() {
+    return maxError;
+  }
+
+  /**
+   * @return the largest error of inverse() relative to the exact value, or absolute for values
+   *         within 1 of zero.
+   */
+  public double getMaxInverseError() {
+    return maxInverseError;
+  }
+}
@@ -26,6 +26,7 @@ import java.io.Serializable;
 import org.apache.commons.math3.stat.descriptive.rank.Percentile;
 
 import edu.stanford.facs.logicle.FastLogicle;
+import fleur.core.utils.QuantileSketch;
 
 public class LogicleTransform extends AbstractTransform implements Serializable {
 
@@ -38,6 +39,8 @@ public class LogicleTransform extends AbstractTransform implements Serializable
   private static final double DEFAULT_A = 0.5;
   
   transient FastLogicle logicle;
+  // Built on first use and rebuilt when the parameters change.
+  private transient volatile LogicleLookupTable table;
   
   public LogicleTransform(double t2, double w2, double m2, double a2, String priorID) {
     super(priorID);
@@ -64,27 +67,32 @@ public class LogicleTransform extends AbstractTransform implements Serializable
   }
   
   @Override
-  public double[] transform(double[] rawData) {
-    double[] newData = new double[rawData.length];
-    for (int i = 0; i < rawData.length; i++) {
-      newData[i] = transform(rawData[i]);
-    }
-    return newData;
+  public void transform(double[] rawData, int from, double[] dest, int destOffset, int length) {
+    getTable().scale(rawData, from, dest, destOffset, length);
   }
 
   public double[] inverse(double[] transformedData) {
     double[] newData = new double[transformedData.length];
-    for (int i = 0; i < transformedData.length; i++) {
-      newData[i] = logicle.inverse(transformedData[i]);
-    }
+    getTable().inverse(transformedData, 0, newData, 0, transformedData.length);
     return newData;
   }
 
-  private double optimizeW(double[] data) {
+  /**
+   * @return the lookup table which evaluates this transform.
+   */
+  public LogicleLookupTable getTable() {
+    LogicleLookupTable current = table;
+    if (current == null) {
+      current = new LogicleLookupTable(logicle.T, logicle.W, logicle.M, logicle.A);
+      table = current;
+    }
+    return current;
+  }
+
+  private double optimizeW(double lowerBound) {
     /**
      * Based on the percentile method suggested by Parks/Moore.
      */
-    double lowerBound = new Percentile().evaluate(data, LOGICLE_W_PERCENTILE);
     double newW;
     if (lowerBound < 0){
       newW = (logicle.M - Math.log10(logicle.T / Math.abs(lowerBound))) / 2;
@@ -98,28 +106,13 @@ public class LogicleTransform extends AbstractTransform implements Serializable
 
   @Override
   public double transform(double value) {
-    double newValue;
-    if (value < getMinRawValue()) {
-      newValue = getMinRawValue();
-    } else if (value >= getMaxRawValue()) {
-      newValue = getMaxRawValue();
-    } else {
-      newValue = value;
-    }
-
-    if (newValue >= logicle.T) {
-      return 1;
-    }
-    return logicle.scale(newValue);
+    // Values outside of [inverse(0), T] are clamped.
+    return getTable().scale(value);
   }
 
   @Override
   public double inverse(double value) {
-    if (value >= 1) {
-      return logicle.T;
-    } else {
-      return logicle.inverse(value);
-    }
+    return getTable().inverse(value);
   }
 
   private void readObject(java.io.ObjectInputStream in) throws IOException, ClassNotFoundException {
@@ -196,14 +189,29 @@ public class LogicleTransform extends AbstractTransform implements Serializable
   
   @Override
   public void optimize(double[] rawData) {
-    Double newT = new Percentile(LOGICLE_T_PERCENTILE).evaluate(rawData);
-    double newW = optimizeW(rawData);
+    double newT = new Percentile(LOGICLE_T_PERCENTILE).evaluate(rawData);
     double lowerbound = new Percentile(LOGICLE_W_PERCENTILE).evaluate(rawData);
+    optimize(newT, lowerbound);
+  }
+
+  /**
+   * With the sketch's default accuracy of 0.5% T is within 0.5% of the value optimize(double[])
+   * finds and W, M and A within about 0.003, as long as T is large compared to the magnitude of
+   * the lower bound.
+   */
+  @Override
+  public void optimize(QuantileSketch sketch) {
+    optimize(sketch.percentile(LOGICLE_T_PERCENTILE), sketch.percentile(LOGICLE_W_PERCENTILE));
+  }
+
+  private void optimize(double newT, double lowerbound) {
+    double newW = optimizeW(lowerbound);
     double newM = Math.log10(newT - Math.abs(lowerbound));
     double newA = newM/10;//Just an idea.
     try {
       //newT = newT >= logicle.T ? newT : logicle.T; 
       this.logicle = new FastLogicle(newT, newW, newM, newA);
+      this.table = null;
     }catch (Exception e) {
       //Ideally we catch this beforehand but for now:
       RuntimeException e2 = new RuntimeException("bad input parameters: T [1] w [2], M [3], A [4]"
@@ -215,6 +223,7 @@ public class LogicleTransform extends AbstractTransform implements Serializable
       //e2.initCause(e);
       
       this.logicle = new FastLogicle(logicle.T, DEFAULT_W, logicle.M, logicle.A);
+      this.table = null;
     }
   }
 
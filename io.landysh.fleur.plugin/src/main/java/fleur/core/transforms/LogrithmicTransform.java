@@ -22,6 +22,8 @@ package fleur.core.transforms;
 
 import com.google.common.primitives.Doubles;
 
+import fleur.core.utils.QuantileSketch;
+
 public class LogrithmicTransform extends AbstractTransform {
 
   /**
@@ -42,15 +44,6 @@ public class LogrithmicTransform extends AbstractTransform {
     this(min, max, null);
   }
 
-  @Override
-  public double[] transform(double[] rawData) {
-    double[] transformedData = new double[rawData.length];
-    for (int i = 0; i < rawData.length; i++) {
-      transformedData[i] = transform(rawData[i]);
-    }
-    return transformedData;
-  }
-
   public double getMin() {
     return min;
   }
@@ -105,6 +98,12 @@ public class LogrithmicTransform extends AbstractTransform {
     max = Doubles.max(data);
   }
 
+  @Override
+  public void optimize(QuantileSketch sketch) {
+    min = sketch.getMin();
+    max = sketch.getMax();
+  }
+
   @Override
   public TransformType getType() {
     return TransformType.LOGARITHMIC;
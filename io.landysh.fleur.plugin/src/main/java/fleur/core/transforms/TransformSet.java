@@ -10,13 +10,16 @@ import java.util.logging.Level;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.util.JsonFormat;
 
+import fleur.core.data.FCSDimension;
 import fleur.core.data.FCSFrame;
+import fleur.core.data.TransformedColumnCache;
 import fleur.core.logging.LogFactory;
 import fleur.core.proto.TransformMapProto.TransformMap;
 import fleur.core.proto.TransformMapProto.TransformMap.Builder;
 import fleur.core.proto.TransformMapProto.TransformMap.Transform;
 import fleur.core.proto.TransformMapProto.TransformMap.TransformEntry;
 import fleur.core.utils.PlotUtils;
+import fleur.core.utils.QuantileSketch;
 
 public class TransformSet {
 
@@ -27,13 +30,26 @@ public class TransformSet {
   }
 
   public void addTransformEntry(String key, AbstractTransform value) {
-    map.put(key, value);
+    invalidate(map.put(key, value), value);
   }
 
   public void remove(String key) {
-    map.remove(key);
+    invalidate(map.remove(key), null);
   }
 
+  private static void invalidate(AbstractTransform previous, AbstractTransform replacement) {
+    if (previous != null && previous != replacement) {
+      TransformedColumnCache.getDefault().invalidate(previous);
+    }
+  }
+
+  /**
+   * Optimizes the transform of the named dimension for each frame from a sketch of its column,
+   * then merges the per frame transforms, for Logicle by taking the maximum of each parameter.
+   * Within the tolerance of LogicleTransform.optimize(QuantileSketch) this matches optimizing each
+   * frame from exact percentiles. Sketches are not pooled across frames, which would fit the
+   * transform to the combined events instead.
+   */
   public void optimizeTransform(String name, List<FCSFrame> fcsSet) {
     
     if (!fcsSet.isEmpty()) {
@@ -42,9 +58,9 @@ public class TransformSet {
       Optional<AbstractTransform> optimalT = fcsSet.stream()
           .filter(frame -> frame.hasDimension(name))
           .map(frame -> frame.getDimension(name))
-          .map(dim -> t.getOptimizedTrasnform(dim.getData()))
+          .map(dim -> t.getOptimizedTransform(QuantileSketch.of(dim)))
           .reduce((t1,t2) -> t1.merge(t2));
-      map.put(name, optimalT.get());
+      addTransformEntry(name, optimalT.get());
     } else {
       throw new RuntimeException("Empty sample list. This is unexpected.");
     }
@@ -100,20 +116,22 @@ public class TransformSet {
     for (int i = 0; i < tMap.getEntryCount(); i++) {
       TransformEntry entry = tMap.getEntry(i);
       Transform serializedTransform = entry.getEntry();
+      // Keep the saved ID so copies of the set share transformed columns.
+      String id = serializedTransform.getId().isEmpty() ? null : serializedTransform.getId();
       AbstractTransform loadedTransform = null;
       if (serializedTransform.getType()
           .equals(fleur.core.proto.TransformMapProto.TransformMap.TransformType.LOGICLE)) {
         loadedTransform = new LogicleTransform(serializedTransform.getLogicleT(),
             serializedTransform.getLogicleW(), serializedTransform.getLogicleM(),
-            serializedTransform.getLogicleA());
+            serializedTransform.getLogicleA(), id);
       } else if (serializedTransform.getType()
           .equals(fleur.core.proto.TransformMapProto.TransformMap.TransformType.LOG)) {
         loadedTransform = new LogrithmicTransform(serializedTransform.getLogMin(),
-            serializedTransform.getLogMax());
+            serializedTransform.getLogMax(), id);
       } else if (serializedTransform.getType()
           .equals(fleur.core.proto.TransformMapProto.TransformMap.TransformType.BOUNDARY)) {
         loadedTransform = new BoundDisplayTransform(serializedTransform.getBoundMin(),
-            serializedTransform.getBoundMax());
+            serializedTransform.getBoundMax(), id);
       }
       if (loadedTransform != null) {
         s.addTransformEntry(entry.getKey(), loadedTransform);
@@ -130,6 +148,14 @@ public class TransformSet {
     }
   }
 
+  /**
+   * @return the dimension's values with its transform applied, shared through the default
+   *         TransformedColumnCache. The array must not be modified.
+   */
+  public double[] transform(FCSDimension dimension) {
+    return TransformedColumnCache.getDefault().get(dimension, get(dimension.getShortName()));
+  }
+
   public Map<String, AbstractTransform> getMap() {
     return map;
   }
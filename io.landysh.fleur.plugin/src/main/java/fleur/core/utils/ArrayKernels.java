@@ -0,0 +1,26 @@
+package fleur.core.utils;
+
+/**
+ * Per element kernels for the histograms.
+ *
+ * The plugin runs on Java 8, where jdk.incubator.vector can not be loaded, so these are not written
+ * against the Vector API. Each kernel is a counted loop over arrays without branches or calls, the
+ * shape the JIT's superword pass can compile to SIMD instructions, and gives exactly the results of
+ * the scalar code it replaces, see the callers.
+ */
+public final class ArrayKernels {
+
+  private ArrayKernels() {}
+
+  /**
+   * Writes the bin (int) ((value - origin) / width) of length values starting at from into bins,
+   * without clamping to the number of bins. Histograms bin values a chunk at a time through this and
+   * count in a second loop, so the divisions no longer wait on the previous increment.
+   */
+  public static void bin(double[] src, int from, int[] bins, int length, double origin,
+      double width) {
+    for (int i = 0; i < length; i++) {
+      bins[i] = (int) ((src[from + i] - origin) / width);
+    }
+  }
+}
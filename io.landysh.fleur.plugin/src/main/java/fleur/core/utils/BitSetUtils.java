@@ -73,4 +73,36 @@ public class BitSetUtils {
     }
     return result;
   }
+
+  public static float[] filter(float[] data, BitSet mask) {
+    float[] result = new float[mask.cardinality()];
+    int j = 0;
+    for (int i = mask.nextSetBit(0); i >= 0 && i < data.length; i = mask.nextSetBit(i + 1)) {
+      result[j] = data[i];
+      j++;
+    }
+    return result;
+  }
+
+  /**
+   * ORs the members of source into the target words, shifted up by offset bits. Iterates the
+   * members, so the compressed set is never expanded into a BitSet. Bits shifted past the end of
+   * target are dropped.
+   */
+  public static void orShifted(long[] target, RoaringBitSet source, int offset) {
+    long limit = (long) target.length * Long.SIZE;
+    source.forEach(member -> {
+      long bit = (long) member + offset;
+      if (bit < limit) {
+        target[(int) (bit >>> 6)] |= 1L << bit;
+      }
+    });
+  }
+
+  /**
+   * @return the number of 64 bit words needed to hold the given number of bits.
+   */
+  public static int wordCount(int bits) {
+    return (bits + 63) >>> 6;
+  }
 }
@@ -0,0 +1,200 @@
+package fleur.core.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.logging.Logger;
+
+import fleur.core.data.FCSDimension;
+import fleur.core.data.FCSFrame;
+import fleur.core.data.Subset;
+import fleur.core.logging.LogFactory;
+
+/**
+ * Concatenates frames by appending their events to preallocated columns, for when frames become
+ * available one at a time, eg. while reading a set of files. See FCSConcatenator.concatenate() when
+ * they are all at hand. Each source gets a value in the merge map dimension. Columns missing from
+ * any appended frame are dropped, subsets are kept only if every frame has the same number of them
+ * and are matched by position.
+ */
+public class ConcatenatedFrameBuilder {
+
+  private static final int DEFAULT_CAPACITY = 1024;
+
+  private final Logger logger = LogFactory.createLogger(this.getClass().toString());
+
+  // Keyed by short name, in the order of the first frame's dimensions.
+  private final LinkedHashMap<String, FCSDimension> templates = new LinkedHashMap<>();
+  private final LinkedHashMap<String, double[]> columns = new LinkedHashMap<>();
+  private double[] mergeColumn;
+  private final List<String> sources = new ArrayList<>();
+  private final LinkedHashMap<String, StringBuilder> keywords = new LinkedHashMap<>();
+  private List<Subset> subsetTemplates;
+  private List<long[]> subsetWords;
+  private int rowCount = 0;
+
+  public ConcatenatedFrameBuilder() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * @param expectedRows the total number of events expected. Columns grow if it is exceeded.
+   */
+  public ConcatenatedFrameBuilder(int expectedRows) {
+    mergeColumn = new double[Math.max(1, expectedRows)];
+  }
+
+  public synchronized void append(FCSFrame frame) {
+    int rows = frame.getRowCount();
+    if (sources.isEmpty()) {
+      for (FCSDimension dimension : frame.getData()) {
+        if (!dimension.getShortName().equals(FCSUtilities.MERGE_DIMENSION_NAME)) {
+          templates.put(dimension.getShortName(), dimension);
+          columns.put(dimension.getShortName(), new double[mergeColumn.length]);
+        }
+      }
+      subsetTemplates = new ArrayList<>(frame.getSubsets(false));
+      subsetWords = new ArrayList<>();
+      subsetTemplates.forEach(
+          subset -> subsetWords.add(new long[BitSetUtils.wordCount(mergeColumn.length)]));
+    }
+    ensureCapacity(rowCount + rows);
+
+    Iterator<Entry<String, double[]>> entries = columns.entrySet().iterator();
+    while (entries.hasNext()) {
+      Entry<String, double[]> entry = entries.next();
+      Optional<FCSDimension> dimension =
+          FCSUtilities.findCompatibleDimension(frame, entry.getKey());
+      if (!dimension.isPresent()) {
+        logger.info("Dimension not found: " + templates.get(entry.getKey()).getDisplayName());
+        templates.remove(entry.getKey());
+        entries.remove();
+      } else {
+        dimension.get().getValues(0, entry.getValue(), rowCount, rows);
+      }
+    }
+
+    appendSources(frame, rows);
+    appendKeywords(frame.getKeywords());
+    appendSubsets(frame.getSubsets(false));
+    rowCount += rows;
+  }
+
+  private void appendSources(FCSFrame frame, int rows) {
+    // Frames which are themselves concatenations keep their per source numbering.
+    int offset = sources.size();
+    String map = frame.getKeywords().get(FCSUtilities.KEY_MERGE_MAP);
+    Optional<FCSDimension> mergeDimension =
+        FCSUtilities.findCompatibleDimension(frame, FCSUtilities.MERGE_DIMENSION_NAME);
+    if (map != null && mergeDimension.isPresent()) {
+      sources.addAll(Arrays.asList(map.split(FCSUtilities.DELIMITER_REGEX)));
+      mergeDimension.get().getValues(0, mergeColumn, rowCount, rows);
+      for (int i = 0; i < rows; i++) {
+        mergeColumn[rowCount + i] += offset;
+      }
+    } else {
+      sources.add(frame.getDisplayName());
+      Arrays.fill(mergeColumn, rowCount, rowCount + rows, offset);
+    }
+  }
+
+  private void appendKeywords(Map<String, String> frameKeywords) {
+    for (Entry<String, String> entry : frameKeywords.entrySet()) {
+      StringBuilder value = keywords.get(entry.getKey());
+      if (value == null) {
+        keywords.put(entry.getKey(), new StringBuilder(entry.getValue()));
+      } else {
+        value.append(FCSUtilities.DELIMITER).append(entry.getValue());
+      }
+    }
+  }
+
+  private void appendSubsets(List<Subset> subsets) {
+    if (subsetTemplates == null) {
+      return;
+    }
+    if (subsets.size() != subsetTemplates.size()) {
+      subsetTemplates = null;
+      subsetWords = null;
+      return;
+    }
+    for (int i = 0; i < subsets.size(); i++) {
+      BitSetUtils.orShifted(subsetWords.get(i), subsets.get(i).getMemberSet(), rowCount);
+    }
+  }
+
+  private void ensureCapacity(int required) {
+    if (required <= mergeColumn.length) {
+      return;
+    }
+    int capacity = Math.max(required, mergeColumn.length * 2);
+    mergeColumn = Arrays.copyOf(mergeColumn, capacity);
+    columns.replaceAll((name, values) -> Arrays.copyOf(values, capacity));
+    if (subsetWords != null) {
+      subsetWords.replaceAll(words -> Arrays.copyOf(words, BitSetUtils.wordCount(capacity)));
+    }
+  }
+
+  public synchronized int getRowCount() {
+    return rowCount;
+  }
+
+  public synchronized int getSourceCount() {
+    return sources.size();
+  }
+
+  /**
+   * @return the concatenated frame or null if nothing was appended. The builder must not be used
+   *         afterwards.
+   */
+  public synchronized FCSFrame build() {
+    if (sources.isEmpty()) {
+      return null;
+    }
+    Map<String, String> header = new LinkedHashMap<>();
+    keywords.forEach((key, value) -> header.put(key, value.toString()));
+    String mergeMap = String.join(FCSUtilities.DELIMITER, sources);
+    header.put(FCSUtilities.KEY_MERGE_MAP, mergeMap);
+
+    FCSFrame frame = new FCSFrame(header, rowCount);
+    TreeSet<FCSDimension> data = new TreeSet<>();
+    for (Entry<String, FCSDimension> entry : templates.entrySet()) {
+      FCSDimension template = entry.getValue();
+      FCSDimension dimension = new FCSDimension(rowCount, template.getIndex(),
+          template.getShortName(), template.getStainName(), template.getPNEF1(),
+          template.getPNEF2(), template.getRange());
+      dimension.setData(trim(columns.get(entry.getKey())));
+      data.add(dimension);
+    }
+    FCSDimension mergeDimension = new FCSDimension(rowCount, FCSUtilities.MERGE_DIMENSION_INDEX,
+        FCSUtilities.MERGE_DIMENSION_NAME, "", 0, 0, sources.size());
+    mergeDimension.setData(trim(mergeColumn));
+    data.add(mergeDimension);
+    frame.setData(data);
+
+    ArrayList<Subset> subsets = new ArrayList<>();
+    if (subsetTemplates != null) {
+      for (int i = 0; i < subsetTemplates.size(); i++) {
+        Subset template = subsetTemplates.get(i);
+        BitSet members = BitSet.valueOf(subsetWords.get(i));
+        subsets.add(new Subset(template.getLabel(), members, template.getParentID(),
+            template.getID(), template.getType(), template.getDimensions(),
+            template.getDescriptors()));
+      }
+    }
+    frame.setSubsets(subsets);
+    frame.setDisplayName("Concatenated Frame");
+    return frame;
+  }
+
+  private double[] trim(double[] values) {
+    return values.length == rowCount ? values : Arrays.copyOf(values, rowCount);
+  }
+}
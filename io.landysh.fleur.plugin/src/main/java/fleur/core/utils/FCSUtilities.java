@@ -29,6 +29,8 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import fleur.core.data.ColumnCache;
+import fleur.core.data.ColumnLoader;
 import fleur.core.data.FCSDimension;
 import fleur.core.data.FCSFrame;
 import fleur.core.data.Subset;
@@ -53,6 +55,7 @@ public class FCSUtilities {
   public static final String FCSKEY_EVENT_COUNT = "$TOT";
   public static final Integer DEFAULT_MAX_SUMMARY_FRAME_VALUES = 250000;
   public static final String KEY_DISPLAY_NAME = "Inflor Display Name";
+  private static final int ROW_MATRIX_CHUNK_SIZE = 8192;
 
 
   private FCSUtilities() {
@@ -156,6 +159,28 @@ public class FCSUtilities {
     /**
      * Constructs a new FCSDimension object from the parameter data in the header of an FCS File.
      */
+    return buildFCSDimension(pIndex, header, null, null);
+  }
+
+  public static FCSDimension buildFCSDimension(int pIndex, Map<String, String> header,
+      ColumnLoader loader, ColumnCache cache) {
+    /**
+     * As above, but the values are decoded by the loader when first requested. A null loader
+     * creates an ordinary, eagerly allocated dimension.
+     */
+    return buildFCSDimension(pIndex, header, loader == null, loader, cache);
+  }
+
+  public static FCSDimension buildDimensionDescriptor(int pIndex, Map<String, String> header) {
+    /**
+     * Header only version of buildFCSDimension. No values are allocated and getData() will return
+     * null until setData() is called.
+     */
+    return buildFCSDimension(pIndex, header, false, null, null);
+  }
+
+  private static FCSDimension buildFCSDimension(int pIndex, Map<String, String> header,
+      boolean allocate, ColumnLoader loader, ColumnCache cache) {
     int size = Integer.parseInt(header.get("$TOT"));
     String pnn = header.get("$P" + pIndex + "N");
     String pns = header.get("$P" + pIndex + "S");
@@ -164,7 +189,10 @@ public class FCSUtilities {
     double pneF2 = Double.parseDouble(pne.split(",")[1]);
     double pnr = Double.parseDouble(header.get("$P" + pIndex + "R"));
 
-    return new FCSDimension(size, pIndex, pnn, pns, pneF1, pneF2, pnr);
+    if (allocate) {
+      return new FCSDimension(size, pIndex, pnn, pns, pneF1, pneF2, pnr);
+    }
+    return new FCSDimension(size, pIndex, pnn, pns, pneF1, pneF2, pnr, loader, cache);
   }
 
   public static FCSFrame filterFrame(BitSet mask, FCSFrame inFrame) {
@@ -181,8 +209,13 @@ public class FCSUtilities {
     for (FCSDimension inDim : inFrame.getData()) {
       FCSDimension outDim =
           new FCSDimension(mask.cardinality(), inDim.getIndex(), inDim.getShortName(),
-              inDim.getStainName(), inDim.getPNEF1(), inDim.getPNEF2(), inDim.getRange());
-      outDim.setData(BitSetUtils.filter(inDim.getData(), mask));
+              inDim.getStainName(), inDim.getPNEF1(), inDim.getPNEF2(), inDim.getRange(), null,
+              null);
+      if (inDim.isFloat()) {
+        outDim.setFloatData(BitSetUtils.filter(inDim.getFloatData(), mask));
+      } else {
+        outDim.setData(BitSetUtils.filter(inDim.getData(), mask));
+      }
       out.addDimension(outDim);
     }
     return out;
@@ -195,13 +228,8 @@ public class FCSUtilities {
      * result of the toString() method is the same). Will return null if no compatible entry is
      * found.
      */
-    FCSDimension returnDim = null;
-    for (FCSDimension dim : dataSource.getData()) {
-      if (dim.getShortName().equals(shortName)) {
-        returnDim = dim;
-      }
-    }
-    return Optional.ofNullable(returnDim);
+    int column = dataSource.getColumnIndex(shortName);
+    return column < 0 ? Optional.empty() : Optional.of(dataSource.getDimension(column));
   }
 
   public static FCSFrame createSummaryFrame(List<FCSFrame> fcsList, Integer maxEventsPerFrame) {
@@ -212,23 +240,21 @@ public class FCSUtilities {
 
     final Integer finalSize = (minDataSize > maxEventsPerFrame) ? maxEventsPerFrame : minDataSize;
 
-    Optional<FCSFrame> optReturn =
-        fcsList.stream().map(dataFrame -> FCSUtilities.downSample(dataFrame, finalSize))
-            .reduce(new FCSConcatenator());
+    List<FCSFrame> downSampled = fcsList.stream()
+        .map(dataFrame -> FCSUtilities.downSample(dataFrame, finalSize))
+        .collect(Collectors.toList());
 
-    if (optReturn.isPresent()) {
-      FCSFrame df = optReturn.get();
+    FCSFrame df = FCSConcatenator.concatenate(downSampled);
+    if (df != null) {
       df.setDisplayName(NodeUtilities.PREVIEW_FRAME_KEY);
-    } else {
-      return null;
     }
-
-    return optReturn.isPresent() ? optReturn.get() : null;
+    return df;
   }
 
   private static FCSFrame downSample(FCSFrame dataFrame, Integer dataSize) {
     if (dataFrame.getRowCount() <= dataSize) {
-      return dataFrame.deepCopy();
+      // Concatenation copies the values, no need for a copy of the frame.
+      return dataFrame;
     } else {
       BitSet mask = BitSetUtils.getShuffledMask(dataFrame.getRowCount(), dataSize);
       return FCSUtilities.filterFrame(mask, dataFrame);
@@ -341,6 +367,35 @@ public class FCSUtilities {
     }
   }
 
+  /**
+   * @return the values of the dimensions with one row per event, transformed unless transforms is
+   *         null. Columns are read and transformed in chunks, no full length intermediate columns
+   *         are allocated.
+   */
+  public static double[][] getRowMatrix(FCSFrame frame, List<String> dimensionNames,
+      TransformSet transforms) {
+    int rowCount = frame.getRowCount();
+    double[][] rows = new double[rowCount][dimensionNames.size()];
+    double[] chunk = new double[Math.min(rowCount, ROW_MATRIX_CHUNK_SIZE)];
+    for (int d = 0; d < dimensionNames.size(); d++) {
+      FCSDimension dimension = frame.getDimension(dimensionNames.get(d));
+      AbstractTransform transform =
+          transforms != null ? transforms.get(dimensionNames.get(d)) : null;
+      for (int start = 0; start < rowCount; start += chunk.length) {
+        int count = Math.min(chunk.length, rowCount - start);
+        if (transform != null) {
+          transform.transform(dimension, start, chunk, 0, count);
+        } else {
+          dimension.getValues(start, chunk, 0, count);
+        }
+        for (int i = 0; i < count; i++) {
+          rows[start + i][d] = chunk[i];
+        }
+      }
+    }
+    return rows;
+  }
+
   public static void transformMatrix(List<String> dimensionNames, TransformSet transforms,
       double[][] mtx) {
     for (int i = 0; i < dimensionNames.size(); i++) {
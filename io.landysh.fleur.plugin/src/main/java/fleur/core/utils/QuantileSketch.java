@@ -0,0 +1,253 @@
+package fleur.core.utils;
+
+import fleur.core.data.FCSDimension;
+
+/**
+ * A mergeable sketch of the distribution of a column, built in one streaming pass, which answers
+ * percentile queries without sorting a copy of the data.
+ *
+ * Values are counted in buckets whose bounds grow geometrically, (gamma^(i-1), gamma^i] for
+ * positive and mirrored for negative values, with gamma = (1 + accuracy) / (1 - accuracy). Every
+ * bucket's representative value is within the relative accuracy of any value counted in it, so
+ * percentile() returns Apache Percentile's estimate, interpolated between the same two order
+ * statistics, within the relative accuracy. Values whose magnitude is at most MIN_MAGNITUDE are
+ * counted as zero. Sketches with the same accuracy merge exactly, a merged sketch equals the
+ * sketch of the concatenated values. NaN and infinite values are skipped.
+ *
+ * Not safe for concurrent updates, build one sketch per thread and merge them.
+ */
+public class QuantileSketch {
+
+  public static final double DEFAULT_ACCURACY = 0.005;
+  public static final double MIN_MAGNITUDE = 1e-9;
+  private static final int CHUNK_SIZE = 8192;
+
+  private final double accuracy;
+  private final double gamma;
+  private final double multiplier;
+  private final Buckets positive = new Buckets();
+  private final Buckets negative = new Buckets();
+  private long zeroCount;
+  private long count;
+  private double min = Double.POSITIVE_INFINITY;
+  private double max = Double.NEGATIVE_INFINITY;
+
+  public QuantileSketch() {
+    this(DEFAULT_ACCURACY);
+  }
+
+  /**
+   * @param accuracy - the relative error of percentile estimates, between 0 and 1 exclusive.
+   */
+  public QuantileSketch(double accuracy) {
+    if (!(accuracy > 0 && accuracy < 1)) {
+      throw new IllegalArgumentException("Accuracy must be between 0 and 1: " + accuracy);
+    }
+    this.accuracy = accuracy;
+    gamma = (1 + accuracy) / (1 - accuracy);
+    multiplier = 1 / Math.log(gamma);
+  }
+
+  /**
+   * @return a sketch of the values of the dimension, read in chunks so float stored dimensions are
+   *         not widened, see FCSDimension.getValues().
+   */
+  public static QuantileSketch of(FCSDimension dimension) {
+    QuantileSketch sketch = new QuantileSketch();
+    int size = dimension.size();
+    double[] chunk = new double[Math.min(CHUNK_SIZE, size)];
+    for (int start = 0; start < size; start += CHUNK_SIZE) {
+      int length = Math.min(CHUNK_SIZE, size - start);
+      dimension.getValues(start, chunk, 0, length);
+      sketch.add(chunk, 0, length);
+    }
+    return sketch;
+  }
+
+  public static QuantileSketch of(double[] values) {
+    QuantileSketch sketch = new QuantileSketch();
+    sketch.add(values, 0, values.length);
+    return sketch;
+  }
+
+  public void add(double value) {
+    if (value > MIN_MAGNITUDE && value < Double.POSITIVE_INFINITY) {
+      positive.add(index(value), 1);
+    } else if (value < -MIN_MAGNITUDE && value > Double.NEGATIVE_INFINITY) {
+      negative.add(index(-value), 1);
+    } else if (value >= -MIN_MAGNITUDE && value <= MIN_MAGNITUDE) {
+      zeroCount++;
+    } else {
+      return;
+    }
+    count++;
+    if (value < min) {
+      min = value;
+    }
+    if (value > max) {
+      max = value;
+    }
+  }
+
+  public void add(double[] values, int from, int length) {
+    for (int i = from; i < from + length; i++) {
+      add(values[i]);
+    }
+  }
+
+  /**
+   * Adds the counts of the other sketch, which must have the same accuracy.
+   */
+  public void merge(QuantileSketch other) {
+    if (other.accuracy != accuracy) {
+      throw new IllegalArgumentException("Sketches of different accuracy can not be merged.");
+    }
+    positive.merge(other.positive);
+    negative.merge(other.negative);
+    zeroCount += other.zeroCount;
+    count += other.count;
+    min = Math.min(min, other.min);
+    max = Math.max(max, other.max);
+  }
+
+  /**
+   * @param p - the percentile, between 0 and 100, as for Percentile.evaluate().
+   * @return an estimate of the pth percentile within the relative accuracy of Apache Percentile's
+   *         default estimate, relative to the larger of the two order statistics it interpolates
+   *         between. NaN if the sketch is empty.
+   */
+  public double percentile(double p) {
+    if (!(p >= 0 && p <= 100)) {
+      throw new IllegalArgumentException("Percentile must be between 0 and 100: " + p);
+    }
+    if (count == 0) {
+      return Double.NaN;
+    } else if (count == 1) {
+      return min;
+    }
+    // Percentile's default estimate interpolates at position p(n + 1) / 100, counted from 1.
+    double position = p * (count + 1) / 100;
+    if (position < 1) {
+      return min;
+    } else if (position >= count) {
+      return max;
+    }
+    long lower = (long) position - 1;
+    double fraction = position - (long) position;
+    double lowerValue = valueAt(lower);
+    if (fraction == 0) {
+      return lowerValue;
+    }
+    return lowerValue + fraction * (valueAt(lower + 1) - lowerValue);
+  }
+
+  /**
+   * @return an estimate of the value at rank, counted from 0, of the sorted values.
+   */
+  private double valueAt(long rank) {
+    if (rank == 0) {
+      return min;
+    } else if (rank == count - 1) {
+      return max;
+    }
+    long seen = 0;
+    // Negative values in ascending order are the negative buckets from the largest magnitude down.
+    for (int i = negative.counts.length - 1; i >= 0; i--) {
+      seen += negative.counts[i];
+      if (seen > rank) {
+        return clamp(-value(i + negative.offset));
+      }
+    }
+    seen += zeroCount;
+    if (seen > rank) {
+      return clamp(0);
+    }
+    for (int i = 0; i < positive.counts.length; i++) {
+      seen += positive.counts[i];
+      if (seen > rank) {
+        return clamp(value(i + positive.offset));
+      }
+    }
+    return max;
+  }
+
+  private double clamp(double value) {
+    return Math.max(min, Math.min(max, value));
+  }
+
+  private int index(double magnitude) {
+    return (int) Math.ceil(Math.log(magnitude) * multiplier);
+  }
+
+  // Within the relative accuracy of both bounds of the bucket.
+  private double value(int index) {
+    return 2 * Math.pow(gamma, index) / (gamma + 1);
+  }
+
+  /**
+   * @return the number of values counted, NaN and infinite values excluded.
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * @return the exact smallest value, NaN if the sketch is empty.
+   */
+  public double getMin() {
+    return count > 0 ? min : Double.NaN;
+  }
+
+  /**
+   * @return the exact largest value, NaN if the sketch is empty.
+   */
+  public double getMax() {
+    return count > 0 ? max : Double.NaN;
+  }
+
+  public double getAccuracy() {
+    return accuracy;
+  }
+
+  /**
+   * Counts per bucket index in a dense array covering the indices seen so far.
+   */
+  private static class Buckets {
+    long[] counts = new long[0];
+    int offset;
+
+    void add(int index, long n) {
+      if (counts.length == 0) {
+        counts = new long[16];
+        offset = index - 8;
+      } else if (index < offset || index >= offset + counts.length) {
+        grow(index);
+      }
+      counts[index - offset] += n;
+    }
+
+    private void grow(int index) {
+      int newOffset = Math.min(offset, index);
+      int newEnd = Math.max(offset + counts.length, index + 1);
+      // Leave room on the side which grew so a column drifting one way is not copied per bucket.
+      int slack = Math.max(16, (newEnd - newOffset) / 2);
+      if (index < offset) {
+        newOffset -= slack;
+      } else {
+        newEnd += slack;
+      }
+      long[] grown = new long[newEnd - newOffset];
+      System.arraycopy(counts, 0, grown, offset - newOffset, counts.length);
+      counts = grown;
+      offset = newOffset;
+    }
+
+    void merge(Buckets other) {
+      for (int i = 0; i < other.counts.length; i++) {
+        if (other.counts[i] != 0) {
+          add(i + other.offset, other.counts[i]);
+        }
+      }
+    }
+  }
+}
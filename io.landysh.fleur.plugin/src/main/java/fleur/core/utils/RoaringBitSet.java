@@ -0,0 +1,557 @@
+package fleur.core.utils;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+/**
+ * An immutable compressed set of non negative ints, eg. the members of a subset. Values are split
+ * into chunks of 65536 by their high 16 bits and each chunk is held either as a sorted array of its
+ * low bits, while it has at most 4096 members, or as a bitmap. Rare populations therefore cost a
+ * few bytes per member rather than one bit per event, while dense ones cost no more than a BitSet.
+ *
+ * Instances are built with a Builder, from a BitSet or as the result of a set operation, and may be
+ * shared freely. They are Serializable, like the Subsets holding them.
+ */
+public final class RoaringBitSet implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final int ARRAY_LIMIT = 4096;
+  private static final int CHUNK_BITS = 16;
+  private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+  private static final int BITMAP_WORDS = CHUNK_SIZE / Long.SIZE;
+  private static final RoaringBitSet EMPTY = new RoaringBitSet(new char[0], new Object[0], 0);
+
+  // Sorted high bits, with a char[] or long[] container for each.
+  private final char[] keys;
+  private final Object[] containers;
+  private final int cardinality;
+
+  private RoaringBitSet(char[] keys, Object[] containers, int cardinality) {
+    this.keys = keys;
+    this.containers = containers;
+    this.cardinality = cardinality;
+  }
+
+  public static RoaringBitSet empty() {
+    return EMPTY;
+  }
+
+  public static RoaringBitSet valueOf(BitSet bits) {
+    Builder builder = new Builder();
+    for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+      int end = bits.nextClearBit(i);
+      builder.addRange(i, end);
+      i = end;
+    }
+    return builder.build();
+  }
+
+  /**
+   * @return the set of every value from start (inclusive) to end (exclusive).
+   */
+  public static RoaringBitSet range(int start, int end) {
+    return new Builder().addRange(start, end).build();
+  }
+
+  public int cardinality() {
+    return cardinality;
+  }
+
+  public boolean isEmpty() {
+    return cardinality == 0;
+  }
+
+  public boolean contains(int value) {
+    if (value < 0) {
+      return false;
+    }
+    int index = Arrays.binarySearch(keys, (char) (value >>> CHUNK_BITS));
+    return index >= 0 && containerContains(containers[index], (char) value);
+  }
+
+  /**
+   * @return one more than the largest member, 0 if the set is empty.
+   */
+  public int length() {
+    if (keys.length == 0) {
+      return 0;
+    }
+    Object last = containers[keys.length - 1];
+    int low;
+    if (last instanceof char[]) {
+      char[] values = (char[]) last;
+      low = values[values.length - 1];
+    } else {
+      long[] words = (long[]) last;
+      int word = words.length - 1;
+      while (words[word] == 0) {
+        word--;
+      }
+      low = word * Long.SIZE + Long.SIZE - 1 - Long.numberOfLeadingZeros(words[word]);
+    }
+    return (keys[keys.length - 1] << CHUNK_BITS | low) + 1;
+  }
+
+  public RoaringBitSet and(RoaringBitSet other) {
+    Builder result = new Builder();
+    int i = 0;
+    int j = 0;
+    while (i < keys.length && j < other.keys.length) {
+      if (keys[i] < other.keys[j]) {
+        i++;
+      } else if (keys[i] > other.keys[j]) {
+        j++;
+      } else {
+        result.append(keys[i], and(containers[i], other.containers[j]));
+        i++;
+        j++;
+      }
+    }
+    return result.build();
+  }
+
+  public RoaringBitSet andNot(RoaringBitSet other) {
+    Builder result = new Builder();
+    int j = 0;
+    for (int i = 0; i < keys.length; i++) {
+      while (j < other.keys.length && other.keys[j] < keys[i]) {
+        j++;
+      }
+      if (j < other.keys.length && other.keys[j] == keys[i]) {
+        result.append(keys[i], andNot(containers[i], other.containers[j]));
+      } else {
+        result.append(keys[i], containers[i]);
+      }
+    }
+    return result.build();
+  }
+
+  public RoaringBitSet or(RoaringBitSet other) {
+    Builder result = new Builder();
+    int i = 0;
+    int j = 0;
+    while (i < keys.length || j < other.keys.length) {
+      if (j == other.keys.length || (i < keys.length && keys[i] < other.keys[j])) {
+        result.append(keys[i], containers[i]);
+        i++;
+      } else if (i == keys.length || keys[i] > other.keys[j]) {
+        result.append(other.keys[j], other.containers[j]);
+        j++;
+      } else {
+        result.append(keys[i], or(containers[i], other.containers[j]));
+        i++;
+        j++;
+      }
+    }
+    return result.build();
+  }
+
+  /**
+   * Keeps the members at which mask is set and renumbers them by their position among the set bits
+   * of mask, the way FCSUtilities.filterFrame() renumbers events.
+   */
+  public RoaringBitSet filter(BitSet mask) {
+    long[] words = mask.toLongArray();
+    int[] ranks = new int[words.length + 1];
+    for (int i = 0; i < words.length; i++) {
+      ranks[i + 1] = ranks[i] + Long.bitCount(words[i]);
+    }
+    Builder result = new Builder();
+    PrimitiveIterator.OfInt members = iterator();
+    while (members.hasNext()) {
+      int member = members.nextInt();
+      int word = member / Long.SIZE;
+      if (word >= words.length) {
+        break;
+      }
+      long bit = 1L << member;
+      if ((words[word] & bit) != 0) {
+        result.add(ranks[word] + Long.bitCount(words[word] & (bit - 1)));
+      }
+    }
+    return result.build();
+  }
+
+  public void forEach(IntConsumer action) {
+    for (int i = 0; i < keys.length; i++) {
+      int high = keys[i] << CHUNK_BITS;
+      Object container = containers[i];
+      if (container instanceof char[]) {
+        for (char low : (char[]) container) {
+          action.accept(high | low);
+        }
+      } else {
+        long[] words = (long[]) container;
+        for (int w = 0; w < words.length; w++) {
+          long word = words[w];
+          while (word != 0) {
+            action.accept(high | w * Long.SIZE + Long.numberOfTrailingZeros(word));
+            word &= word - 1;
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * @return the members in ascending order.
+   */
+  public PrimitiveIterator.OfInt iterator() {
+    return new PrimitiveIterator.OfInt() {
+      int chunk = 0;
+      int position = 0;
+      long word = 0;
+
+      @Override
+      public boolean hasNext() {
+        while (chunk < keys.length) {
+          Object container = containers[chunk];
+          if (container instanceof char[]) {
+            if (position < ((char[]) container).length) {
+              return true;
+            }
+          } else {
+            long[] words = (long[]) container;
+            while (word == 0 && position < words.length) {
+              word = words[position++];
+            }
+            if (word != 0) {
+              return true;
+            }
+          }
+          chunk++;
+          position = 0;
+        }
+        return false;
+      }
+
+      @Override
+      public int nextInt() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        int high = keys[chunk] << CHUNK_BITS;
+        Object container = containers[chunk];
+        if (container instanceof char[]) {
+          return high | ((char[]) container)[position++];
+        }
+        int low = (position - 1) * Long.SIZE + Long.numberOfTrailingZeros(word);
+        word &= word - 1;
+        return high | low;
+      }
+    };
+  }
+
+  public int[] toArray() {
+    int[] values = new int[cardinality];
+    int[] count = {0};
+    forEach(value -> values[count[0]++] = value);
+    return values;
+  }
+
+  public BitSet toBitSet() {
+    return BitSet.valueOf(toLongArray());
+  }
+
+  /**
+   * @return the members in the layout of BitSet.toLongArray().
+   */
+  public long[] toLongArray() {
+    long[] words = new long[(length() + Long.SIZE - 1) / Long.SIZE];
+    for (int i = 0; i < keys.length; i++) {
+      int offset = keys[i] * BITMAP_WORDS;
+      Object container = containers[i];
+      if (container instanceof char[]) {
+        for (char low : (char[]) container) {
+          words[offset + low / Long.SIZE] |= 1L << low;
+        }
+      } else {
+        long[] bitmap = (long[]) container;
+        System.arraycopy(bitmap, 0, words, offset, Math.min(bitmap.length, words.length - offset));
+      }
+    }
+    return words;
+  }
+
+  /**
+   * @return an estimate of the memory held by the set.
+   */
+  public long getSizeInBytes() {
+    long bytes = (long) keys.length * (Character.BYTES + Integer.BYTES);
+    for (Object container : containers) {
+      bytes += container instanceof char[] ? ((char[]) container).length * Character.BYTES
+          : BITMAP_WORDS * Long.BYTES;
+    }
+    return bytes;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof RoaringBitSet)) {
+      return false;
+    }
+    RoaringBitSet other = (RoaringBitSet) obj;
+    if (cardinality != other.cardinality || !Arrays.equals(keys, other.keys)) {
+      return false;
+    }
+    // Containers are kept canonical, equal chunks have the same representation.
+    for (int i = 0; i < keys.length; i++) {
+      Object container = containers[i];
+      Object otherContainer = other.containers[i];
+      boolean equal = container instanceof char[]
+          ? otherContainer instanceof char[]
+              && Arrays.equals((char[]) container, (char[]) otherContainer)
+          : otherContainer instanceof long[]
+              && Arrays.equals((long[]) container, (long[]) otherContainer);
+      if (!equal) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    int[] hash = {1};
+    forEach(value -> hash[0] = 31 * hash[0] + value);
+    return hash[0];
+  }
+
+  @Override
+  public String toString() {
+    return "RoaringBitSet[cardinality=" + cardinality + "]";
+  }
+
+  private static boolean containerContains(Object container, char low) {
+    if (container instanceof char[]) {
+      return Arrays.binarySearch((char[]) container, low) >= 0;
+    }
+    return (((long[]) container)[low / Long.SIZE] & 1L << low) != 0;
+  }
+
+  private static Object and(Object a, Object b) {
+    if (a instanceof long[] && b instanceof long[]) {
+      long[] words = ((long[]) a).clone();
+      long[] other = (long[]) b;
+      for (int i = 0; i < words.length; i++) {
+        words[i] &= other[i];
+      }
+      return words;
+    }
+    // At least one is an array, keep its values which are in the other.
+    char[] values = (char[]) (a instanceof char[] ? a : b);
+    Object other = a instanceof char[] ? b : a;
+    char[] result = new char[values.length];
+    int count = 0;
+    for (char value : values) {
+      if (containerContains(other, value)) {
+        result[count++] = value;
+      }
+    }
+    return Arrays.copyOf(result, count);
+  }
+
+  private static Object andNot(Object a, Object b) {
+    if (a instanceof char[]) {
+      char[] values = (char[]) a;
+      char[] result = new char[values.length];
+      int count = 0;
+      for (char value : values) {
+        if (!containerContains(b, value)) {
+          result[count++] = value;
+        }
+      }
+      return Arrays.copyOf(result, count);
+    }
+    long[] words = ((long[]) a).clone();
+    if (b instanceof char[]) {
+      for (char value : (char[]) b) {
+        words[value / Long.SIZE] &= ~(1L << value);
+      }
+    } else {
+      long[] other = (long[]) b;
+      for (int i = 0; i < words.length; i++) {
+        words[i] &= ~other[i];
+      }
+    }
+    return words;
+  }
+
+  private static Object or(Object a, Object b) {
+    if (a instanceof char[] && b instanceof char[]) {
+      char[] x = (char[]) a;
+      char[] y = (char[]) b;
+      char[] result = new char[x.length + y.length];
+      int i = 0;
+      int j = 0;
+      int count = 0;
+      while (i < x.length || j < y.length) {
+        if (j == y.length || (i < x.length && x[i] < y[j])) {
+          result[count++] = x[i++];
+        } else if (i == x.length || x[i] > y[j]) {
+          result[count++] = y[j++];
+        } else {
+          result[count++] = x[i++];
+          j++;
+        }
+      }
+      return Arrays.copyOf(result, count);
+    }
+    long[] words = a instanceof long[] ? ((long[]) a).clone() : ((long[]) b).clone();
+    Object other = a instanceof long[] ? b : a;
+    if (other instanceof char[]) {
+      for (char value : (char[]) other) {
+        words[value / Long.SIZE] |= 1L << value;
+      }
+    } else {
+      long[] otherWords = (long[]) other;
+      for (int i = 0; i < words.length; i++) {
+        words[i] |= otherWords[i];
+      }
+    }
+    return words;
+  }
+
+  /**
+   * Collects members in ascending order.
+   */
+  public static class Builder {
+    private char[] keys = new char[4];
+    private Object[] containers = new Object[4];
+    private int size = 0;
+    private int cardinality = 0;
+    // The chunk being filled, as a bitmap until it is complete.
+    private long[] current = new long[BITMAP_WORDS];
+    private int currentKey = -1;
+    private int currentCount = 0;
+    private int last = -1;
+
+    public Builder add(int value) {
+      if (value <= last) {
+        throw new IllegalArgumentException("Values must be added in ascending order: " + value);
+      }
+      int key = value >>> CHUNK_BITS;
+      if (key != currentKey) {
+        flush();
+        currentKey = key;
+      }
+      current[(value & (CHUNK_SIZE - 1)) / Long.SIZE] |= 1L << value;
+      currentCount++;
+      last = value;
+      return this;
+    }
+
+    /**
+     * Adds every value from start (inclusive) to end (exclusive).
+     */
+    public Builder addRange(int start, int end) {
+      if (start <= last && start < end) {
+        throw new IllegalArgumentException("Values must be added in ascending order: " + start);
+      }
+      int value = start;
+      while (value < end) {
+        int key = value >>> CHUNK_BITS;
+        if (key != currentKey) {
+          flush();
+          currentKey = key;
+        }
+        int chunkEnd = (int) Math.min(end, ((long) key + 1) << CHUNK_BITS);
+        int from = value & (CHUNK_SIZE - 1);
+        int to = from + (chunkEnd - value);
+        for (int i = from; i < to;) {
+          int word = i / Long.SIZE;
+          int wordEnd = Math.min(to, (word + 1) * Long.SIZE);
+          long bits = wordEnd - i == Long.SIZE ? -1L : ((1L << (wordEnd - i)) - 1) << i;
+          current[word] |= bits;
+          i = wordEnd;
+        }
+        currentCount += chunkEnd - value;
+        last = chunkEnd - 1;
+        value = chunkEnd;
+      }
+      return this;
+    }
+
+    // Appends a whole chunk from a set operation, keys must ascend.
+    void append(char key, Object container) {
+      flush();
+      currentKey = -1;
+      long[] words = container instanceof long[] ? (long[]) container : null;
+      int count = 0;
+      if (words != null) {
+        for (long word : words) {
+          count += Long.bitCount(word);
+        }
+      } else {
+        count = ((char[]) container).length;
+      }
+      if (count == 0) {
+        return;
+      }
+      if (words != null && count <= ARRAY_LIMIT) {
+        container = toArray(words, count);
+      } else if (words == null && count > ARRAY_LIMIT) {
+        long[] bitmap = new long[BITMAP_WORDS];
+        for (char value : (char[]) container) {
+          bitmap[value / Long.SIZE] |= 1L << value;
+        }
+        container = bitmap;
+      }
+      put(key, container, count);
+      last = key << CHUNK_BITS | CHUNK_SIZE - 1;
+    }
+
+    private void flush() {
+      if (currentKey < 0 || currentCount == 0) {
+        return;
+      }
+      Object container = currentCount <= ARRAY_LIMIT ? toArray(current, currentCount)
+          : current.clone();
+      put((char) currentKey, container, currentCount);
+      Arrays.fill(current, 0);
+      currentCount = 0;
+    }
+
+    private void put(char key, Object container, int count) {
+      if (size == keys.length) {
+        keys = Arrays.copyOf(keys, size * 2);
+        containers = Arrays.copyOf(containers, size * 2);
+      }
+      keys[size] = key;
+      containers[size] = container;
+      size++;
+      cardinality += count;
+    }
+
+    private static char[] toArray(long[] words, int count) {
+      char[] values = new char[count];
+      int index = 0;
+      for (int w = 0; w < words.length; w++) {
+        long word = words[w];
+        while (word != 0) {
+          values[index++] = (char) (w * Long.SIZE + Long.numberOfTrailingZeros(word));
+          word &= word - 1;
+        }
+      }
+      return values;
+    }
+
+    public RoaringBitSet build() {
+      flush();
+      currentKey = -1;
+      if (cardinality == 0) {
+        return EMPTY;
+      }
+      return new RoaringBitSet(Arrays.copyOf(keys, size), Arrays.copyOf(containers, size),
+          cardinality);
+    }
+  }
+}
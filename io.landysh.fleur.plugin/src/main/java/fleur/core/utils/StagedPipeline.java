@@ -0,0 +1,150 @@
+package fleur.core.utils;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs a list of inputs through a read stage and a process stage, each on its own fixed size
+ * thread pool, and hands the results to a writer on the calling thread in input order. At most
+ * capacity inputs are read but not yet written, which bounds the memory held by the pipeline and
+ * holds back readers when the writer is the bottleneck.
+ *
+ * @param <I> the inputs, eg. file paths.
+ * @param <T> the output of the read stage.
+ * @param <R> the output of the process stage which is passed to the writer.
+ */
+public class StagedPipeline<I, T, R> {
+
+  @FunctionalInterface
+  public interface Stage<A, B> {
+    B apply(A input) throws Exception;
+  }
+
+  @FunctionalInterface
+  public interface Writer<R> {
+    void write(int index, R result) throws Exception;
+  }
+
+  private final Stage<I, T> reader;
+  private final Stage<T, R> processor;
+  private final int readThreads;
+  private final int processThreads;
+  private final int capacity;
+
+  private final AtomicLong readNanos = new AtomicLong();
+  private final AtomicLong processNanos = new AtomicLong();
+  private final AtomicLong writeNanos = new AtomicLong();
+
+  public StagedPipeline(Stage<I, T> reader, int readThreads, Stage<T, R> processor,
+      int processThreads, int capacity) {
+    if (readThreads < 1 || processThreads < 1 || capacity < 1) {
+      throw new IllegalArgumentException("Thread counts and capacity must be at least 1.");
+    }
+    this.reader = reader;
+    this.readThreads = readThreads;
+    this.processor = processor;
+    this.processThreads = processThreads;
+    this.capacity = capacity;
+  }
+
+  /**
+   * Blocks until every input has been written. The first exception thrown by any stage is
+   * rethrown and the remaining work is abandoned.
+   */
+  public void run(List<I> inputs, Writer<R> writer) throws Exception {
+    ExecutorService readPool = Executors.newFixedThreadPool(readThreads, threads("read"));
+    ExecutorService processPool = Executors.newFixedThreadPool(processThreads, threads("process"));
+    Deque<CompletableFuture<R>> pending = new ArrayDeque<>();
+    try {
+      int submitted = 0;
+      for (int written = 0; written < inputs.size(); written++) {
+        while (submitted < inputs.size() && pending.size() < capacity) {
+          I input = inputs.get(submitted++);
+          pending.add(CompletableFuture
+              .supplyAsync(() -> timed(reader, input, readNanos), readPool)
+              .thenApplyAsync(read -> timed(processor, read, processNanos), processPool));
+        }
+        R result = await(pending.removeFirst());
+        long start = System.nanoTime();
+        writer.write(written, result);
+        writeNanos.addAndGet(System.nanoTime() - start);
+      }
+    } finally {
+      pending.forEach(future -> future.cancel(true));
+      readPool.shutdownNow();
+      processPool.shutdownNow();
+    }
+  }
+
+  private static <A, B> B timed(Stage<A, B> stage, A input, AtomicLong nanos) {
+    long start = System.nanoTime();
+    try {
+      return stage.apply(input);
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new CompletionException(e);
+    } finally {
+      nanos.addAndGet(System.nanoTime() - start);
+    }
+  }
+
+  private static <R> R await(CompletableFuture<R> future) throws Exception {
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof CompletionException && cause.getCause() != null) {
+        cause = cause.getCause();
+      }
+      if (cause instanceof Exception) {
+        throw (Exception) cause;
+      }
+      throw e;
+    }
+  }
+
+  private static ThreadFactory threads(String stageName) {
+    AtomicInteger count = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, "fleur-" + stageName + "-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  /**
+   * @return the time spent in the read stage, summed over all read threads.
+   */
+  public long getReadNanos() {
+    return readNanos.get();
+  }
+
+  /**
+   * @return the time spent in the process stage, summed over all process threads.
+   */
+  public long getProcessNanos() {
+    return processNanos.get();
+  }
+
+  public long getWriteNanos() {
+    return writeNanos.get();
+  }
+
+  /**
+   * @return a short summary of the time spent in each stage, eg. for progress messages.
+   */
+  public String getTimingSummary() {
+    return String.format("read %.1fs, process %.1fs, write %.1fs", readNanos.get() / 1e9,
+        processNanos.get() / 1e9, writeNanos.get() / 1e9);
+  }
+}
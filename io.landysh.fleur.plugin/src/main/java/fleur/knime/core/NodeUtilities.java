@@ -22,11 +22,12 @@ package fleur.knime.core;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -47,7 +48,12 @@ import org.knime.core.node.InvalidSettingsException;
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
 
+import fleur.core.data.FCSDimension;
 import fleur.core.data.FCSFrame;
+import fleur.core.data.FCSFrameFile;
+import fleur.core.utils.BitSetUtils;
+import fleur.knime.data.type.cell.fcs.FCSFrameFileStoreDataCell;
+import fleur.knime.data.type.cell.fcs.FCSFrameMetaData;
 
 public class NodeUtilities {
   
@@ -63,6 +69,8 @@ public class NodeUtilities {
   private static final Logger LOGGER = Logger.getLogger(NodeUtilities.class.getName());
   public static final String PREVIEW_FRAME_KEY = "Inflor Preview Frame";
   public static final String KEY_TRANSFORM_MAP = "Inflor Transform Map";
+  // Derived filestores are written in full once their chain of parents gets this long.
+  public static final int MAX_DERIVATION_DEPTH = 8;
  
 
   
@@ -177,14 +185,73 @@ public class NodeUtilities {
 
   public static int writeFrameToFilestore(FCSFrame df, FileStore fs) {
     try {
-      FileOutputStream fos = new FileOutputStream(fs.getFile());
-      return df.save(fos);
+      // Packed layout, sizes above 2GB are only reported as Integer.MAX_VALUE.
+      long size = FCSFrameFile.write(df, fs.getFile());
+      return (int) Math.min(Integer.MAX_VALUE, size);
     } catch (IOException e) {
       Logger.getGlobal().log(Level.SEVERE, "Failed to write filestore for: " + df.getDisplayName(), e);
       return -1;
     }
   }
 
+  /**
+   * Writes a frame derived from the frame of parentCell, eg. by gating, compensation or dropping
+   * events, so that it only references the columns and subsets it shares with its parent. Chains
+   * longer than MAX_DERIVATION_DEPTH, or parents which can no longer be read, get a complete copy.
+   *
+   * @param df the derived frame. Unchanged columns need no values, see
+   *        FCSFrameFileStoreDataCell.getFCSFrameStructure().
+   * @param rowMask the parent events kept in df, null if all of them are.
+   * @param changedDimensions short names of the columns whose values differ from the parent's, see
+   *        FCSFrameFile.writeDerived().
+   * @return the cell referencing the new filestore and those it was derived from.
+   */
+  public static FCSFrameFileStoreDataCell writeDerivedFrameToFilestore(FCSFrame df, FileStore fs,
+      FCSFrameFileStoreDataCell parentCell, BitSet rowMask, Collection<String> changedDimensions) {
+    FileStore[] parents = parentCell.getFileStoreChain();
+    if (parents.length < MAX_DERIVATION_DEPTH) {
+      try {
+        long size = FCSFrameFile.writeDerived(df, fs.getFile(),
+            parentCell.getFCSFrameMetadata().getID(), rowMask, changedDimensions,
+            parentCell.getFiles(), FCSFrameFile.isCompressByDefault());
+        FileStore[] stores = new FileStore[parents.length + 1];
+        stores[0] = fs;
+        System.arraycopy(parents, 0, stores, 1, parents.length);
+        FCSFrameMetaData metaData = new FCSFrameMetaData(df, (int) Math.min(Integer.MAX_VALUE, size));
+        return new FCSFrameFileStoreDataCell(stores, metaData);
+      } catch (IOException e) {
+        LOGGER.log(Level.WARNING, "Unable to derive filestore, writing a copy of: " + df.getDisplayName(), e);
+      }
+    }
+    copyMissingValues(df, parentCell, rowMask);
+    int size = writeFrameToFilestore(df, fs);
+    return new FCSFrameFileStoreDataCell(fs, new FCSFrameMetaData(df, size));
+  }
+
+  // A complete copy needs the values of the columns df was read without.
+  private static void copyMissingValues(FCSFrame df, FCSFrameFileStoreDataCell parentCell,
+      BitSet rowMask) {
+    if (df.getData().stream().allMatch(FCSDimension::hasValues)) {
+      return;
+    }
+    FCSFrame parent = parentCell.getFCSFrameValue();
+    if (parent == null) {
+      throw new RuntimeException("Unable to read the parent of: " + df.getDisplayName());
+    }
+    for (FCSDimension dimension : df.getData()) {
+      if (!dimension.hasValues()) {
+        FCSDimension source = parent.getDimension(dimension.getShortName());
+        if (source.isFloat()) {
+          dimension.setFloatData(rowMask == null ? source.getFloatData()
+              : BitSetUtils.filter(source.getFloatData(), rowMask));
+        } else {
+          dimension.setData(rowMask == null ? source.getData()
+              : BitSetUtils.filter(source.getData(), rowMask));
+        }
+      }
+    }
+  }
+
   public static String getFileStoreName(FCSFrame df) {
     String fsName = UUID.randomUUID().toString();
     try {
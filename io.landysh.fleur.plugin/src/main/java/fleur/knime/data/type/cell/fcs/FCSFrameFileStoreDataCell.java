@@ -20,8 +20,12 @@
  */
 package fleur.knime.data.type.cell.fcs;
 
-import java.io.FileInputStream;
+import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import org.knime.core.data.DataCellDataInput;
 import org.knime.core.data.DataCellDataOutput;
@@ -32,6 +36,8 @@ import org.knime.core.data.filestore.FileStoreCell;
 import org.knime.core.node.NodeLogger;
 
 import fleur.core.data.FCSFrame;
+import fleur.core.data.FCSFrameFile;
+import fleur.core.data.FrameCache;
 import fleur.core.transforms.TransformSet;
 import fleur.core.utils.FCSUtilities;
 
@@ -109,10 +115,27 @@ public class FCSFrameFileStoreDataCell extends FileStoreCell implements FCSFrame
     this.metaData = metaData;
   }
 
+  /**
+   * A cell whose frame is derived from other filestores, see FCSFrameFile.writeDerived(). The
+   * frame's own filestore comes first, followed by its parent's and their ancestors.
+   */
+  public FCSFrameFileStoreDataCell(FileStore[] fileStores, FCSFrameMetaData metaData) {
+    super(fileStores);
+    this.metaData = metaData;
+  }
+
   public FCSFrameFileStoreDataCell(FileStore fileStore, FCSFrame dataFrame, int messageSize) {
     this(fileStore, new FCSFrameMetaData(dataFrame, messageSize));
   }
 
+  /**
+   * @return a cell for the same filestores with different metadata, eg. new transforms. Derived
+   *         frames keep the filestores of their parents, which they are read from.
+   */
+  public FCSFrameFileStoreDataCell withMetadata(FCSFrameMetaData newMetaData) {
+    return new FCSFrameFileStoreDataCell(getFileStoreChain(), newMetaData);
+  }
+
   @Override
   public String toString() {
     return metaData.getDisplayName();
@@ -128,14 +151,50 @@ public class FCSFrameFileStoreDataCell extends FileStoreCell implements FCSFrame
 	return super.getFileStores()[0];
   }
 
+  /**
+   * @return the frame's own filestore followed by any filestores it is derived from.
+   */
+  public FileStore[] getFileStoreChain() {
+    return super.getFileStores().clone();
+  }
+
+  /**
+   * @return the files of the frame's own filestore and of any filestores it is derived from.
+   */
+  public List<File> getFiles() {
+    return Arrays
+        .stream(super.getFileStores())
+        .map(FileStore::getFile)
+        .collect(Collectors.toList());
+  }
+
   public FCSFrame getFCSFrameValue() {
+    return getFCSFrameValue(null, null);
+  }
+
+  /**
+   * Reads the frame's dimensions without their values and its subsets, see
+   * FCSFrameFile.readStructure(). Nodes which only add subsets write this with
+   * NodeUtilities.writeDerivedFrameToFilestore().
+   */
+  public FCSFrame getFCSFrameStructure() {
+    try {
+      return FCSFrameFile.readStructure(getFiles());
+    } catch (IOException e) {
+      e.printStackTrace();
+      return null;
+    }
+  }
+
+  /**
+   * Reads only the named dimensions and subsets (plus their ancestors) from the filestore, null
+   * reads all of them.
+   */
+  public FCSFrame getFCSFrameValue(Collection<String> dimensionNames, Collection<String> subsetIDs) {
       try {
-        int size = metaData.getSize();//currently 2gb max.
-        byte[] bytes = new byte[size];
-        FileInputStream fis = new FileInputStream(super.getFileStores()[0].getFile());
-        fis.read(bytes);
-        fis.close();
-        return FCSFrame.load(bytes);
+        // Frames decoded by an upstream node, a dialog or an earlier execution are shared.
+        return FrameCache.getDefault().read(getFiles(), metaData.getID(), dimensionNames,
+            subsetIDs);
       } catch (IOException e) {
         e.printStackTrace();
         return null;
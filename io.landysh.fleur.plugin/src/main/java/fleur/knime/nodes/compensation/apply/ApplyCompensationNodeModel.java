@@ -9,6 +9,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
 
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnProperties;
@@ -46,7 +47,6 @@ import fleur.core.utils.FCSUtilities;
 import fleur.knime.core.NodeUtilities;
 import fleur.knime.data.type.cell.fcs.FCSFrameDataValue;
 import fleur.knime.data.type.cell.fcs.FCSFrameFileStoreDataCell;
-import fleur.knime.data.type.cell.fcs.FCSFrameMetaData;
 import fleur.knime.ports.compensation.CompMatrixPortObject;
 import fleur.knime.ports.compensation.CompMatrixPortSpec;
 
@@ -174,10 +174,17 @@ public class ApplyCompensationNodeModel extends NodeModel {
         throw new RuntimeException("IO Exception while creating file store.", e);
       }
       
-      int messageSize = NodeUtilities.writeFrameToFilestore(df, fs);
-      FCSFrameMetaData metaData = new FCSFrameMetaData(df, messageSize);
-      
-      FCSFrameFileStoreDataCell fileCell = new FCSFrameFileStoreDataCell(fs, metaData);
+      // Only the compensated columns are new, the rest are referenced from the input filestore.
+      // Compensation renames the columns it writes, so they are those missing from the input.
+      FCSFrameFileStoreDataCell inCell = (FCSFrameFileStoreDataCell) inRow.getCell(index);
+      List<String> inputNames = Arrays.asList(inCell.getFCSFrameMetadata().getDimensionNames());
+      List<String> compensated = df
+          .getDimensionNames()
+          .stream()
+          .filter(name -> !inputNames.contains(name))
+          .collect(Collectors.toList());
+      FCSFrameFileStoreDataCell fileCell =
+          NodeUtilities.writeDerivedFrameToFilestore(df, fs, inCell, null, compensated);
       DataCell[] outCells = new DataCell[inRow.getNumCells()];
       for (int j = 0; j < outCells.length; j++) {
         if (j == index) {
@@ -3,6 +3,7 @@ package fleur.knime.nodes.doublets;
 import java.io.File;
 import java.io.IOException;
 import java.util.BitSet;
+import java.util.Collections;
 
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataRow;
@@ -26,7 +27,6 @@ import fleur.core.singlets.SingletsModel;
 import fleur.core.utils.FCSUtilities;
 import fleur.knime.core.NodeUtilities;
 import fleur.knime.data.type.cell.fcs.FCSFrameFileStoreDataCell;
-import fleur.knime.data.type.cell.fcs.FCSFrameMetaData;
 
 /**
  * This is the model implementation of RemoveDoublets.
@@ -82,7 +82,8 @@ public class RemoveDoubletsNodeModel extends NodeModel {
     int i = 0;
     for (final DataRow inRow : inData[0]) {
       final DataCell[] outCells = new DataCell[inRow.getNumCells()];
-      final FCSFrame columnStore = ((FCSFrameFileStoreDataCell) inRow.getCell(index)).getFCSFrameValue();
+      final FCSFrameFileStoreDataCell inCell = (FCSFrameFileStoreDataCell) inRow.getCell(index);
+      final FCSFrame columnStore = inCell.getFCSFrameValue();
       final SingletsModel model = new SingletsModel(columnStore.getDimensionNames().toArray(new String[columnStore.getDimensionNames().size()]));
       final double[] areaData = columnStore.getDimension(areaColumn).getData();
       final double[] heightData = columnStore.getDimension(heightColumn).getData();//TODO: DisplayName or shortName?
@@ -93,9 +94,9 @@ public class RemoveDoubletsNodeModel extends NodeModel {
       final FCSFrame outStore = FCSUtilities.filterFrame(mask, columnStore);
       final String fsName = NodeUtilities.getFileStoreName(outStore);
       final FileStore fileStore = fileStoreFactory.createFileStore(fsName);
-      int size = NodeUtilities.writeFrameToFilestore(outStore, fileStore);
-      FCSFrameMetaData metaData = new FCSFrameMetaData(outStore, size);
-      final FCSFrameFileStoreDataCell fileCell = new FCSFrameFileStoreDataCell(fileStore, metaData);
+      // Singlets are stored as a mask over the input's events rather than as copied columns.
+      final FCSFrameFileStoreDataCell fileCell = NodeUtilities.writeDerivedFrameToFilestore(
+          outStore, fileStore, inCell, mask, Collections.emptyList());
 
       for (int j = 0; j < outCells.length; j++) {
         if (j == index) {
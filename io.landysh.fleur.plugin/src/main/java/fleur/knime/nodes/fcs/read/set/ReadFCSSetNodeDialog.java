@@ -9,8 +9,10 @@ import org.knime.core.node.defaultnodesettings.DialogComponentBoolean;
 import org.knime.core.node.defaultnodesettings.DialogComponentButtonGroup;
 import org.knime.core.node.defaultnodesettings.DialogComponentColumnNameSelection;
 import org.knime.core.node.defaultnodesettings.DialogComponentFileChooser;
+import org.knime.core.node.defaultnodesettings.DialogComponentNumber;
 import org.knime.core.node.defaultnodesettings.SettingsModelBoolean;
 import org.knime.core.node.defaultnodesettings.SettingsModelColumnName;
+import org.knime.core.node.defaultnodesettings.SettingsModelIntegerBounded;
 import org.knime.core.node.defaultnodesettings.SettingsModelString;
 import org.knime.core.node.util.ColumnFilter;
 
@@ -49,6 +51,14 @@ public class ReadFCSSetNodeDialog extends DefaultNodeSettingsPane {
   static final Boolean COL_SELECT_REQUIRED = false;
   static final Boolean COL_ALLOW_NONE = true;
 
+  // Read pipeline
+  static final String READ_THREADS_LABEL = "Read threads";
+  static final String DECODE_THREADS_LABEL = "Decode threads";
+  static final String QUEUE_SIZE_LABEL = "Files in flight";
+  final SettingsModelIntegerBounded mReadThreads;
+  final SettingsModelIntegerBounded mDecodeThreads;
+  final SettingsModelIntegerBounded mQueueSize;
+
   protected ReadFCSSetNodeDialog() {
     
     super();
@@ -95,6 +105,18 @@ public class ReadFCSSetNodeDialog extends DefaultNodeSettingsPane {
     mCompOnRead = new SettingsModelBoolean(ReadFCSSetSettings.KEY_COMP, ReadFCSSetSettings.DEFAULT_COMP);
     vCompOnRead = new DialogComponentBoolean(mCompOnRead, COMP_LABEL);
     addDialogComponent(vCompOnRead);    
-    
+
+    // Read pipeline.
+    createNewGroup("Performance");
+    mReadThreads = new SettingsModelIntegerBounded(ReadFCSSetSettings.KEY_READ_THREADS,
+        ReadFCSSetSettings.DEFAULT_READ_THREADS, 1, 64);
+    addDialogComponent(new DialogComponentNumber(mReadThreads, READ_THREADS_LABEL, 1));
+    mDecodeThreads = new SettingsModelIntegerBounded(ReadFCSSetSettings.KEY_DECODE_THREADS,
+        ReadFCSSetSettings.DEFAULT_DECODE_THREADS, 1, 256);
+    addDialogComponent(new DialogComponentNumber(mDecodeThreads, DECODE_THREADS_LABEL, 1));
+    mQueueSize = new SettingsModelIntegerBounded(ReadFCSSetSettings.KEY_QUEUE_SIZE,
+        ReadFCSSetSettings.DEFAULT_QUEUE_SIZE, 1, 1024);
+    addDialogComponent(new DialogComponentNumber(mQueueSize, QUEUE_SIZE_LABEL, 1));
+    closeCurrentGroup();
   }
 }
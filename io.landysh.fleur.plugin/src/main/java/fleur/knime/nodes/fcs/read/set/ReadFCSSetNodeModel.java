@@ -43,10 +43,11 @@ import org.knime.core.node.port.PortTypeRegistry;
 import fleur.core.compensation.SpilloverCompensator;
 import fleur.core.data.FCSDimension;
 import fleur.core.data.FCSFrame;
-import fleur.core.fcs.FCSFileReader;
+import fleur.core.fcs.FCSHeaderIndex;
 import fleur.core.utils.BitSetUtils;
-import fleur.core.utils.FCSConcatenator;
+import fleur.core.utils.ConcatenatedFrameBuilder;
 import fleur.core.utils.FCSUtilities;
+import fleur.core.utils.StagedPipeline;
 import fleur.knime.core.NodeUtilities;
 import fleur.knime.data.type.cell.fcs.FCSFrameFileStoreDataCell;
 import fleur.knime.data.type.cell.fcs.FCSFrameMetaData;
@@ -81,6 +82,9 @@ public class ReadFCSSetNodeModel extends NodeModel {
   private int currentFileIndex = 0;
   private int fileCount;
   private FCSFrame previewFrame;
+  private ConcatenatedFrameBuilder previewBuilder;
+  // Each file's TEXT segment is parsed once per execution and shared by all steps.
+  private FCSHeaderIndex headerIndex = new FCSHeaderIndex();
   
   ReadFCSSetNodeModel() {
     
@@ -123,7 +127,7 @@ public class ReadFCSSetNodeModel extends NodeModel {
      * keyword values.
      */
     //final ArrayList<String> filePaths = getFilePaths(mPath.getStringValue());
-    List<Map<String, String>> headers = paths.parallelStream().map(FCSFileReader::readHeaderOnly)
+    List<Map<String, String>> headers = paths.parallelStream().map(headerIndex::getHeader)
         .filter(map -> !map.isEmpty()).collect(Collectors.toList());
 
     final HashMap<String, String> content = new HashMap<>();
@@ -132,7 +136,7 @@ public class ReadFCSSetNodeModel extends NodeModel {
 
     // Collect all dimensions for experiment in one Hashset.
     Optional<TreeSet<FCSDimension>> optionalDimensions = paths.stream()
-        .map(FCSFileReader::readNoData).map(FCSFrame::getData).reduce(this::merge);
+        .map(headerIndex::getDimensions).reduce(this::merge);
 
     if (optionalDimensions.isPresent()) {
       // Add dimension names string
@@ -190,6 +194,7 @@ public class ReadFCSSetNodeModel extends NodeModel {
   @Override
   protected BufferedDataTable[] execute(BufferedDataTable[] inData, ExecutionContext exec) throws Exception {
     currentFileIndex = 0;
+    headerIndex = new FCSHeaderIndex();
     logger.info("Beginning Execution.");
     fileStoreFactory = FileStoreFactory.createWorkflowFileStoreFactory(exec);
     // Create the output spec and data container.
@@ -218,16 +223,27 @@ public class ReadFCSSetNodeModel extends NodeModel {
     	throw new RuntimeException("Unable to read dir: " + mPath );
     }
     fileCount = filePaths.size();
+    // Each file contributes about DEFAULT_MAX_SUMMARY_FRAME_VALUES / fileCount / dimensions events.
+    int dimensionCount = filePaths.isEmpty() ? 1 : headerIndex.getDimensions(filePaths.get(0)).size();
+    previewBuilder = new ConcatenatedFrameBuilder(
+        FCSUtilities.DEFAULT_MAX_SUMMARY_FRAME_VALUES / Math.max(1, dimensionCount));
     exec.checkCanceled();
+    // Files are mapped by the read threads, decoded, compensated and downsampled by the decode
+    // threads, and written to filestores in input order on this thread.
+    StagedPipeline<String, FCSFrame, DecodedFrame> pipeline = new StagedPipeline<>(
+        headerIndex::readMapped, ReadFCSSetSettings.getReadThreads(),
+        this::decode, ReadFCSSetSettings.getDecodeThreads(),
+        ReadFCSSetSettings.getQueueSize());
     try {
-      filePaths
-        .parallelStream()
-        .map(FCSFileReader::read)
-        .forEach(fcsFrame -> addRow(fcsFrame, container0, container1, exec));
-    } catch (NullPointerException e){
+      pipeline.run(filePaths,
+          (index, decoded) -> addRow(decoded, container0, container1, exec, pipeline));
+    } catch (CanceledExecutionException e) {
+      throw e;
+    } catch (Exception e){
       logger.error("Execution Failed", e);
       throw new RuntimeException("Execution failed.");
     }
+    logger.info("Read " + fileCount + " files, " + pipeline.getTimingSummary());
     exec.checkCanceled();
     exec.setMessage("Finished reading files, creating summary frame.");
     // once we are done, we close the container and return its table
@@ -237,6 +253,8 @@ public class ReadFCSSetNodeModel extends NodeModel {
 
     String columnName = FCS_COLUMN_NAME;
     String key = NodeUtilities.PREVIEW_FRAME_KEY;
+    previewFrame = previewBuilder.build();
+    previewBuilder = null;
     previewFrame.setDisplayName(NodeUtilities.PREVIEW_FRAME_KEY);
     String value = previewFrame.saveAsString();
     
@@ -246,6 +264,7 @@ public class ReadFCSSetNodeModel extends NodeModel {
     
     BufferedDataTable finalTable =
         NodeUtilities.addPropertyToColumn(exec, inTable, columnName, content);
+    headerIndex.clear();
     return new BufferedDataTable[] {finalTable, container1.getTable()};
   }
 
@@ -262,26 +281,29 @@ public class ReadFCSSetNodeModel extends NodeModel {
     return paths;
   }
 
-  private synchronized void addRow(FCSFrame df, BufferedDataContainer container,
-      BufferedDataContainer container1, ExecutionContext exec) {
+  /**
+   * Decodes every column of a mapped frame, applying compensation and creating its share of the
+   * preview frame.
+   */
+  private DecodedFrame decode(FCSFrame df) {
     //Compensate from the header. 
     Boolean mComp = ReadFCSSetSettings.getMComp();
     if (mComp) {
       SpilloverCompensator sc = new SpilloverCompensator(df.getKeywords());
       df = sc.compensateFCSFrame(df, true);
     }
-    
+    return new DecodedFrame(df, downSample(df));
+  }
+
+  private void addRow(DecodedFrame decoded, BufferedDataContainer container,
+      BufferedDataContainer container1, ExecutionContext exec, StagedPipeline<?, ?, ?> pipeline)
+      throws CanceledExecutionException {
+    FCSFrame df = decoded.frame;
     String source = df.getDisplayName();
     df.getKeywords().entrySet().forEach(entry -> addMetadata(source, entry, container1, exec));
     
-    // Create Preview frame.
-    FCSConcatenator concatr = new FCSConcatenator();
-    FCSFrame f1 = downSample(df);
-    if (previewFrame == null) {
-      previewFrame = f1;
-    } else {
-      previewFrame = concatr.apply(previewFrame, f1);
-    }
+    // Add to the preview frame.
+    previewBuilder.append(decoded.preview);
 
     // create the row
     final RowKey key = new RowKey("Row " + currentFileIndex);
@@ -291,18 +313,14 @@ public class ReadFCSSetNodeModel extends NodeModel {
       FCSFrameMetaData metaData = new FCSFrameMetaData(df, sizeSaved);
       final FCSFrameFileStoreDataCell fileCell = new FCSFrameFileStoreDataCell(fs, metaData);
       container.addRowToTable(new DefaultRow(key, new DataCell[] {fileCell}));
-      try {
-        exec.checkCanceled();
-      } catch (CanceledExecutionException e) {
-        // Unchecked exception as this is called from a stream.
-        throw new RuntimeException("Execution cancelled");
-      }
-      exec.setProgress(currentFileIndex / (double) fileCount,
-          "Reading file " + (currentFileIndex + 1) + " of: " + fileCount);
-      currentFileIndex++;
     } catch (IOException e) {
       logger.error("Row not added for frame: " + currentFileIndex, e);
     }
+    exec.checkCanceled();
+    exec.setProgress(currentFileIndex / (double) fileCount,
+        "Reading file " + (currentFileIndex + 1) + " of: " + fileCount + " ("
+            + pipeline.getTimingSummary() + ")");
+    currentFileIndex++;
   }
 
   private void addMetadata(String source, Entry<String, String> entry, BufferedDataContainer container1, ExecutionContext exec) {
@@ -311,6 +329,16 @@ public class ReadFCSSetNodeModel extends NodeModel {
     container1.addRowToTable(row);
   }
 
+  private static class DecodedFrame {
+    final FCSFrame frame;
+    final FCSFrame preview;
+
+    DecodedFrame(FCSFrame frame, FCSFrame preview) {
+      this.frame = frame;
+      this.preview = preview;
+    }
+  }
+
   private ArrayList<String> getFilePaths(String dirPath) {
     /**
      * Returns a list of valid FCS Files from the chose directory.
@@ -320,7 +348,7 @@ public class ReadFCSSetNodeModel extends NodeModel {
     final ArrayList<String> validFiles = new ArrayList<>();
     for (final File file : files) {
       final String filePath = file.getAbsolutePath();
-      if (FCSFileReader.isValidFCS(filePath)) {
+      if (headerIndex.isValidFCS(filePath)) {
         validFiles.add(filePath);
       } else if (file.isDirectory()) {
         logger.info("Directory " + file.getName());
@@ -351,6 +379,7 @@ public class ReadFCSSetNodeModel extends NodeModel {
   @Override
   protected void reset() {
     previewFrame = null;
+    headerIndex.clear();
   }
 
   /**
@@ -5,6 +5,7 @@ import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
 import org.knime.core.node.defaultnodesettings.SettingsModelBoolean;
 import org.knime.core.node.defaultnodesettings.SettingsModelColumnName;
+import org.knime.core.node.defaultnodesettings.SettingsModelIntegerBounded;
 import org.knime.core.node.defaultnodesettings.SettingsModelString;
 
 public class ReadFCSSetSettings {
@@ -35,6 +36,24 @@ public class ReadFCSSetSettings {
   static final Boolean DEFAULT_COMP = true;
   private static final SettingsModelBoolean mComp = new SettingsModelBoolean(KEY_COMP, DEFAULT_COMP);
   
+  // Read pipeline: files are mapped by the read threads, decoded and compensated by the decode
+  // threads and written to filestores in order by the node's own thread.
+  static final String KEY_READ_THREADS = "READ_THREADS";
+  static final int DEFAULT_READ_THREADS = 2;
+  private static final SettingsModelIntegerBounded mReadThreads =
+      new SettingsModelIntegerBounded(KEY_READ_THREADS, DEFAULT_READ_THREADS, 1, 64);
+
+  static final String KEY_DECODE_THREADS = "DECODE_THREADS";
+  static final int DEFAULT_DECODE_THREADS = Runtime.getRuntime().availableProcessors();
+  private static final SettingsModelIntegerBounded mDecodeThreads =
+      new SettingsModelIntegerBounded(KEY_DECODE_THREADS, DEFAULT_DECODE_THREADS, 1, 256);
+
+  // The number of files which may be read but not yet written.
+  static final String KEY_QUEUE_SIZE = "QUEUE_SIZE";
+  static final int DEFAULT_QUEUE_SIZE = DEFAULT_READ_THREADS + DEFAULT_DECODE_THREADS;
+  private static final SettingsModelIntegerBounded mQueueSize =
+      new SettingsModelIntegerBounded(KEY_QUEUE_SIZE, DEFAULT_QUEUE_SIZE, 1, 1024);
+
   public static String getPathValue() {
     return mPath.getStringValue();
   }
@@ -51,11 +70,26 @@ public class ReadFCSSetSettings {
     return mMode.getStringValue();
   }
 
+  public static int getReadThreads() {
+    return mReadThreads.getIntValue();
+  }
+
+  public static int getDecodeThreads() {
+    return mDecodeThreads.getIntValue();
+  }
+
+  public static int getQueueSize() {
+    return mQueueSize.getIntValue();
+  }
+
   public static void save(NodeSettingsWO settings) {
     mPath.saveSettingsTo(settings);
     mComp.saveSettingsTo(settings);
     mColumn.saveSettingsTo(settings);
     mMode.saveSettingsTo(settings);
+    mReadThreads.saveSettingsTo(settings);
+    mDecodeThreads.saveSettingsTo(settings);
+    mQueueSize.saveSettingsTo(settings);
   }
 
   public static void validate(NodeSettingsRO settings) throws InvalidSettingsException {
@@ -63,6 +97,12 @@ public class ReadFCSSetSettings {
     mComp.validateSettings(settings);
     mColumn.validateSettings(settings);
     mMode.validateSettings(settings);
+    // Pipeline settings are optional, workflows saved before they existed use the defaults.
+    if (settings.containsKey(KEY_READ_THREADS)) {
+      mReadThreads.validateSettings(settings);
+      mDecodeThreads.validateSettings(settings);
+      mQueueSize.validateSettings(settings);
+    }
   }
 
   public static void load(NodeSettingsRO settings) throws InvalidSettingsException {
@@ -70,5 +110,14 @@ public class ReadFCSSetSettings {
     mComp.loadSettingsFrom(settings);
     mColumn.loadSettingsFrom(settings);
     mMode.loadSettingsFrom(settings);
+    if (settings.containsKey(KEY_READ_THREADS)) {
+      mReadThreads.loadSettingsFrom(settings);
+      mDecodeThreads.loadSettingsFrom(settings);
+      mQueueSize.loadSettingsFrom(settings);
+    } else {
+      mReadThreads.setIntValue(DEFAULT_READ_THREADS);
+      mDecodeThreads.setIntValue(DEFAULT_DECODE_THREADS);
+      mQueueSize.setIntValue(DEFAULT_QUEUE_SIZE);
+    }
   }
 }
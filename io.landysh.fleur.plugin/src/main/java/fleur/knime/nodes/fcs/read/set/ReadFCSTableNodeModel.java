@@ -3,7 +3,6 @@ package fleur.knime.nodes.fcs.read.set;
 import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -31,6 +30,8 @@ import org.knime.core.node.defaultnodesettings.SettingsModelBoolean;
 import org.knime.core.node.defaultnodesettings.SettingsModelString;
 
 import fleur.core.data.FCSFrame;
+import fleur.core.fcs.EventBlock;
+import fleur.core.fcs.FCSEventIterator;
 import fleur.core.fcs.FCSFileReader;
 import fleur.core.utils.FCSUtilities;
 
@@ -163,27 +164,23 @@ public class ReadFCSTableNodeModel extends NodeModel {
 			// Read data section
 			dataTable = exec.createDataContainer(tableSpecs[1]);
 			if (!mHeaderOnly.getBooleanValue()) {
-				reader.initRowReader();
-				for (Integer j = 0; j < columnStore.getRowCount(); j++) {
-					final RowKey rowKey = new RowKey(j.toString());
-					DataCell[] dataCells = new DataCell[columnStore.getDimensionCount()];
-
-					final double[] fcsRow = reader.readRow();
-
-					// for each uncomped parameter TODO
-					List<String> colnames = reader.getFCSFrame().getDimensionNames();
-					Iterator<String> colIter = colnames.iterator();
-					while (colIter.hasNext()) {
-						String pName = colIter.next();
-						Integer pIndex = FCSUtilities.findParameterNumnberByName(reader.getHeader(), pName) - 1;
-						dataCells[pIndex] = new DoubleCell(fcsRow[pIndex]);
-					}
-					final DataRow dataRow = new DefaultRow(rowKey, dataCells);
-					dataTable.addRowToTable(dataRow);
-					if (j % 100 == 0) {
-						exec.checkCanceled();
-						exec.setProgress(j / (double) columnStore.getRowCount(), j + " rows read.");
+				// Stream fixed size blocks so memory use does not grow with the file.
+				final int rowCount = columnStore.getRowCount();
+				final FCSEventIterator events = reader.openEventIterator(FCSEventIterator.DEFAULT_BLOCK_SIZE);
+				while (events.hasNext()) {
+					final EventBlock block = events.next();
+					for (int i = 0; i < block.size(); i++) {
+						final long j = block.getStart() + i;
+						final RowKey rowKey = new RowKey(Long.toString(j));
+						DataCell[] dataCells = new DataCell[block.getParameterCount()];
+						for (int p = 0; p < dataCells.length; p++) {
+							dataCells[p] = new DoubleCell(block.getColumn(p)[i]);
+						}
+						dataTable.addRowToTable(new DefaultRow(rowKey, dataCells));
 					}
+					exec.checkCanceled();
+					long read = block.getStart() + block.size();
+					exec.setProgress(read / (double) rowCount, read + " rows read.");
 				}
 			}
 			// once we are done, we close the container and return its table
@@ -3,7 +3,9 @@ package fleur.knime.nodes.gating;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -33,6 +35,7 @@ import org.knime.core.node.NodeSettingsWO;
 import fleur.core.data.FCSFrame;
 import fleur.core.data.Subset;
 import fleur.core.gates.AbstractGate;
+import fleur.core.gates.GatingTree;
 import fleur.core.transforms.TransformSet;
 import fleur.core.utils.BitSetUtils;
 import fleur.core.utils.FCSUtilities;
@@ -121,33 +124,52 @@ private TransformSet transformSet;
     	transformSet = new TransformSet();
     }
         
+    List<AbstractGate> gates = modelSettings
+        .getNodes()
+        .values()
+        .stream()
+        .filter(node -> node instanceof AbstractGate)
+        .map(node -> (AbstractGate) node)
+        .collect(Collectors.toList());
+    GatingTree gatingTree = new GatingTree(gates);
+    // Gates only read the columns they are drawn on, everything else is referenced from the input.
+    List<String> gateDimensions = gates
+        .stream()
+        .flatMap(gate -> Arrays.stream(gate.getDimensions()))
+        .distinct()
+        .collect(Collectors.toList());
+    // An upstream preview is gated as it is, otherwise each frame is sampled for a new one.
+    FCSFrame inputPreview = null;
+    if (props.containsProperty(FCSUtilities.PROP_KEY_PREVIEW_FRAME)) {
+      inputPreview =
+          FCSFrame.loadFromProtoString(props.getProperty(FCSUtilities.PROP_KEY_PREVIEW_FRAME));
+    }
+
     List<FCSFrame> dataSet = new ArrayList<>();
     int i = 0;
     for (final DataRow inRow : inData[0]) {
       final DataCell[] outCells = new DataCell[inRow.getNumCells()];
       FCSFrameFileStoreDataCell cell = (FCSFrameFileStoreDataCell) inRow.getCell(index);
-      final FCSFrame df = cell.getFCSFrameValue();
-
-      List<AbstractGate> gates = modelSettings
-          .getNodes()
-          .values()
-          .stream()
-          .filter(node -> node instanceof AbstractGate)
-          .map(node -> (AbstractGate) node)
-          .collect(Collectors.toList());
-      gates
-        .stream()
-        .map(gate -> createSubset(gate, df))
-        .forEach(df::addSubset);
+      final FCSFrame gateData = cell.getFCSFrameValue(gateDimensions, Collections.emptyList());
+
+      // Each gate is only evaluated on the members of its parent.
+      Map<String, BitSet> masks = gatingTree.evaluate(gateData, transformSet);
+      final FCSFrame df = cell.getFCSFrameStructure();
+      addSubsets(df, gates, masks);
       
       final String fsName = NodeUtilities.getFileStoreName(df);
       final FileStore fs = fileStoreFactory.createFileStore(fsName);
-      int bytesWritten = NodeUtilities.writeFrameToFilestore(df, fs);
-      int summaryFrameSize = (int) (FCSUtilities.DEFAULT_MAX_SUMMARY_FRAME_VALUES/inData[0].size()/df.getDimensionCount());
-      BitSet mask = BitSetUtils.getShuffledMask(df.getRowCount(), summaryFrameSize);
-      FCSFrame fdf = FCSUtilities.filterFrame(mask, df);
-      dataSet.add(fdf);
-      final FCSFrameFileStoreDataCell fileCell = new FCSFrameFileStoreDataCell(fs, df, bytesWritten);
+      // Gating only adds subsets, the new filestore refers to the input's columns.
+      final FCSFrameFileStoreDataCell fileCell = NodeUtilities.writeDerivedFrameToFilestore(df,
+          fs, cell, null, Collections.emptyList());
+      if (inputPreview == null) {
+        FCSFrame values = cell.getFCSFrameValue();
+        int summaryFrameSize = (int) (FCSUtilities.DEFAULT_MAX_SUMMARY_FRAME_VALUES/inData[0].size()/values.getDimensionCount());
+        BitSet mask = BitSetUtils.getShuffledMask(values.getRowCount(), summaryFrameSize);
+        FCSFrame fdf = FCSUtilities.filterFrame(mask, values);
+        addSubsets(fdf, gates, gatingTree.evaluate(fdf, transformSet));
+        dataSet.add(fdf);
+      }
 
       for (int j = 0; j < outCells.length; j++) {
         if (j == index) {
@@ -167,7 +189,13 @@ private TransformSet transformSet;
     exec.setMessage("Creating summary frame.");
     BufferedDataTable table = container.getTable();
     String key = FCSUtilities.PROP_KEY_PREVIEW_FRAME;
-    FCSFrame summaryFrame = FCSUtilities.createSummaryFrame(dataSet, Integer.MAX_VALUE);
+    FCSFrame summaryFrame;
+    if (inputPreview == null) {
+      summaryFrame = FCSUtilities.createSummaryFrame(dataSet, Integer.MAX_VALUE);
+    } else {
+      summaryFrame = inputPreview;
+      addSubsets(summaryFrame, gates, gatingTree.evaluate(summaryFrame, transformSet));
+    }
     String value = summaryFrame.saveAsString();
     
     Map<String, String> newProps = new HashMap<>();
@@ -177,8 +205,14 @@ private TransformSet transformSet;
     return new BufferedDataTable[] {finalTable};
   }
 
-  private Subset createSubset(AbstractGate gate, FCSFrame outStore) {
-    BitSet mask = gate.evaluate(outStore, transformSet);
+  private void addSubsets(FCSFrame frame, List<AbstractGate> gates, Map<String, BitSet> masks) {
+    gates
+      .stream()
+      .map(gate -> createSubset(gate, masks.get(gate.getID())))
+      .forEach(frame::addSubset);
+  }
+
+  private Subset createSubset(AbstractGate gate, BitSet mask) {
     return new Subset(gate.getLabel(), 
         mask, gate.getParentID(), 
         gate.getID(), 
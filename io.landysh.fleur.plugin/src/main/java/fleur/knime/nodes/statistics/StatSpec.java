@@ -1,6 +1,8 @@
 package fleur.knime.nodes.statistics;
 
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
 
 import fleur.core.data.DomainObject;
 import fleur.core.data.FCSFrame;
@@ -38,6 +40,20 @@ public class StatSpec extends DomainObject implements Serializable{
     return stat.evaluate(dataFrame, refDimension, args);    
   }
 
+  /**
+   * @return the short names of the dimensions needed to evaluate this statistic.
+   */
+  public List<String> getRequiredDimensions() {
+    return stat.usesDimension() ? Collections.singletonList(refDimension) : Collections.emptyList();
+  }
+
+  /**
+   * @return the IDs of the subsets needed to evaluate this statistic.
+   */
+  public List<String> getRequiredSubsets() {
+    return stat.getSubsetIDs(args);
+  }
+
   public void setStatType(StatType newType) {
     this.stat = newType;    
   }
@@ -1,6 +1,8 @@
 package fleur.knime.nodes.statistics;
 
+import java.util.Arrays;
 import java.util.BitSet;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -132,6 +134,16 @@ public enum StatType {
       public String getLabel(String subsetLabel, String dimensionLabel, String[] args) {
         return subsetLabel + "Frequency of Parent";
       }
+
+      @Override
+      public boolean usesDimension() {
+        return false;
+      }
+
+      @Override
+      public List<String> getSubsetIDs(String[] args) {
+        return args == null ? Collections.emptyList() : Arrays.asList(args);
+      }
     }, COUNT {
       @Override
       public Double evaluate(FCSFrame dataFrame, String refDimension, String[] args) {
@@ -142,9 +154,28 @@ public enum StatType {
       public String getLabel(String subsetLabel, String dimensionLabel, String[] args) {
         return "Count: " + subsetLabel;
       }
+
+      @Override
+      public boolean usesDimension() {
+        return false;
+      }
     };
 
     public abstract Double evaluate(FCSFrame dataFrame, String refDimension, String[] args);
 
     public abstract String getLabel(String subsetLabel, String dimensionLabel, String[] args);
+
+    /**
+     * @return true if evaluate reads the values of the reference dimension.
+     */
+    public boolean usesDimension() {
+      return true;
+    }
+
+    /**
+     * @return the IDs of the subsets evaluate reads for the supplied arguments.
+     */
+    public List<String> getSubsetIDs(String[] args) {
+      return Collections.emptyList();
+    }
 }
@@ -3,7 +3,9 @@ package fleur.knime.nodes.statistics;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnSpec;
@@ -24,6 +26,7 @@ import org.knime.core.node.NodeModel;
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
 
+import fleur.core.data.FCSFrame;
 import fleur.knime.data.type.cell.fcs.FCSFrameFileStoreDataCell;
 
 /**
@@ -83,13 +86,19 @@ public class SummaryStatisticsNodeModel extends NodeModel {
     List<StatSpec> statDefinitions = modelSettings.getStatSpecs();
     int index = outSpec.findColumnIndex(columnName);
 
+    // Only read the dimensions and subsets the statistics use.
+    Set<String> dimensionNames = new HashSet<>();
+    Set<String> subsetIDs = new HashSet<>();
+    for (StatSpec stat : statDefinitions) {
+      dimensionNames.addAll(stat.getRequiredDimensions());
+      subsetIDs.addAll(stat.getRequiredSubsets());
+    }
 
     int i = 0;
     for (final DataRow inRow : inData[0]) {
       DataCell[] outCells = new DataCell[inRow.getNumCells() + statDefinitions.size()];
       FCSFrameFileStoreDataCell inFSDC = (FCSFrameFileStoreDataCell) inRow.getCell(index);
-      FCSFrameFileStoreDataCell fileCell =
-          new FCSFrameFileStoreDataCell(inFSDC.getFileStore(), inFSDC.getFCSFrameMetadata());
+      FCSFrameFileStoreDataCell fileCell = inFSDC.withMetadata(inFSDC.getFCSFrameMetadata());
       inRow.getNumCells();
       for (int j = 0; j < inRow.getNumCells(); j++) {
         if (j == index) {
@@ -100,8 +109,9 @@ public class SummaryStatisticsNodeModel extends NodeModel {
       }
 
       // calculate the statistics.
+      FCSFrame dataFrame = inFSDC.getFCSFrameValue(dimensionNames, subsetIDs);
       for (StatSpec stat : statDefinitions) {
-        Double value = stat.evaluate(inFSDC.getFCSFrameValue());
+        Double value = stat.evaluate(dataFrame);
         int statIndex = outSpec.findColumnIndex(stat.toString());
         outCells[statIndex] = new DoubleCell(value);
       }
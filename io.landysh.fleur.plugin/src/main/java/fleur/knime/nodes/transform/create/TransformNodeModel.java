@@ -176,7 +176,7 @@ public class TransformNodeModel extends NodeModel {
       
       for (int j = 0; j < outCells.length; j++) {
         if (j == columnIndex) {
-          outCells[j] = new FCSFrameFileStoreDataCell(fileCell.getFileStore(), newMetaData);
+          outCells[j] = fileCell.withMetadata(newMetaData);
         } else {
           outCells[j] = inRow.getCell(j);
         }
@@ -35,7 +35,6 @@ import fleur.core.data.FCSFrame;
 import fleur.core.data.Subset;
 import fleur.core.transforms.TransformSet;
 import fleur.core.utils.FCSUtilities;
-import fleur.core.utils.MatrixUtilities;
 import fleur.knime.core.NodeUtilities;
 import fleur.knime.data.type.cell.fcs.FCSFrameFileStoreDataCell;
 
@@ -126,12 +125,8 @@ public class ExtractDataNodeModel extends NodeModel {
   }
 
   private void writeFrame(FCSFrame df, BufferedDataContainer container, ExecutionContext exec) {
-    double[][] data = df.getMatrix(df.getDimensionNames());
-    if (mTransform.getBooleanValue()){
-    	List<String> names = df.getDimensionNames();
-      FCSUtilities.transformMatrix(names, transformSet, data);
-    }
-    double[][] rowData = MatrixUtilities.transpose(data);
+    TransformSet transforms = mTransform.getBooleanValue() ? transformSet : null;
+    double[][] rowData = FCSUtilities.getRowMatrix(df, df.getDimensionNames(), transforms);
     List<Subset> subsets = df.getSubsets();
     for (int i=0;i<rowData.length;i++){
       RowKey rowKey = new RowKey(UUID.randomUUID().toString());//TODO maybe not efficient. 
@@ -148,10 +143,10 @@ public class ExtractDataNodeModel extends NodeModel {
       
       String subsetLabel = "Ungated";
       for (int k=0;k<subsets.size();k++){
-        if (subsets.get(k).getMembers().get(i)){
+        if (subsets.get(k).getMemberSet().contains(i)){
           subsetLabel = subsetLabel + File.separatorChar + subsets.get(k).getLabel();
         }
-        dataCells[df.getDimensionCount() + k] = subsets.get(k).getMembers().get(i) ? new StringCell(subsets.get(k).getLabel()): new StringCell("");
+        dataCells[df.getDimensionCount() + k] = subsets.get(k).getMemberSet().contains(i) ? new StringCell(subsets.get(k).getLabel()): new StringCell("");
       }
       if(!subsets.isEmpty()){
         dataCells[dataCells.length-2] = new StringCell(subsetLabel);
@@ -1,10 +1,9 @@
 package fleur.knime.ports.fcs;
 
-import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.lang.ref.WeakReference;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -29,6 +28,7 @@ import org.knime.core.node.port.PortTypeRegistry;
 import com.google.common.collect.Lists;
 
 import fleur.core.data.FCSFrame;
+import fleur.core.data.FrameCache;
 import fleur.knime.core.NodeUtilities;
 import fleur.knime.data.type.cell.fcs.FCSFrameContent;
 import fleur.knime.data.type.cell.fcs.FCSFrameFileStoreDataCell;
@@ -84,16 +84,7 @@ public class FCSFramePortObject extends FileStorePortObject {
   }
 
   private FCSFrame deserialize() throws IOException {
-    final File file = getFileStore(0).getFile();
-    FCSFrame df;
-    try {
-      final FileInputStream input = new FileInputStream(file);
-      df = FCSFrame.load(input);
-    } catch (final Exception e) {
-      logger.error("Unable to deserialize port object", e);
-      throw new IOException();
-    }
-    return df;
+    return getColumnStore(null, null);
   }
 
   public FCSFrame getColumnStore(ExecutionContext exec) throws IOException {
@@ -115,6 +106,21 @@ public class FCSFramePortObject extends FileStorePortObject {
     }
   }
 
+  /**
+   * Reads only the named dimensions and subsets (plus their ancestors) from the filestore, null
+   * reads all of them.
+   */
+  public FCSFrame getColumnStore(Collection<String> dimensionNames, Collection<String> subsetIDs)
+      throws IOException {
+    try {
+      return FrameCache.getDefault().read(getFileStore(0).getFile(), null, dimensionNames,
+          subsetIDs);
+    } catch (final Exception e) {
+      logger.error("Unable to deserialize port object", e);
+      throw new IOException();
+    }
+  }
+
   public Map<String, String> getHeader() {
     return mSpec.getKeywords();
   }
@@ -0,0 +1,54 @@
+package inflor.integration;
+
+import java.io.RandomAccessFile;
+
+import fleur.core.fcs.FCSFileReader;
+import fleur.core.utils.MatrixUtilities;
+
+public class BulkFileDecoding {
+  static final int ITERATIONS = 20;
+
+  public static void main(String[] args) throws Exception {
+    String path = args.length > 0 ? args[0] : "src/resources/fcs/logicle-example.fcs";
+
+    // Warm up both paths before timing.
+    for (int i = 0; i < 3; i++) {
+      readByRow(path);
+      readBulk(path);
+    }
+
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      readByRow(path);
+    }
+    long end = System.nanoTime();
+    System.out.println("Millis per file, row reader + transpose: "
+        + (end - start) / 1e6 / ITERATIONS);
+
+    start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      readBulk(path);
+    }
+    end = System.nanoTime();
+    System.out.println("Millis per file, bulk columnar decode: " + (end - start) / 1e6 / ITERATIONS);
+  }
+
+  private static double[][] readByRow(String path) throws Exception {
+    try (RandomAccessFile raf = new RandomAccessFile(path, "r")) {
+      FCSFileReader reader = new FCSFileReader(path, raf);
+      reader.initRowReader();
+      double[][] rows = new double[reader.getFCSFrame().getRowCount()][];
+      for (int i = 0; i < rows.length; i++) {
+        rows[i] = reader.readRow();
+      }
+      return MatrixUtilities.transpose(rows);
+    }
+  }
+
+  private static void readBulk(String path) throws Exception {
+    try (RandomAccessFile raf = new RandomAccessFile(path, "r")) {
+      FCSFileReader reader = new FCSFileReader(path, raf);
+      reader.readData();
+    }
+  }
+}
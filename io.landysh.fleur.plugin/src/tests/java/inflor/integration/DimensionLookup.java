@@ -0,0 +1,127 @@
+package inflor.integration;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+import fleur.core.data.FCSDimension;
+import fleur.core.data.FCSFrame;
+
+public class DimensionLookup {
+  static final int DIMENSIONS = 60;
+  static final int ROWS = 100000;
+  static final int ITERATIONS = 20;
+  static final int LOOKUPS = 1000;
+  // Rows read per iteration by the row benchmarks.
+  static final int ROW_STEP = 10;
+
+  public static void main(String[] args) throws Exception {
+    FCSFrame frame = createFrame();
+    List<String> names = frame.getDimensionNames();
+
+    // Warm up both paths before timing.
+    for (int i = 0; i < 3; i++) {
+      lookupByScan(frame, names);
+      lookupByName(frame, names);
+      rowsByScan(frame);
+      rowsIndexed(frame);
+    }
+
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      lookupByScan(frame, names);
+    }
+    long end = System.nanoTime();
+    System.out.println("Micros per " + DIMENSIONS * LOOKUPS + " lookups, scanning: "
+        + (end - start) / 1e3 / ITERATIONS);
+
+    start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      lookupByName(frame, names);
+    }
+    end = System.nanoTime();
+    System.out.println("Micros per " + DIMENSIONS * LOOKUPS + " lookups, indexed: "
+        + (end - start) / 1e3 / ITERATIONS);
+
+    start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      rowsByScan(frame);
+    }
+    end = System.nanoTime();
+    System.out.println("Millis per " + ROWS / ROW_STEP + " rows, lookup per value: "
+        + (end - start) / 1e6 / ITERATIONS);
+
+    start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      rowsIndexed(frame);
+    }
+    end = System.nanoTime();
+    System.out.println("Millis per " + ROWS / ROW_STEP + " rows, reused row buffer: "
+        + (end - start) / 1e6 / ITERATIONS);
+  }
+
+  private static FCSFrame createFrame() {
+    Random random = new Random(42);
+    FCSFrame frame = new FCSFrame(new HashMap<>(), ROWS);
+    for (int i = 1; i <= DIMENSIONS; i++) {
+      FCSDimension dimension = new FCSDimension(ROWS, i, "P" + i, "", 0, 0, 262144);
+      double[] data = new double[ROWS];
+      for (int j = 0; j < ROWS; j++) {
+        data[j] = random.nextDouble() * 262144;
+      }
+      dimension.setData(data);
+      frame.addDimension(dimension);
+    }
+    return frame;
+  }
+
+  // How dimensions were found before the frame kept an index.
+  private static FCSDimension scan(FCSFrame frame, String name) {
+    return frame.getData().stream().filter(dim -> name.equals(dim.getShortName())).findAny()
+        .get();
+  }
+
+  private static double lookupByScan(FCSFrame frame, List<String> names) {
+    double sum = 0;
+    for (int i = 0; i < LOOKUPS; i++) {
+      for (String name : names) {
+        sum += scan(frame, name).getValue(i);
+      }
+    }
+    return sum;
+  }
+
+  private static double lookupByName(FCSFrame frame, List<String> names) {
+    double sum = 0;
+    for (int i = 0; i < LOOKUPS; i++) {
+      for (String name : names) {
+        sum += frame.getDimension(name).getValue(i);
+      }
+    }
+    return sum;
+  }
+
+  private static double rowsByScan(FCSFrame frame) {
+    double sum = 0;
+    List<String> names = new ArrayList<>(frame.getDimensionNames());
+    for (int i = 0; i < ROWS; i += ROW_STEP) {
+      double[] row = new double[names.size()];
+      for (int j = 0; j < row.length; j++) {
+        row[j] = scan(frame, names.get(j)).getValue(i);
+      }
+      sum += row[0];
+    }
+    return sum;
+  }
+
+  private static double rowsIndexed(FCSFrame frame) {
+    double sum = 0;
+    double[] row = new double[frame.getDimensionCount()];
+    for (int i = 0; i < ROWS; i += ROW_STEP) {
+      frame.getRow(i, row);
+      sum += row[0];
+    }
+    return sum;
+  }
+}
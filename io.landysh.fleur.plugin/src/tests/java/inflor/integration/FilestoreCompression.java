@@ -0,0 +1,69 @@
+package inflor.integration;
+
+import java.io.File;
+
+import fleur.core.data.FCSFrame;
+import fleur.core.data.FCSFrameFile;
+import fleur.core.fcs.FCSFileReader;
+
+public class FilestoreCompression {
+  static final int ITERATIONS = 50;
+
+  public static void main(String[] args) throws Exception {
+    String folder = args.length > 0 ? args[0] : "src/resources/fcs";
+    File[] files = new File(folder).listFiles((dir, name) -> name.endsWith(".fcs"));
+    long rawTotal = 0;
+    long compressedTotal = 0;
+    for (File fcs : files) {
+      FCSFrame frame = FCSFileReader.read(fcs.getAbsolutePath());
+      File raw = File.createTempFile("raw", ".fleur");
+      File compressed = File.createTempFile("compressed", ".fleur");
+      raw.deleteOnExit();
+      compressed.deleteOnExit();
+
+      long rawSize = FCSFrameFile.write(frame, raw, false);
+      long compressedSize = FCSFrameFile.write(frame, compressed, true);
+      rawTotal += rawSize;
+      compressedTotal += compressedSize;
+
+      // Warm up both paths before timing.
+      for (int i = 0; i < 3; i++) {
+        FCSFrameFile.write(frame, raw, false);
+        FCSFrameFile.write(frame, compressed, true);
+        FCSFrameFile.read(raw);
+        FCSFrameFile.read(compressed);
+      }
+      double rawWrite = timeWrites(frame, raw, false);
+      double compressedWrite = timeWrites(frame, compressed, true);
+      double rawRead = timeReads(raw);
+      double compressedRead = timeReads(compressed);
+
+      double megabytes = rawSize / 1e6;
+      System.out.println(fcs.getName() + ": ratio "
+          + String.format("%.2f", rawSize / (double) compressedSize) + ", write MB/s raw " + String.format("%.0f", megabytes / rawWrite)
+          + " compressed " + String.format("%.0f", megabytes / compressedWrite)
+          + ", read MB/s raw " + String.format("%.0f", megabytes / rawRead)
+          + " compressed " + String.format("%.0f", megabytes / compressedRead));
+    }
+    System.out.println(
+        "Overall ratio: " + String.format("%.2f", rawTotal / (double) compressedTotal));
+  }
+
+  // Seconds per write.
+  private static double timeWrites(FCSFrame frame, File file, boolean compress) throws Exception {
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      FCSFrameFile.write(frame, file, compress);
+    }
+    return (System.nanoTime() - start) / 1e9 / ITERATIONS;
+  }
+
+  // Seconds per read.
+  private static double timeReads(File file) throws Exception {
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      FCSFrameFile.read(file);
+    }
+    return (System.nanoTime() - start) / 1e9 / ITERATIONS;
+  }
+}
@@ -0,0 +1,108 @@
+package inflor.integration;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import fleur.core.data.FCSDimension;
+import fleur.core.data.FCSFrame;
+import fleur.core.gates.AbstractGate;
+import fleur.core.gates.GatingTree;
+import fleur.core.gates.PolygonGate;
+import fleur.core.gates.RangeGate;
+import fleur.core.transforms.BoundDisplayTransform;
+import fleur.core.transforms.TransformSet;
+
+/**
+ * Times polygon and range gate evaluation on pools of increasing parallelism, to show how chunked
+ * evaluation scales with cores, then a chain of nested gates evaluated independently and as a
+ * GatingTree.
+ */
+public class GateEvaluation {
+  static final int ROWS = 10000000;
+  static final int WARMUP = 3;
+  static final int RUNS = 5;
+
+  public static void main(String[] args) throws Exception {
+    FCSFrame frame = new FCSFrame(new HashMap<>(), ROWS);
+    Random random = new Random(1);
+    TransformSet transforms = new TransformSet();
+    for (String name : new String[] {"FSC-A", "SSC-A"}) {
+      double[] values = new double[ROWS];
+      for (int i = 0; i < ROWS; i++) {
+        values[i] = random.nextDouble() * 262144;
+      }
+      FCSDimension dimension =
+          new FCSDimension(ROWS, frame.getDimensionCount(), name, "", 0, 0, 262144);
+      dimension.setData(values);
+      frame.addDimension(dimension);
+      transforms.addTransformEntry(name, new BoundDisplayTransform(0, 262144));
+    }
+    AbstractGate polygon = new PolygonGate("Lymphocytes", "FSC-A",
+        new double[] {20000, 90000, 120000, 40000}, "SSC-A",
+        new double[] {5000, 10000, 80000, 60000});
+    AbstractGate range = new RangeGate("Cells", new String[] {"FSC-A", "SSC-A"},
+        new double[] {40000, 6000}, new double[] {250000, 200000});
+
+    int cores = Runtime.getRuntime().availableProcessors();
+    for (int threads = 1; threads <= cores; threads *= 2) {
+      ForkJoinPool pool = new ForkJoinPool(threads);
+      for (AbstractGate gate : new AbstractGate[] {polygon, range}) {
+        for (int i = 0; i < WARMUP; i++) {
+          pool.submit(() -> gate.evaluate(frame, transforms)).get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) {
+          pool.submit(() -> gate.evaluate(frame, transforms)).get();
+        }
+        double millis = (System.nanoTime() - start) / 1e6 / RUNS;
+        System.out.println(gate.getClass().getSimpleName() + ", " + threads
+            + " threads, Millis per evaluation: " + millis);
+      }
+      pool.shutdown();
+    }
+
+    // A chain of nested gates, each keeping roughly half of its parent.
+    List<AbstractGate> chain = new ArrayList<>();
+    String parentID = null;
+    for (int depth = 0; depth < 6; depth++) {
+      double upper = 262144 / Math.pow(Math.sqrt(2), depth + 1);
+      AbstractGate gate = new RangeGate("Level " + depth, new String[] {"FSC-A", "SSC-A"},
+          new double[] {0, 0}, new double[] {upper, upper});
+      gate.setParentID(parentID);
+      parentID = gate.getID();
+      chain.add(gate);
+    }
+    GatingTree tree = new GatingTree(chain);
+    for (int i = 0; i < WARMUP; i++) {
+      evaluateIndependently(chain, frame, transforms);
+      tree.evaluate(frame, transforms);
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < RUNS; i++) {
+      evaluateIndependently(chain, frame, transforms);
+    }
+    System.out.println(
+        "Independent gates, Millis per tree: " + (System.nanoTime() - start) / 1e6 / RUNS);
+    start = System.nanoTime();
+    for (int i = 0; i < RUNS; i++) {
+      tree.evaluate(frame, transforms);
+    }
+    System.out.println("GatingTree, Millis per tree: " + (System.nanoTime() - start) / 1e6 / RUNS);
+  }
+
+  private static void evaluateIndependently(List<AbstractGate> chain, FCSFrame frame,
+      TransformSet transforms) {
+    BitSet mask = null;
+    for (AbstractGate gate : chain) {
+      BitSet gateMask = gate.evaluate(frame, transforms);
+      if (mask != null) {
+        gateMask.and(mask);
+      }
+      mask = gateMask;
+    }
+  }
+}
@@ -0,0 +1,82 @@
+package inflor.integration;
+
+import java.util.Random;
+
+import fleur.core.data.Histogram1D;
+import fleur.core.data.Histogram2D;
+import fleur.core.plots.ChartingDefaults;
+
+/**
+ * Times Histogram1D and Histogram2D against the per value loops they replaced, the 2D one with its
+ * per event mask, on typical column lengths. Run with -XX:-UseSuperWord to see the binning kernel
+ * without vectorization and with -Djava.util.concurrent.ForkJoinPool.common.parallelism=1 to see
+ * a single partial histogram.
+ */
+public class KernelEvaluation {
+  static final int[] LENGTHS = {1000000, 20000000};
+  static final int WARMUP = 5;
+  static final int RUNS = 10;
+  static final int BIN_COUNT = 256;
+  static final double MAX = 262144;
+
+  public static void main(String[] args) throws Exception {
+    for (int length : LENGTHS) {
+      Random random = new Random(1);
+      double[] xValues = new double[length];
+      double[] yValues = new double[length];
+      for (int i = 0; i < length; i++) {
+        xValues[i] = random.nextDouble() * 300000 - 20000;
+        yValues[i] = random.nextDouble() * 300000 - 20000;
+      }
+
+      double scalar1D = time(() -> {
+        double width = MAX / BIN_COUNT;
+        double[] counts = new double[BIN_COUNT];
+        for (int i = 0; i < length; i++) {
+          int bin = (int) (xValues[i] / width);
+          if (bin >= BIN_COUNT) {
+            bin = BIN_COUNT - 1;
+          } else if (bin <= 0) {
+            bin = 0;
+          }
+          counts[bin]++;
+        }
+      });
+      double kernel1D = time(() -> new Histogram1D(xValues, 0, MAX, BIN_COUNT));
+      double scalar2D = time(() -> {
+        int binCount = ChartingDefaults.BIN_COUNT;
+        double width = MAX / binCount;
+        double[] zValues = new double[binCount * binCount];
+        double[][] mask = new double[2][length];
+        for (int i = 0; i < length; i++) {
+          int xBin = (int) (xValues[i] / width);
+          int yBin = (int) (yValues[i] / width);
+          int index = binCount * xBin + yBin;
+          if (index < 0) {
+            index = 0;
+          } else if (index > zValues.length - 1) {
+            index = zValues.length - 1;
+          }
+          zValues[index]++;
+          mask[0][i] = (double) xBin * width;
+        }
+      });
+      double kernel2D = time(() -> new Histogram2D(xValues, 0, MAX, yValues, 0, MAX));
+
+      System.out.println("Millis per " + length + " values, 1D histogram per value: " + scalar1D
+          + ", kernel: " + kernel1D + ", 2D histogram per value: " + scalar2D + ", kernel: "
+          + kernel2D);
+    }
+  }
+
+  private static double time(Runnable task) {
+    for (int i = 0; i < WARMUP; i++) {
+      task.run();
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < RUNS; i++) {
+      task.run();
+    }
+    return (System.nanoTime() - start) / 1e6 / RUNS;
+  }
+}
@@ -0,0 +1,94 @@
+package inflor.integration;
+
+import java.util.Random;
+
+import edu.stanford.facs.logicle.FastLogicle;
+import edu.stanford.facs.logicle.Logicle;
+import fleur.core.transforms.LogicleLookupTable;
+
+/**
+ * Times the Logicle lookup table against FastLogicle for typical parameters and reports the error
+ * of both against the exact Logicle.
+ */
+public class LogicleEvaluation {
+  static final int VALUES = 2000000;
+  static final int ERROR_SAMPLES = 200000;
+  static final int WARMUP = 3;
+  static final int RUNS = 5;
+  static final double[][] PARAMETERS =
+      {{262144, 0.5, 4.5, 0}, {262144, 1, 4.5, 0.5}, {262144, 0.2, 4.5, 0}, {10000, 0.5, 4, 0}};
+
+  public static void main(String[] args) throws Exception {
+    for (double[] p : PARAMETERS) {
+      String name = "T=" + p[0] + ", W=" + p[1] + ", M=" + p[2] + ", A=" + p[3];
+      Logicle exact = new Logicle(p[0], p[1], p[2], p[3]);
+      FastLogicle fast = new FastLogicle(p[0], p[1], p[2], p[3]);
+      long start = System.nanoTime();
+      LogicleLookupTable table = new LogicleLookupTable(p[0], p[1], p[2], p[3]);
+      System.out.println(name + ", Millis to build table: " + (System.nanoTime() - start) / 1e6);
+
+      // Cytometry like data, a population around zero and others spread over the decades.
+      double min = exact.inverse(0);
+      // FastLogicle rejects values below its own, slightly different, lower bound.
+      double lower = Math.max(min, fast.inverse(0.0));
+      Random random = new Random(1);
+      double[] raw = new double[VALUES];
+      double[] scales = new double[VALUES];
+      for (int i = 0; i < VALUES; i++) {
+        double value = i % 3 == 0 ? random.nextGaussian() * 2 * Math.abs(min)
+            : Math.pow(10, random.nextDouble() * Math.log10(p[0]));
+        raw[i] = Math.min(Math.nextDown(p[0]), Math.max(lower, value));
+        scales[i] = random.nextDouble();
+      }
+      double[] dest = new double[VALUES];
+
+      double fastMillis = time(() -> {
+        for (int i = 0; i < VALUES; i++) {
+          dest[i] = fast.scale(raw[i]);
+        }
+      });
+      double tableMillis = time(() -> table.scale(raw, 0, dest, 0, VALUES));
+      double fastInverseMillis = time(() -> {
+        for (int i = 0; i < VALUES; i++) {
+          dest[i] = fast.inverse(scales[i]);
+        }
+      });
+      double tableInverseMillis = time(() -> table.inverse(scales, 0, dest, 0, VALUES));
+      System.out.println(name + ", Millis per " + VALUES + " values, scale FastLogicle: "
+          + fastMillis + ", table: " + tableMillis + ", inverse FastLogicle: " + fastInverseMillis
+          + ", table: " + tableInverseMillis);
+
+      double fastError = 0;
+      double tableError = 0;
+      double fastInverseError = 0;
+      double tableInverseError = 0;
+      for (int i = 0; i < ERROR_SAMPLES; i++) {
+        double expected = exact.scale(raw[i]);
+        fastError = Math.max(fastError, Math.abs(fast.scale(raw[i]) - expected));
+        tableError = Math.max(tableError, Math.abs(table.scale(raw[i]) - expected));
+        double expectedRaw = exact.inverse(scales[i]);
+        double tolerance = Math.max(1, Math.abs(expectedRaw));
+        fastInverseError = Math.max(fastInverseError,
+            Math.abs(fast.inverse(scales[i]) - expectedRaw) / tolerance);
+        tableInverseError = Math.max(tableInverseError,
+            Math.abs(table.inverse(scales[i]) - expectedRaw) / tolerance);
+      }
+      System.out.println(name + ", Max scale error FastLogicle: " + fastError + ", table: "
+          + tableError + " (measured bound " + table.getMaxError() + ")");
+      System.out.println(name + ", Max relative inverse error FastLogicle: " + fastInverseError
+          + ", table: " + tableInverseError + " (measured bound " + table.getMaxInverseError()
+          + ")");
+    }
+  }
+
+  private static double time(Runnable task) {
+    for (int i = 0; i < WARMUP; i++) {
+      task.run();
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < RUNS; i++) {
+      task.run();
+    }
+    return (System.nanoTime() - start) / 1e6 / RUNS;
+  }
+}
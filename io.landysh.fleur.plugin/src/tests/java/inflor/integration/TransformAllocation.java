@@ -0,0 +1,71 @@
+package inflor.integration;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+import fleur.core.data.FCSDimension;
+import fleur.core.data.FCSFrame;
+import fleur.core.transforms.LogicleTransform;
+import fleur.core.transforms.TransformSet;
+import fleur.core.utils.FCSUtilities;
+import fleur.core.utils.MatrixUtilities;
+
+/**
+ * Compares the memory allocated and time taken by transforming a frame into a row matrix through
+ * whole column transforms and a transpose, as before, and through FCSUtilities.getRowMatrix().
+ */
+public class TransformAllocation {
+  static final int ROWS = 1000000;
+  static final int DIMENSIONS = 20;
+  static final int RUNS = 3;
+
+  public static void main(String[] args) throws Exception {
+    FCSFrame frame = new FCSFrame(new HashMap<>(), ROWS);
+    TransformSet transforms = new TransformSet();
+    List<String> names = new ArrayList<>();
+    Random random = new Random(1);
+    for (int d = 0; d < DIMENSIONS; d++) {
+      String name = "P" + d;
+      double[] values = new double[ROWS];
+      for (int i = 0; i < ROWS; i++) {
+        values[i] = random.nextDouble() * 262144;
+      }
+      FCSDimension dimension = new FCSDimension(ROWS, d, name, "", 0, 0, 262144);
+      dimension.setData(values);
+      frame.addDimension(dimension);
+      transforms.addTransformEntry(name, new LogicleTransform(262144));
+      names.add(name);
+    }
+
+    for (int run = 0; run < RUNS; run++) {
+      long bytes = allocatedBytes();
+      long start = System.nanoTime();
+      double[][] columns = frame.getMatrix(names);
+      FCSUtilities.transformMatrix(names, transforms, columns);
+      double[][] rows = MatrixUtilities.transpose(columns);
+      report("Column transforms and transpose", start, bytes, rows);
+
+      bytes = allocatedBytes();
+      start = System.nanoTime();
+      rows = FCSUtilities.getRowMatrix(frame, names, transforms);
+      report("Chunked row matrix", start, bytes, rows);
+    }
+  }
+
+  private static void report(String name, long start, long bytes, double[][] rows) {
+    double millis = (System.nanoTime() - start) / 1e6;
+    double megabytes = (allocatedBytes() - bytes) / 1e6;
+    // The row matrix itself is the same for both, a header and values per row plus a reference.
+    double resultMegabytes = rows.length * (16 + DIMENSIONS * 8.0 + 4) / 1e6;
+    System.out.println(name + ", Millis: " + millis + ", MB allocated besides the result: "
+        + (megabytes - resultMegabytes));
+  }
+
+  private static long allocatedBytes() {
+    return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+        .getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+}
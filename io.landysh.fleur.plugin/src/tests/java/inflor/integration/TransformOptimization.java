@@ -0,0 +1,66 @@
+package inflor.integration;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+import fleur.core.data.FCSDimension;
+import fleur.core.data.FCSFrame;
+import fleur.core.transforms.LogicleTransform;
+import fleur.core.transforms.TransformSet;
+
+/**
+ * Times optimizing a Logicle transform over several frames from percentiles of each column, as
+ * before, and through TransformSet.optimizeTransform(), which sketches each column.
+ */
+public class TransformOptimization {
+  static final int ROWS = 1000000;
+  static final int FRAMES = 8;
+  static final int RUNS = 3;
+  static final String NAME = "FITC-A";
+
+  public static void main(String[] args) throws Exception {
+    List<FCSFrame> frames = new ArrayList<>();
+    Random random = new Random(1);
+    for (int f = 0; f < FRAMES; f++) {
+      FCSFrame frame = new FCSFrame(new HashMap<>(), ROWS);
+      float[] values = new float[ROWS];
+      for (int i = 0; i < ROWS; i++) {
+        values[i] = (float) (i % 3 == 0 ? random.nextGaussian() * 200
+            : Math.pow(10, random.nextDouble() * Math.log10(262144)));
+      }
+      FCSDimension dimension = new FCSDimension(ROWS, 0, NAME, "", 0, 0, 262144);
+      dimension.setFloatData(values);
+      frame.addDimension(dimension);
+      frames.add(frame);
+    }
+
+    for (int run = 0; run < RUNS; run++) {
+      long start = System.nanoTime();
+      LogicleTransform merged = null;
+      // One transform optimized frame after frame, as TransformSet does.
+      LogicleTransform transform = new LogicleTransform(262144);
+      for (FCSFrame frame : frames) {
+        transform.optimize(frame.getDimension(NAME).getData());
+        merged = merged == null
+            ? new LogicleTransform(transform.getT(), transform.getW(), transform.getM(),
+                transform.getA())
+            : new LogicleTransform(Math.max(merged.getT(), transform.getT()),
+                Math.max(merged.getW(), transform.getW()),
+                Math.max(merged.getM(), transform.getM()),
+                Math.max(merged.getA(), transform.getA()));
+      }
+      double percentileMillis = (System.nanoTime() - start) / 1e6;
+
+      start = System.nanoTime();
+      TransformSet transforms = new TransformSet();
+      transforms.optimizeTransform(NAME, frames);
+      double sketchMillis = (System.nanoTime() - start) / 1e6;
+      System.out.println("Millis per " + FRAMES + " frames of " + ROWS + " values, percentiles: "
+          + percentileMillis + ", sketches: " + sketchMillis);
+      System.out.println("Percentiles: " + merged.getDetails() + ", sketches: "
+          + transforms.get(NAME).getDetails());
+    }
+  }
+}
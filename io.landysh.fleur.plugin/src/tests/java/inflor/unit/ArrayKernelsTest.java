@@ -0,0 +1,96 @@
+package inflor.unit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+import fleur.core.data.Histogram1D;
+import fleur.core.data.Histogram2D;
+import fleur.core.plots.ChartingDefaults;
+import fleur.core.utils.ArrayKernels;
+
+public class ArrayKernelsTest {
+
+  private static final int ROWS = 20001;
+
+  private static double[] values(long seed) {
+    final Random random = new Random(seed);
+    final double[] values = new double[ROWS];
+    for (int i = 0; i < ROWS; i++) {
+      values[i] = random.nextDouble() * 300000 - 20000;
+    }
+    // Values the scalar code handles through its branches.
+    values[0] = Double.NaN;
+    values[1] = Double.NEGATIVE_INFINITY;
+    values[2] = Double.POSITIVE_INFINITY;
+    values[3] = 0;
+    values[4] = 262144;
+    return values;
+  }
+
+  @Test
+  public void testBinMatchesScalar() throws Exception {
+    // Setup
+    final double[] values = values(19);
+    final double origin = -1000;
+    final int[] expected = new int[ROWS];
+    for (int i = 0; i < ROWS; i++) {
+      expected[i] = (int) ((values[i] - origin) / 1024);
+    }
+
+    // Test
+    final int[] bins = new int[ROWS];
+    ArrayKernels.bin(values, 0, bins, ROWS, origin, 1024);
+
+    // Assert
+    assertArrayEquals(expected, bins);
+    System.out.println("ArrayKernelsTest::testBinMatchesScalar completed.");
+  }
+
+  @Test
+  public void testHistogram1D() throws Exception {
+    // Setup
+    final double[] values = values(23);
+    final int binCount = 256;
+    final double deltaX = 262144.0 / binCount;
+    final double[] expected = new double[binCount];
+    for (int i = 0; i < ROWS; i++) {
+      int bin = (int) (values[i] / deltaX);
+      expected[Math.min(Math.max(bin, 0), binCount - 1)]++;
+    }
+
+    // Test
+    final Histogram1D histogram = new Histogram1D(values, 0, 262144, binCount);
+
+    // Assert
+    assertArrayEquals(expected, histogram.getData()[1], 0);
+    assertEquals(ROWS, Arrays.stream(histogram.getData()[1]).sum(), 0);
+    System.out.println("ArrayKernelsTest::testHistogram1D completed.");
+  }
+
+  @Test
+  public void testHistogram2D() throws Exception {
+    // Setup
+    final double[] xValues = values(29);
+    final double[] yValues = values(31);
+    final int binCount = ChartingDefaults.BIN_COUNT;
+    final double width = 262144.0 / binCount;
+    final double[] expected = new double[binCount * binCount];
+    for (int i = 0; i < ROWS; i++) {
+      final int xBin = Math.min(Math.max((int) (xValues[i] / width), 0), binCount - 1);
+      final int yBin = Math.min(Math.max((int) (yValues[i] / width), 0), binCount - 1);
+      expected[binCount * xBin + yBin]++;
+    }
+
+    // Test
+    final Histogram2D histogram = new Histogram2D(xValues, 0, 262144, yValues, 0, 262144);
+
+    // Assert
+    assertArrayEquals(expected, histogram.getZValues(), 0);
+    System.out.println("ArrayKernelsTest::testHistogram2D completed.");
+  }
+}
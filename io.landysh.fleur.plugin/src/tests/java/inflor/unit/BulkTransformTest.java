@@ -0,0 +1,103 @@
+package inflor.unit;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import fleur.core.data.FCSDimension;
+import fleur.core.data.FCSFrame;
+import fleur.core.transforms.AbstractTransform;
+import fleur.core.transforms.BoundDisplayTransform;
+import fleur.core.transforms.LogicleTransform;
+import fleur.core.transforms.LogrithmicTransform;
+import fleur.core.transforms.TransformSet;
+import fleur.core.utils.FCSUtilities;
+import fleur.core.utils.MatrixUtilities;
+
+public class BulkTransformTest {
+
+  private static final int ROWS = 20001;
+
+  @Test
+  public void testBulkVariantsMatchScalar() throws Exception {
+    // Setup
+    final Random random = new Random(13);
+    final double[] raw = new double[ROWS];
+    final float[] floats = new float[ROWS];
+    for (int i = 0; i < ROWS; i++) {
+      raw[i] = random.nextDouble() * 300000 - 500;
+      floats[i] = (float) raw[i];
+    }
+    final FCSDimension floatDimension = new FCSDimension(ROWS, 0, "F", "", 0, 0, 262144);
+    floatDimension.setFloatData(floats);
+    final AbstractTransform[] transforms = {new LogicleTransform(262144),
+        new LogrithmicTransform(1, 262144), new BoundDisplayTransform(0, 262144)};
+
+    for (AbstractTransform transform : transforms) {
+      final double[] expected = new double[ROWS];
+      final double[] expectedFloat = new double[ROWS];
+      for (int i = 0; i < ROWS; i++) {
+        expected[i] = transform.transform(raw[i]);
+        expectedFloat[i] = transform.transform((double) floats[i]);
+      }
+
+      // Test
+      final double[] allocated = transform.transform(raw);
+      final double[] buffer = new double[ROWS];
+      transform.transform(raw, buffer);
+      final double[] inPlace = raw.clone();
+      transform.transformInPlace(inPlace);
+      final double[] range = new double[ROWS + 10];
+      transform.transform(raw, 100, range, 110, ROWS - 100);
+      final double[] fromDimension = transform.transform(floatDimension);
+
+      // Assert
+      assertArrayEquals(expected, allocated, 0);
+      assertArrayEquals(expected, buffer, 0);
+      assertArrayEquals(expected, inPlace, 0);
+      assertArrayEquals(Arrays.copyOfRange(expected, 100, ROWS),
+          Arrays.copyOfRange(range, 110, ROWS + 10), 0);
+      assertArrayEquals(expectedFloat, fromDimension, 0);
+    }
+    System.out.println("BulkTransformTest::testBulkVariantsMatchScalar completed.");
+  }
+
+  @Test
+  public void testRowMatrix() throws Exception {
+    // Setup
+    final FCSFrame frame = new FCSFrame(new HashMap<>(), ROWS);
+    final Random random = new Random(17);
+    final TransformSet transforms = new TransformSet();
+    final List<String> names = Arrays.asList("A", "B", "C");
+    for (int d = 0; d < names.size(); d++) {
+      final double[] values = new double[ROWS];
+      for (int i = 0; i < ROWS; i++) {
+        values[i] = random.nextDouble() * 262144;
+      }
+      final FCSDimension dimension = new FCSDimension(ROWS, d, names.get(d), "", 0, 0, 262144);
+      dimension.setData(values);
+      frame.addDimension(dimension);
+      transforms.addTransformEntry(names.get(d), new LogicleTransform(262144));
+    }
+
+    // Test
+    final double[][] rows = FCSUtilities.getRowMatrix(frame, names, transforms);
+    final double[][] rawRows = FCSUtilities.getRowMatrix(frame, names, null);
+
+    // Assert
+    final double[][] columns = frame.getMatrix(names);
+    final double[][] expectedRaw = MatrixUtilities.transpose(columns);
+    FCSUtilities.transformMatrix(names, transforms, columns);
+    final double[][] expected = MatrixUtilities.transpose(columns);
+    for (int i = 0; i < ROWS; i++) {
+      assertArrayEquals(expected[i], rows[i], 0);
+      assertArrayEquals(expectedRaw[i], rawRows[i], 0);
+    }
+    System.out.println("BulkTransformTest::testRowMatrix completed.");
+  }
+}
@@ -0,0 +1,63 @@
+package inflor.unit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.ref.WeakReference;
+
+import org.junit.Test;
+
+import fleur.core.data.ColumnCache;
+import fleur.core.data.FCSDimension;
+
+public class ColumnCacheTest {
+
+  private static FCSDimension lazyDimension(String name, ColumnCache cache) {
+    return new FCSDimension(100, 0, name, "", 0, 0, 262144, () -> new double[100], cache);
+  }
+
+  @Test
+  public void testEvictsLeastRecentlyUsed() throws Exception {
+    // Setup
+    final ColumnCache cache = new ColumnCache(2 * 100 * Double.BYTES);
+    final FCSDimension hot = lazyDimension("FSC-A", cache);
+    final FCSDimension cold = lazyDimension("FITC-A", cache);
+    final FCSDimension next = lazyDimension("PE-A", cache);
+
+    // Test
+    hot.getData();
+    cold.getData();
+    hot.getData();
+    next.getData();
+
+    // Assert
+    assertTrue(hot.isLoaded());
+    assertFalse(cold.isLoaded());
+    assertTrue(next.isLoaded());
+    System.out.println("ColumnCacheTest::testEvictsLeastRecentlyUsed completed.");
+  }
+
+  @Test
+  public void testDimensionsAreNotKeptAlive() throws Exception {
+    // Setup
+    final ColumnCache cache = new ColumnCache(1 << 20);
+    FCSDimension dimension = lazyDimension("FSC-A", cache);
+    final WeakReference<FCSDimension> reference = new WeakReference<>(dimension);
+    dimension.getData();
+
+    // Test
+    dimension = null;
+    for (int i = 0; i < 50 && reference.get() != null; i++) {
+      System.gc();
+      Thread.sleep(10);
+    }
+
+    // Assert
+    assertNull(reference.get());
+    assertEquals(0, cache.size());
+    assertEquals(0, cache.getUsedBytes());
+    System.out.println("ColumnCacheTest::testDimensionsAreNotKeptAlive completed.");
+  }
+}
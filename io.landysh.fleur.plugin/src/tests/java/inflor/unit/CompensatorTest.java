@@ -1,12 +1,14 @@
 package inflor.unit;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.util.HashMap;
 
 import org.junit.Test;
 
 import fleur.core.compensation.SpilloverCompensator;
+import fleur.core.data.FCSDimension;
 import fleur.core.data.FCSFrame;
 import fleur.core.fcs.FCSFileReader;
 
@@ -84,4 +86,38 @@ public class CompensatorTest {
       assertEquals(Integer.toString(i), truth[i], actual[i], Double.MIN_VALUE);//TODO
     }
   }
+
+  @Test
+  public void testCompensateFloatFrame() throws Exception {
+    // Setup
+    final HashMap<String, String> keywords = new HashMap<String, String>();
+    keywords.put("SPILL", "2,A,B,1,0.1,0,1");
+    final int rows = 100;
+    final FCSFrame dataFrame = new FCSFrame(keywords, rows);
+    final String[] names = {"A", "B"};
+    for (int d = 0; d < names.length; d++) {
+      final float[] values = new float[rows];
+      for (int i = 0; i < rows; i++) {
+        values[i] = i * (d + 1);
+      }
+      final FCSDimension dimension = new FCSDimension(rows, d, names[d], "", 0, 0, 1000);
+      dimension.setFloatData(values);
+      dataFrame.addDimension(dimension);
+    }
+
+    // Test
+    final SpilloverCompensator comp = new SpilloverCompensator(keywords);
+    final FCSFrame compensated = comp.compensateFCSFrame(dataFrame, false);
+
+    // Assert
+    final FCSDimension a = compensated.getDimension("[A]");
+    final FCSDimension b = compensated.getDimension("[B]");
+    assertTrue(a.isFloat());
+    assertTrue(b.isFloat());
+    for (int i = 0; i < rows; i++) {
+      assertEquals(i, a.getFloatData()[i], 1e-4);
+      assertEquals(2 * i - 0.1 * i, b.getFloatData()[i], 1e-4);
+    }
+    System.out.println("CompensatorTest::testCompensateFloatFrame completed.");
+  }
 }
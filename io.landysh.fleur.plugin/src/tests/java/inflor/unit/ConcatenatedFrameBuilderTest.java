@@ -0,0 +1,96 @@
+package inflor.unit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import org.junit.Test;
+
+import fleur.core.data.FCSDimension;
+import fleur.core.data.FCSFrame;
+import fleur.core.data.Subset;
+import fleur.core.fcs.FCSFileReader;
+import fleur.core.proto.FCSFrameProto.Message.Subset.Type;
+import fleur.core.utils.BitSetUtils;
+import fleur.core.utils.ConcatenatedFrameBuilder;
+import fleur.core.utils.FCSConcatenator;
+import fleur.core.utils.FCSUtilities;
+import fleur.core.utils.MatrixUtilities;
+
+public class ConcatenatedFrameBuilderTest {
+
+  String logiclePath = "src/resources/fcs/logicle-example.fcs";
+
+  @Test
+  public void testAppendInPlace() throws Exception {
+    // Setup
+    final FCSFrame frame = FCSFileReader.read(logiclePath);
+    final List<FCSFrame> frames = createParts(frame);
+
+    // Test
+    final ConcatenatedFrameBuilder builder = new ConcatenatedFrameBuilder(100);
+    frames.forEach(builder::append);
+    final FCSFrame built = builder.build();
+
+    // Assert
+    assertEquals(4, builder.getSourceCount());
+    assertEquals(4, built.getKeywordValue(FCSUtilities.KEY_MERGE_MAP)
+        .split(FCSUtilities.DELIMITER_REGEX).length);
+    assertEquals(frame.getDimensionCount() + 1, built.getDimensionCount());
+    for (FCSDimension dimension : frame.getData()) {
+      double[] expected = null;
+      for (FCSFrame part : frames) {
+        expected = MatrixUtilities.appendVectors(expected,
+            part.getDimension(dimension.getShortName()).getData());
+      }
+      assertArrayEquals(expected, built.getDimension(dimension.getShortName()).getData(), 0d);
+    }
+    double[] sources = built.getDimension(FCSUtilities.MERGE_DIMENSION_NAME).getData();
+    int start = 0;
+    for (int i = 0; i < frames.size(); i++) {
+      assertEquals(i, sources[start], 0d);
+      assertEquals(i, sources[start + frames.get(i).getRowCount() - 1], 0d);
+      start += frames.get(i).getRowCount();
+    }
+    System.out.println("ConcatenatedFrameBuilderTest::testAppendInPlace completed.");
+  }
+
+  @Test
+  public void testSubsetsAreShifted() throws Exception {
+    // Setup
+    final FCSFrame frame = FCSFileReader.read(logiclePath);
+    final List<FCSFrame> frames = createParts(frame);
+    final BitSet expected = new BitSet();
+    int offset = 0;
+    for (FCSFrame part : frames) {
+      BitSet members = BitSetUtils.getShuffledMask(part.getRowCount(), part.getRowCount() / 3);
+      part.addSubset(new Subset("Gate", members, "root", "gate", Type.RANGE, new String[0], new Double[0]));
+      for (int i = members.nextSetBit(0); i >= 0; i = members.nextSetBit(i + 1)) {
+        expected.set(offset + i);
+      }
+      offset += part.getRowCount();
+    }
+
+    // Test
+    final FCSFrame concatenated = FCSConcatenator.concatenate(frames);
+
+    // Assert
+    assertEquals(offset, concatenated.getRowCount());
+    assertEquals(1, concatenated.getSubsets(false).size());
+    assertEquals(expected, concatenated.getSubsets(false).get(0).getMembers());
+    System.out.println("ConcatenatedFrameBuilderTest::testSubsetsAreShifted completed.");
+  }
+
+  private List<FCSFrame> createParts(FCSFrame frame) {
+    // Odd sizes so parts start part way through a 64 bit word.
+    final List<FCSFrame> frames = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      BitSet mask = BitSetUtils.getShuffledMask(frame.getRowCount(), 501 + i * 97);
+      frames.add(FCSUtilities.filterFrame(mask, frame));
+    }
+    return frames;
+  }
+}
@@ -1,12 +1,20 @@
 package inflor.unit;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashMap;
 
 import org.junit.Test;
 
+import fleur.core.data.FCSDimension;
 import fleur.core.data.FCSFrame;
+import fleur.core.fcs.FCSFileReader;
+import fleur.core.utils.FCSUtilities;
 
 public class EventFrameTest {
 
@@ -32,4 +40,106 @@ public class EventFrameTest {
     assertEquals("preferredName", trueUUID, testPrefName);
     System.out.println("EventFrameTest testInitialization completed (succefully or otherwise)");
   }
+
+  @Test
+  public void testFloatStorageRoundTrip() throws Exception {
+    // Setup
+    final FCSFrame floatFrame = FCSFileReader.read("src/resources/fcs/logicle-example.fcs");
+    final FCSFrame doubleFrame = new FCSFrame(floatFrame.getKeywords(), floatFrame.getRowCount());
+    for (FCSDimension dim : floatFrame.getData()) {
+      FCSDimension copy = new FCSDimension(dim.size(), dim.getIndex(), dim.getShortName(),
+          dim.getStainName(), dim.getPNEF1(), dim.getPNEF2(), dim.getRange());
+      copy.setData(dim.getData().clone());
+      doubleFrame.addDimension(copy);
+    }
+    final BitSet mask = new BitSet(floatFrame.getRowCount());
+    mask.set(0, floatFrame.getRowCount(), true);
+    mask.clear(0, 100);
+
+    // Test
+    final byte[] floatBytes = floatFrame.saveAsBytes();
+    final byte[] doubleBytes = doubleFrame.saveAsBytes();
+    final FCSFrame loadedFloat = FCSFrame.load(floatBytes);
+    final FCSFrame loadedDouble = FCSFrame.load(doubleBytes);
+    final FCSFrame filtered = FCSUtilities.filterFrame(mask, loadedFloat);
+
+    // Assert
+    assertTrue(floatBytes.length < doubleBytes.length / 2);
+    for (FCSDimension dim : floatFrame.getData()) {
+      String name = dim.getShortName();
+      assertTrue(dim.isFloat());
+      assertTrue(loadedFloat.getDimension(name).isFloat());
+      assertFalse(loadedDouble.getDimension(name).isFloat());
+      assertTrue(filtered.getDimension(name).isFloat());
+      assertArrayEquals(dim.getFloatData(), loadedFloat.getDimension(name).getFloatData(), 0f);
+      assertArrayEquals(dim.getData(), loadedDouble.getDimension(name).getData(), 0d);
+      assertEquals(dim.getValue(100), filtered.getDimension(name).getValue(0), 0d);
+    }
+    System.out.println("EventFrameTest testFloatStorageRoundTrip completed.");
+  }
+
+  @Test
+  public void testIndexedDimensionLookup() throws Exception {
+    // Setup
+    final FCSFrame frame = FCSFileReader.read("src/resources/fcs/logicle-example.fcs");
+    final String first = frame.getDimensionNames().get(0);
+    final String last = frame.getDimensionNames().get(frame.getDimensionCount() - 1);
+    final FCSDimension added = new FCSDimension(frame.getRowCount(), 1000, "Added", "", 0, 0, 1);
+    added.setData(new double[frame.getRowCount()]);
+    final int count = frame.getDimensionCount();
+    final double[] row = new double[count + 1];
+
+    // Test
+    final int lastColumn = frame.getColumnIndex(last);
+    frame.addDimension(added);
+    final int addedColumn = frame.getColumnIndex("Added");
+    frame.getData().removeIf(dim -> dim.getShortName().equals(first));
+    final boolean hasRemoved = frame.hasDimension(first);
+    frame.getDimension(last).setShortName("Renamed");
+    frame.getRow(5, row);
+
+    // Assert
+    assertEquals(count - 1, lastColumn);
+    assertEquals(count, addedColumn);
+    assertEquals(count, frame.getDimensionCount());
+    assertFalse(hasRemoved);
+    assertEquals(-1, frame.getColumnIndex(first));
+    assertEquals(-1, frame.getColumnIndex(last));
+    assertEquals(count - 2, frame.getColumnIndex("Renamed"));
+    assertArrayEquals(frame.getRow(5), Arrays.copyOf(row, count), 0d);
+    for (String name : frame.getDimensionNames()) {
+      assertEquals(name, frame.getDimension(frame.getColumnIndex(name)).getShortName());
+    }
+    System.out.println("EventFrameTest testIndexedDimensionLookup completed.");
+  }
+
+  @Test
+  public void testRenameSharedDimension() throws Exception {
+    // Setup
+    final FCSFrame first = new FCSFrame(new HashMap<>(), 10);
+    final FCSFrame second = new FCSFrame(new HashMap<>(), 10);
+    final FCSDimension shared = new FCSDimension(10, 0, "Shared", "", 0, 0, 1);
+    final FCSDimension other = new FCSDimension(10, 1, "Other", "", 0, 0, 1);
+    first.addDimension(shared);
+    first.addDimension(other);
+    second.addDimension(shared);
+    final FCSFrame removed = new FCSFrame(new HashMap<>(), 10);
+    removed.addDimension(other);
+    first.getColumnIndex("Other");
+    second.getColumnIndex("Shared");
+    removed.getColumnIndex("Other");
+    removed.getData().remove(other);
+
+    // Test
+    shared.setShortName("Renamed");
+    other.setShortName("Moved");
+
+    // Assert
+    assertEquals(0, first.getColumnIndex("Renamed"));
+    assertEquals(1, first.getColumnIndex("Moved"));
+    assertEquals(0, second.getColumnIndex("Renamed"));
+    assertEquals(-1, second.getColumnIndex("Shared"));
+    assertEquals(-1, removed.getColumnIndex("Moved"));
+    System.out.println("EventFrameTest testRenameSharedDimension completed.");
+  }
 }
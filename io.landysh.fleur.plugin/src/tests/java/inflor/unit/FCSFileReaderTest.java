@@ -1,13 +1,22 @@
 package inflor.unit;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.io.RandomAccessFile;
+import java.util.List;
 
 import org.junit.Test;
 
+import fleur.core.data.ColumnCache;
+import fleur.core.data.FCSDimension;
 import fleur.core.data.FCSFrame;
+import fleur.core.fcs.EventBlock;
+import fleur.core.fcs.FCSEventIterator;
 import fleur.core.fcs.FCSFileReader;
+import fleur.core.utils.FCSUtilities;
 
 public class FCSFileReaderTest {
   // Define Constants
@@ -123,4 +132,91 @@ public class FCSFileReaderTest {
     }
     System.out.println("FCSFileReaderTes::testReadAllLogicleDataNoComp completed.");
   }
+
+  @Test
+  public void testBulkDecodeMatchesRowReader() throws Exception {
+    // Setup
+    final FCSFrame bulkFrame;
+    final double[][] rows;
+    try (RandomAccessFile raf = new RandomAccessFile(logiclePath, "r")) {
+      final FCSFileReader reader = new FCSFileReader(logiclePath, raf);
+      reader.readData();
+      bulkFrame = reader.getFCSFrame();
+    }
+    try (RandomAccessFile raf = new RandomAccessFile(logiclePath, "r")) {
+      final FCSFileReader reader = new FCSFileReader(logiclePath, raf);
+      reader.initRowReader();
+      rows = new double[reader.getFCSFrame().getRowCount()][];
+      for (int i = 0; i < rows.length; i++) {
+        rows[i] = reader.readRow();
+      }
+    }
+
+    // Test
+    String[] names = FCSUtilities.parseDimensionList(bulkFrame.getKeywords());
+
+    // Assert
+    for (int j = 0; j < names.length; j++) {
+      double[] column = bulkFrame.getDimension(names[j]).getData();
+      assertEquals(rows.length, column.length);
+      for (int i = 0; i < rows.length; i++) {
+        assertEquals(rows[i][j], column[i], Double.MIN_VALUE);
+      }
+    }
+    System.out.println("FCSFileReaderTes::testBulkDecodeMatchesRowReader completed.");
+  }
+
+  @Test
+  public void testMappedReadMatchesFullRead() throws Exception {
+    // Setup
+    final FCSFrame fullFrame = FCSFileReader.read(logiclePath);
+    final ColumnCache cache = new ColumnCache(30000L * Double.BYTES * 2);
+
+    // Test
+    final FCSFrame mappedFrame = FCSFileReader.readMapped(logiclePath, cache);
+
+    // Assert
+    assertEquals(fullFrame.getRowCount(), mappedFrame.getRowCount());
+    for (String name : fullFrame.getDimensionNames()) {
+      FCSDimension mappedDimension = mappedFrame.getDimension(name);
+      assertEquals(fullFrame.getRowCount(), mappedDimension.size());
+      assertArrayEquals(fullFrame.getDimension(name).getData(), mappedDimension.getData(),
+          Double.MIN_VALUE);
+    }
+    // Only the two most recently decoded columns fit in the budget.
+    assertTrue(cache.getUsedBytes() <= cache.getBudget());
+    assertFalse(mappedFrame.getDimension(fullFrame.getDimensionNames().get(0)).isLoaded());
+    System.out.println("FCSFileReaderTes::testMappedReadMatchesFullRead completed.");
+  }
+
+  @Test
+  public void testEventIteratorMatchesFullRead() throws Exception {
+    // Setup
+    final FCSFrame fullFrame = FCSFileReader.read(logiclePath);
+    final List<String> names = fullFrame.getDimensionNames();
+    final double[][] streamed = new double[names.size()][fullFrame.getRowCount()];
+    int blocks = 0;
+
+    // Test
+    try (RandomAccessFile raf = new RandomAccessFile(logiclePath, "r")) {
+      final FCSFileReader reader = new FCSFileReader(logiclePath, raf);
+      final FCSEventIterator events = reader.openEventIterator(7000);
+      while (events.hasNext()) {
+        EventBlock block = events.next();
+        for (int i = 0; i < names.size(); i++) {
+          double[] column = block.getColumn(names.get(i));
+          System.arraycopy(column, 0, streamed[i], (int) block.getStart(), block.size());
+        }
+        blocks++;
+      }
+    }
+
+    // Assert
+    assertEquals(5, blocks);
+    for (int i = 0; i < names.size(); i++) {
+      assertArrayEquals(fullFrame.getDimension(names.get(i)).getData(), streamed[i],
+          Double.MIN_VALUE);
+    }
+    System.out.println("FCSFileReaderTest::testEventIteratorMatchesFullRead completed.");
+  }
 }
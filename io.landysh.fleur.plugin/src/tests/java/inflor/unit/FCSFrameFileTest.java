@@ -0,0 +1,338 @@
+package inflor.unit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Random;
+
+import org.junit.Test;
+
+import fleur.core.data.FCSDimension;
+import fleur.core.data.FCSFrame;
+import fleur.core.data.FCSFrameFile;
+import fleur.core.data.FrameCache;
+import fleur.core.data.Subset;
+import fleur.core.fcs.FCSFileReader;
+import fleur.core.proto.FCSFrameProto.Message.Subset.Type;
+import fleur.core.utils.FCSUtilities;
+
+public class FCSFrameFileTest {
+
+  String logiclePath = "src/resources/fcs/logicle-example.fcs";
+
+  @Test
+  public void testPackedRoundTrip() throws Exception {
+    // Setup
+    final FCSFrame frame = FCSFileReader.read(logiclePath);
+    final FCSDimension firstDimension = frame.getData().first();
+    final double[] widened = firstDimension.getData().clone();
+    firstDimension.setData(widened);
+    final BitSet members = new BitSet(frame.getRowCount());
+    members.set(10, 2000);
+    frame.addSubset(new Subset("Test", members, "parent", null, Type.RANGE, new String[0], new Double[0]));
+    final File file = File.createTempFile("packed", ".fleur");
+    file.deleteOnExit();
+
+    // Test
+    final long size = FCSFrameFile.write(frame, file);
+    final FCSFrame loaded = FCSFrameFile.read(file);
+
+    // Assert
+    assertTrue(FCSFrameFile.isPacked(file));
+    assertEquals(file.length(), size);
+    assertEquals(frame.getID(), loaded.getID());
+    assertEquals(frame.getRowCount(), loaded.getRowCount());
+    assertTrue(loaded.getKeywords().entrySet().containsAll(frame.getKeywords().entrySet()));
+    assertEquals(frame.getDimensionNames(), loaded.getDimensionNames());
+    for (FCSDimension dim : frame.getData()) {
+      FCSDimension loadedDim = loaded.getDimension(dim.getShortName());
+      assertEquals(dim.getID(), loadedDim.getID());
+      assertEquals(dim.isFloat(), loadedDim.isFloat());
+      assertArrayEquals(dim.getData(), loadedDim.getData(), 0d);
+    }
+    assertFalse(loaded.getData().first().isFloat());
+    assertEquals(members, loaded.getSubsets(false).get(0).getMembers());
+    System.out.println("FCSFrameFileTest::testPackedRoundTrip completed.");
+  }
+
+  @Test
+  public void testColumnsLargerThanReadBuffer() throws Exception {
+    // Setup, random values stay uncompressed and span several read buffers.
+    final int rows = 300001;
+    final Random random = new Random(7);
+    final double[] doubles = new double[rows];
+    final float[] floats = new float[rows];
+    for (int i = 0; i < rows; i++) {
+      doubles[i] = random.nextDouble();
+      floats[i] = random.nextFloat();
+    }
+    final FCSFrame frame = new FCSFrame(new HashMap<>(), rows);
+    final FCSDimension doubleDimension = new FCSDimension(rows, 0, "D", "", 0, 0, 1);
+    doubleDimension.setData(doubles);
+    frame.addDimension(doubleDimension);
+    final FCSDimension floatDimension = new FCSDimension(rows, 1, "F", "", 0, 0, 1);
+    floatDimension.setFloatData(floats);
+    frame.addDimension(floatDimension);
+    final File file = File.createTempFile("large", ".fleur");
+    file.deleteOnExit();
+
+    // Test
+    FCSFrameFile.write(frame, file);
+    final FCSFrame loaded = FCSFrameFile.read(file);
+
+    // Assert
+    assertArrayEquals(doubles, loaded.getDimension("D").getData(), 0d);
+    assertArrayEquals(floats, loaded.getDimension("F").getFloatData(), 0f);
+    assertTrue(file.delete());
+    System.out.println("FCSFrameFileTest::testColumnsLargerThanReadBuffer completed.");
+  }
+
+  @Test
+  public void testProjectedRead() throws Exception {
+    // Setup
+    final FCSFrame frame = FCSFileReader.read(logiclePath);
+    final String shortName = frame.getDimensionNames().get(2);
+    final BitSet members = new BitSet(frame.getRowCount());
+    members.set(0, 5000);
+    final Subset parent = new Subset("Parent", members, "root", null, Type.RANGE, new String[0], new Double[0]);
+    final Subset child = new Subset("Child", members, parent.getID(), null, Type.RANGE, new String[0], new Double[0]);
+    final Subset other = new Subset("Other", members, "root", null, Type.RANGE, new String[0], new Double[0]);
+    frame.addSubset(parent);
+    frame.addSubset(child);
+    frame.addSubset(other);
+    final File file = File.createTempFile("projected", ".fleur");
+    file.deleteOnExit();
+    FCSFrameFile.write(frame, file);
+
+    // Test
+    final FCSFrame loaded = FCSFrameFile.read(file, Arrays.asList(shortName), Arrays.asList(child.getID()));
+
+    // Assert
+    assertEquals(1, loaded.getDimensionCount());
+    assertEquals(frame.getRowCount(), loaded.getRowCount());
+    assertArrayEquals(frame.getDimension(shortName).getData(), loaded.getDimension(shortName).getData(), 0d);
+    assertEquals(Arrays.asList("Parent", "Child"), loaded.getSubsetNames());
+    System.out.println("FCSFrameFileTest::testProjectedRead completed.");
+  }
+
+  @Test
+  public void testCompressedRoundTrip() throws Exception {
+    // Setup
+    final FCSFrame frame = FCSFileReader.read(logiclePath);
+    final double[] counts = new double[frame.getRowCount()];
+    for (int i = 0; i < counts.length; i++) {
+      counts[i] = i % 7 == 0 ? -i : i * 3;
+    }
+    final FCSDimension countDimension = new FCSDimension(counts.length, 1000, "Count", "", 0, 0, 1);
+    countDimension.setData(counts);
+    frame.addDimension(countDimension);
+    final FCSDimension firstDimension = frame.getData().first();
+    final double[] widened = firstDimension.getData().clone();
+    widened[0] = -0d;
+    widened[1] = Double.NaN;
+    firstDimension.setData(widened);
+    final BitSet members = new BitSet(frame.getRowCount());
+    members.set(10, 2000);
+    members.set(5000);
+    frame.addSubset(new Subset("Test", members, "root", null, Type.RANGE, new String[0], new Double[0]));
+    final File raw = File.createTempFile("raw", ".fleur");
+    final File compressed = File.createTempFile("compressed", ".fleur");
+    raw.deleteOnExit();
+    compressed.deleteOnExit();
+
+    // Test
+    final long rawSize = FCSFrameFile.write(frame, raw, false);
+    final long compressedSize = FCSFrameFile.write(frame, compressed, true);
+    final FCSFrame loaded = FCSFrameFile.read(compressed);
+    final FCSFrame projected = FCSFrameFile.read(compressed, Arrays.asList("Count"), null);
+
+    // Assert
+    assertTrue(FCSFrameFile.isPacked(compressed));
+    assertEquals(compressed.length(), compressedSize);
+    assertTrue(compressedSize < rawSize);
+    assertEquals(frame.getDimensionNames(), loaded.getDimensionNames());
+    for (FCSDimension dim : frame.getData()) {
+      FCSDimension loadedDim = loaded.getDimension(dim.getShortName());
+      assertEquals(dim.isFloat(), loadedDim.isFloat());
+      for (int i = 0; i < dim.size(); i++) {
+        assertEquals(Double.doubleToRawLongBits(dim.getValue(i)),
+            Double.doubleToRawLongBits(loadedDim.getValue(i)));
+      }
+    }
+    assertEquals(members, loaded.getSubsets(false).get(0).getMembers());
+    assertArrayEquals(counts, projected.getDimension("Count").getData(), 0d);
+    System.out.println("FCSFrameFileTest::testCompressedRoundTrip completed.");
+  }
+
+  @Test
+  public void testDerivedRoundTrip() throws Exception {
+    // Setup
+    final FCSFrame frame = FCSFileReader.read(logiclePath);
+    final BitSet members = new BitSet(frame.getRowCount());
+    members.set(10, 2000);
+    frame.addSubset(new Subset("Parent", members, "parent", null, Type.RANGE, new String[0], new Double[0]));
+    final File parentFile = File.createTempFile("parent", ".fleur");
+    final File childFile = File.createTempFile("child", ".fleur");
+    final File filteredFile = File.createTempFile("filtered", ".fleur");
+    parentFile.deleteOnExit();
+    childFile.deleteOnExit();
+    filteredFile.deleteOnExit();
+    final long parentSize = FCSFrameFile.write(frame, parentFile);
+
+    final FCSFrame child = FCSFrameFile.read(parentFile);
+    final FCSDimension replaced = child.getData().first();
+    final double[] scaled = replaced.getData().clone();
+    for (int i = 0; i < scaled.length; i++) {
+      scaled[i] *= 2;
+    }
+    replaced.setData(scaled);
+    final BitSet childMembers = new BitSet(child.getRowCount());
+    childMembers.set(500, 700);
+    child.addSubset(new Subset("Child", childMembers, "parent", null, Type.RANGE, new String[0], new Double[0]));
+    final BitSet rowMask = new BitSet(child.getRowCount());
+    rowMask.set(0, child.getRowCount(), true);
+    rowMask.clear(100, 20000);
+
+    // Test
+    final long childSize = FCSFrameFile.writeDerived(child, childFile, frame.getID(), null,
+        Arrays.asList(replaced.getShortName()), Arrays.asList(parentFile), false);
+    final FCSFrame loadedChild =
+        FCSFrameFile.read(childFile, Arrays.asList(parentFile), null, null);
+    final FCSFrame filtered = FCSUtilities.filterFrame(rowMask, loadedChild);
+    final long filteredSize = FCSFrameFile.writeDerived(filtered, filteredFile, child.getID(),
+        rowMask, Collections.emptyList(), Arrays.asList(childFile, parentFile), false);
+    final FCSFrame loadedFiltered = FCSFrameFile.read(filteredFile,
+        Arrays.asList(childFile, parentFile), null, null);
+    final String lastName = frame.getData().last().getShortName();
+    final FCSFrame projected = FCSFrameFile.read(filteredFile,
+        Arrays.asList(childFile, parentFile), Arrays.asList(lastName), null);
+
+    // Assert
+    assertTrue(FCSFrameFile.isPacked(childFile));
+    assertEquals(childFile.length(), childSize);
+    assertTrue(childSize < parentSize / 4);
+    assertTrue(filteredSize < parentSize / 4);
+    for (FCSDimension dim : child.getData()) {
+      assertArrayEquals(dim.getData(), loadedChild.getDimension(dim.getShortName()).getData(), 0d);
+    }
+    for (FCSDimension dim : filtered.getData()) {
+      assertArrayEquals(dim.getData(), loadedFiltered.getDimension(dim.getShortName()).getData(),
+          0d);
+    }
+    assertEquals(2, loadedChild.getSubsets(false).size());
+    assertEquals(members, loadedChild.getSubsets(false).get(0).getMembers());
+    assertEquals(childMembers, loadedChild.getSubsets(false).get(1).getMembers());
+    assertEquals(filtered.getRowCount(), loadedFiltered.getRowCount());
+    assertEquals(filtered.getSubsets(false).get(1).getMembers(),
+        loadedFiltered.getSubsets(false).get(1).getMembers());
+    assertEquals(1, projected.getDimensionCount());
+    assertArrayEquals(filtered.getDimension(lastName).getData(),
+        projected.getDimension(lastName).getData(), 0d);
+    System.out.println("FCSFrameFileTest::testDerivedRoundTrip completed.");
+  }
+
+  @Test
+  public void testProjectedDerivedReadProjectsParent() throws Exception {
+    // Setup
+    final FCSFrame frame = FCSFileReader.read(logiclePath);
+    final BitSet members = new BitSet(frame.getRowCount());
+    members.set(10, 2000);
+    frame.addSubset(new Subset("Parent", members, "parent", null, Type.RANGE, new String[0], new Double[0]));
+    final File parentFile = File.createTempFile("parent", ".fleur");
+    final File childFile = File.createTempFile("child", ".fleur");
+    parentFile.deleteOnExit();
+    childFile.deleteOnExit();
+    FCSFrameFile.write(frame, parentFile);
+    final FCSFrame child = FCSFrameFile.read(parentFile);
+    final BitSet rowMask = new BitSet(child.getRowCount());
+    rowMask.set(0, child.getRowCount() / 2);
+    final FCSFrame filtered = FCSUtilities.filterFrame(rowMask, child);
+    FCSFrameFile.writeDerived(filtered, childFile, frame.getID(), rowMask,
+        Collections.emptyList(), Arrays.asList(parentFile), false);
+    final String inherited = frame.getData().last().getShortName();
+    final String subsetID = frame.getSubsets(false).get(0).getID();
+    FrameCache.getDefault().invalidate(parentFile);
+    final long cachedBytes = FrameCache.getDefault().getUsedBytes();
+
+    // Test
+    final FCSFrame projected = FCSFrameFile.read(childFile, Arrays.asList(parentFile),
+        Arrays.asList(inherited), Arrays.asList(subsetID));
+    final long projectedBytes = FrameCache.getDefault().getUsedBytes();
+    final FCSFrame loaded = FCSFrameFile.read(childFile, Arrays.asList(parentFile), null, null);
+
+    // Assert
+    assertEquals(cachedBytes, projectedBytes);
+    assertTrue(FrameCache.getDefault().getUsedBytes() > cachedBytes);
+    assertEquals(1, projected.getDimensionCount());
+    assertArrayEquals(filtered.getDimension(inherited).getData(),
+        projected.getDimension(inherited).getData(), 0d);
+    assertEquals(filtered.getSubsets(false).get(0).getMembers(),
+        projected.getSubsets(false).get(0).getMembers());
+    assertArrayEquals(projected.getDimension(inherited).getData(),
+        loaded.getDimension(inherited).getData(), 0d);
+    FrameCache.getDefault().invalidate(parentFile);
+    System.out.println("FCSFrameFileTest::testProjectedDerivedReadProjectsParent completed.");
+  }
+
+  @Test
+  public void testDerivedFromStructure() throws Exception {
+    // Setup
+    final FCSFrame frame = FCSFileReader.read(logiclePath);
+    final File parentFile = File.createTempFile("parent", ".fleur");
+    final File childFile = File.createTempFile("child", ".fleur");
+    parentFile.deleteOnExit();
+    childFile.deleteOnExit();
+    FCSFrameFile.write(frame, parentFile);
+    final BitSet members = new BitSet(frame.getRowCount());
+    members.set(20, 400);
+
+    // Test
+    final FCSFrame structure = FCSFrameFile.readStructure(Arrays.asList(parentFile));
+    structure.addSubset(new Subset("Gate", members, "gate", null, Type.RANGE, new String[0], new Double[0]));
+    FCSFrameFile.writeDerived(structure, childFile, frame.getID(), null, Collections.emptyList(),
+        Arrays.asList(parentFile), false);
+    final FCSFrame loaded = FCSFrameFile.read(childFile, Arrays.asList(parentFile), null, null);
+    final FCSFrame loadedStructure = FCSFrameFile.readStructure(Arrays.asList(childFile, parentFile));
+
+    // Assert
+    assertEquals(frame.getDimensionCount(), structure.getDimensionCount());
+    assertFalse(structure.getData().first().hasValues());
+    assertFalse(loadedStructure.getData().first().hasValues());
+    assertEquals(members, loadedStructure.getSubsets(false).get(0).getMembers());
+    for (FCSDimension dim : frame.getData()) {
+      assertArrayEquals(dim.getData(), loaded.getDimension(dim.getShortName()).getData(), 0d);
+    }
+    assertEquals(members, loaded.getSubsets(false).get(0).getMembers());
+    System.out.println("FCSFrameFileTest::testDerivedFromStructure completed.");
+  }
+
+  @Test
+  public void testLegacyProtobufFilestore() throws Exception {
+    // Setup
+    final FCSFrame frame = FCSFileReader.read(logiclePath);
+    final File file = File.createTempFile("legacy", ".proto");
+    file.deleteOnExit();
+    try (FileOutputStream out = new FileOutputStream(file)) {
+      frame.save(out);
+    }
+
+    // Test
+    final FCSFrame loaded = FCSFrameFile.read(file);
+
+    // Assert
+    assertFalse(FCSFrameFile.isPacked(file));
+    assertEquals(frame.getRowCount(), loaded.getRowCount());
+    for (FCSDimension dim : frame.getData()) {
+      assertArrayEquals(dim.getData(), loaded.getDimension(dim.getShortName()).getData(), 0d);
+    }
+    System.out.println("FCSFrameFileTest::testLegacyProtobufFilestore completed.");
+  }
+}
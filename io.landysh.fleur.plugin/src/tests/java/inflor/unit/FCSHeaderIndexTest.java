@@ -0,0 +1,69 @@
+package inflor.unit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+import fleur.core.data.FCSDimension;
+import fleur.core.data.FCSFrame;
+import fleur.core.fcs.FCSFileReader;
+import fleur.core.fcs.FCSHeaderIndex;
+
+public class FCSHeaderIndexTest {
+
+  String logiclePath = "src/resources/fcs/logicle-example.fcs";
+  String missingPath = "src/resources/fcs/does-not-exist.fcs";
+
+  @Test
+  public void testHeaderParsedOnce() throws Exception {
+    // Setup
+    FCSHeaderIndex index = new FCSHeaderIndex();
+
+    // Test
+    Map<String, String> first = index.getHeader(logiclePath);
+    Map<String, String> second = index.getHeader(logiclePath);
+
+    // Assert
+    assertSame(first, second);
+    assertEquals(FCSFileReader.readHeaderOnly(logiclePath), first);
+    assertTrue(index.isValidFCS(logiclePath));
+    assertEquals(1, index.size());
+    System.out.println("FCSHeaderIndexTest::testHeaderParsedOnce completed.");
+  }
+
+  @Test
+  public void testDimensionsAndRead() throws Exception {
+    // Setup
+    FCSHeaderIndex index = new FCSHeaderIndex();
+    FCSFrame truth = FCSFileReader.read(logiclePath);
+
+    // Test
+    TreeSet<FCSDimension> dimensions = index.getDimensions(logiclePath);
+    FCSFrame indexed = index.read(logiclePath);
+
+    // Assert
+    assertEquals(truth.getDimensionCount(), dimensions.size());
+    for (FCSDimension dimension : dimensions) {
+      assertEquals(null, dimension.getData());
+      assertArrayEquals(truth.getDimension(dimension.getShortName()).getData(),
+          indexed.getDimension(dimension.getShortName()).getData(), Double.MIN_VALUE);
+    }
+    System.out.println("FCSHeaderIndexTest::testDimensionsAndRead completed.");
+  }
+
+  @Test
+  public void testUnreadableFile() throws Exception {
+    FCSHeaderIndex index = new FCSHeaderIndex();
+    assertTrue(index.getHeader(missingPath).isEmpty());
+    assertFalse(index.isValidFCS(missingPath));
+    assertTrue(index.getDimensions(missingPath).isEmpty());
+    System.out.println("FCSHeaderIndexTest::testUnreadableFile completed.");
+  }
+}
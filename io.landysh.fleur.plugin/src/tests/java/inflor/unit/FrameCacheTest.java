@@ -0,0 +1,166 @@
+package inflor.unit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.HashMap;
+
+import org.junit.Test;
+
+import fleur.core.data.FCSDimension;
+import fleur.core.data.FCSFrame;
+import fleur.core.data.FCSFrameFile;
+import fleur.core.data.FrameCache;
+import fleur.core.fcs.FCSFileReader;
+
+public class FrameCacheTest {
+
+  String logiclePath = "src/resources/fcs/logicle-example.fcs";
+
+  @Test
+  public void testHitsReturnIndependentCopies() throws Exception {
+    // Setup
+    final FCSFrame frame = FCSFileReader.read(logiclePath);
+    final String shortName = frame.getDimensionNames().get(0);
+    final double expected = frame.getDimension(shortName).getData()[0];
+    final File file = File.createTempFile("cached", ".fleur");
+    file.deleteOnExit();
+    FCSFrameFile.write(frame, file);
+    final FrameCache cache = new FrameCache(Long.MAX_VALUE);
+
+    // Test
+    final FCSFrame first = cache.read(file, frame.getID());
+    first.getDimension(shortName).getData()[0] = -1;
+    final FCSFrame second = cache.read(file, frame.getID());
+    final FCSFrame projected = cache.read(file, frame.getID(), Arrays.asList(shortName), null);
+
+    // Assert
+    assertEquals(1, cache.getMissCount());
+    assertEquals(2, cache.getHitCount());
+    assertNotSame(first, second);
+    assertEquals(expected, second.getDimension(shortName).getData()[0], 0d);
+    assertEquals(frame.getDimensionNames(), second.getDimensionNames());
+    assertEquals(1, projected.getDimensionCount());
+    assertArrayEquals(second.getDimension(shortName).getData(),
+        projected.getDimension(shortName).getData(), 0d);
+    System.out.println("FrameCacheTest::testHitsReturnIndependentCopies completed.");
+  }
+
+  @Test
+  public void testEvictionAndInvalidation() throws Exception {
+    // Setup
+    final FCSFrame frame = FCSFileReader.read(logiclePath);
+    final File first = File.createTempFile("cached", ".fleur");
+    final File second = File.createTempFile("cached", ".fleur");
+    first.deleteOnExit();
+    second.deleteOnExit();
+    FCSFrameFile.write(frame, first);
+    FCSFrameFile.write(frame, second);
+    // Room for a single frame.
+    final FrameCache cache = new FrameCache(first.length());
+
+    // Test
+    cache.read(first, frame.getID());
+    cache.read(second, frame.getID());
+    final int cachedFrames = cache.size();
+    cache.read(first, frame.getID());
+    cache.invalidate(first);
+
+    // Assert
+    assertEquals(1, cachedFrames);
+    assertEquals(3, cache.getMissCount());
+    assertEquals(2, cache.getEvictionCount());
+    assertEquals(0, cache.size());
+    assertEquals(0, cache.getUsedBytes());
+    System.out.println("FrameCacheTest::testEvictionAndInvalidation completed.");
+  }
+
+  @Test
+  public void testHitsShareValuesUntilWritten() throws Exception {
+    // Setup
+    final int rows = 1000;
+    final FCSFrame frame = new FCSFrame(new HashMap<>(), rows);
+    final double[] doubles = new double[rows];
+    final float[] floats = new float[rows];
+    for (int i = 0; i < rows; i++) {
+      doubles[i] = Math.sqrt(i);
+      floats[i] = (float) Math.sqrt(i);
+    }
+    final FCSDimension doubleDimension = new FCSDimension(rows, 0, "D", "", 0, 0, 100);
+    doubleDimension.setData(doubles);
+    frame.addDimension(doubleDimension);
+    final FCSDimension floatDimension = new FCSDimension(rows, 1, "F", "", 0, 0, 100);
+    floatDimension.setFloatData(floats);
+    frame.addDimension(floatDimension);
+    final File file = File.createTempFile("shared", ".fleur");
+    file.deleteOnExit();
+    FCSFrameFile.write(frame, file);
+    final FrameCache cache = new FrameCache(Long.MAX_VALUE);
+
+    // Test
+    final FCSFrame first = cache.read(file, frame.getID());
+    final FCSFrame second = cache.read(file, frame.getID());
+    final double[] read = new double[rows];
+    second.getDimension("D").getValues(0, read, 0, rows);
+    first.getDimension("D").getData()[0] = -1;
+
+    // Assert
+    assertSame(first.getDimension("F").getFloatData(), second.getDimension("F").getFloatData());
+    assertArrayEquals(doubles, read, 0d);
+    assertEquals(0, second.getDimension("D").getValue(0), 0d);
+    assertArrayEquals(doubles, second.getDimension("D").getData(), 0d);
+    assertNotSame(first.getDimension("D").getData(), second.getDimension("D").getData());
+    System.out.println("FrameCacheTest::testHitsShareValuesUntilWritten completed.");
+  }
+
+  @Test
+  public void testDerivedFramesReadThroughTheirChain() throws Exception {
+    // Setup
+    final FCSFrame frame = FCSFileReader.read(logiclePath);
+    final File parentFile = File.createTempFile("parent", ".fleur");
+    final File childFile = File.createTempFile("child", ".fleur");
+    parentFile.deleteOnExit();
+    childFile.deleteOnExit();
+    FCSFrameFile.write(frame, parentFile);
+    final FCSFrame child = FCSFrameFile.read(parentFile);
+    final FCSDimension changed = child.getData().first();
+    final double[] scaled = changed.getData().clone();
+    for (int i = 0; i < scaled.length; i++) {
+      scaled[i] *= 2;
+    }
+    changed.setData(scaled);
+    FCSFrameFile.writeDerived(child, childFile, frame.getID(), null,
+        Arrays.asList(changed.getShortName()), Arrays.asList(parentFile), false);
+    final String inherited = frame.getData().last().getShortName();
+    // The files a cell re-wrapped with new metadata, eg. by the transform node, reads from.
+    final List<File> chain = Arrays.asList(childFile, parentFile);
+    final FrameCache cache = new FrameCache(Long.MAX_VALUE);
+
+    // Test
+    final FCSFrame loaded = cache.read(chain, child.getID(), null, null);
+    final FCSFrame projected =
+        cache.read(chain, child.getID(), Arrays.asList(inherited), Collections.emptyList());
+
+    // Assert
+    assertArrayEquals(scaled, loaded.getDimension(changed.getShortName()).getData(), 0d);
+    assertArrayEquals(frame.getDimension(inherited).getData(),
+        loaded.getDimension(inherited).getData(), 0d);
+    assertArrayEquals(frame.getDimension(inherited).getData(),
+        projected.getDimension(inherited).getData(), 0d);
+    try {
+      new FrameCache(Long.MAX_VALUE).read(chain.subList(0, 1), child.getID(), null, null);
+      fail("A derived frame must not be readable without its parent.");
+    } catch (IOException e) {
+      // Expected, cells must keep the whole chain.
+    }
+    System.out.println("FrameCacheTest::testDerivedFramesReadThroughTheirChain completed.");
+  }
+}
@@ -0,0 +1,86 @@
+package inflor.unit;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import fleur.core.data.FCSDimension;
+import fleur.core.data.FCSFrame;
+import fleur.core.gates.AbstractGate;
+import fleur.core.gates.GateUtilities;
+import fleur.core.gates.GatingTree;
+import fleur.core.gates.PolygonGate;
+import fleur.core.gates.RangeGate;
+import fleur.core.transforms.BoundDisplayTransform;
+import fleur.core.transforms.TransformSet;
+
+public class GatingTreeTest {
+
+  private static final int ROWS = 100003;
+
+  @Test
+  public void testMatchesIndependentEvaluation() throws Exception {
+    // Setup
+    final FCSFrame frame = new FCSFrame(new HashMap<>(), ROWS);
+    final Random random = new Random(7);
+    final String[] names = {"X", "Y", "Z"};
+    final TransformSet transforms = new TransformSet();
+    for (int d = 0; d < names.length; d++) {
+      final double[] values = new double[ROWS];
+      for (int i = 0; i < ROWS; i++) {
+        values[i] = random.nextDouble() * 1000;
+      }
+      final FCSDimension dimension = new FCSDimension(ROWS, d, names[d], "", 0, 0, 1000);
+      dimension.setData(values);
+      frame.addDimension(dimension);
+      transforms.addTransformEntry(names[d], new BoundDisplayTransform(0, 1000));
+    }
+    final AbstractGate root = new PolygonGate("Root", "X", new double[] {50, 950, 900, 100}, "Y",
+        new double[] {50, 100, 950, 900});
+    final AbstractGate child = new RangeGate("Child", new String[] {"X", "Y"},
+        new double[] {100, 200}, new double[] {700, 800});
+    child.setParentID(root.getID());
+    final AbstractGate sibling = new PolygonGate("Sibling", "X",
+        new double[] {500, 1000, 1000}, "Z", new double[] {0, 0, 700});
+    sibling.setParentID(root.getID());
+    final AbstractGate grandChild = new RangeGate("GrandChild", names,
+        new double[] {150, 250, 100}, new double[] {650, 700, 600});
+    grandChild.setParentID(child.getID());
+    final AbstractGate orphan = new RangeGate("Orphan", new String[] {"Y", "Z"},
+        new double[] {0, 300}, new double[] {500, 1000});
+    orphan.setParentID("missing");
+    final List<AbstractGate> gates = Arrays.asList(grandChild, sibling, orphan, child, root);
+
+    // Test
+    final Map<String, BitSet> masks = new GatingTree(gates).evaluate(frame, transforms);
+    final BitSet path = GateUtilities.applyGatingPath(frame,
+        Arrays.asList(root, child, grandChild), transforms);
+
+    // Assert
+    final BitSet expectedRoot = root.evaluate(frame, transforms);
+    final BitSet expectedChild = and(expectedRoot, child.evaluate(frame, transforms));
+    final BitSet expectedSibling = and(expectedRoot, sibling.evaluate(frame, transforms));
+    final BitSet expectedGrandChild = and(expectedChild, grandChild.evaluate(frame, transforms));
+    assertEquals(5, masks.size());
+    assertEquals(expectedRoot, masks.get(root.getID()));
+    assertEquals(expectedChild, masks.get(child.getID()));
+    assertEquals(expectedSibling, masks.get(sibling.getID()));
+    assertEquals(expectedGrandChild, masks.get(grandChild.getID()));
+    assertEquals(orphan.evaluate(frame, transforms), masks.get(orphan.getID()));
+    assertEquals(expectedGrandChild, path);
+    System.out.println("GatingTreeTest::testMatchesIndependentEvaluation completed.");
+  }
+
+  private static BitSet and(BitSet a, BitSet b) {
+    final BitSet result = (BitSet) a.clone();
+    result.and(b);
+    return result;
+  }
+}
@@ -0,0 +1,102 @@
+package inflor.unit;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Random;
+
+import org.junit.Test;
+
+import fleur.core.data.FCSDimension;
+import fleur.core.data.FCSFrame;
+import fleur.core.data.Histogram1D;
+import fleur.core.data.Histogram2D;
+import fleur.core.transforms.LogicleTransform;
+import fleur.core.utils.BitSetUtils;
+
+public class HistogramMergeTest {
+
+  private static final int ROWS = 200001;
+
+  private static double[] values(long seed) {
+    final Random random = new Random(seed);
+    final double[] values = new double[ROWS];
+    for (int i = 0; i < ROWS; i++) {
+      values[i] = random.nextDouble() * 1.2 - 0.1;
+    }
+    return values;
+  }
+
+  @Test
+  public void testHistogram1D() throws Exception {
+    // Setup
+    final double[] values = values(37);
+    final BitSet subset = new BitSet(ROWS);
+    for (int i = 0; i < ROWS; i += 3) {
+      subset.set(i);
+    }
+    final FCSFrame frame = new FCSFrame(new HashMap<>(), ROWS);
+    final FCSDimension dimension = new FCSDimension(ROWS, 0, "A", "", 0, 0, 262144);
+    final double[] raw = new double[ROWS];
+    for (int i = 0; i < ROWS; i++) {
+      raw[i] = values[i] * 262144;
+    }
+    dimension.setData(raw);
+    frame.addDimension(dimension);
+    final LogicleTransform transform = new LogicleTransform(262144);
+
+    // Test
+    final Histogram1D whole = new Histogram1D(values, 0, 1, 512);
+    final Histogram1D merged = new Histogram1D(0, 1, 512);
+    final Histogram1D second = new Histogram1D(0, 1, 512);
+    merged.add(values, 0, ROWS / 2);
+    second.add(values, ROWS / 2, ROWS - ROWS / 2);
+    merged.merge(second);
+    final Histogram1D ofSubset = new Histogram1D(0, 1, 512);
+    ofSubset.addAll(values, subset);
+    final Histogram1D streamed = new Histogram1D(0, 1, 512);
+    streamed.addAll(dimension, transform);
+
+    // Assert
+    assertArrayEquals(whole.getCounts(), merged.getCounts());
+    assertArrayEquals(new Histogram1D(BitSetUtils.filter(values, subset), 0, 1, 512).getCounts(),
+        ofSubset.getCounts());
+    assertArrayEquals(new Histogram1D(transform.transform(raw), 0, 1, 512).getCounts(),
+        streamed.getCounts());
+    System.out.println("HistogramMergeTest::testHistogram1D completed.");
+  }
+
+  @Test
+  public void testHistogram2D() throws Exception {
+    // Setup
+    final double[] xValues = values(41);
+    final double[] yValues = values(43);
+    final BitSet subset = new BitSet(ROWS);
+    for (int i = 0; i < ROWS; i += 7) {
+      subset.set(i);
+    }
+
+    // Test
+    final Histogram2D whole = new Histogram2D(xValues, 0, 1, yValues, 0, 1);
+    final Histogram2D merged = new Histogram2D(0, 1, 0, 1);
+    final Histogram2D second = new Histogram2D(0, 1, 0, 1);
+    merged.add(xValues, yValues, 0, ROWS / 3);
+    second.add(xValues, yValues, ROWS / 3, ROWS - ROWS / 3);
+    merged.merge(second);
+    final Histogram2D ofSubset = new Histogram2D(0, 1, 0, 1);
+    ofSubset.addAll(xValues, yValues, subset);
+
+    // Assert
+    assertArrayEquals(whole.getCounts(), merged.getCounts());
+    final Histogram2D filtered = new Histogram2D(BitSetUtils.filter(xValues, subset), 0, 1,
+        BitSetUtils.filter(yValues, subset), 0, 1);
+    assertArrayEquals(filtered.getCounts(), ofSubset.getCounts());
+    final double[][] nonEmpty = whole.getNonEmptyData();
+    final BitSet nonEmptyBins = whole.getNonEmptyBins();
+    assertArrayEquals(BitSetUtils.filter(whole.getXBins(), nonEmptyBins), nonEmpty[0], 0);
+    assertArrayEquals(BitSetUtils.filter(whole.getYBins(), nonEmptyBins), nonEmpty[1], 0);
+    assertArrayEquals(BitSetUtils.filter(whole.getZValues(), nonEmptyBins), nonEmpty[2], 0);
+    System.out.println("HistogramMergeTest::testHistogram2D completed.");
+  }
+}
@@ -0,0 +1,49 @@
+package inflor.unit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import edu.stanford.facs.logicle.Logicle;
+import fleur.core.transforms.LogicleLookupTable;
+
+public class LogicleLookupTableTest {
+
+  private static final double[][] PARAMETERS =
+      {{262144, 0.5, 4.5, 0}, {262144, 1, 4.5, 0.5}, {262144, 0.2, 4.5, 0}, {10000, 0.5, 4, 0}};
+
+  @Test
+  public void testMatchesExactLogicle() throws Exception {
+    for (double[] p : PARAMETERS) {
+      // Setup
+      final Random random = new Random(11);
+      final Logicle exact = new Logicle(p[0], p[1], p[2], p[3]);
+      final double min = exact.inverse(0);
+
+      // Test
+      final LogicleLookupTable table = new LogicleLookupTable(p[0], p[1], p[2], p[3]);
+
+      // Assert
+      assertTrue(table.getMaxError() < 1e-6);
+      assertTrue(table.getMaxInverseError() < 1e-6);
+      for (int i = 0; i < 100000; i++) {
+        // Half of the values near zero, the rest spread over the decades.
+        final double raw = i % 2 == 0 ? random.nextGaussian() * 2 * Math.abs(min)
+            : Math.pow(10, random.nextDouble() * Math.log10(p[0]));
+        final double clamped = Math.min(p[0], Math.max(min, raw));
+        assertEquals(exact.scale(clamped), table.scale(raw), 1e-6);
+        final double scale = random.nextDouble();
+        final double expected = exact.inverse(scale);
+        assertEquals(expected, table.inverse(scale), 1e-6 * Math.max(1, Math.abs(expected)));
+      }
+      assertEquals(0, table.scale(min - 1), 0);
+      assertEquals(1, table.scale(p[0]), 0);
+      assertEquals(p[0], table.inverse(1), 0);
+      assertTrue(Double.isNaN(table.scale(Double.NaN)));
+    }
+    System.out.println("LogicleLookupTableTest::testMatchesExactLogicle completed.");
+  }
+}
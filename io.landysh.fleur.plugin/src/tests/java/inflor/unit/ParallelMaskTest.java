@@ -0,0 +1,125 @@
+package inflor.unit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.awt.geom.Path2D;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Random;
+
+import org.junit.Test;
+
+import fleur.core.data.FCSDimension;
+import fleur.core.data.FCSFrame;
+import fleur.core.gates.PolygonGate;
+import fleur.core.gates.RangeGate;
+import fleur.core.transforms.BoundDisplayTransform;
+import fleur.core.transforms.TransformSet;
+
+public class ParallelMaskTest {
+
+  private static final int ROWS = 250001;
+
+  @Test
+  public void testGatesMatchSerialEvaluation() throws Exception {
+    // Setup
+    final FCSFrame frame = new FCSFrame(new HashMap<>(), ROWS);
+    final Random random = new Random(3);
+    final String[] names = {"X", "Y", "Z"};
+    for (int d = 0; d < names.length; d++) {
+      final double[] values = new double[ROWS];
+      for (int i = 0; i < ROWS; i++) {
+        values[i] = random.nextDouble() * 1000;
+      }
+      final FCSDimension dimension = new FCSDimension(ROWS, d, names[d], "", 0, 0, 1000);
+      dimension.setData(values);
+      frame.addDimension(dimension);
+    }
+    final TransformSet transforms = new TransformSet();
+    transforms.addTransformEntry("X", new BoundDisplayTransform(0, 1000));
+    transforms.addTransformEntry("Y", new BoundDisplayTransform(0, 1000));
+    final double[] x = transforms.get("X").transform(frame.getDimension("X").getData());
+    final double[] y = transforms.get("Y").transform(frame.getDimension("Y").getData());
+    final double[] z = frame.getDimension("Z").getData();
+    final double[] xPoints = {100, 800, 600, 150};
+    final double[] yPoints = {100, 200, 900, 700};
+    final PolygonGate polygon = new PolygonGate("Polygon", "X", xPoints, "Y", yPoints);
+    final RangeGate rectangle = new RangeGate("Rectangle", new String[] {"X", "Y"},
+        new double[] {200, 300}, new double[] {700, 650});
+    final RangeGate cube = new RangeGate("Cube", names, new double[] {200, 300, 100},
+        new double[] {700, 650, 400});
+
+    // Test
+    final BitSet polygonMask = polygon.evaluate(frame, transforms);
+    final BitSet rectangleMask = rectangle.evaluate(frame, transforms);
+    final BitSet cubeMask = cube.evaluate(frame, transforms);
+
+    // Assert
+    final Path2D path = new Path2D.Double();
+    path.moveTo(xPoints[0], yPoints[0]);
+    for (int i = 1; i < xPoints.length; i++) {
+      path.lineTo(xPoints[i], yPoints[i]);
+    }
+    path.closePath();
+    final BitSet expectedPolygon = new BitSet();
+    final BitSet expectedRectangle = new BitSet();
+    final BitSet expectedCube = new BitSet();
+    final double[] rawX = frame.getDimension("X").getData();
+    final double[] rawY = frame.getDimension("Y").getData();
+    for (int i = 0; i < ROWS; i++) {
+      expectedPolygon.set(i, path.contains(x[i], y[i]));
+      expectedRectangle.set(i, 200 < x[i] && x[i] < 700 && 300 < y[i] && y[i] < 650);
+      expectedCube.set(i, 200 <= rawX[i] && rawX[i] < 700 && 300 <= rawY[i] && rawY[i] < 650
+          && 100 <= z[i] && z[i] < 400);
+    }
+    assertEquals(expectedPolygon, polygonMask);
+    assertEquals(expectedRectangle, rectangleMask);
+    assertEquals(expectedCube, cubeMask);
+    System.out.println("ParallelMaskTest::testGatesMatchSerialEvaluation completed.");
+  }
+
+  @Test
+  public void testFloatColumnsMatchHeapColumns() throws Exception {
+    // Setup
+    final FCSFrame heapFrame = new FCSFrame(new HashMap<>(), ROWS);
+    final FCSFrame floatFrame = new FCSFrame(new HashMap<>(), ROWS);
+    final Random random = new Random(5);
+    final String[] names = {"X", "Y"};
+    for (int d = 0; d < names.length; d++) {
+      final float[] floats = new float[ROWS];
+      final double[] values = new double[ROWS];
+      for (int i = 0; i < ROWS; i++) {
+        floats[i] = (float) (random.nextDouble() * 1000);
+        values[i] = floats[i];
+      }
+      final FCSDimension heapDimension = new FCSDimension(ROWS, d, names[d], "", 0, 0, 1000);
+      heapDimension.setData(values);
+      heapFrame.addDimension(heapDimension);
+      final FCSDimension floatDimension = new FCSDimension(ROWS, d, names[d], "", 0, 0, 1000);
+      floatDimension.setFloatData(floats);
+      floatFrame.addDimension(floatDimension);
+    }
+    final TransformSet transforms = new TransformSet();
+    transforms.addTransformEntry("X", new BoundDisplayTransform(0, 1000));
+    transforms.addTransformEntry("Y", new BoundDisplayTransform(0, 1000));
+    final PolygonGate polygon = new PolygonGate("Polygon", "X", new double[] {100, 800, 600, 150},
+        "Y", new double[] {100, 200, 900, 700});
+    final RangeGate rectangle = new RangeGate("Rectangle", names, new double[] {200, 300},
+        new double[] {700, 650});
+    final BitSet parent = new BitSet(ROWS);
+    for (int i = 0; i < ROWS; i += 3) {
+      parent.set(i);
+    }
+
+    // Test
+    final BitSet polygonMask = polygon.evaluate(floatFrame, transforms);
+    final BitSet rectangleMask = rectangle.evaluate(floatFrame, transforms, parent);
+
+    // Assert
+    assertEquals(polygon.evaluate(heapFrame, transforms), polygonMask);
+    assertEquals(rectangle.evaluate(heapFrame, transforms, parent), rectangleMask);
+    assertFalse(floatFrame.getDimension("X").isLoaded());
+    System.out.println("ParallelMaskTest::testFloatColumnsMatchHeapColumns completed.");
+  }
+}
@@ -0,0 +1,71 @@
+package inflor.unit;
+
+import static org.junit.Assert.assertEquals;
+
+import java.awt.geom.Path2D;
+import java.util.Random;
+
+import org.junit.Test;
+
+import fleur.core.gates.PolygonEvaluator;
+
+public class PolygonEvaluatorTest {
+
+  @Test
+  public void testMatchesPath2D() throws Exception {
+    // Setup
+    final Random random = new Random(5);
+    final double[][][] polygons = {
+        {{100, 800, 600, 150}, {100, 200, 900, 700}},
+        // Concave, with horizontal and vertical edges.
+        {{0, 500, 500, 250, 250, 0}, {0, 0, 500, 500, 250, 250}},
+        // Self intersecting bow tie.
+        {{0, 1000, 0, 1000}, {0, 1000, 1000, 0}},
+        randomPolygon(random, 40),
+        randomPolygon(random, 8),
+        // Degenerate.
+        {{10, 20, 30}, {10, 10, 10}}};
+
+    // Test & Assert
+    for (double[][] vertices : polygons) {
+      final double[] xs = vertices[0];
+      final double[] ys = vertices[1];
+      final PolygonEvaluator evaluator = new PolygonEvaluator(xs, ys);
+      final Path2D path = new Path2D.Double();
+      path.moveTo(xs[0], ys[0]);
+      for (int i = 1; i < xs.length; i++) {
+        path.lineTo(xs[i], ys[i]);
+      }
+      path.closePath();
+      for (int i = 0; i < 200000; i++) {
+        final double x = random.nextDouble() * 1200 - 100;
+        final double y = random.nextDouble() * 1200 - 100;
+        assertEquals(path.contains(x, y), evaluator.contains(x, y));
+      }
+      // Vertices, points along edges and values which Path2D rejects.
+      for (int i = 0; i < xs.length; i++) {
+        final int next = (i + 1) % xs.length;
+        for (double t = 0; t <= 1; t += 0.125) {
+          final double x = xs[i] + t * (xs[next] - xs[i]);
+          final double y = ys[i] + t * (ys[next] - ys[i]);
+          assertEquals(path.contains(x, y), evaluator.contains(x, y));
+        }
+      }
+      assertEquals(false, evaluator.contains(Double.NaN, 300));
+      assertEquals(false, evaluator.contains(300, Double.POSITIVE_INFINITY));
+    }
+    System.out.println("PolygonEvaluatorTest::testMatchesPath2D completed.");
+  }
+
+  private static double[][] randomPolygon(Random random, int vertexCount) {
+    final double[] xs = new double[vertexCount];
+    final double[] ys = new double[vertexCount];
+    for (int i = 0; i < vertexCount; i++) {
+      final double angle = 2 * Math.PI * i / vertexCount;
+      final double radius = 200 + random.nextDouble() * 300;
+      xs[i] = 500 + radius * Math.cos(angle);
+      ys[i] = 500 + radius * Math.sin(angle);
+    }
+    return new double[][] {xs, ys};
+  }
+}
@@ -0,0 +1,140 @@
+package inflor.unit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.math3.stat.descriptive.rank.Percentile;
+import org.junit.Test;
+
+import fleur.core.data.FCSDimension;
+import fleur.core.data.FCSFrame;
+import fleur.core.transforms.LogicleTransform;
+import fleur.core.transforms.TransformSet;
+import fleur.core.utils.QuantileSketch;
+
+public class QuantileSketchTest {
+
+  private static final int ROWS = 100000;
+  private static final double[] PERCENTILES = {0.01, 0.1, 1, 5, 25, 50, 75, 99, 99.9, 100};
+
+  private static double[] cytometryLike(long seed, int rows) {
+    final Random random = new Random(seed);
+    final double[] values = new double[rows];
+    for (int i = 0; i < rows; i++) {
+      // A population around zero and others spread over the decades.
+      values[i] = i % 3 == 0 ? random.nextGaussian() * 200
+          : Math.pow(10, random.nextDouble() * Math.log10(262144));
+    }
+    return values;
+  }
+
+  @Test
+  public void testMatchesPercentile() throws Exception {
+    // Setup
+    final double[] values = cytometryLike(3, ROWS);
+    final Percentile percentile = new Percentile();
+    percentile.setData(values);
+
+    // Test
+    final QuantileSketch sketch = QuantileSketch.of(values);
+
+    // Assert
+    assertEquals(ROWS, sketch.getCount());
+    assertEquals(Arrays.stream(values).min().getAsDouble(), sketch.getMin(), 0);
+    assertEquals(Arrays.stream(values).max().getAsDouble(), sketch.getMax(), 0);
+    for (double p : PERCENTILES) {
+      final double expected = percentile.evaluate(p);
+      assertEquals(expected, sketch.percentile(p),
+          QuantileSketch.DEFAULT_ACCURACY * Math.abs(expected));
+    }
+    assertTrue(Double.isNaN(new QuantileSketch().percentile(50)));
+    System.out.println("QuantileSketchTest::testMatchesPercentile completed.");
+  }
+
+  @Test
+  public void testMergeEqualsConcatenation() throws Exception {
+    // Setup
+    final double[] values = cytometryLike(5, ROWS);
+    final QuantileSketch first = new QuantileSketch();
+    first.add(values, 0, ROWS / 3);
+    final QuantileSketch second = new QuantileSketch();
+    second.add(values, ROWS / 3, ROWS - ROWS / 3);
+    second.add(Double.NaN);
+
+    // Test
+    first.merge(second);
+
+    // Assert
+    final QuantileSketch all = QuantileSketch.of(values);
+    assertEquals(all.getCount(), first.getCount());
+    for (double p : PERCENTILES) {
+      assertEquals(all.percentile(p), first.percentile(p), 0);
+    }
+    System.out.println("QuantileSketchTest::testMergeEqualsConcatenation completed.");
+  }
+
+  @Test
+  public void testLogicleOptimizationTolerance() throws Exception {
+    for (long seed = 0; seed < 5; seed++) {
+      // Setup
+      final double[] values = cytometryLike(seed, ROWS);
+      final LogicleTransform exact = new LogicleTransform(262144);
+      final LogicleTransform sketched = new LogicleTransform(262144);
+
+      // Test
+      exact.optimize(values);
+      sketched.optimize(QuantileSketch.of(values));
+
+      // Assert, the tolerance documented by LogicleTransform.optimize(QuantileSketch).
+      assertEquals(exact.getT(), sketched.getT(), QuantileSketch.DEFAULT_ACCURACY * exact.getT());
+      assertEquals(exact.getW(), sketched.getW(), 0.003);
+      assertEquals(exact.getM(), sketched.getM(), 0.003);
+      assertEquals(exact.getA(), sketched.getA(), 0.003);
+    }
+    System.out.println("QuantileSketchTest::testLogicleOptimizationTolerance completed.");
+  }
+
+  @Test
+  public void testOptimizeTransformOverFrames() throws Exception {
+    // Setup
+    final double[] values = cytometryLike(17, ROWS);
+    final List<FCSFrame> frames = new ArrayList<>();
+    // One transform optimized frame after frame from exact percentiles, merged by maximum, as
+    // before sketches. Later frames start from the previous frame's M.
+    final LogicleTransform exact = new LogicleTransform(262144);
+    LogicleTransform baseline = null;
+    for (int start = 0; start < ROWS; start += ROWS / 4) {
+      final double[] frameValues = Arrays.copyOfRange(values, start, start + ROWS / 4);
+      final FCSFrame frame = new FCSFrame(new HashMap<>(), ROWS / 4);
+      final FCSDimension dimension = new FCSDimension(ROWS / 4, 0, "FITC-A", "", 0, 0, 262144);
+      dimension.setData(frameValues);
+      frame.addDimension(dimension);
+      frames.add(frame);
+      exact.optimize(frameValues);
+      baseline = baseline == null
+          ? new LogicleTransform(exact.getT(), exact.getW(), exact.getM(), exact.getA())
+          : new LogicleTransform(Math.max(baseline.getT(), exact.getT()),
+              Math.max(baseline.getW(), exact.getW()), Math.max(baseline.getM(), exact.getM()),
+              Math.max(baseline.getA(), exact.getA()));
+    }
+
+    // Test
+    final TransformSet transforms = new TransformSet();
+    transforms.optimizeTransform("FITC-A", frames);
+
+    // Assert, the tolerance documented by LogicleTransform.optimize(QuantileSketch).
+    final LogicleTransform optimized = (LogicleTransform) transforms.get("FITC-A");
+    assertEquals(baseline.getT(), optimized.getT(),
+        QuantileSketch.DEFAULT_ACCURACY * baseline.getT());
+    assertEquals(baseline.getW(), optimized.getW(), 0.003);
+    assertEquals(baseline.getM(), optimized.getM(), 0.003);
+    assertEquals(baseline.getA(), optimized.getA(), 0.003);
+    System.out.println("QuantileSketchTest::testOptimizeTransformOverFrames completed.");
+  }
+}
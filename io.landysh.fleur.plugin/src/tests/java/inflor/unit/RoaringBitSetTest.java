@@ -0,0 +1,149 @@
+package inflor.unit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+
+import org.junit.Test;
+
+import fleur.core.data.FCSFrame;
+import fleur.core.data.Subset;
+import fleur.core.proto.FCSFrameProto.Message;
+import fleur.core.proto.FCSFrameProto.Message.Subset.Type;
+import fleur.core.utils.RoaringBitSet;
+
+public class RoaringBitSetTest {
+
+  private static final int SIZE = 500000;
+
+  @Test
+  public void testMatchesBitSet() throws Exception {
+    // Setup
+    final Random random = new Random(7);
+    final BitSet rare = randomBits(random, SIZE, 0.0005);
+    final BitSet dense = randomBits(random, SIZE, 0.6);
+    final BitSet ranges = new BitSet();
+    ranges.set(1000, 200000);
+    ranges.set(300000, 300010);
+    final BitSet[] sets = {rare, dense, ranges, new BitSet()};
+
+    // Test & Assert
+    for (BitSet a : sets) {
+      RoaringBitSet x = RoaringBitSet.valueOf(a);
+      assertEquals(a, x.toBitSet());
+      assertEquals(a.cardinality(), x.cardinality());
+      assertEquals(a.length(), x.length());
+      assertArrayEquals(a.stream().toArray(), x.toArray());
+      PrimitiveIterator.OfInt members = x.iterator();
+      for (int i = a.nextSetBit(0); i >= 0; i = a.nextSetBit(i + 1)) {
+        assertEquals(i, members.nextInt());
+      }
+      assertFalse(members.hasNext());
+      for (BitSet b : sets) {
+        RoaringBitSet y = RoaringBitSet.valueOf(b);
+        BitSet and = (BitSet) a.clone();
+        and.and(b);
+        BitSet andNot = (BitSet) a.clone();
+        andNot.andNot(b);
+        BitSet or = (BitSet) a.clone();
+        or.or(b);
+        assertEquals(and, x.and(y).toBitSet());
+        assertEquals(andNot, x.andNot(y).toBitSet());
+        assertEquals(or, x.or(y).toBitSet());
+        assertEquals(RoaringBitSet.valueOf(and), x.and(y));
+      }
+    }
+    System.out.println("RoaringBitSetTest::testMatchesBitSet completed.");
+  }
+
+  @Test
+  public void testSubsetMembers() throws Exception {
+    // Setup
+    final Random random = new Random(11);
+    final BitSet rare = randomBits(random, SIZE, 0.0001);
+    final BitSet parent = randomBits(random, SIZE, 0.5);
+    final BitSet mask = randomBits(random, SIZE, 0.3);
+    final Subset parentSubset =
+        new Subset("Parent", parent, "root", null, Type.RANGE, null, null);
+    final Subset rareSubset =
+        new Subset("Rare", rare, parentSubset.getID(), null, Type.RANGE, null, null);
+    final List<Subset> ancestors = new ArrayList<>();
+    ancestors.add(parentSubset);
+
+    // Test
+    final BitSet evaluated = rareSubset.evaluate(ancestors);
+    final Subset filtered = rareSubset.filter(mask);
+
+    // Assert
+    final BitSet expected = (BitSet) rare.clone();
+    expected.and(parent);
+    assertEquals(expected, evaluated);
+    final BitSet expectedFiltered = new BitSet();
+    int j = 0;
+    for (int i = mask.nextSetBit(0); i >= 0; i = mask.nextSetBit(i + 1)) {
+      expectedFiltered.set(j++, rare.get(i));
+    }
+    assertEquals(expectedFiltered, filtered.getMembers());
+    assertEquals(rareSubset.getID(), filtered.getID());
+    assertTrue(rareSubset.getMemberSet().getSizeInBytes() < SIZE / Byte.SIZE / 10);
+    assertEquals(rare.cardinality(), rareSubset.getMemberCount());
+    System.out.println("RoaringBitSetTest::testSubsetMembers completed.");
+  }
+
+  @Test
+  public void testSubsetSerialization() throws Exception {
+    // Setup
+    final BitSet rare = randomBits(new Random(13), SIZE, 0.0001);
+    final FCSFrame frame = new FCSFrame(new HashMap<>(), SIZE);
+    frame.addSubset(new Subset("Rare", rare, "root", null, Type.RANGE, null, null));
+    final Message.Builder legacy = Message.parseFrom(frame.saveAsBytes()).toBuilder();
+    legacy.getSubsetBuilder(0).clearMembers();
+    for (long word : rare.toLongArray()) {
+      legacy.getSubsetBuilder(0).addMask(word);
+    }
+
+    // Test
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(frame.getSubsets(false).get(0));
+    }
+    final Subset deserialized;
+    try (ObjectInputStream in =
+        new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      deserialized = (Subset) in.readObject();
+    }
+    final Message message = Message.parseFrom(frame.saveAsBytes());
+    final FCSFrame loaded = FCSFrame.load(message.toByteArray());
+    final FCSFrame loadedLegacy = FCSFrame.load(legacy.build().toByteArray());
+
+    // Assert
+    assertEquals(rare, deserialized.getMembers());
+    assertEquals(0, message.getSubset(0).getMaskCount());
+    assertTrue(message.getSubset(0).getMembers().size() < SIZE / Byte.SIZE / 10);
+    assertEquals(rare, loaded.getSubsets(false).get(0).getMembers());
+    assertEquals(rare, loadedLegacy.getSubsets(false).get(0).getMembers());
+    System.out.println("RoaringBitSetTest::testSubsetSerialization completed.");
+  }
+
+  private static BitSet randomBits(Random random, int size, double probability) {
+    BitSet bits = new BitSet(size);
+    for (int i = 0; i < size; i++) {
+      if (random.nextDouble() < probability) {
+        bits.set(i);
+      }
+    }
+    return bits;
+  }
+}
@@ -0,0 +1,65 @@
+package inflor.unit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import fleur.core.utils.StagedPipeline;
+
+public class StagedPipelineTest {
+
+  @Test
+  public void testOrderedBoundedOutput() throws Exception {
+    // Setup
+    final List<Integer> inputs = IntStream.range(0, 200).boxed().collect(Collectors.toList());
+    final AtomicInteger inFlight = new AtomicInteger();
+    final AtomicInteger maxInFlight = new AtomicInteger();
+    final int capacity = 5;
+    final StagedPipeline<Integer, Integer, Integer> pipeline = new StagedPipeline<>(i -> {
+      maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+      Thread.sleep(ThreadLocalRandom.current().nextInt(2));
+      return i;
+    }, 3, i -> i * 2, 4, capacity);
+    final List<Integer> written = new ArrayList<>();
+
+    // Test
+    pipeline.run(inputs, (index, result) -> {
+      assertEquals(index * 2, (int) result);
+      written.add(result);
+      inFlight.decrementAndGet();
+    });
+
+    // Assert
+    assertEquals(inputs.size(), written.size());
+    for (int i = 0; i < written.size(); i++) {
+      assertEquals(i * 2, (int) written.get(i));
+    }
+    assertTrue(maxInFlight.get() <= capacity);
+    assertTrue(pipeline.getWriteNanos() > 0);
+    System.out.println("StagedPipelineTest::testOrderedBoundedOutput completed.");
+  }
+
+  @Test(expected = IOException.class)
+  public void testStageFailureIsRethrown() throws Exception {
+    // Setup
+    final List<Integer> inputs = IntStream.range(0, 20).boxed().collect(Collectors.toList());
+    final StagedPipeline<Integer, Integer, Integer> pipeline = new StagedPipeline<>(i -> {
+      if (i == 7) {
+        throw new IOException("Unreadable input.");
+      }
+      return i;
+    }, 2, i -> i, 2, 4);
+
+    // Test
+    pipeline.run(inputs, (index, result) -> {});
+  }
+}
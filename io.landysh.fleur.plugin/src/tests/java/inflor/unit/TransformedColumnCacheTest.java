@@ -0,0 +1,94 @@
+package inflor.unit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.lang.ref.WeakReference;
+
+import org.junit.Test;
+
+import fleur.core.data.FCSDimension;
+import fleur.core.data.TransformedColumnCache;
+import fleur.core.transforms.BoundDisplayTransform;
+import fleur.core.transforms.TransformSet;
+
+public class TransformedColumnCacheTest {
+
+  @Test
+  public void testTransformOnce() throws Exception {
+    // Setup
+    final FCSDimension dimension = new FCSDimension(4, 0, "X", "", 0, 0, 1000);
+    dimension.setData(new double[] {0, 250, 500, 1000});
+    final TransformSet transforms = new TransformSet();
+    transforms.addTransformEntry("X", new BoundDisplayTransform(0, 1000));
+    final TransformSet copy = transforms.deepCopy();
+
+    // Test
+    final double[] first = transforms.transform(dimension);
+    final double[] second = transforms.transform(dimension);
+    final double[] fromCopy = copy.transform(dimension);
+    dimension.setData(new double[] {0, 100, 200, 300});
+    final double[] afterSetData = transforms.transform(dimension);
+    transforms.addTransformEntry("X", new BoundDisplayTransform(0, 300));
+    final double[] afterReplace = transforms.transform(dimension);
+
+    // Assert
+    assertSame(first, second);
+    assertSame(first, fromCopy);
+    assertNotSame(first, afterSetData);
+    assertArrayEquals(transforms.get("X").transform(dimension.getData()), afterReplace, 0);
+    assertNotSame(afterSetData, afterReplace);
+    System.out.println("TransformedColumnCacheTest::testTransformOnce completed.");
+  }
+
+  @Test
+  public void testBudget() throws Exception {
+    // Setup
+    final TransformedColumnCache cache = new TransformedColumnCache(3 * 100 * Double.BYTES);
+    final BoundDisplayTransform transform = new BoundDisplayTransform(0, 1000);
+    final FCSDimension[] dimensions = new FCSDimension[5];
+    for (int i = 0; i < dimensions.length; i++) {
+      dimensions[i] = new FCSDimension(100, i, "P" + i, "", 0, 0, 1000);
+    }
+
+    // Test
+    for (FCSDimension dimension : dimensions) {
+      cache.get(dimension, transform);
+    }
+    cache.get(dimensions[4], transform);
+    cache.get(dimensions[0], transform);
+
+    // Assert
+    assertEquals(3, cache.size());
+    assertEquals(3 * 100 * Double.BYTES, cache.getUsedBytes());
+    assertEquals(1, cache.getHitCount());
+    assertEquals(6, cache.getMissCount());
+    System.out.println("TransformedColumnCacheTest::testBudget completed.");
+  }
+
+  @Test
+  public void testDimensionsAreNotKeptAlive() throws Exception {
+    // Setup
+    final TransformedColumnCache cache = new TransformedColumnCache(1 << 20);
+    final BoundDisplayTransform transform = new BoundDisplayTransform(0, 1000);
+    FCSDimension dimension = new FCSDimension(100, 0, "X", "", 0, 0, 1000);
+    final WeakReference<FCSDimension> reference = new WeakReference<>(dimension);
+    cache.get(dimension, transform);
+
+    // Test
+    dimension = null;
+    for (int i = 0; i < 50 && reference.get() != null; i++) {
+      System.gc();
+      Thread.sleep(10);
+    }
+
+    // Assert
+    assertNull(reference.get());
+    assertEquals(0, cache.size());
+    assertEquals(0, cache.getUsedBytes());
+    System.out.println("TransformedColumnCacheTest::testDimensionsAreNotKeptAlive completed.");
+  }
+}